@@ -0,0 +1,45 @@
+package com.looprex.geography.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+
+@Component
+public class AuthKeyClient {
+
+    private final WebClient webClient;
+    private final Duration timeout;
+
+    public AuthKeyClient(@Value("${user-service.url}") String userServiceUrl,
+                         @Value("${user-service.public-key.timeout-ms:2000}") long timeoutMillis) {
+        this.webClient = WebClient.builder()
+                .baseUrl(userServiceUrl)
+                .build();
+        this.timeout = Duration.ofMillis(timeoutMillis);
+    }
+
+    /**
+     * Descarga la clave pública con la que el microservicio users firma los tokens.
+     * La espera está acotada: TokenVerifier la llama con su lock tomado, y si users no responde
+     * el IllegalStateException termina en un 503 en vez de retener las solicitudes
+     * @return nodo 'data' de la respuesta (kid, algorithm, issuer, publicKey)
+     */
+    public JsonNode fetchPublicKey() {
+        try {
+            JsonNode response = this.webClient.get()
+                    .uri("/api/auth/public-key")
+                    .retrieve()
+                    .bodyToMono(JsonNode.class)
+                    .block(timeout);
+            if (response == null || !response.hasNonNull("data")) {
+                throw new IllegalStateException("Respuesta sin clave pública");
+            }
+            return response.get("data");
+        } catch (Exception e) {
+            throw new IllegalStateException("Error al obtener la clave pública del microservicio de usuarios: " + e.getMessage());
+        }
+    }
+}
@@ -1,31 +1,76 @@
 package com.looprex.geography.client;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.looprex.geography.exception.ServiceUnavailableException;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 @Component
-public class UserClient {
+public class UserClient implements DisposableBean {
 
     private final WebClient webClient;
+    private final RequestCollapser<Long, Boolean> existsCollapser;
 
-    public UserClient(@Value("${user-service.url}") String userServiceUrl) {
+    public UserClient(@Value("${user-service.url}") String userServiceUrl,
+                      @Value("${user-service.batch.window-ms:5}") long batchWindowMillis,
+                      @Value("${user-service.batch.max-size:200}") int batchMaxSize,
+                      @Value("${user-service.batch.timeout-ms:3000}") long batchTimeoutMillis) {
         this.webClient = WebClient.builder()
                 .baseUrl(userServiceUrl)
                 .build();
+        // Las verificaciones concurrentes se agrupan en un solo POST /api/users/batch/exists
+        this.existsCollapser = new RequestCollapser<>("user-exists", this::fetchExists, false,
+                batchWindowMillis, batchMaxSize, batchTimeoutMillis, 2);
     }
 
+    /**
+     * Las llamadas concurrentes se agrupan en lotes (ver RequestCollapser).
+     * Solo responde false si users confirma que el ID no existe: un error de comunicación o un
+     * tiempo de espera agotado no prueban nada y se informan como ServiceUnavailableException
+     */
     public boolean userExists(Long userId) {
-        try {
-            this.webClient.get()
-                    .uri("/api/users/{id}", userId)
-                    .retrieve()
-                    .bodyToMono(Object.class)
-                    .block();
-            return true;
-        } catch (Exception e) {
+        if (userId == null) {
             return false;
         }
+        try {
+            return existsCollapser.get(userId);
+        } catch (RuntimeException e) {
+            throw new ServiceUnavailableException(
+                    "No se pudo verificar el usuario con el microservicio de usuarios: " + e.getMessage());
+        }
+    }
+
+    private Map<Long, Boolean> fetchExists(Set<Long> userIds) {
+        JsonNode response = this.webClient.post()
+                .uri("/api/users/batch/exists")
+                .bodyValue(Map.of("ids", userIds))
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .block();
+        return parseExists(response);
+    }
+
+    /**
+     * IDs de usuario mayores a afterId, en orden (GET /api/users/ids). Alimenta UserIdReplica
+     */
+    public List<Long> getUserIdsAfter(long afterId, int limit) {
+        JsonNode response = this.webClient.get()
+                .uri(uri -> uri.path("/api/users/ids")
+                        .queryParam("afterId", afterId)
+                        .queryParam("limit", limit)
+                        .build())
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .block();
+        return parseIds(response);
     }
 
     public Object getUserById(Long userId) {
@@ -35,4 +80,26 @@ public class UserClient {
                 .bodyToMono(Object.class)
                 .block();
     }
-}
\ No newline at end of file
+
+    static Map<Long, Boolean> parseExists(JsonNode response) {
+        Map<Long, Boolean> result = new HashMap<>();
+        if (response != null && response.hasNonNull("data")) {
+            response.get("data").fields().forEachRemaining(
+                    entry -> result.put(Long.valueOf(entry.getKey()), entry.getValue().asBoolean()));
+        }
+        return result;
+    }
+
+    static List<Long> parseIds(JsonNode response) {
+        List<Long> result = new ArrayList<>();
+        if (response != null && response.hasNonNull("data")) {
+            response.get("data").forEach(id -> result.add(id.asLong()));
+        }
+        return result;
+    }
+
+    @Override
+    public void destroy() {
+        existsCollapser.close();
+    }
+}
@@ -0,0 +1,21 @@
+package com.looprex.geography.config;
+
+import com.looprex.geography.dto.ApiResponse;
+import com.looprex.geography.exception.ServiceUnavailableException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Respuestas de rechazo comunes a todos los controladores
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiResponse<Void>> handleServiceUnavailable(ServiceUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new ApiResponse<>(false, HttpStatus.SERVICE_UNAVAILABLE.value(), e.getMessage()));
+    }
+}
@@ -1,12 +1,15 @@
 package com.looprex.geography.controller;
 
+import com.looprex.geography.dto.AddressIdsRequest;
 import com.looprex.geography.dto.AddressResponse;
+import com.looprex.geography.dto.AddressValidationResponse;
 import com.looprex.geography.dto.ApiResponse;
 import com.looprex.geography.mapper.AddressMapper;
 import com.looprex.geography.model.Address;
 import com.looprex.geography.service.AddressService;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -198,6 +201,51 @@ public class AddressController {
     }
 
 
+    @Operation(
+        summary = "Validar dirección para el checkout",
+        description = "Responde en una sola consulta por clave primaria si la dirección existe, si pertenece al " +
+                      "usuario indicado y en qué comuna y región está. Siempre responde 200 con el resultado, así " +
+                      "el servicio de compras puede guardarlo en caché. Si la dirección es de otro usuario no se " +
+                      "incluyen datos de ubicación."
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Resultado de la validación",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    value = """
+                    {
+                      "success": true,
+                      "statusCode": 200,
+                      "message": "Dirección validada",
+                      "data": {
+                        "addressId": 1,
+                        "exists": true,
+                        "owned": true,
+                        "comunaId": 1,
+                        "comunaName": "Santiago",
+                        "regionId": 1,
+                        "regionName": "Región Metropolitana"
+                      }
+                    }
+                    """
+                )
+            )
+        )
+    })
+    @GetMapping("/{id}/validate")
+    public ResponseEntity<ApiResponse<AddressValidationResponse>> validateAddress(
+            @PathVariable Long id,
+            @Parameter(description = "Usuario que debe ser dueño de la dirección", example = "1")
+            @RequestParam(required = false) Long userId) {
+        AddressValidationResponse validation = addressService.validateAddress(id, userId);
+        return ResponseEntity.ok(new ApiResponse<>(true, HttpStatus.OK.value(), "Dirección validada", validation));
+    }
+
+
     @Operation(
         summary = "Obtener direcciones por usuario",
         description = "Retorna todas las direcciones asociadas a un usuario específico. " +
@@ -250,10 +298,131 @@ public class AddressController {
     }
 
 
+    @Operation(
+        summary = "Obtener dirección por defecto del usuario",
+        description = "Retorna solo la dirección por defecto del usuario (la primera que registró), sin cargar " +
+                      "todas sus direcciones. Si el token de la petición es del mismo usuario no se consulta al " +
+                      "microservicio users para validar que exista."
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Dirección por defecto encontrada",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    value = """
+                    {
+                      "success": true,
+                      "statusCode": 200,
+                      "message": "Dirección por defecto encontrada",
+                      "data": {
+                        "addressId": 1,
+                        "street": "Av. Providencia",
+                        "number": "1234",
+                        "userId": 1,
+                        "comuna": { "comunaId": 1, "name": "Santiago" }
+                      }
+                    }
+                    """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "404",
+            description = "El usuario no existe o no tiene direcciones",
+            content = @Content(schema = @Schema(implementation = ApiResponse.class))
+        )
+    })
+    @GetMapping("/user/{userId}/default")
+    public ResponseEntity<ApiResponse<AddressResponse>> getDefaultAddress(@PathVariable Long userId) {
+        Optional<Address> address;
+        try {
+            address = addressService.getDefaultAddress(userId);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(false, HttpStatus.NOT_FOUND.value(), e.getMessage()));
+        }
+        if (address.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(false, HttpStatus.NOT_FOUND.value(), "El usuario no tiene direcciones"));
+        }
+        return ResponseEntity.ok(new ApiResponse<>(true, HttpStatus.OK.value(),
+                "Dirección por defecto encontrada", addressMapper.toAddressResponse(address.get())));
+    }
+
+
+    @Operation(
+        summary = "Obtener varias direcciones por ID",
+        description = "Retorna en una sola consulta las direcciones pedidas, en el mismo orden. Las que no existen " +
+                      "se omiten, así quien llama puede deducir cuáles existen. Máximo 200 IDs por solicitud."
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Direcciones encontradas",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    value = """
+                    {
+                      "success": true,
+                      "statusCode": 200,
+                      "message": "Direcciones obtenidas exitosamente",
+                      "data": [
+                        {
+                          "addressId": 1,
+                          "street": "Av. Providencia",
+                          "number": "1234",
+                          "userId": 1,
+                          "comuna": { "comunaId": 1, "name": "Santiago" }
+                        }
+                      ],
+                      "count": 1
+                    }
+                    """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Lista vacía o con más de 200 IDs",
+            content = @Content(schema = @Schema(implementation = ApiResponse.class))
+        )
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<List<AddressResponse>>> getAddressesByIds(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                description = "IDs de las direcciones",
+                required = true,
+                content = @Content(
+                    mediaType = "application/json",
+                    examples = @ExampleObject(value = "{ \"ids\": [1, 2, 99] }")
+                )
+            )
+            @RequestBody AddressIdsRequest request) {
+        try {
+            List<AddressResponse> addresses = addressService.getAddressesByIds(request.getIds()).stream()
+                    .map(addressMapper::toAddressResponse)
+                    .toList();
+            return ResponseEntity.ok(new ApiResponse<>(true, HttpStatus.OK.value(),
+                    "Direcciones obtenidas exitosamente", addresses, (long) addresses.size()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+        }
+    }
+
+
     @Operation(
         summary = "Crear nueva dirección",
         description = "Registra una nueva dirección para un usuario. Requiere calle, número, " +
-                      "ID de usuario y una comuna válida. Verifica la existencia del usuario y la comuna."
+                      "ID de usuario y una comuna válida. Verifica la existencia del usuario y la comuna. " +
+                      "Si el usuario ya tiene la misma calle y número en la comuna (sin importar mayúsculas, " +
+                      "tildes, abreviaturas como \"Av.\" o prefijos del número como \"#\"), se retorna la " +
+                      "dirección existente en vez de crear un duplicado."
     )
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -319,7 +488,8 @@ public class AddressController {
     @Operation(
         summary = "Actualizar dirección",
         description = "Actualiza los datos de una dirección existente (calle, número, comuna). " +
-                      "Solo se actualizan los campos proporcionados."
+                      "Solo se actualizan los campos proporcionados. Se rechaza si el resultado equivale a " +
+                      "otra dirección del mismo usuario en la comuna."
     )
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -338,7 +508,13 @@ public class AddressController {
     })
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<AddressResponse>> updateAddress(@PathVariable Long id, @RequestBody Address updatedAddress) {
-        Optional<Address> addressOpt = addressService.updateAddress(id, updatedAddress);
+        Optional<Address> addressOpt;
+        try {
+            addressOpt = addressService.updateAddress(id, updatedAddress);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+        }
         
         if (addressOpt.isPresent()) {
             // Mapear a DTO
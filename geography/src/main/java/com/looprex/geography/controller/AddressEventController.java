@@ -0,0 +1,134 @@
+package com.looprex.geography.controller;
+
+import com.looprex.geography.dto.AddressEventPage;
+import com.looprex.geography.dto.ApiResponse;
+import com.looprex.geography.service.AddressEventService;
+import com.looprex.geography.service.AddressEventStream;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/addresses/events")
+@Tag(
+    name = "Eventos de direcciones",
+    description = "Cambios en direcciones (creada, modificada, eliminada) en orden, para que otros servicios " +
+                  "mantengan réplicas exactas sin consultar cada dirección. Se leen desde un cursor (el ID " +
+                  "del último evento procesado), por consulta periódica o por SSE"
+)
+public class AddressEventController {
+
+    private final AddressEventService addressEventService;
+    private final AddressEventStream addressEventStream;
+
+    public AddressEventController(AddressEventService addressEventService, AddressEventStream addressEventStream) {
+        this.addressEventService = addressEventService;
+        this.addressEventStream = addressEventStream;
+    }
+
+    @GetMapping
+    @Operation(
+        summary = "Leer eventos de direcciones",
+        description = "Retorna hasta 'limit' eventos (1 a 1000, por defecto 100) posteriores a afterId, en orden. " +
+                      "Para continuar se envía nextAfterId como afterId; si hasMore es true conviene consultar de " +
+                      "inmediato. Un evento UPDATED con previousUserId indica que la dirección cambió de usuario"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Eventos obtenidos",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    value = """
+                    {
+                      "success": true,
+                      "statusCode": 200,
+                      "message": "Eventos obtenidos exitosamente",
+                      "data": {
+                        "events": [
+                          {
+                            "eventId": 41,
+                            "type": "UPDATED",
+                            "addressId": 1,
+                            "userId": 7,
+                            "previousUserId": 3,
+                            "occurredAt": "2026-10-18T12:30:00"
+                          },
+                          {
+                            "eventId": 42,
+                            "type": "DELETED",
+                            "addressId": 5,
+                            "userId": 7,
+                            "previousUserId": null,
+                            "occurredAt": "2026-10-18T12:31:10"
+                          }
+                        ],
+                        "nextAfterId": 42,
+                        "hasMore": false
+                      },
+                      "count": 2
+                    }
+                    """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "afterId negativo o límite fuera de rango"
+        )
+    })
+    public ResponseEntity<ApiResponse<AddressEventPage>> getEvents(
+            @Parameter(description = "ID del último evento procesado (0 para leer desde el inicio)", example = "0")
+            @RequestParam(defaultValue = "0") Long afterId,
+            @Parameter(description = "Cantidad máxima de eventos (1 a 1000)", example = "100")
+            @RequestParam(required = false) Integer limit) {
+        try {
+            AddressEventPage page = addressEventService.getEventsAfter(afterId, limit);
+            return ResponseEntity.ok(new ApiResponse<>(true, HttpStatus.OK.value(),
+                    "Eventos obtenidos exitosamente", page, (long) page.getEvents().size()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+        }
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+        summary = "Suscribirse a los eventos de direcciones (SSE)",
+        description = "Abre un stream text/event-stream con los eventos posteriores a afterId y los que ocurran " +
+                      "después (con algunos segundos de retraso como máximo). Cada evento se llama 'address', su " +
+                      "id es el eventId y su data el mismo objeto que en la consulta paginada. Al reconectar, el " +
+                      "header Last-Event-ID tiene prioridad sobre afterId. La conexión se cierra cada cierto tiempo " +
+                      "y el cliente debe reconectar"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Stream abierto"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Cursor inválido")
+    })
+    public ResponseEntity<SseEmitter> streamEvents(
+            @Parameter(description = "ID del último evento procesado (0 para recibir desde el inicio)", example = "0")
+            @RequestParam(defaultValue = "0") Long afterId,
+            @Parameter(description = "ID del último evento recibido antes de reconectar")
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        try {
+            long cursor = lastEventId == null || lastEventId.isBlank() ? afterId : Long.parseLong(lastEventId.trim());
+            return ResponseEntity.ok(addressEventStream.subscribe(cursor));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException también es IllegalArgumentException
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
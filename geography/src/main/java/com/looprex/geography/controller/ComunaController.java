@@ -2,17 +2,21 @@ package com.looprex.geography.controller;
 
 import com.looprex.geography.dto.ApiResponse;
 import com.looprex.geography.dto.ComunaResponse;
+import com.looprex.geography.dto.ComunaSummaryResponse;
 import com.looprex.geography.mapper.ComunaMapper;
 import com.looprex.geography.model.Comuna;
 import com.looprex.geography.service.ComunaService;
+import com.looprex.geography.service.ResourceVersionService;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -32,17 +36,21 @@ public class ComunaController {
 
     private final ComunaService comunaService;
     private final ComunaMapper comunaMapper;  // Agregar mapper
+    private final ResourceVersionService resourceVersionService;
 
     private static final String COMUNA_NOT_FOUND = "Comuna no encontrada";
 
-    public ComunaController(ComunaService comunaService, ComunaMapper comunaMapper) {
+    public ComunaController(ComunaService comunaService, ComunaMapper comunaMapper,
+                            ResourceVersionService resourceVersionService) {
         this.comunaService = comunaService;
         this.comunaMapper = comunaMapper;  // Inyectar mapper
+        this.resourceVersionService = resourceVersionService;
     }
 
     @Operation(
         summary = "Obtener todas las comunas",
-        description = "Retorna la lista completa de comunas disponibles en el sistema, organizadas por región."
+        description = "Retorna la lista completa de comunas disponibles en el sistema, organizadas por región. " +
+                      "Soporta revalidación con ETag (If-None-Match → 304 Not Modified)."
     )
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -74,10 +82,25 @@ public class ComunaController {
                     """
                 )
             )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "304",
+            description = "Las comunas no han cambiado desde el ETag enviado en If-None-Match"
         )
     })
     @GetMapping
-    public ResponseEntity<ApiResponse<List<ComunaResponse>>> getAllComunas() {
+    public ResponseEntity<ApiResponse<List<ComunaResponse>>> getAllComunas(
+            @Parameter(description = "ETag obtenido en una respuesta anterior")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Cada comuna incluye su región anidada, por lo que el ETag depende de ambas tablas
+        String etag = resourceVersionService.etag(ResourceVersionService.COMUNAS, ResourceVersionService.REGIONS);
+        if (resourceVersionService.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(resourceVersionService.cacheControl(ResourceVersionService.COMUNAS))
+                    .build();
+        }
+
         List<Comuna> comunas = comunaService.getAllComunas();
         
         if (comunas.isEmpty()) {
@@ -103,7 +126,10 @@ public class ComunaController {
             comunaResponses,
             (long) comunaResponses.size()
         );
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(resourceVersionService.cacheControl(ResourceVersionService.COMUNAS))
+                .body(response);
     }
 
 
@@ -167,6 +193,66 @@ public class ComunaController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+        summary = "Obtener comunas por región (ID y nombre)",
+        description = "Versión reducida de las comunas de una región, solo con ID y nombre, para listas " +
+                      "desplegables. Soporta revalidación con ETag (If-None-Match → 304 Not Modified)."
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Comunas de la región obtenidas exitosamente",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    value = """
+                    {
+                      "success": true,
+                      "statusCode": 200,
+                      "message": "Comunas obtenidas exitosamente",
+                      "data": [
+                        { "comunaId": 1, "name": "Santiago" },
+                        { "comunaId": 2, "name": "Providencia" }
+                      ],
+                      "count": 2
+                    }
+                    """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "304",
+            description = "Las comunas no han cambiado desde el ETag enviado en If-None-Match"
+        )
+    })
+    @GetMapping("/region/{regionId}/summary")
+    public ResponseEntity<ApiResponse<List<ComunaSummaryResponse>>> getComunaSummariesByRegionId(
+            @PathVariable Long regionId,
+            @Parameter(description = "ETag obtenido en una respuesta anterior")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = resourceVersionService.etag(ResourceVersionService.COMUNAS);
+        if (resourceVersionService.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(resourceVersionService.cacheControl(ResourceVersionService.COMUNAS))
+                    .build();
+        }
+
+        List<ComunaSummaryResponse> comunas = comunaService.getComunaSummariesByRegionId(regionId);
+        ApiResponse<List<ComunaSummaryResponse>> response = new ApiResponse<>(
+            true,
+            HttpStatus.OK.value(),
+            "Comunas obtenidas exitosamente",
+            comunas,
+            (long) comunas.size()
+        );
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(resourceVersionService.cacheControl(ResourceVersionService.COMUNAS))
+                .body(response);
+    }
+
     @Operation(summary = "Crear nueva comuna")
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "Comuna creada"),
@@ -0,0 +1,119 @@
+package com.looprex.geography.controller;
+
+import com.looprex.geography.dto.ApiResponse;
+import com.looprex.geography.dto.DatasetApplyResult;
+import com.looprex.geography.security.AuthenticatedUser;
+import com.looprex.geography.service.GazetteerDatasetService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/gazetteer/dataset")
+@Tag(
+    name = "Dataset geográfico",
+    description = "Administración del dataset nacional de regiones y comunas. Permite aplicar una versión " +
+                  "nueva sin reiniciar el servicio"
+)
+public class DatasetController {
+
+    private static final String ADMIN_ROLE = "ADMIN";
+
+    private final GazetteerDatasetService datasetService;
+
+    public DatasetController(GazetteerDatasetService datasetService) {
+        this.datasetService = datasetService;
+    }
+
+    @PutMapping(consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    @Operation(
+        summary = "Aplicar versión del dataset",
+        description = "Recibe el dataset completo en CSV ('region;comuna', con una línea '# version=...') y lo aplica " +
+                      "en una sola transacción: inserta en lotes las regiones y comunas que faltan y elimina las que " +
+                      "ya no están, salvo comunas con direcciones asociadas, que se conservan. Las lecturas siguen " +
+                      "respondiendo con el dataset anterior hasta el commit. Si el checksum coincide con la versión " +
+                      "vigente no se modifica nada. Requiere rol ADMIN"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Dataset aplicado (o ya vigente, con applied=false)",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    value = """
+                    {
+                      "success": true,
+                      "statusCode": 200,
+                      "message": "Dataset aplicado exitosamente",
+                      "data": {
+                        "version": "dpa-2018",
+                        "checksum": "5f1c...",
+                        "applied": true,
+                        "regionsInserted": 14,
+                        "comunasInserted": 342,
+                        "regionsRemoved": 0,
+                        "comunasRemoved": 0,
+                        "comunasKept": 0,
+                        "totalRegions": 16,
+                        "totalComunas": 346
+                      }
+                    }
+                    """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Dataset vacío, sin versión, con líneas mal formadas o comunas repetidas"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "403",
+            description = "El usuario autenticado no es administrador"
+        )
+    })
+    public ResponseEntity<ApiResponse<DatasetApplyResult>> applyDataset(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                description = "Dataset en CSV",
+                required = true,
+                content = @Content(
+                    mediaType = "text/csv",
+                    examples = @ExampleObject(value = """
+                        # version=dpa-2018
+                        region;comuna
+                        Región Metropolitana;Santiago
+                        Región Metropolitana;Providencia
+                        """)
+                )
+            )
+            @RequestBody String content) {
+        boolean isAdmin = AuthenticatedUser.current()
+                .map(user -> ADMIN_ROLE.equals(user.getRole()))
+                .orElse(false);
+        if (!isAdmin) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new ApiResponse<>(false, HttpStatus.FORBIDDEN.value(),
+                            "Solo un administrador puede aplicar el dataset"));
+        }
+        try {
+            DatasetApplyResult result = datasetService.apply(content);
+            String message = result.isApplied()
+                    ? "Dataset aplicado exitosamente"
+                    : "El dataset ya estaba aplicado, no hubo cambios";
+            return ResponseEntity.ok(new ApiResponse<>(true, HttpStatus.OK.value(), message, result));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.looprex.geography.controller;
+
+import com.looprex.geography.dto.ApiResponse;
+import com.looprex.geography.dto.PickupPointResponse;
+import com.looprex.geography.model.PickupPoint;
+import com.looprex.geography.security.AuthenticatedUser;
+import com.looprex.geography.service.PickupPointService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/pickup-points")
+@Tag(
+    name = "Puntos de retiro",
+    description = "Registro de puntos de retiro de pedidos y búsqueda de los más cercanos a una dirección. " +
+                  "Los puntos se mantienen en un índice espacial en memoria, por lo que listar y buscar no " +
+                  "consultan la base"
+)
+public class PickupPointController {
+
+    private static final String ADMIN_ROLE = "ADMIN";
+    private static final String PICKUP_POINT_NOT_FOUND = "Punto de retiro no encontrado";
+
+    private final PickupPointService pickupPointService;
+
+    public PickupPointController(PickupPointService pickupPointService) {
+        this.pickupPointService = pickupPointService;
+    }
+
+    @GetMapping
+    @Operation(summary = "Obtener todos los puntos de retiro", description = "Lista todos los puntos de retiro registrados")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Puntos de retiro obtenidos",
+            content = @Content(schema = @Schema(implementation = ApiResponse.class))
+        )
+    })
+    public ResponseEntity<ApiResponse<List<PickupPointResponse>>> getAllPickupPoints() {
+        List<PickupPointResponse> pickupPoints = pickupPointService.getAll();
+        return ResponseEntity.ok(new ApiResponse<>(true, HttpStatus.OK.value(),
+                "Puntos de retiro obtenidos exitosamente", pickupPoints, (long) pickupPoints.size()));
+    }
+
+    @GetMapping("/nearest")
+    @Operation(
+        summary = "Puntos de retiro más cercanos",
+        description = "Retorna los k puntos de retiro más cercanos (por defecto 5, máximo 50), del más cercano al " +
+                      "más lejano, a una dirección guardada o a unas coordenadas (solo uno de los dos). Una " +
+                      "dirección sin coordenadas se ubica en el centroide de su comuna, o en el de su región si " +
+                      "la comuna no lo tiene. La distancia es por la superficie terrestre, en kilómetros"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Puntos de retiro encontrados",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    value = """
+                    {
+                      "success": true,
+                      "statusCode": 200,
+                      "message": "Puntos de retiro más cercanos obtenidos",
+                      "data": [
+                        {
+                          "pickupPointId": 3,
+                          "name": "Tienda Providencia",
+                          "address": "Av. Providencia 2124",
+                          "comunaId": 23,
+                          "comunaName": "Providencia",
+                          "latitude": -33.4226,
+                          "longitude": -70.6094,
+                          "distanceKm": 1.27
+                        }
+                      ],
+                      "count": 1
+                    }
+                    """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Sin origen o con ambos, dirección inexistente, coordenadas inválidas o k fuera de rango"
+        )
+    })
+    public ResponseEntity<ApiResponse<List<PickupPointResponse>>> getNearestPickupPoints(
+            @Parameter(description = "ID de la dirección de origen", example = "1")
+            @RequestParam(required = false) Long addressId,
+            @Parameter(description = "Latitud de origen (junto con lon, en vez de addressId)", example = "-33.4372")
+            @RequestParam(required = false) Double lat,
+            @Parameter(description = "Longitud de origen", example = "-70.6506")
+            @RequestParam(required = false) Double lon,
+            @Parameter(description = "Cantidad de puntos (1 a 50, por defecto 5)", example = "5")
+            @RequestParam(required = false) Integer k) {
+        try {
+            List<PickupPointResponse> nearest = pickupPointService.nearest(addressId, lat, lon, k);
+            return ResponseEntity.ok(new ApiResponse<>(true, HttpStatus.OK.value(),
+                    "Puntos de retiro más cercanos obtenidos", nearest, (long) nearest.size()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Obtener punto de retiro por ID", description = "Retorna un punto de retiro por su ID")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Punto de retiro encontrado"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = PICKUP_POINT_NOT_FOUND)
+    })
+    public ResponseEntity<ApiResponse<PickupPointResponse>> getPickupPointById(
+            @Parameter(description = "ID del punto de retiro", example = "1", required = true)
+            @PathVariable Long id) {
+        return pickupPointService.getById(id)
+                .map(pickupPoint -> ResponseEntity.ok(new ApiResponse<>(true, HttpStatus.OK.value(),
+                        "Punto de retiro encontrado", pickupPoint)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new ApiResponse<>(false, HttpStatus.NOT_FOUND.value(), PICKUP_POINT_NOT_FOUND)));
+    }
+
+    @PostMapping
+    @Operation(
+        summary = "Registrar punto de retiro",
+        description = "Registra un punto de retiro. Requiere nombre, dirección y una comuna válida; sin latitud y " +
+                      "longitud se ubica en el centroide de la comuna. Requiere rol ADMIN"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "Punto de retiro registrado"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Datos inválidos o comuna inexistente"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "El usuario no es administrador")
+    })
+    public ResponseEntity<ApiResponse<PickupPointResponse>> createPickupPoint(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                description = "Datos del punto de retiro",
+                required = true,
+                content = @Content(
+                    mediaType = "application/json",
+                    examples = @ExampleObject(value = """
+                        {
+                          "name": "Tienda Providencia",
+                          "address": "Av. Providencia 2124",
+                          "comuna": { "comunaId": 23 },
+                          "latitude": -33.4226,
+                          "longitude": -70.6094
+                        }
+                        """)
+                )
+            )
+            @RequestBody PickupPoint pickupPoint) {
+        if (!isAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new ApiResponse<>(false, HttpStatus.FORBIDDEN.value(),
+                            "Solo un administrador puede registrar puntos de retiro"));
+        }
+        try {
+            PickupPointResponse created = pickupPointService.create(pickupPoint);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(new ApiResponse<>(true, HttpStatus.CREATED.value(), "Punto de retiro registrado exitosamente", created));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Eliminar punto de retiro", description = "Elimina un punto de retiro por su ID. Requiere rol ADMIN")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Punto de retiro eliminado"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "El usuario no es administrador"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = PICKUP_POINT_NOT_FOUND)
+    })
+    public ResponseEntity<ApiResponse<Void>> deletePickupPoint(@PathVariable Long id) {
+        if (!isAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new ApiResponse<>(false, HttpStatus.FORBIDDEN.value(),
+                            "Solo un administrador puede eliminar puntos de retiro"));
+        }
+        if (pickupPointService.delete(id)) {
+            return ResponseEntity.ok(new ApiResponse<>(true, HttpStatus.OK.value(), "Punto de retiro eliminado exitosamente"));
+        }
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ApiResponse<>(false, HttpStatus.NOT_FOUND.value(), PICKUP_POINT_NOT_FOUND));
+    }
+
+    private static boolean isAdmin() {
+        return AuthenticatedUser.current()
+                .map(user -> ADMIN_ROLE.equals(user.getRole()))
+                .orElse(false);
+    }
+}
@@ -2,17 +2,21 @@ package com.looprex.geography.controller;
 
 import com.looprex.geography.dto.ApiResponse;
 import com.looprex.geography.dto.RegionResponse;
+import com.looprex.geography.dto.RegionTreeResponse;
 import com.looprex.geography.mapper.RegionMapper;
 import com.looprex.geography.model.Region;
 import com.looprex.geography.service.RegionService;
+import com.looprex.geography.service.ResourceVersionService;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -32,17 +36,21 @@ public class RegionController {
 
     private final RegionService regionService;
     private final RegionMapper regionMapper;  // Agregar mapper
+    private final ResourceVersionService resourceVersionService;
 
     private static final String REGION_NOT_FOUND = "Región no encontrada";
 
-    public RegionController(RegionService regionService, RegionMapper regionMapper) {
+    public RegionController(RegionService regionService, RegionMapper regionMapper,
+                            ResourceVersionService resourceVersionService) {
         this.regionService = regionService;
         this.regionMapper = regionMapper;  // Inyectar mapper
+        this.resourceVersionService = resourceVersionService;
     }
 
     @Operation(
         summary = "Obtener todas las regiones",
-        description = "Retorna la lista completa de regiones configuradas en el sistema."
+        description = "Retorna la lista completa de regiones configuradas en el sistema. " +
+                      "Soporta revalidación con ETag (If-None-Match → 304 Not Modified)."
     )
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -66,10 +74,24 @@ public class RegionController {
                     """
                 )
             )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "304",
+            description = "Las regiones no han cambiado desde el ETag enviado en If-None-Match"
         )
     })
     @GetMapping
-    public ResponseEntity<ApiResponse<List<RegionResponse>>> getAllRegions() {
+    public ResponseEntity<ApiResponse<List<RegionResponse>>> getAllRegions(
+            @Parameter(description = "ETag obtenido en una respuesta anterior")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = resourceVersionService.etag(ResourceVersionService.REGIONS);
+        if (resourceVersionService.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(resourceVersionService.cacheControl(ResourceVersionService.REGIONS))
+                    .build();
+        }
+
         List<Region> regions = regionService.getAllRegions();
         
         if (regions.isEmpty()) {
@@ -95,7 +117,76 @@ public class RegionController {
             regionResponses,
             (long) regionResponses.size()
         );
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(resourceVersionService.cacheControl(ResourceVersionService.REGIONS))
+                .body(response);
+    }
+
+    @Operation(
+        summary = "Obtener regiones con sus comunas",
+        description = "Retorna todas las regiones, cada una con sus comunas reducidas a ID y nombre, en una sola " +
+                      "respuesta pensada para armar los selectores de región y comuna. Se arma en memoria una vez " +
+                      "por cada cambio de regiones o comunas. Soporta revalidación con ETag (If-None-Match → 304 Not Modified)."
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Árbol de regiones y comunas obtenido exitosamente",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    value = """
+                    {
+                      "success": true,
+                      "statusCode": 200,
+                      "message": "Regiones y comunas obtenidas exitosamente",
+                      "data": [
+                        {
+                          "regionId": 1,
+                          "name": "Región Metropolitana",
+                          "comunas": [
+                            { "comunaId": 1, "name": "Santiago" },
+                            { "comunaId": 2, "name": "Providencia" }
+                          ]
+                        }
+                      ],
+                      "count": 1
+                    }
+                    """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "304",
+            description = "Ni las regiones ni las comunas han cambiado desde el ETag enviado en If-None-Match"
+        )
+    })
+    @GetMapping("/tree")
+    public ResponseEntity<ApiResponse<List<RegionTreeResponse>>> getRegionTree(
+            @Parameter(description = "ETag obtenido en una respuesta anterior")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = resourceVersionService.etag(ResourceVersionService.REGIONS, ResourceVersionService.COMUNAS);
+        if (resourceVersionService.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(resourceVersionService.cacheControl(ResourceVersionService.REGIONS))
+                    .build();
+        }
+
+        List<RegionTreeResponse> tree = regionService.getRegionTree();
+        ApiResponse<List<RegionTreeResponse>> response = new ApiResponse<>(
+            true,
+            HttpStatus.OK.value(),
+            "Regiones y comunas obtenidas exitosamente",
+            tree,
+            (long) tree.size()
+        );
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(resourceVersionService.cacheControl(ResourceVersionService.REGIONS))
+                .body(response);
     }
 
     @Operation(summary = "Obtener región por ID")
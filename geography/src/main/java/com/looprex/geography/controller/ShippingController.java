@@ -0,0 +1,163 @@
+package com.looprex.geography.controller;
+
+import com.looprex.geography.dto.ApiResponse;
+import com.looprex.geography.dto.ShippingBatchQuoteRequest;
+import com.looprex.geography.dto.ShippingQuote;
+import com.looprex.geography.dto.ShippingQuoteRequest;
+import com.looprex.geography.service.ShippingService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/shipping")
+@Tag(
+    name = "Despacho",
+    description = "Cotización del costo de despacho según la zona tarifaria de la comuna de destino y el peso " +
+                  "del carro. Las tarifas están precalculadas en memoria, por lo que cotizar no consulta la base " +
+                  "salvo para obtener la comuna de las direcciones guardadas"
+)
+public class ShippingController {
+
+    private final ShippingService shippingService;
+
+    public ShippingController(ShippingService shippingService) {
+        this.shippingService = shippingService;
+    }
+
+    @PostMapping("/quote")
+    @Operation(
+        summary = "Cotizar despacho",
+        description = "Cotiza el carro a una comuna o a una dirección guardada (solo uno de los dos). El peso total " +
+                      "es la suma de peso unitario × cantidad; los ítems sin peso usan el peso por defecto de las " +
+                      "tarifas. Sobre el último tramo se cobra un adicional por kilo"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Despacho cotizado",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    value = """
+                    {
+                      "success": true,
+                      "statusCode": 200,
+                      "message": "Despacho cotizado exitosamente",
+                      "data": {
+                        "addressId": null,
+                        "comunaId": 1,
+                        "zone": "RM",
+                        "weightGrams": 2400,
+                        "price": 3990,
+                        "ratesVersion": "2025-1"
+                      }
+                    }
+                    """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Destino faltante o inexistente, carro vacío, cantidades o pesos inválidos, o peso sobre el máximo"
+        )
+    })
+    public ResponseEntity<ApiResponse<ShippingQuote>> quote(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                description = "Destino e ítems del carro",
+                required = true,
+                content = @Content(
+                    mediaType = "application/json",
+                    examples = @ExampleObject(value = """
+                        {
+                          "comunaId": 1,
+                          "items": [
+                            { "weightGrams": 1200, "quantity": 2 }
+                          ]
+                        }
+                        """)
+                )
+            )
+            @RequestBody ShippingQuoteRequest request) {
+        try {
+            ShippingQuote quote = shippingService.quote(request);
+            return ResponseEntity.ok(new ApiResponse<>(true, HttpStatus.OK.value(), "Despacho cotizado exitosamente", quote));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+        }
+    }
+
+    @PostMapping("/quote/batch")
+    @Operation(
+        summary = "Cotizar despacho a varias direcciones",
+        description = "Cotiza el mismo carro a una lista de direcciones guardadas o a todas las direcciones de un " +
+                      "usuario (solo uno de los dos), por ejemplo para mostrar el costo de cada dirección en la " +
+                      "página del carro. Hace una sola consulta a la base. Máximo 100 direcciones por solicitud"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Despachos cotizados, en el orden de las direcciones pedidas",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    value = """
+                    {
+                      "success": true,
+                      "statusCode": 200,
+                      "message": "Despachos cotizados exitosamente",
+                      "data": [
+                        { "addressId": 1, "comunaId": 1, "zone": "RM", "weightGrams": 2400, "price": 3990, "ratesVersion": "2025-1" },
+                        { "addressId": 2, "comunaId": 3, "zone": "CENTRO", "weightGrams": 2400, "price": 4990, "ratesVersion": "2025-1" }
+                      ],
+                      "count": 2
+                    }
+                    """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Sin direcciones ni usuario, alguna dirección inexistente, más de 100 direcciones o carro inválido"
+        )
+    })
+    public ResponseEntity<ApiResponse<List<ShippingQuote>>> quoteBatch(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                description = "Direcciones (o usuario) e ítems del carro",
+                required = true,
+                content = @Content(
+                    mediaType = "application/json",
+                    examples = @ExampleObject(value = """
+                        {
+                          "userId": 1,
+                          "items": [
+                            { "weightGrams": 1200, "quantity": 2 }
+                          ]
+                        }
+                        """)
+                )
+            )
+            @RequestBody ShippingBatchQuoteRequest request) {
+        try {
+            List<ShippingQuote> quotes = shippingService.quoteBatch(request);
+            return ResponseEntity.ok(new ApiResponse<>(true, HttpStatus.OK.value(),
+                    "Despachos cotizados exitosamente", quotes, (long) quotes.size()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+        }
+    }
+}
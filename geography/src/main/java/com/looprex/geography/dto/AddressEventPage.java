@@ -0,0 +1,26 @@
+package com.looprex.geography.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Página de eventos de direcciones")
+public class AddressEventPage {
+
+    @Schema(description = "Eventos en orden de ID")
+    private List<AddressEventResponse> events;
+
+    @Schema(description = "Cursor para la siguiente consulta (afterId): el último evento entregado", example = "42")
+    private Long nextAfterId;
+
+    @Schema(description = "Hay más eventos disponibles; conviene consultar de nuevo de inmediato", example = "false")
+    private boolean hasMore;
+}
@@ -0,0 +1,36 @@
+package com.looprex.geography.dto;
+
+import com.looprex.geography.model.AddressEvent;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Cambio en una dirección")
+public class AddressEventResponse {
+
+    @Schema(description = "ID correlativo del evento (cursor para continuar la lectura)", example = "42")
+    private Long eventId;
+
+    @Schema(description = "Tipo de cambio", example = "UPDATED")
+    private AddressEvent.Type type;
+
+    @Schema(description = "ID de la dirección", example = "1")
+    private Long addressId;
+
+    @Schema(description = "Usuario dueño de la dirección después del cambio (el que tenía, si se eliminó)", example = "7")
+    private Long userId;
+
+    @Schema(description = "Dueño anterior, solo si la dirección cambió de usuario", example = "3")
+    private Long previousUserId;
+
+    @Schema(description = "Fecha y hora del cambio")
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,18 @@
+package com.looprex.geography.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Lista de IDs de dirección para consultas por lote")
+public class AddressIdsRequest {
+
+    @Schema(description = "IDs de dirección (máximo 200, los repetidos se consultan una vez)", example = "[1, 2, 3]")
+    private List<Long> ids;
+}
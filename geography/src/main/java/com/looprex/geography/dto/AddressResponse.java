@@ -27,4 +27,10 @@ public class AddressResponse {
 
     @Schema(description = "Comuna de la dirección")
     private ComunaResponse comuna;
+
+    @Schema(description = "Latitud informada para la dirección (null si se ubica por su comuna)", example = "-33.4263")
+    private Double latitude;
+
+    @Schema(description = "Longitud informada para la dirección (null si se ubica por su comuna)", example = "-70.6200")
+    private Double longitude;
 }
\ No newline at end of file
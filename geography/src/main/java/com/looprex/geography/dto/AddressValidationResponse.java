@@ -0,0 +1,36 @@
+package com.looprex.geography.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Resultado compacto de validar una dirección para el checkout")
+public class AddressValidationResponse {
+
+    @Schema(description = "ID de la dirección validada", example = "1")
+    private Long addressId;
+
+    @Schema(description = "Si la dirección existe", example = "true")
+    private boolean exists;
+
+    @Schema(description = "Si la dirección pertenece al usuario indicado (null si no se indicó usuario)", example = "true")
+    private Boolean owned;
+
+    @Schema(description = "Comuna de la dirección (solo si existe y pertenece al usuario)", example = "1")
+    private Long comunaId;
+
+    @Schema(description = "Nombre de la comuna", example = "Santiago")
+    private String comunaName;
+
+    @Schema(description = "Región de la comuna", example = "1")
+    private Long regionId;
+
+    @Schema(description = "Nombre de la región", example = "Región Metropolitana")
+    private String regionName;
+}
@@ -21,4 +21,10 @@ public class ComunaResponse {
 
     @Schema(description = "Región a la que pertenece")
     private RegionResponse region;
+
+    @Schema(description = "Latitud del centroide (null si el dataset no lo trae)", example = "-33.4489")
+    private Double latitude;
+
+    @Schema(description = "Longitud del centroide (null si el dataset no lo trae)", example = "-70.6693")
+    private Double longitude;
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.looprex.geography.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Resultado de aplicar una versión del dataset de regiones y comunas")
+public class DatasetApplyResult {
+
+    @Schema(description = "Versión declarada en el dataset", example = "dpa-2018")
+    private String version;
+
+    @Schema(description = "SHA-256 del contenido del dataset")
+    private String checksum;
+
+    @Schema(description = "false si el dataset ya estaba aplicado (mismo checksum) y no se modificó nada", example = "true")
+    private boolean applied;
+
+    @Schema(description = "Regiones nuevas insertadas", example = "14")
+    private int regionsInserted;
+
+    @Schema(description = "Comunas nuevas insertadas", example = "342")
+    private int comunasInserted;
+
+    @Schema(description = "Comunas existentes cuyo centroide se agregó o cambió", example = "0")
+    private int centroidsUpdated;
+
+    @Schema(description = "Regiones eliminadas por no estar en el dataset", example = "0")
+    private int regionsRemoved;
+
+    @Schema(description = "Comunas eliminadas por no estar en el dataset", example = "0")
+    private int comunasRemoved;
+
+    @Schema(description = "Comunas que ya no están en el dataset pero se conservan porque tienen direcciones", example = "0")
+    private int comunasKept;
+
+    @Schema(description = "Regiones en el dataset", example = "16")
+    private int totalRegions;
+
+    @Schema(description = "Comunas en el dataset", example = "346")
+    private int totalComunas;
+}
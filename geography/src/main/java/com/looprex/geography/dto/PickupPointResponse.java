@@ -0,0 +1,39 @@
+package com.looprex.geography.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Datos de un punto de retiro")
+public class PickupPointResponse {
+
+    @Schema(description = "ID del punto de retiro", example = "1")
+    private Long pickupPointId;
+
+    @Schema(description = "Nombre del punto de retiro", example = "Tienda Providencia")
+    private String name;
+
+    @Schema(description = "Dirección del punto de retiro", example = "Av. Providencia 2124")
+    private String address;
+
+    @Schema(description = "ID de la comuna", example = "23")
+    private Long comunaId;
+
+    @Schema(description = "Nombre de la comuna", example = "Providencia")
+    private String comunaName;
+
+    @Schema(description = "Latitud", example = "-33.4226")
+    private Double latitude;
+
+    @Schema(description = "Longitud", example = "-70.6094")
+    private Double longitude;
+
+    @Schema(description = "Distancia en kilómetros al origen consultado (solo en búsquedas por cercanía)", example = "1.27")
+    private Double distanceKm;
+}
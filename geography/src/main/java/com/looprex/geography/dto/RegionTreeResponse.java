@@ -0,0 +1,26 @@
+package com.looprex.geography.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Región con sus comunas (ID y nombre)")
+public class RegionTreeResponse {
+
+    @Schema(description = "ID de la región", example = "1")
+    private Long regionId;
+
+    @Schema(description = "Nombre de la región", example = "Región Metropolitana")
+    private String name;
+
+    @Schema(description = "Comunas de la región, ordenadas por ID")
+    private List<ComunaSummaryResponse> comunas;
+}
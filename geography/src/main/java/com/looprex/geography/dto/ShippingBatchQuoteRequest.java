@@ -0,0 +1,26 @@
+package com.looprex.geography.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Solicitud de cotización del mismo carro a varias direcciones")
+public class ShippingBatchQuoteRequest {
+
+    @Schema(description = "Direcciones guardadas a cotizar. Se indica esta lista o userId", example = "[1, 2, 3]")
+    private List<Long> addressIds;
+
+    @Schema(description = "Usuario cuyas direcciones guardadas se cotizan. Se indica este o addressIds", example = "1")
+    private Long userId;
+
+    @Schema(description = "Ítems del carro")
+    private List<ShippingItem> items;
+}
@@ -0,0 +1,21 @@
+package com.looprex.geography.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Ítem del carro a despachar")
+public class ShippingItem {
+
+    @Schema(description = "Peso unitario en gramos. Si se omite se usa el peso por defecto de las tarifas", example = "1200")
+    private Integer weightGrams;
+
+    @Schema(description = "Cantidad de unidades", example = "2")
+    private Integer quantity;
+}
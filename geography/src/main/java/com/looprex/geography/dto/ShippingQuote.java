@@ -0,0 +1,33 @@
+package com.looprex.geography.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Costo de despacho cotizado")
+public class ShippingQuote {
+
+    @Schema(description = "Dirección cotizada (solo si se cotizó por dirección)", example = "1")
+    private Long addressId;
+
+    @Schema(description = "Comuna de destino", example = "1")
+    private Long comunaId;
+
+    @Schema(description = "Zona tarifaria de la comuna", example = "RM")
+    private String zone;
+
+    @Schema(description = "Peso total del carro en gramos", example = "2400")
+    private long weightGrams;
+
+    @Schema(description = "Costo de despacho en pesos chilenos (CLP)", example = "3990")
+    private int price;
+
+    @Schema(description = "Versión de las tarifas usadas", example = "2025-1")
+    private String ratesVersion;
+}
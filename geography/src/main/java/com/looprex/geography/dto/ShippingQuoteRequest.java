@@ -0,0 +1,26 @@
+package com.looprex.geography.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Solicitud de cotización de despacho a un destino")
+public class ShippingQuoteRequest {
+
+    @Schema(description = "Comuna de destino. Se indica esta o addressId", example = "1")
+    private Long comunaId;
+
+    @Schema(description = "Dirección guardada de destino. Se indica esta o comunaId", example = "1")
+    private Long addressId;
+
+    @Schema(description = "Ítems del carro")
+    private List<ShippingItem> items;
+}
@@ -0,0 +1,11 @@
+package com.looprex.geography.exception;
+
+/**
+ * Un servicio del que depende la operación no respondió: el resultado es desconocido (se responde 503)
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
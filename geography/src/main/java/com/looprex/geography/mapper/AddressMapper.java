@@ -3,15 +3,19 @@ package com.looprex.geography.mapper;
 import com.looprex.geography.dto.AddressResponse;
 import com.looprex.geography.dto.ComunaResponse;
 import com.looprex.geography.model.Address;
+import com.looprex.geography.model.Comuna;
+import com.looprex.geography.service.Gazetteer;
 import org.springframework.stereotype.Component;
 
 @Component
 public class AddressMapper {
 
     private final ComunaMapper comunaMapper;
+    private final Gazetteer gazetteer;
 
-    public AddressMapper(ComunaMapper comunaMapper) {
+    public AddressMapper(ComunaMapper comunaMapper, Gazetteer gazetteer) {
         this.comunaMapper = comunaMapper;
+        this.gazetteer = gazetteer;
     }
 
     public AddressResponse toAddressResponse(Address address) {
@@ -19,7 +23,7 @@ public class AddressMapper {
             return null;
         }
 
-        ComunaResponse comunaResponse = comunaMapper.toComunaResponse(address.getComuna());
+        ComunaResponse comunaResponse = comunaMapper.toComunaResponse(comunaOf(address));
 
         return AddressResponse.builder()
                 .addressId(address.getAddressId())
@@ -27,6 +31,17 @@ public class AddressMapper {
                 .number(address.getNumber())
                 .userId(address.getUserId())
                 .comuna(comunaResponse) 
+                .latitude(address.getLatitude())
+                .longitude(address.getLongitude())
                 .build();
     }
+
+    // getComunaId() de un proxy LAZY no inicializa la comuna: no hay consulta a comunas ni regiones
+    private Comuna comunaOf(Address address) {
+        Comuna comuna = address.getComuna();
+        if (comuna == null || comuna.getComunaId() == null) {
+            return comuna;
+        }
+        return gazetteer.comuna(comuna.getComunaId()).orElse(comuna);
+    }
 }
\ No newline at end of file
@@ -25,6 +25,8 @@ public class ComunaMapper {
                 .comunaId(comuna.getComunaId())
                 .name(comuna.getName())
                 .region(regionResponse) 
+                .latitude(comuna.getLatitude())
+                .longitude(comuna.getLongitude())
                 .build();
     }
 }
\ No newline at end of file
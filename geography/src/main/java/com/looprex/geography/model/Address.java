@@ -1,5 +1,6 @@
 package com.looprex.geography.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -7,7 +8,15 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "addresses")
+@Table(
+    name = "addresses",
+    indexes = @Index(name = "idx_addresses_user_id", columnList = "userId, addressId"),
+    // Una misma calle y número (normalizados) solo una vez por usuario y comuna
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_addresses_user_comuna_key",
+        columnNames = {"userId", "comunaId", "normalizedKey"}
+    )
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -32,8 +41,28 @@ public class Address {
     @Schema(description = "ID del usuario (referencia al microservicio de usuarios)", example = "1")
     private Long userId;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    // LAZY: la comuna y su región se resuelven desde Gazetteer usando solo la clave foránea
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "comunaId", nullable = false)
     @Schema(description = "Comuna donde se ubica la dirección")
     private Comuna comuna;
+
+    // Calculada por AddressNormalizer al crear o actualizar; null solo en duplicados previos a la columna
+    @JsonIgnore
+    @Column(name = "normalizedKey", length = 255)
+    @Schema(hidden = true)
+    private String normalizedKey;
+
+    // Coordenadas exactas informadas por el cliente; sin ellas se usa el centroide de la comuna (ver Geocoder)
+    @Column(name = "latitude")
+    @Schema(description = "Latitud de la dirección (opcional)", example = "-33.4263")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    @Schema(description = "Longitud de la dirección (opcional)", example = "-70.6200")
+    private Double longitude;
+
+    public Address(Long addressId, String street, String number, Long userId, Comuna comuna) {
+        this(addressId, street, number, userId, comuna, null, null, null);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.looprex.geography.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cambio en una dirección, guardado en la misma transacción que el cambio (outbox).
+ * El ID es correlativo y sirve de cursor para que otros servicios lean los eventos en orden
+ */
+@Entity
+@Table(name = "address_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Evento del ciclo de vida de una dirección")
+public class AddressEvent {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "eventId")
+    private Long eventId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 20)
+    private Type type;
+
+    @Column(name = "addressId", nullable = false)
+    private Long addressId;
+
+    @Column(name = "userId", nullable = false)
+    private Long userId;
+
+    // Solo cuando la dirección cambió de usuario: el dueño anterior ya no puede usarla
+    @Column(name = "previousUserId")
+    private Long previousUserId;
+
+    @Column(name = "occurredAt", nullable = false)
+    private LocalDateTime occurredAt;
+}
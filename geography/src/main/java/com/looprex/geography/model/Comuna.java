@@ -28,4 +28,17 @@ public class Comuna {
     @JoinColumn(name = "regionId", nullable = false)
     @Schema(description = "Región a la que pertenece la comuna")
     private Region region;
+
+    // Centroide aproximado de la comuna (dataset geográfico); null si el dataset no lo trae
+    @Column(name = "latitude")
+    @Schema(description = "Latitud del centroide de la comuna", example = "-33.4489")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    @Schema(description = "Longitud del centroide de la comuna", example = "-70.6693")
+    private Double longitude;
+
+    public Comuna(Long comunaId, String name, Region region) {
+        this(comunaId, name, region, null, null);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.looprex.geography.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "dataset_versions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Registro de cada versión del dataset de regiones y comunas aplicada")
+public class DatasetVersion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "datasetVersionId")
+    private Long datasetVersionId;
+
+    @Column(name = "version", nullable = false, length = 50)
+    @Schema(description = "Versión declarada en el dataset", example = "dpa-2018")
+    private String version;
+
+    // SHA-256 del contenido normalizado: si coincide con la última aplicada no hay nada que hacer
+    @Column(name = "checksum", nullable = false, length = 64)
+    @Schema(description = "SHA-256 del contenido del dataset")
+    private String checksum;
+
+    @Column(name = "regions", nullable = false)
+    private Integer regions;
+
+    @Column(name = "comunas", nullable = false)
+    private Integer comunas;
+
+    @Column(name = "appliedAt", nullable = false)
+    private LocalDateTime appliedAt;
+}
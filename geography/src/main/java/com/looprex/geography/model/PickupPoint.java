@@ -0,0 +1,44 @@
+package com.looprex.geography.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "pickup_points")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Entidad que representa un punto de retiro de pedidos")
+public class PickupPoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "pickupPointId")
+    @Schema(description = "ID único del punto de retiro", example = "1", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long pickupPointId;
+
+    @Column(name = "name", nullable = false, length = 100)
+    @Schema(description = "Nombre del punto de retiro", example = "Tienda Providencia")
+    private String name;
+
+    @Column(name = "address", nullable = false, length = 200)
+    @Schema(description = "Dirección del punto de retiro", example = "Av. Providencia 2124")
+    private String address;
+
+    // LAZY: la comuna se resuelve desde Gazetteer usando solo la clave foránea
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "comunaId", nullable = false)
+    @Schema(description = "Comuna donde se ubica el punto de retiro")
+    private Comuna comuna;
+
+    @Column(name = "latitude", nullable = false)
+    @Schema(description = "Latitud", example = "-33.4226")
+    private Double latitude;
+
+    @Column(name = "longitude", nullable = false)
+    @Schema(description = "Longitud", example = "-70.6094")
+    private Double longitude;
+}
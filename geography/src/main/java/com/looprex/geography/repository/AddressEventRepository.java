@@ -0,0 +1,15 @@
+package com.looprex.geography.repository;
+
+import com.looprex.geography.model.AddressEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AddressEventRepository extends JpaRepository<AddressEvent, Long> {
+
+    // Página de eventos posteriores al cursor, en orden de ID (recorre la clave primaria)
+    List<AddressEvent> findByEventIdGreaterThanOrderByEventIdAsc(Long afterId, Pageable pageable);
+}
@@ -2,6 +2,8 @@ package com.looprex.geography.repository;
 
 import com.looprex.geography.model.Address;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,9 +18,40 @@ public interface AddressRepository extends JpaRepository<Address, Long> {
     // Obtener la primera dirección de un usuario (la más usada en tu app)
     Optional<Address> findFirstByUserId(Long userId);
 
+    // Dirección por defecto: la primera registrada (resuelta con el índice userId, addressId)
+    Optional<Address> findFirstByUserIdOrderByAddressIdAsc(Long userId);
+
     // Obtener todas las direcciones de una comuna
     List<Address> findByComuna_ComunaId(Long comunaId);
 
     // Verificar si un usuario tiene direcciones
     boolean existsByUserId(Long userId);
-}
\ No newline at end of file
+
+    // Dirección equivalente del usuario en la comuna (resuelta con el índice único uk_addresses_user_comuna_key)
+    Optional<Address> findByUserIdAndComuna_ComunaIdAndNormalizedKey(Long userId, Long comunaId, String normalizedKey);
+
+    // Direcciones anteriores a la clave normalizada
+    List<Address> findByNormalizedKeyIsNull();
+
+    // Dueño y comuna de una dirección por clave primaria, sin cargar la entidad ni unir comunas
+    @Query("SELECT a.addressId AS addressId, a.userId AS userId, a.comuna.comunaId AS comunaId " +
+           "FROM Address a WHERE a.addressId = :addressId")
+    Optional<OwnershipView> findOwnershipById(@Param("addressId") Long addressId);
+
+    // Coordenadas y comuna de una dirección, para ubicarla sin cargar la entidad
+    @Query("SELECT a.latitude AS latitude, a.longitude AS longitude, a.comuna.comunaId AS comunaId " +
+           "FROM Address a WHERE a.addressId = :addressId")
+    Optional<LocationView> findLocationById(@Param("addressId") Long addressId);
+
+    interface OwnershipView {
+        Long getAddressId();
+        Long getUserId();
+        Long getComunaId();
+    }
+
+    interface LocationView {
+        Double getLatitude();
+        Double getLongitude();
+        Long getComunaId();
+    }
+}
@@ -22,6 +22,13 @@ public interface ComunaRepository extends JpaRepository<Comuna, Long> {
     @Query("SELECT c FROM Comuna c WHERE c.region.regionId = :regionId")
     List<Comuna> findByRegionId(@Param("regionId") Long regionId);
 
+    // Cantidad de comunas de una región sin cargarlas (COUNT sobre la clave foránea)
+    long countByRegion_RegionId(Long regionId);
+
+    // Una sola consulta con la región de cada comuna (sin una consulta extra por región)
+    @Query("SELECT c FROM Comuna c JOIN FETCH c.region")
+    List<Comuna> findAllWithRegion();
+
     @Query("SELECT c FROM Comuna c WHERE c.name = :name AND c.region.regionId = :regionId")
     Optional<Comuna> findByNameAndRegionId(@Param("name") String name, @Param("regionId") Long regionId);
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.looprex.geography.repository;
+
+import com.looprex.geography.model.DatasetVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface DatasetVersionRepository extends JpaRepository<DatasetVersion, Long> {
+
+    // Última versión aplicada
+    Optional<DatasetVersion> findTopByOrderByDatasetVersionIdDesc();
+}
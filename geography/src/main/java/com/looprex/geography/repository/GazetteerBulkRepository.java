@@ -0,0 +1,85 @@
+package com.looprex.geography.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Escritura masiva de regiones y comunas con JDBC en lotes. Con IDENTITY Hibernate no agrupa
+ * los INSERT, así que cargar las 346 comunas con save() serían 346 viajes a la base de datos
+ * (con rewriteBatchedStatements el driver de MySQL envía cada lote como un solo INSERT multi-fila).
+ * Debe llamarse dentro de una transacción
+ */
+@Repository
+public class GazetteerBulkRepository {
+
+    private static final String INSERT_REGION = "INSERT INTO regiones (name) VALUES (?)";
+    private static final String INSERT_COMUNA = "INSERT INTO comunas (name, region_id, latitude, longitude) VALUES (?, ?, ?, ?)";
+    private static final String UPDATE_COMUNA_CENTROID = "UPDATE comunas SET latitude = ?, longitude = ? WHERE comuna_id = ?";
+    private static final String DELETE_REGION = "DELETE FROM regiones WHERE region_id = ?";
+    private static final String DELETE_COMUNA = "DELETE FROM comunas WHERE comuna_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public GazetteerBulkRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertRegions(List<String> names, int batchSize) {
+        jdbcTemplate.batchUpdate(INSERT_REGION, names, Math.max(1, batchSize),
+                (ps, name) -> ps.setString(1, name));
+    }
+
+    public void insertComunas(List<ComunaRow> comunas, int batchSize) {
+        jdbcTemplate.batchUpdate(INSERT_COMUNA, comunas, Math.max(1, batchSize), (ps, comuna) -> {
+            ps.setString(1, comuna.name());
+            ps.setLong(2, comuna.regionId());
+            setNullableDouble(ps, 3, comuna.latitude());
+            setNullableDouble(ps, 4, comuna.longitude());
+        });
+    }
+
+    /**
+     * @param comunas ID de la comuna con su nuevo centroide (name y regionId se ignoran)
+     */
+    public void updateComunaCentroids(List<ComunaRow> comunas, int batchSize) {
+        jdbcTemplate.batchUpdate(UPDATE_COMUNA_CENTROID, comunas, Math.max(1, batchSize), (ps, comuna) -> {
+            setNullableDouble(ps, 1, comuna.latitude());
+            setNullableDouble(ps, 2, comuna.longitude());
+            ps.setLong(3, comuna.comunaId());
+        });
+    }
+
+    public void deleteRegions(List<Long> regionIds, int batchSize) {
+        jdbcTemplate.batchUpdate(DELETE_REGION, regionIds, Math.max(1, batchSize),
+                (ps, regionId) -> ps.setLong(1, regionId));
+    }
+
+    public void deleteComunas(List<Long> comunaIds, int batchSize) {
+        jdbcTemplate.batchUpdate(DELETE_COMUNA, comunaIds, Math.max(1, batchSize),
+                (ps, comunaId) -> ps.setLong(1, comunaId));
+    }
+
+    // Comunas con al menos una dirección o punto de retiro: no se pueden eliminar sin romper la clave foránea
+    public Set<Long> findReferencedComunaIds() {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT comuna_id FROM addresses UNION SELECT comuna_id FROM pickup_points", Long.class));
+    }
+
+    private static void setNullableDouble(PreparedStatement ps, int index, Double value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.DOUBLE);
+        } else {
+            ps.setDouble(index, value);
+        }
+    }
+
+    public record ComunaRow(Long comunaId, String name, Long regionId, Double latitude, Double longitude) {
+    }
+}
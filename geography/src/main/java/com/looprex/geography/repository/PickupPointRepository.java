@@ -0,0 +1,9 @@
+package com.looprex.geography.repository;
+
+import com.looprex.geography.model.PickupPoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PickupPointRepository extends JpaRepository<PickupPoint, Long> {
+}
@@ -0,0 +1,35 @@
+package com.looprex.geography.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+
+/**
+ * Identidad extraída de un access token verificado. Es el principal de la autenticación
+ */
+@Getter
+@AllArgsConstructor
+public class AuthenticatedUser {
+
+    private final Long userId;
+    private final String role;
+    private final Long roleId;
+
+    /**
+     * Usuario autenticado de la petición actual, si envió un token válido
+     */
+    public static Optional<AuthenticatedUser> current() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return Optional.of(user);
+        }
+        return Optional.empty();
+    }
+
+    public static boolean isCurrentUser(Long userId) {
+        return userId != null && current().map(user -> userId.equals(user.getUserId())).orElse(false);
+    }
+}
@@ -0,0 +1,69 @@
+package com.looprex.geography.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.looprex.geography.dto.ApiResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Autentica la petición a partir del header 'Authorization: Bearer <token>'.
+ * Sin header la petición sigue como anónima; con un token inválido se responde 401
+ * sin llegar al controlador. No se consulta al microservicio users por petición.
+ */
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+
+    private final TokenVerifier tokenVerifier;
+    private final ObjectMapper objectMapper;
+
+    public TokenAuthenticationFilter(TokenVerifier tokenVerifier, ObjectMapper objectMapper) {
+        this.tokenVerifier = tokenVerifier;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        try {
+            AuthenticatedUser user = tokenVerifier.verify(header.substring(BEARER.length()).trim());
+            List<SimpleGrantedAuthority> authorities = user.getRole() == null
+                    ? List.of()
+                    : List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole()));
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(user, null, authorities));
+        } catch (IllegalArgumentException e) {
+            reject(response, HttpStatus.UNAUTHORIZED, e.getMessage());
+            return;
+        } catch (IllegalStateException e) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), new ApiResponse<>(false, status.value(), message, null));
+    }
+}
@@ -0,0 +1,90 @@
+package com.looprex.geography.service;
+
+import com.looprex.geography.dto.AddressEventPage;
+import com.looprex.geography.dto.AddressEventResponse;
+import com.looprex.geography.model.AddressEvent;
+import com.looprex.geography.repository.AddressEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outbox de cambios en direcciones. AddressService registra cada alta, modificación y eliminación
+ * en la misma transacción que el cambio, así que un evento existe si y solo si el cambio se confirmó.
+ * Los consumidores (ej: cachés de validez de direcciones en shopping) leen en orden de ID desde el
+ * último evento que procesaron, por consulta periódica o por SSE (AddressEventStream)
+ */
+@Service
+public class AddressEventService {
+
+    static final int DEFAULT_PAGE_SIZE = 100;
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private final AddressEventRepository addressEventRepository;
+    private final long gapGraceMillis;
+
+    public AddressEventService(AddressEventRepository addressEventRepository,
+                               @Value("${address-events.gap-grace-ms:5000}") long gapGraceMillis) {
+        this.addressEventRepository = addressEventRepository;
+        this.gapGraceMillis = Math.max(0, gapGraceMillis);
+    }
+
+    /**
+     * Registra un evento. Debe llamarse dentro de la transacción que hace el cambio
+     */
+    public AddressEvent record(AddressEvent.Type type, Long addressId, Long userId, Long previousUserId) {
+        return addressEventRepository.save(
+                new AddressEvent(null, type, addressId, userId, previousUserId, LocalDateTime.now()));
+    }
+
+    /**
+     * Eventos posteriores a afterId, en orden.
+     * Los IDs se asignan al insertar pero las transacciones pueden confirmarse en otro orden: un hueco
+     * en la secuencia puede ser un evento aún no confirmado, que no debe saltarse porque el cursor ya
+     * no volvería atrás. La página se corta en el primer hueco reciente; si el evento posterior al
+     * hueco tiene más de address-events.gap-grace-ms, el ID faltante es de una transacción revertida
+     * y se continúa
+     */
+    public AddressEventPage getEventsAfter(Long afterId, Integer limit) {
+        long after = afterId == null ? 0 : afterId;
+        int size = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (after < 0) {
+            throw new IllegalArgumentException("afterId no puede ser negativo");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+
+        List<AddressEvent> page = addressEventRepository.findByEventIdGreaterThanOrderByEventIdAsc(
+                after, PageRequest.of(0, size));
+        LocalDateTime settled = LocalDateTime.now().minus(gapGraceMillis, ChronoUnit.MILLIS);
+        List<AddressEventResponse> events = new ArrayList<>(page.size());
+        long cursor = after;
+        boolean stoppedAtGap = false;
+        for (AddressEvent event : page) {
+            if (event.getEventId() != cursor + 1 && event.getOccurredAt().isAfter(settled)) {
+                stoppedAtGap = true;
+                break;
+            }
+            events.add(toResponse(event));
+            cursor = event.getEventId();
+        }
+        return new AddressEventPage(events, cursor, !stoppedAtGap && page.size() == size);
+    }
+
+    private static AddressEventResponse toResponse(AddressEvent event) {
+        return AddressEventResponse.builder()
+                .eventId(event.getEventId())
+                .type(event.getType())
+                .addressId(event.getAddressId())
+                .userId(event.getUserId())
+                .previousUserId(event.getPreviousUserId())
+                .occurredAt(event.getOccurredAt())
+                .build();
+    }
+}
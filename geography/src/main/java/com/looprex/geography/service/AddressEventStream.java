@@ -0,0 +1,248 @@
+package com.looprex.geography.service;
+
+import com.looprex.geography.dto.AddressEventPage;
+import com.looprex.geography.dto.AddressEventResponse;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Entrega los eventos de direcciones por SSE. Un solo hilo lee el outbox cada
+ * address-events.stream.poll-interval-ms, desde el cursor más atrasado, y reparte cada página en la
+ * cola acotada de cada suscriptor: el costo en la base no depende de cuántos haya conectados y ese
+ * hilo nunca escribe en un socket. Cada suscriptor envía su cola desde su propio hilo virtual, así que
+ * un cliente lento solo se atrasa a sí mismo: con la cola llena deja de recibir páginas, y si un envío
+ * tarda más de address-events.stream.send-timeout-ms se cierra su conexión. Cada evento SSE lleva el
+ * ID del evento como id: al reconectar, el navegador (o el cliente) lo envía en Last-Event-ID y la
+ * lectura sigue desde ahí sin perder ni repetir eventos
+ */
+@Component
+public class AddressEventStream implements DisposableBean {
+
+    static final String EVENT_NAME = "address";
+
+    private final AddressEventService addressEventService;
+    private final long timeoutMillis;
+    private final long heartbeatMillis;
+    private final long sendTimeoutMillis;
+    private final int queueCapacity;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    public AddressEventStream(AddressEventService addressEventService,
+                              @Value("${address-events.stream.poll-interval-ms:1000}") long pollIntervalMillis,
+                              @Value("${address-events.stream.timeout-ms:1800000}") long timeoutMillis,
+                              @Value("${address-events.stream.heartbeat-ms:15000}") long heartbeatMillis,
+                              @Value("${address-events.stream.send-timeout-ms:10000}") long sendTimeoutMillis,
+                              @Value("${address-events.stream.queue-capacity:1000}") int queueCapacity) {
+        this.addressEventService = addressEventService;
+        this.timeoutMillis = timeoutMillis;
+        this.heartbeatMillis = heartbeatMillis;
+        this.sendTimeoutMillis = sendTimeoutMillis;
+        this.queueCapacity = Math.max(1, queueCapacity);
+        if (pollIntervalMillis > 0) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "address-event-stream");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.scheduler.scheduleWithFixedDelay(this::dispatchQuietly, pollIntervalMillis, pollIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    /**
+     * Abre una suscripción que recibirá los eventos posteriores a afterId
+     */
+    public SseEmitter subscribe(long afterId) {
+        return subscribe(new SseEmitter(timeoutMillis), afterId);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, long afterId) {
+        if (afterId < 0) {
+            throw new IllegalArgumentException("afterId no puede ser negativo");
+        }
+        Subscriber subscriber = new Subscriber(emitter, afterId);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> {
+            subscribers.remove(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Cierra las conexiones con un envío trabado y encola a cada suscriptor lo que le falta, página por
+     * página. Los suscriptores con la cola llena no cuentan para el cursor de lectura
+     */
+    void dispatch() {
+        long now = System.currentTimeMillis();
+        for (Subscriber subscriber : subscribers) {
+            long sendingSince = subscriber.sendingSince;
+            if (sendingSince > 0 && now - sendingSince > sendTimeoutMillis) {
+                subscriber.drop(new IOException("El cliente no recibió el evento en " + sendTimeoutMillis + " ms"));
+            }
+        }
+
+        while (true) {
+            OptionalLong from = subscribers.stream()
+                    .filter(Subscriber::hasRoom)
+                    .mapToLong(Subscriber::cursor)
+                    .min();
+            if (from.isEmpty()) {
+                break;
+            }
+            AddressEventPage page = addressEventService.getEventsAfter(from.getAsLong(), AddressEventService.MAX_PAGE_SIZE);
+            boolean progressed = false;
+            for (Subscriber subscriber : subscribers) {
+                progressed |= subscriber.enqueue(page.getEvents());
+            }
+            if (!page.isHasMore() || !progressed) {
+                break;
+            }
+        }
+
+        for (Subscriber subscriber : subscribers) {
+            if (now - subscriber.lastQueuedAt >= heartbeatMillis && subscriber.queue.isEmpty()) {
+                // Un comentario SSE mantiene abierta la conexión y detecta clientes que ya se fueron
+                subscriber.offer(SseEmitter.event().comment("keepalive"));
+            }
+        }
+    }
+
+    // Si la base no responde se reintenta en el siguiente ciclo; los cursores no avanzan
+    private void dispatchQuietly() {
+        try {
+            dispatch();
+        } catch (Exception e) {
+            // los suscriptores siguen conectados y reciben los eventos en el siguiente ciclo
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        senders.shutdownNow();
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // Último evento encolado: solo lo modifica el hilo de despacho
+        private volatile long cursor;
+        private volatile long lastQueuedAt = System.currentTimeMillis();
+        // Inicio del envío en curso (0 = ninguno)
+        private volatile long sendingSince;
+
+        private Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        private long cursor() {
+            return cursor;
+        }
+
+        private boolean hasRoom() {
+            return queue.remainingCapacity() > 0;
+        }
+
+        private boolean enqueue(List<AddressEventResponse> events) {
+            boolean queued = false;
+            for (AddressEventResponse event : events) {
+                if (event.getEventId() <= cursor) {
+                    continue;
+                }
+                SseEmitter.SseEventBuilder sseEvent = SseEmitter.event()
+                        .id(Long.toString(event.getEventId()))
+                        .name(EVENT_NAME)
+                        .data(event);
+                if (!queue.offer(sseEvent)) {
+                    break;
+                }
+                cursor = event.getEventId();
+                queued = true;
+            }
+            if (queued) {
+                lastQueuedAt = System.currentTimeMillis();
+                scheduleDrain();
+            }
+            return queued;
+        }
+
+        private void offer(SseEmitter.SseEventBuilder event) {
+            if (queue.offer(event)) {
+                lastQueuedAt = System.currentTimeMillis();
+                scheduleDrain();
+            }
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        // Un solo envío a la vez por suscriptor, en orden
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder event = queue.poll();
+                if (event == null) {
+                    draining.set(false);
+                    // Un evento encolado justo después del poll vacío necesita que alguien lo envíe
+                    if (queue.isEmpty() || !draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                sendingSince = System.currentTimeMillis();
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    // El cliente se desconectó (o la suscripción ya terminó): al reconectar retoma con Last-Event-ID
+                    drop(e);
+                    return;
+                } finally {
+                    sendingSince = 0;
+                }
+            }
+        }
+
+        // completeWithError espera a que termine el envío en curso: no debe bloquear el hilo de despacho
+        private void drop(Exception e) {
+            if (subscribers.remove(this)) {
+                queue.clear();
+                senders.execute(() -> emitter.completeWithError(e));
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.looprex.geography.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Clave normalizada de una dirección (calle + número) para detectar duplicados.
+ * "Av. Providencia 123" y "avenida providencia #0123" producen la misma clave: se ignoran
+ * mayúsculas, tildes y puntuación, los tipos de vía se abrevian a una forma canónica y el número
+ * pierde prefijos ("#", "N°", "nro") y ceros a la izquierda
+ */
+public final class AddressNormalizer {
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+    private static final Pattern NUMBER_PREFIX = Pattern.compile("^(numero|nro|num|n[°º]|no(?=\\s*[.#°º]?\\s*\\d))\\s*");
+
+    // Tipos de vía y títulos frecuentes → abreviatura canónica ("" = se omite)
+    private static final Map<String, String> STREET_TOKENS = Map.ofEntries(
+            Map.entry("avenida", "av"),
+            Map.entry("avda", "av"),
+            Map.entry("ave", "av"),
+            Map.entry("av", "av"),
+            Map.entry("calle", ""),
+            Map.entry("pasaje", "pje"),
+            Map.entry("psje", "pje"),
+            Map.entry("pje", "pje"),
+            Map.entry("camino", "cam"),
+            Map.entry("cno", "cam"),
+            Map.entry("general", "gral"),
+            Map.entry("gral", "gral"),
+            Map.entry("presidente", "pdte"),
+            Map.entry("pdte", "pdte"),
+            Map.entry("doctor", "dr"),
+            Map.entry("dr", "dr"),
+            Map.entry("santa", "sta"),
+            Map.entry("sta", "sta"),
+            Map.entry("libertador", "lib"),
+            Map.entry("lib", "lib"));
+
+    private AddressNormalizer() {
+    }
+
+    /**
+     * @return clave "calle|número" normalizada, o null si la calle o el número quedan vacíos
+     */
+    public static String key(String street, String number) {
+        String normalizedStreet = normalizeStreet(street);
+        String normalizedNumber = normalizeNumber(number);
+        if (normalizedStreet.isEmpty() || normalizedNumber.isEmpty()) {
+            return null;
+        }
+        String key = normalizedStreet + "|" + normalizedNumber;
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+
+    static String normalizeStreet(String street) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : fold(street).split(" ")) {
+            String canonical = STREET_TOKENS.getOrDefault(token, token);
+            if (!canonical.isEmpty()) {
+                tokens.add(canonical);
+            }
+        }
+        return String.join(" ", tokens);
+    }
+
+    static String normalizeNumber(String number) {
+        if (number == null) {
+            return "";
+        }
+        String lower = stripAccents(number.toLowerCase(Locale.ROOT)).trim();
+        if (lower.equals("s/n") || lower.equals("sn") || lower.equals("sin numero")) {
+            return "sn";
+        }
+        String withoutPrefix = NUMBER_PREFIX.matcher(lower).replaceFirst("");
+        String compact = NON_ALPHANUMERIC.matcher(withoutPrefix).replaceAll("");
+        // "0123" y "123" son el mismo número; se conserva un cero si es lo único que hay
+        return compact.replaceFirst("^0+(?=.)", "");
+    }
+
+    // Minúsculas, sin tildes y con la puntuación convertida en un solo espacio
+    private static String fold(String value) {
+        if (value == null) {
+            return "";
+        }
+        String lower = stripAccents(value.toLowerCase(Locale.ROOT));
+        return NON_ALPHANUMERIC.matcher(lower).replaceAll(" ").trim();
+    }
+
+    private static String stripAccents(String value) {
+        return DIACRITICS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+    }
+}
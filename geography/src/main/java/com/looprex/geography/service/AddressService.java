@@ -1,27 +1,57 @@
 package com.looprex.geography.service;
 
 import com.looprex.geography.client.UserClient;
+import com.looprex.geography.dto.AddressValidationResponse;
 import com.looprex.geography.model.Address;
+import com.looprex.geography.model.AddressEvent;
+import com.looprex.geography.model.Comuna;
 import com.looprex.geography.repository.AddressRepository;
 import com.looprex.geography.repository.ComunaRepository;
+import com.looprex.geography.security.AuthenticatedUser;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class AddressService {
 
+    static final int MAX_BATCH_SIZE = 200;
+
     private final AddressRepository addressRepository;
     private final ComunaRepository comunaRepository;
     private final UserClient userClient;
+    private final Gazetteer gazetteer;
+    private final UserIdReplica userIdReplica;
+    private final AddressEventService addressEventService;
+    // Cada cambio y su evento se confirman juntos (outbox)
+    private final TransactionTemplate transactionTemplate;
 
     public AddressService(AddressRepository addressRepository, 
                          ComunaRepository comunaRepository,
-                         UserClient userClient) {
+                         UserClient userClient,
+                         Gazetteer gazetteer,
+                         UserIdReplica userIdReplica,
+                         AddressEventService addressEventService,
+                         PlatformTransactionManager transactionManager) {
         this.addressRepository = addressRepository;
         this.comunaRepository = comunaRepository;
         this.userClient = userClient;
+        this.gazetteer = gazetteer;
+        this.userIdReplica = userIdReplica;
+        this.addressEventService = addressEventService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     public List<Address> getAllAddresses() {
@@ -33,10 +63,80 @@ public class AddressService {
     }
 
     public List<Address> getAddressesByUserId(Long userId) {
+        requireUser(userId);
+        return addressRepository.findByUserId(userId);
+    }
+
+    /**
+     * Dirección por defecto del usuario: la primera que registró
+     */
+    public Optional<Address> getDefaultAddress(Long userId) {
+        requireUser(userId);
+        return addressRepository.findFirstByUserIdOrderByAddressIdAsc(userId);
+    }
+
+    /**
+     * Varias direcciones en una sola consulta, en el orden pedido. Las que no existen se omiten
+     */
+    public List<Address> getAddressesByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar al menos un ID de dirección");
+        }
+        List<Long> distinct = ids.stream().distinct().toList();
+        if (distinct.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("No se pueden consultar más de " + MAX_BATCH_SIZE + " direcciones a la vez");
+        }
+        Map<Long, Address> found = addressRepository.findAllById(distinct).stream()
+                .collect(Collectors.toMap(Address::getAddressId, Function.identity()));
+        return distinct.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Existencia, pertenencia y comuna/región de una dirección en una sola consulta por clave primaria
+     * (los nombres salen del Gazetteer). Si la dirección no es del usuario indicado no se exponen
+     * datos de su ubicación
+     */
+    public AddressValidationResponse validateAddress(Long addressId, Long userId) {
+        Optional<AddressRepository.OwnershipView> ownership = addressRepository.findOwnershipById(addressId);
+        if (ownership.isEmpty()) {
+            return AddressValidationResponse.builder()
+                    .addressId(addressId)
+                    .exists(false)
+                    .owned(userId == null ? null : false)
+                    .build();
+        }
+        Boolean owned = userId == null ? null : userId.equals(ownership.get().getUserId());
+        AddressValidationResponse.AddressValidationResponseBuilder response = AddressValidationResponse.builder()
+                .addressId(addressId)
+                .exists(true)
+                .owned(owned);
+        if (Boolean.FALSE.equals(owned)) {
+            return response.build();
+        }
+        Long comunaId = ownership.get().getComunaId();
+        Optional<Comuna> comuna = gazetteer.comuna(comunaId);
+        return response
+                .comunaId(comunaId)
+                .comunaName(comuna.map(Comuna::getName).orElse(null))
+                .regionId(comuna.map(c -> c.getRegion().getRegionId()).orElse(null))
+                .regionName(comuna.map(c -> c.getRegion().getName()).orElse(null))
+                .build();
+    }
+
+    // Un token verificado del propio usuario o la réplica local ya prueban que existe; solo los IDs
+    // que no están en la réplica se confirman con users. Si users no responde se propaga
+    // ServiceUnavailableException (503): no se informa que el usuario no existe
+    private void requireUser(Long userId) {
+        if (AuthenticatedUser.isCurrentUser(userId) || userIdReplica.contains(userId)) {
+            return;
+        }
         if (!userClient.userExists(userId)) {
             throw new IllegalArgumentException("El usuario con ID " + userId + " no existe");
         }
-        return addressRepository.findByUserId(userId);
+        userIdReplica.add(userId);
     }
 
      public Address createAddress(Address address) {
@@ -57,31 +157,105 @@ public class AddressService {
             throw new IllegalArgumentException("La dirección debe tener una comuna válida");
         }
         
-        // Cargar la comuna completa desde la BD
-        var comuna = comunaRepository.findById(address.getComuna().getComunaId())
-                .orElseThrow(() -> new IllegalArgumentException("La comuna con ID " + address.getComuna().getComunaId() + " no existe"));
+        // Validar la comuna en memoria; para guardar basta una referencia (sin SELECT)
+        Long comunaId = address.getComuna().getComunaId();
+        if (gazetteer.comuna(comunaId).isEmpty()) {
+            throw new IllegalArgumentException("La comuna con ID " + comunaId + " no existe");
+        }
         
-        address.setComuna(comuna);
+        address.setComuna(comunaRepository.getReferenceById(comunaId));
+        
+        // Coordenadas opcionales: juntas y dentro de rango
+        GeoPoint.of(address.getLatitude(), address.getLongitude());
         
         // Validar que el usuario existe (ANTES de guardar)
-        if (!userClient.userExists(address.getUserId())) {
-            throw new IllegalArgumentException("El usuario con ID " + address.getUserId() + " no existe");
+        requireUser(address.getUserId());
+        
+        // Si el usuario ya registró la misma calle y número en la comuna se retorna esa dirección
+        address.setNormalizedKey(AddressNormalizer.key(address.getStreet(), address.getNumber()));
+        Optional<Address> duplicate = findDuplicate(address.getUserId(), comunaId, address.getNormalizedKey());
+        if (duplicate.isPresent()) {
+            return duplicate.get();
         }
         
         // Guardar
-        Address saved = addressRepository.save(address);
+        Address saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                Address inserted = addressRepository.save(address);
+                addressEventService.record(AddressEvent.Type.CREATED, inserted.getAddressId(), inserted.getUserId(), null);
+                return inserted;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Otra solicitud guardó la misma dirección entre la búsqueda y el INSERT
+            return findDuplicate(address.getUserId(), comunaId, address.getNormalizedKey()).orElseThrow(() -> e);
+        }
         
         return addressRepository.findById(saved.getAddressId()).orElse(saved);
     }
 
+    /**
+     * Calcula la clave normalizada de las direcciones que aún no la tienen. Si dos direcciones
+     * antiguas resultan equivalentes, solo la primera recibe la clave (el índice único no admite
+     * ambas); las demás quedan sin clave y se reportan en el conteo
+     * @return cantidad de direcciones que quedaron sin clave por ser duplicadas
+     */
+    public int backfillNormalizedKeys() {
+        List<Address> pending = addressRepository.findByNormalizedKeyIsNull();
+        Set<String> assigned = new HashSet<>();
+        List<Address> updated = new ArrayList<>();
+        int duplicates = 0;
+        for (Address address : pending) {
+            String key = AddressNormalizer.key(address.getStreet(), address.getNumber());
+            Long comunaId = address.getComuna().getComunaId();
+            if (key == null
+                    || !assigned.add(address.getUserId() + ":" + comunaId + ":" + key)
+                    || findDuplicate(address.getUserId(), comunaId, key).isPresent()) {
+                duplicates++;
+                continue;
+            }
+            address.setNormalizedKey(key);
+            updated.add(address);
+        }
+        addressRepository.saveAll(updated);
+        return duplicates;
+    }
+
+    private Optional<Address> findDuplicate(Long userId, Long comunaId, String normalizedKey) {
+        if (normalizedKey == null) {
+            return Optional.empty();
+        }
+        return addressRepository.findByUserIdAndComuna_ComunaIdAndNormalizedKey(userId, comunaId, normalizedKey);
+    }
+
     public Optional<Address> updateAddress(Long id, Address updatedAddress) {
         return addressRepository.findById(id).map(existingAddress -> {
+            Long previousUserId = existingAddress.getUserId();
+            List<Object> previousIdentity = identity(existingAddress);
             updateStreetIfProvided(updatedAddress, existingAddress);
             updateNumberIfProvided(updatedAddress, existingAddress);
             updateComunaIfProvided(updatedAddress, existingAddress);
+            updateCoordinatesIfProvided(updatedAddress, existingAddress);
             updateUserIdIfProvided(updatedAddress, existingAddress);
+            // Un duplicado antiguo sin clave (ver backfillNormalizedKeys) la conserva nula mientras no cambie
+            if (!previousIdentity.equals(identity(existingAddress))) {
+                updateNormalizedKey(existingAddress);
+            }
             
-            Address saved = addressRepository.save(existingAddress);
+            Address saved;
+            try {
+                saved = transactionTemplate.execute(status -> {
+                    Address updated = addressRepository.save(existingAddress);
+                    addressEventService.record(AddressEvent.Type.UPDATED, updated.getAddressId(), updated.getUserId(),
+                            Objects.equals(previousUserId, updated.getUserId()) ? null : previousUserId);
+                    return updated;
+                });
+            } catch (DataIntegrityViolationException e) {
+                // Otra solicitud guardó la misma dirección entre la verificación y el UPDATE
+                Address duplicate = findDuplicate(existingAddress.getUserId(), existingAddress.getComuna().getComunaId(),
+                        existingAddress.getNormalizedKey()).orElseThrow(() -> e);
+                throw alreadyRegistered(duplicate);
+            }
             
             // Recargar para obtener todas las relaciones
             return addressRepository.findById(saved.getAddressId()).orElse(saved);
@@ -102,27 +276,64 @@ public class AddressService {
 
     private void updateComunaIfProvided(Address updatedAddress, Address existingAddress) {
         if (updatedAddress.getComuna() != null) {
-            if (!comunaRepository.existsById(updatedAddress.getComuna().getComunaId())) {
-                throw new IllegalArgumentException("La comuna con ID " + updatedAddress.getComuna().getComunaId() + " no existe");
+            Long comunaId = updatedAddress.getComuna().getComunaId();
+            if (comunaId == null || gazetteer.comuna(comunaId).isEmpty()) {
+                throw new IllegalArgumentException("La comuna con ID " + comunaId + " no existe");
             }
-            existingAddress.setComuna(updatedAddress.getComuna());
+            existingAddress.setComuna(comunaRepository.getReferenceById(comunaId));
+        }
+    }
+
+    // Si cambia la comuna sin coordenadas nuevas, las anteriores ya no corresponden: se usará el centroide
+    private void updateCoordinatesIfProvided(Address updatedAddress, Address existingAddress) {
+        GeoPoint location = GeoPoint.of(updatedAddress.getLatitude(), updatedAddress.getLongitude());
+        if (location != null) {
+            existingAddress.setLatitude(location.latitude());
+            existingAddress.setLongitude(location.longitude());
+        } else if (updatedAddress.getComuna() != null) {
+            existingAddress.setLatitude(null);
+            existingAddress.setLongitude(null);
         }
     }
 
     private void updateUserIdIfProvided(Address updatedAddress, Address existingAddress) {
         if (updatedAddress.getUserId() != null) {
-            if (!userClient.userExists(updatedAddress.getUserId())) {
-                throw new IllegalArgumentException("El usuario con ID " + updatedAddress.getUserId() + " no existe");
-            }
+            requireUser(updatedAddress.getUserId());
             existingAddress.setUserId(updatedAddress.getUserId());
         }
     }
 
+    // Datos de los que depende la clave normalizada y su unicidad
+    private static List<Object> identity(Address address) {
+        return Arrays.asList(address.getStreet(), address.getNumber(),
+                address.getComuna() == null ? null : address.getComuna().getComunaId(), address.getUserId());
+    }
+
+    private void updateNormalizedKey(Address address) {
+        String key = AddressNormalizer.key(address.getStreet(), address.getNumber());
+        Optional<Address> duplicate = findDuplicate(address.getUserId(), address.getComuna().getComunaId(), key);
+        if (duplicate.isPresent() && !duplicate.get().getAddressId().equals(address.getAddressId())) {
+            throw alreadyRegistered(duplicate.get());
+        }
+        address.setNormalizedKey(key);
+    }
+
+    private static IllegalArgumentException alreadyRegistered(Address duplicate) {
+        return new IllegalArgumentException("El usuario ya tiene registrada esta dirección (ID "
+                + duplicate.getAddressId() + ")");
+    }
+
     public boolean deleteAddress(Long id) {
-        if (addressRepository.existsById(id)) {
-            addressRepository.deleteById(id);
-            return true;
+        // El evento necesita el dueño: se lee con la proyección en vez de existsById
+        Optional<AddressRepository.OwnershipView> ownership = addressRepository.findOwnershipById(id);
+        if (ownership.isEmpty()) {
+            return false;
         }
-        return false;
+        Long userId = ownership.get().getUserId();
+        transactionTemplate.executeWithoutResult(status -> {
+            addressRepository.deleteById(id);
+            addressEventService.record(AddressEvent.Type.DELETED, id, userId, null);
+        });
+        return true;
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.looprex.geography.service;
 
+import com.looprex.geography.dto.ComunaSummaryResponse;
 import com.looprex.geography.model.Comuna;
 import com.looprex.geography.model.Region;
 import com.looprex.geography.repository.ComunaRepository;
@@ -14,25 +15,37 @@ public class ComunaService {
 
     private final ComunaRepository comunaRepository;
     private final RegionRepository regionRepository;
+    private final ResourceVersionService resourceVersionService;
+    private final Gazetteer gazetteer;
 
-    public ComunaService(ComunaRepository comunaRepository, RegionRepository regionRepository) {
+    public ComunaService(ComunaRepository comunaRepository, RegionRepository regionRepository,
+                         ResourceVersionService resourceVersionService, Gazetteer gazetteer) {
         this.comunaRepository = comunaRepository;
         this.regionRepository = regionRepository;
+        this.resourceVersionService = resourceVersionService;
+        this.gazetteer = gazetteer;
     }
 
-    // Obtener todas las comunas
+    // Obtener todas las comunas (desde la instantánea en memoria)
     public List<Comuna> getAllComunas() {
-        return comunaRepository.findAll();
+        return gazetteer.comunas();
     }
 
     // Obtener comuna por ID
     public Optional<Comuna> getComunaById(Long id) {
-        return comunaRepository.findById(id);
+        return gazetteer.comuna(id);
     }
     
-    // Obtener comunas por región
+    // Obtener comunas por región (índice precalculado, sin JOIN)
     public List<Comuna> getComunasByRegionId(Long regionId) {
-        return comunaRepository.findByRegionId(regionId);
+        return gazetteer.comunasOf(regionId);
+    }
+
+    // Comunas de una región reducidas a ID y nombre (para listas desplegables)
+    public List<ComunaSummaryResponse> getComunaSummariesByRegionId(Long regionId) {
+        return gazetteer.comunasOf(regionId).stream()
+                .map(comuna -> new ComunaSummaryResponse(comuna.getComunaId(), comuna.getName()))
+                .toList();
     }
 
     // Crear nueva comuna
@@ -58,6 +71,8 @@ public class ComunaService {
         
         // Guardar
         Comuna saved = comunaRepository.save(comuna);
+        gazetteer.reload();
+        resourceVersionService.bump(ResourceVersionService.COMUNAS);
         
         return comunaRepository.findById(saved.getComunaId()).orElse(saved);
     }
@@ -84,6 +99,8 @@ public class ComunaService {
             
             //Guardar
             Comuna saved = comunaRepository.save(existingComuna);
+            gazetteer.reload();
+            resourceVersionService.bump(ResourceVersionService.COMUNAS);
             
             // Recargar
             return comunaRepository.findById(saved.getComunaId()).orElse(saved);
@@ -94,6 +111,8 @@ public class ComunaService {
     public boolean deleteComuna(Long id) {
         if (comunaRepository.existsById(id)) {
             comunaRepository.deleteById(id);
+            gazetteer.reload();
+            resourceVersionService.bump(ResourceVersionService.COMUNAS);
             return true;
         }
         return false;
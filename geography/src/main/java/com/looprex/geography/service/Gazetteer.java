@@ -0,0 +1,155 @@
+package com.looprex.geography.service;
+
+import com.looprex.geography.model.Comuna;
+import com.looprex.geography.model.Region;
+import com.looprex.geography.repository.ComunaRepository;
+import com.looprex.geography.repository.RegionRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Regiones y comunas en memoria. Son datos de referencia que casi no cambian, así que las lecturas
+ * (listados, búsquedas por ID, comunas de una región, mapeo y validación de direcciones) se
+ * resuelven desde una instantánea inmutable sin consultar la base.
+ * Cada escritura en RegionService/ComunaService llama a reload(), que arma una instantánea nueva
+ * y la publica de una vez: los lectores ven la anterior o la nueva, nunca una a medio construir.
+ * Las entidades de la instantánea son copias desacopladas de JPA y no deben modificarse
+ */
+@Service
+public class Gazetteer {
+
+    private final RegionRepository regionRepository;
+    private final ComunaRepository comunaRepository;
+    private volatile Snapshot snapshot;
+
+    public Gazetteer(RegionRepository regionRepository, ComunaRepository comunaRepository) {
+        this.regionRepository = regionRepository;
+        this.comunaRepository = comunaRepository;
+    }
+
+    public List<Region> regions() {
+        return snapshot().regions();
+    }
+
+    public Optional<Region> region(Long regionId) {
+        return Optional.ofNullable(snapshot().regionsById().get(regionId));
+    }
+
+    public List<Comuna> comunas() {
+        return snapshot().comunas();
+    }
+
+    public Optional<Comuna> comuna(Long comunaId) {
+        return Optional.ofNullable(snapshot().comunasById().get(comunaId));
+    }
+
+    public List<Comuna> comunasOf(Long regionId) {
+        return snapshot().comunasByRegion().getOrDefault(regionId, List.of());
+    }
+
+    /**
+     * Centroide de la comuna; si el dataset no lo trae, el de su región (mediana de las comunas con coordenadas)
+     */
+    public Optional<GeoPoint> centroid(Long comunaId) {
+        Snapshot current = snapshot();
+        Comuna comuna = current.comunasById().get(comunaId);
+        if (comuna == null) {
+            return Optional.empty();
+        }
+        if (comuna.getLatitude() != null && comuna.getLongitude() != null) {
+            return Optional.of(new GeoPoint(comuna.getLatitude(), comuna.getLongitude()));
+        }
+        return Optional.ofNullable(current.regionCentroids().get(comuna.getRegion().getRegionId()));
+    }
+
+    public long version() {
+        return snapshot().version();
+    }
+
+    /**
+     * Vuelve a leer regiones y comunas (dos consultas) y reemplaza la instantánea.
+     * Debe llamarse después de confirmar la escritura
+     */
+    public synchronized Snapshot reload() {
+        long version = snapshot == null ? 1 : snapshot.version() + 1;
+        snapshot = build(version, regionRepository.findAll(), comunaRepository.findAllWithRegion());
+        return snapshot;
+    }
+
+    /**
+     * Instantánea vigente, para quien necesita leer regiones y comunas de forma consistente entre sí
+     */
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        return current != null ? current : reload();
+    }
+
+    static Snapshot build(long version, List<Region> regions, List<Comuna> comunas) {
+        Map<Long, Region> regionsById = new LinkedHashMap<>();
+        regions.stream()
+                .sorted(Comparator.comparing(Region::getRegionId))
+                .forEach(region -> regionsById.put(region.getRegionId(), new Region(region.getRegionId(), region.getName())));
+
+        Map<Long, Comuna> comunasById = new LinkedHashMap<>();
+        Map<Long, List<Comuna>> byRegion = new LinkedHashMap<>();
+        comunas.stream()
+                .sorted(Comparator.comparing(Comuna::getComunaId))
+                .forEach(comuna -> {
+                    Region region = regionsById.get(comuna.getRegion().getRegionId());
+                    Comuna copy = new Comuna(comuna.getComunaId(), comuna.getName(), region,
+                            comuna.getLatitude(), comuna.getLongitude());
+                    comunasById.put(copy.getComunaId(), copy);
+                    byRegion.computeIfAbsent(region.getRegionId(), id -> new ArrayList<>()).add(copy);
+                });
+
+        Map<Long, List<Comuna>> comunasByRegion = new LinkedHashMap<>();
+        Map<Long, GeoPoint> regionCentroids = new LinkedHashMap<>();
+        byRegion.forEach((regionId, list) -> {
+            comunasByRegion.put(regionId, List.copyOf(list));
+            GeoPoint centroid = medianCentroid(list);
+            if (centroid != null) {
+                regionCentroids.put(regionId, centroid);
+            }
+        });
+
+        return new Snapshot(version,
+                List.copyOf(regionsById.values()),
+                List.copyOf(comunasById.values()),
+                Map.copyOf(regionsById),
+                Map.copyOf(comunasById),
+                Map.copyOf(comunasByRegion),
+                Map.copyOf(regionCentroids));
+    }
+
+    // Mediana por eje y no promedio: una comuna insular (Isla de Pascua) no desplaza el centro de su región
+    private static GeoPoint medianCentroid(List<Comuna> comunas) {
+        double[] latitudes = comunas.stream().filter(c -> c.getLatitude() != null && c.getLongitude() != null)
+                .mapToDouble(Comuna::getLatitude).sorted().toArray();
+        double[] longitudes = comunas.stream().filter(c -> c.getLatitude() != null && c.getLongitude() != null)
+                .mapToDouble(Comuna::getLongitude).sorted().toArray();
+        if (latitudes.length == 0) {
+            return null;
+        }
+        return new GeoPoint(median(latitudes), median(longitudes));
+    }
+
+    private static double median(double[] sorted) {
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    public record Snapshot(long version,
+                           List<Region> regions,
+                           List<Comuna> comunas,
+                           Map<Long, Region> regionsById,
+                           Map<Long, Comuna> comunasById,
+                           Map<Long, List<Comuna>> comunasByRegion,
+                           Map<Long, GeoPoint> regionCentroids) {
+    }
+}
@@ -0,0 +1,140 @@
+package com.looprex.geography.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Dataset de regiones y comunas leído desde CSV (separado por ';').
+ * Formato: líneas '# comentario', una línea '# version=...' obligatoria, la cabecera
+ * opcional 'region;comuna[;lat;lon]' y luego una línea por comuna con el nombre de su región
+ * y, opcionalmente, la latitud y longitud de su centroide.
+ * El checksum se calcula sobre el contenido normalizado, así espacios o comentarios
+ * distintos no obligan a volver a aplicar el mismo dataset
+ */
+public record GazetteerDataset(String version,
+                               String checksum,
+                               Map<String, List<String>> comunasByRegion,
+                               Map<String, GeoPoint> centroids) {
+
+    private static final String VERSION_PREFIX = "version=";
+    private static final String HEADER = "region;comuna";
+    private static final String HEADER_WITH_CENTROIDS = "region;comuna;lat;lon";
+
+    public int regionCount() {
+        return comunasByRegion.size();
+    }
+
+    /**
+     * Centroide de la comuna según el dataset, o null si la línea no trae coordenadas
+     */
+    public GeoPoint centroid(String region, String comuna) {
+        return centroids.get(region + ';' + comuna);
+    }
+
+    public int comunaCount() {
+        return comunasByRegion.values().stream().mapToInt(List::size).sum();
+    }
+
+    public static GazetteerDataset parse(String content) {
+        if (content == null || content.isBlank()) {
+            throw new IllegalArgumentException("El dataset está vacío");
+        }
+        return parse(new StringReader(content));
+    }
+
+    /**
+     * @throws IllegalArgumentException si falta la versión, hay líneas mal formadas o comunas repetidas
+     */
+    public static GazetteerDataset parse(Reader source) {
+        String version = null;
+        Map<String, Set<String>> comunas = new LinkedHashMap<>();
+        Map<String, GeoPoint> centroids = new LinkedHashMap<>();
+        StringBuilder canonical = new StringBuilder();
+
+        try (BufferedReader reader = new BufferedReader(source)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.strip();
+                if (line.isEmpty() || line.equalsIgnoreCase(HEADER) || line.equalsIgnoreCase(HEADER_WITH_CENTROIDS)) {
+                    continue;
+                }
+                if (line.startsWith("#")) {
+                    String comment = line.substring(1).strip();
+                    if (comment.startsWith(VERSION_PREFIX)) {
+                        version = comment.substring(VERSION_PREFIX.length()).strip();
+                    }
+                    continue;
+                }
+                String[] fields = line.split(";", -1);
+                if ((fields.length != 2 && fields.length != 4) || fields[0].isBlank() || fields[1].isBlank()) {
+                    throw new IllegalArgumentException("Línea " + lineNumber + " inválida: se esperaba 'region;comuna[;lat;lon]'");
+                }
+                String region = fields[0].strip();
+                String comuna = fields[1].strip();
+                if (!comunas.computeIfAbsent(region, r -> new LinkedHashSet<>()).add(comuna)) {
+                    throw new IllegalArgumentException("Línea " + lineNumber + ": la comuna '" + comuna +
+                            "' está repetida en la región '" + region + "'");
+                }
+                canonical.append(region).append(';').append(comuna);
+                if (fields.length == 4) {
+                    GeoPoint centroid = parseCentroid(fields[2], fields[3], lineNumber);
+                    centroids.put(region + ';' + comuna, centroid);
+                    canonical.append(';').append(centroid.latitude()).append(';').append(centroid.longitude());
+                }
+                canonical.append('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el dataset", e);
+        }
+
+        if (version == null || version.isEmpty()) {
+            throw new IllegalArgumentException("El dataset debe declarar su versión con una línea '# version=...'");
+        }
+        if (comunas.isEmpty()) {
+            throw new IllegalArgumentException("El dataset no contiene comunas");
+        }
+
+        Map<String, List<String>> comunasByRegion = new LinkedHashMap<>();
+        comunas.forEach((region, names) -> comunasByRegion.put(region, List.copyOf(names)));
+        return new GazetteerDataset(version, sha256(VERSION_PREFIX + version + '\n' + canonical),
+                Collections.unmodifiableMap(comunasByRegion), Collections.unmodifiableMap(centroids));
+    }
+
+    private static GeoPoint parseCentroid(String latitude, String longitude, int lineNumber) {
+        try {
+            return new GeoPoint(Double.parseDouble(latitude.strip()), Double.parseDouble(longitude.strip()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Línea " + lineNumber + ": coordenadas inválidas (" +
+                    latitude.strip() + ", " + longitude.strip() + ")");
+        }
+    }
+
+    public List<String> regionNames() {
+        return new ArrayList<>(comunasByRegion.keySet());
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.looprex.geography.service;
+
+import com.looprex.geography.dto.DatasetApplyResult;
+import com.looprex.geography.model.Comuna;
+import com.looprex.geography.model.DatasetVersion;
+import com.looprex.geography.model.Region;
+import com.looprex.geography.repository.ComunaRepository;
+import com.looprex.geography.repository.DatasetVersionRepository;
+import com.looprex.geography.repository.GazetteerBulkRepository;
+import com.looprex.geography.repository.RegionRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Carga el dataset nacional de regiones y comunas. Al iniciar se aplica el dataset incluido en el
+ * classpath solo si su checksum difiere del último aplicado; un administrador puede aplicar una
+ * versión nueva en caliente. Todo el cambio ocurre en una transacción y la instantánea del
+ * Gazetteer se reemplaza después del commit, así las lecturas nunca ven un dataset a medias.
+ * Las regiones y comunas se identifican por nombre: las que faltan se insertan y las que sobran
+ * se eliminan, salvo las comunas con direcciones o puntos de retiro asociados, que se conservan.
+ * Los centroides de las comunas existentes se actualizan solo si cambiaron
+ */
+@Service
+public class GazetteerDatasetService {
+
+    private final RegionRepository regionRepository;
+    private final ComunaRepository comunaRepository;
+    private final DatasetVersionRepository datasetVersionRepository;
+    private final GazetteerBulkRepository bulkRepository;
+    private final Gazetteer gazetteer;
+    private final ResourceVersionService resourceVersionService;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final Resource bundledDataset;
+    private final int batchSize;
+
+    public GazetteerDatasetService(RegionRepository regionRepository,
+                                   ComunaRepository comunaRepository,
+                                   DatasetVersionRepository datasetVersionRepository,
+                                   GazetteerBulkRepository bulkRepository,
+                                   Gazetteer gazetteer,
+                                   ResourceVersionService resourceVersionService,
+                                   PlatformTransactionManager transactionManager,
+                                   EntityManager entityManager,
+                                   @Value("${geography.dataset.resource:classpath:gazetteer/chile.csv}") Resource bundledDataset,
+                                   @Value("${geography.dataset.batch-size:500}") int batchSize) {
+        this.regionRepository = regionRepository;
+        this.comunaRepository = comunaRepository;
+        this.datasetVersionRepository = datasetVersionRepository;
+        this.bulkRepository = bulkRepository;
+        this.gazetteer = gazetteer;
+        this.resourceVersionService = resourceVersionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.bundledDataset = bundledDataset;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Aplica el dataset incluido en la aplicación. Si ya está aplicado no escribe nada
+     */
+    public DatasetApplyResult loadBundled() {
+        try (Reader reader = new InputStreamReader(bundledDataset.getInputStream(), StandardCharsets.UTF_8)) {
+            return apply(GazetteerDataset.parse(reader));
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el dataset " + bundledDataset.getDescription(), e);
+        }
+    }
+
+    /**
+     * Aplica un dataset recibido como texto CSV
+     * @throws IllegalArgumentException si el dataset no es válido
+     */
+    public DatasetApplyResult apply(String content) {
+        return apply(GazetteerDataset.parse(content));
+    }
+
+    public Optional<DatasetVersion> getCurrentVersion() {
+        return datasetVersionRepository.findTopByOrderByDatasetVersionIdDesc();
+    }
+
+    // Serializado: dos aplicaciones simultáneas calcularían diferencias sobre el mismo estado
+    synchronized DatasetApplyResult apply(GazetteerDataset dataset) {
+        DatasetApplyResult result = transactionTemplate.execute(status -> applyInTransaction(dataset));
+        if (result.isApplied()) {
+            gazetteer.reload();
+            resourceVersionService.bump(ResourceVersionService.REGIONS);
+            resourceVersionService.bump(ResourceVersionService.COMUNAS);
+        }
+        return result;
+    }
+
+    private DatasetApplyResult applyInTransaction(GazetteerDataset dataset) {
+        DatasetApplyResult.DatasetApplyResultBuilder result = DatasetApplyResult.builder()
+                .version(dataset.version())
+                .checksum(dataset.checksum())
+                .totalRegions(dataset.regionCount())
+                .totalComunas(dataset.comunaCount());
+
+        boolean unchanged = getCurrentVersion()
+                .map(current -> current.getChecksum().equals(dataset.checksum()))
+                .orElse(false);
+        if (unchanged) {
+            return result.applied(false).build();
+        }
+
+        // Regiones faltantes
+        Map<String, Region> regionsByName = regionsByName();
+        List<String> newRegions = dataset.regionNames().stream()
+                .filter(name -> !regionsByName.containsKey(name))
+                .toList();
+        if (!newRegions.isEmpty()) {
+            bulkRepository.insertRegions(newRegions, batchSize);
+            regionsByName.putAll(regionsByName());
+        }
+
+        // Comunas faltantes, identificadas por nombre dentro de su región
+        List<Comuna> existing = comunaRepository.findAllWithRegion();
+        Set<String> existingKeys = existing.stream()
+                .map(comuna -> key(comuna.getRegion().getRegionId(), comuna.getName()))
+                .collect(Collectors.toSet());
+        Map<String, GeoPoint> wantedCentroids = new HashMap<>();
+        List<GazetteerBulkRepository.ComunaRow> newComunas = new ArrayList<>();
+        dataset.comunasByRegion().forEach((regionName, comunas) -> {
+            Long regionId = regionsByName.get(regionName).getRegionId();
+            for (String comuna : comunas) {
+                GeoPoint centroid = dataset.centroid(regionName, comuna);
+                wantedCentroids.put(key(regionId, comuna), centroid);
+                if (!existingKeys.contains(key(regionId, comuna))) {
+                    newComunas.add(new GazetteerBulkRepository.ComunaRow(null, comuna, regionId,
+                            centroid == null ? null : centroid.latitude(),
+                            centroid == null ? null : centroid.longitude()));
+                }
+            }
+        });
+        bulkRepository.insertComunas(newComunas, batchSize);
+
+        // Comunas existentes cuyo centroide cambió (o se agregó) en esta versión
+        List<GazetteerBulkRepository.ComunaRow> movedComunas = new ArrayList<>();
+        for (Comuna comuna : existing) {
+            String key = key(comuna.getRegion().getRegionId(), comuna.getName());
+            if (!wantedCentroids.containsKey(key)) {
+                continue;
+            }
+            GeoPoint centroid = wantedCentroids.get(key);
+            GeoPoint current = GeoPoint.of(comuna.getLatitude(), comuna.getLongitude());
+            if (!Objects.equals(centroid, current)) {
+                movedComunas.add(new GazetteerBulkRepository.ComunaRow(comuna.getComunaId(), null, null,
+                        centroid == null ? null : centroid.latitude(),
+                        centroid == null ? null : centroid.longitude()));
+            }
+        }
+        bulkRepository.updateComunaCentroids(movedComunas, batchSize);
+
+        // Comunas que ya no están en el dataset: se conservan las que tienen direcciones
+        Set<Long> referenced = bulkRepository.findReferencedComunaIds();
+        List<Long> staleComunas = new ArrayList<>();
+        List<Long> keptComunas = new ArrayList<>();
+        Set<Long> regionsWithKeptComunas = new HashSet<>();
+        for (Comuna comuna : existing) {
+            if (wantedCentroids.containsKey(key(comuna.getRegion().getRegionId(), comuna.getName()))) {
+                continue;
+            }
+            if (referenced.contains(comuna.getComunaId())) {
+                keptComunas.add(comuna.getComunaId());
+                regionsWithKeptComunas.add(comuna.getRegion().getRegionId());
+            } else {
+                staleComunas.add(comuna.getComunaId());
+            }
+        }
+        bulkRepository.deleteComunas(staleComunas, batchSize);
+
+        List<Long> staleRegions = regionsByName.values().stream()
+                .filter(region -> !dataset.comunasByRegion().containsKey(region.getName()))
+                .map(Region::getRegionId)
+                .filter(regionId -> !regionsWithKeptComunas.contains(regionId))
+                .toList();
+        bulkRepository.deleteRegions(staleRegions, batchSize);
+
+        datasetVersionRepository.save(new DatasetVersion(null, dataset.version(), dataset.checksum(),
+                dataset.regionCount(), dataset.comunaCount(), LocalDateTime.now()));
+
+        // Los cambios por JDBC no se reflejan en las entidades ya cargadas: sin esto, una recarga que reutilice
+        // el mismo EntityManager (open-in-view en PUT /api/gazetteer/dataset) vería los centroides anteriores
+        entityManager.flush();
+        entityManager.clear();
+
+        return result.applied(true)
+                .regionsInserted(newRegions.size())
+                .comunasInserted(newComunas.size())
+                .centroidsUpdated(movedComunas.size())
+                .regionsRemoved(staleRegions.size())
+                .comunasRemoved(staleComunas.size())
+                .comunasKept(keptComunas.size())
+                .build();
+    }
+
+    private Map<String, Region> regionsByName() {
+        return regionRepository.findAll().stream()
+                .collect(Collectors.toMap(Region::getName, Function.identity(), (first, second) -> first));
+    }
+
+    private static String key(Long regionId, String comunaName) {
+        return regionId + "|" + comunaName;
+    }
+}
@@ -0,0 +1,44 @@
+package com.looprex.geography.service;
+
+/**
+ * Punto geográfico en grados decimales (WGS84)
+ */
+public record GeoPoint(double latitude, double longitude) {
+
+    static final double EARTH_RADIUS_KM = 6371.0088;
+
+    public GeoPoint {
+        if (!(latitude >= -90 && latitude <= 90)) {
+            throw new IllegalArgumentException("La latitud debe estar entre -90 y 90");
+        }
+        if (!(longitude >= -180 && longitude <= 180)) {
+            throw new IllegalArgumentException("La longitud debe estar entre -180 y 180");
+        }
+    }
+
+    /**
+     * @return el punto, o null si no viene ninguna coordenada
+     * @throws IllegalArgumentException si viene solo una o alguna está fuera de rango
+     */
+    public static GeoPoint of(Double latitude, Double longitude) {
+        if (latitude == null && longitude == null) {
+            return null;
+        }
+        if (latitude == null || longitude == null) {
+            throw new IllegalArgumentException("Debe indicar latitud y longitud juntas");
+        }
+        return new GeoPoint(latitude, longitude);
+    }
+
+    /**
+     * Distancia por la superficie terrestre (fórmula del haversine)
+     */
+    public double distanceKm(GeoPoint other) {
+        double dLat = Math.toRadians(other.latitude - latitude);
+        double dLon = Math.toRadians(other.longitude - longitude);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(latitude)) * Math.cos(Math.toRadians(other.latitude))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
@@ -0,0 +1,40 @@
+package com.looprex.geography.service;
+
+import com.looprex.geography.model.Address;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Ubicación aproximada de direcciones sin depender de un servicio externo de geocodificación.
+ * Si la dirección trae coordenadas se usan tal cual; si no, se usa el centroide de su comuna
+ * (o el de su región cuando el dataset no lo trae). Reemplazar esta clase por un geocodificador
+ * real no cambia a quienes la usan
+ */
+@Service
+public class Geocoder {
+
+    private final Gazetteer gazetteer;
+
+    public Geocoder(Gazetteer gazetteer) {
+        this.gazetteer = gazetteer;
+    }
+
+    public Optional<GeoPoint> locate(Address address) {
+        Long comunaId = address.getComuna() == null ? null : address.getComuna().getComunaId();
+        return locate(address.getLatitude(), address.getLongitude(), comunaId);
+    }
+
+    /**
+     * @param latitude  latitud exacta, si se conoce
+     * @param longitude longitud exacta, si se conoce
+     * @param comunaId  comuna usada como aproximación cuando no hay coordenadas
+     */
+    public Optional<GeoPoint> locate(Double latitude, Double longitude, Long comunaId) {
+        GeoPoint exact = GeoPoint.of(latitude, longitude);
+        if (exact != null) {
+            return Optional.of(exact);
+        }
+        return comunaId == null ? Optional.empty() : gazetteer.centroid(comunaId);
+    }
+}
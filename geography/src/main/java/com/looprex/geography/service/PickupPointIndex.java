@@ -0,0 +1,187 @@
+package com.looprex.geography.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * Índice espacial inmutable de puntos de retiro (árbol k-d) para responder "los k más cercanos"
+ * sin recorrer todos los puntos. Cada punto se convierte a un vector sobre la esfera unitaria
+ * (x, y, z): la distancia euclidiana entre vectores (cuerda) crece igual que la distancia por la
+ * superficie, así que el árbol es exacto, no se deforma cerca de los polos y no tiene problemas con
+ * el antimeridiano (Isla de Pascua). El árbol vive en arreglos planos: el nodo de un rango
+ * [lo, hi) es su elemento central y los subárboles son las dos mitades
+ */
+public final class PickupPointIndex {
+
+    private static final PickupPointIndex EMPTY = new PickupPointIndex(List.of());
+
+    private final List<Entry> entries;
+    private final Map<Long, Entry> entriesById;
+    private final double[][] coordinates;
+    private final int[] tree;
+
+    private PickupPointIndex(List<Entry> entries) {
+        this.entries = List.copyOf(entries);
+        Map<Long, Entry> byId = new LinkedHashMap<>();
+        this.entries.forEach(entry -> byId.put(entry.pickupPointId(), entry));
+        this.entriesById = Map.copyOf(byId);
+        this.coordinates = new double[this.entries.size()][];
+        this.tree = new int[this.entries.size()];
+        for (int i = 0; i < this.entries.size(); i++) {
+            coordinates[i] = toUnitVector(this.entries.get(i).location());
+            tree[i] = i;
+        }
+        build(0, tree.length, 0);
+    }
+
+    public static PickupPointIndex empty() {
+        return EMPTY;
+    }
+
+    public static PickupPointIndex of(List<Entry> entries) {
+        return entries.isEmpty() ? EMPTY : new PickupPointIndex(entries);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public List<Entry> entries() {
+        return entries;
+    }
+
+    public Optional<Entry> find(Long pickupPointId) {
+        return Optional.ofNullable(entriesById.get(pickupPointId));
+    }
+
+    /**
+     * @return hasta k puntos, del más cercano al más lejano
+     */
+    public List<Neighbor> nearest(GeoPoint origin, int k) {
+        if (k <= 0 || entries.isEmpty()) {
+            return List.of();
+        }
+        double[] target = toUnitVector(origin);
+        // Montículo de máximos: la raíz es el peor de los k mejores encontrados
+        PriorityQueue<Candidate> best = new PriorityQueue<>(k + 1,
+                Comparator.comparingDouble(Candidate::squaredChord).reversed());
+        search(0, tree.length, 0, target, k, best);
+
+        List<Candidate> sorted = new ArrayList<>(best);
+        sorted.sort(Comparator.comparingDouble(Candidate::squaredChord));
+        List<Neighbor> result = new ArrayList<>(sorted.size());
+        for (Candidate candidate : sorted) {
+            result.add(new Neighbor(entries.get(candidate.index()), chordToKm(Math.sqrt(candidate.squaredChord()))));
+        }
+        return result;
+    }
+
+    private void search(int lo, int hi, int axis, double[] target, int k, PriorityQueue<Candidate> best) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        int index = tree[mid];
+        double[] point = coordinates[index];
+
+        double squared = squaredDistance(point, target);
+        if (best.size() < k) {
+            best.add(new Candidate(index, squared));
+        } else if (squared < best.peek().squaredChord()) {
+            best.poll();
+            best.add(new Candidate(index, squared));
+        }
+
+        double diff = target[axis] - point[axis];
+        int next = (axis + 1) % 3;
+        if (diff < 0) {
+            search(lo, mid, next, target, k, best);
+            if (best.size() < k || diff * diff < best.peek().squaredChord()) {
+                search(mid + 1, hi, next, target, k, best);
+            }
+        } else {
+            search(mid + 1, hi, next, target, k, best);
+            if (best.size() < k || diff * diff < best.peek().squaredChord()) {
+                search(lo, mid, next, target, k, best);
+            }
+        }
+    }
+
+    // Deja en el centro de [lo, hi) la mediana del eje y repite en cada mitad con el eje siguiente
+    private void build(int lo, int hi, int axis) {
+        if (hi - lo <= 1) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        select(lo, hi - 1, mid, axis);
+        int next = (axis + 1) % 3;
+        build(lo, mid, next);
+        build(mid + 1, hi, next);
+    }
+
+    // Quickselect sobre tree[left..right]: tree[nth] queda con el elemento que tendría ordenado
+    private void select(int left, int right, int nth, int axis) {
+        while (left < right) {
+            double pivot = coordinates[tree[(left + right) >>> 1]][axis];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (coordinates[tree[i]][axis] < pivot) {
+                    i++;
+                }
+                while (coordinates[tree[j]][axis] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    int swap = tree[i];
+                    tree[i] = tree[j];
+                    tree[j] = swap;
+                    i++;
+                    j--;
+                }
+            }
+            if (nth <= j) {
+                right = j;
+            } else if (nth >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static double[] toUnitVector(GeoPoint point) {
+        double lat = Math.toRadians(point.latitude());
+        double lon = Math.toRadians(point.longitude());
+        double cosLat = Math.cos(lat);
+        return new double[] {cosLat * Math.cos(lon), cosLat * Math.sin(lon), Math.sin(lat)};
+    }
+
+    private static double squaredDistance(double[] a, double[] b) {
+        double dx = a[0] - b[0];
+        double dy = a[1] - b[1];
+        double dz = a[2] - b[2];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static double chordToKm(double chord) {
+        return 2 * GeoPoint.EARTH_RADIUS_KM * Math.asin(Math.min(1, chord / 2));
+    }
+
+    /**
+     * Datos del punto de retiro guardados en el índice, desacoplados de JPA
+     */
+    public record Entry(Long pickupPointId, String name, String address, Long comunaId, GeoPoint location) {
+    }
+
+    public record Neighbor(Entry entry, double distanceKm) {
+    }
+
+    private record Candidate(int index, double squaredChord) {
+    }
+}
@@ -0,0 +1,153 @@
+package com.looprex.geography.service;
+
+import com.looprex.geography.dto.PickupPointResponse;
+import com.looprex.geography.model.Comuna;
+import com.looprex.geography.model.PickupPoint;
+import com.looprex.geography.repository.AddressRepository;
+import com.looprex.geography.repository.ComunaRepository;
+import com.looprex.geography.repository.PickupPointRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Registro de puntos de retiro. Las lecturas y la búsqueda de los más cercanos se resuelven desde un
+ * índice espacial en memoria (PickupPointIndex); cada escritura vuelve a construir el índice y lo
+ * publica de una vez, igual que Gazetteer con regiones y comunas
+ */
+@Service
+public class PickupPointService {
+
+    static final int DEFAULT_NEAREST = 5;
+    static final int MAX_NEAREST = 50;
+
+    private final PickupPointRepository pickupPointRepository;
+    private final AddressRepository addressRepository;
+    private final ComunaRepository comunaRepository;
+    private final Gazetteer gazetteer;
+    private final Geocoder geocoder;
+    private volatile PickupPointIndex index;
+
+    public PickupPointService(PickupPointRepository pickupPointRepository,
+                              AddressRepository addressRepository,
+                              ComunaRepository comunaRepository,
+                              Gazetteer gazetteer,
+                              Geocoder geocoder) {
+        this.pickupPointRepository = pickupPointRepository;
+        this.addressRepository = addressRepository;
+        this.comunaRepository = comunaRepository;
+        this.gazetteer = gazetteer;
+        this.geocoder = geocoder;
+    }
+
+    public List<PickupPointResponse> getAll() {
+        return index().entries().stream()
+                .map(entry -> toResponse(entry, null))
+                .toList();
+    }
+
+    public Optional<PickupPointResponse> getById(Long pickupPointId) {
+        return index().find(pickupPointId).map(entry -> toResponse(entry, null));
+    }
+
+    /**
+     * Los k puntos de retiro más cercanos a una dirección guardada o a unas coordenadas (solo uno de los dos).
+     * Una dirección sin coordenadas se ubica en el centroide de su comuna
+     */
+    public List<PickupPointResponse> nearest(Long addressId, Double latitude, Double longitude, Integer k) {
+        boolean byCoordinates = latitude != null || longitude != null;
+        if ((addressId == null) == !byCoordinates) {
+            throw new IllegalArgumentException("Debe indicar addressId o latitud y longitud (solo uno)");
+        }
+        int limit = k == null ? DEFAULT_NEAREST : k;
+        if (limit < 1 || limit > MAX_NEAREST) {
+            throw new IllegalArgumentException("k debe estar entre 1 y " + MAX_NEAREST);
+        }
+
+        GeoPoint origin = byCoordinates ? GeoPoint.of(latitude, longitude) : locateAddress(addressId);
+        return index().nearest(origin, limit).stream()
+                .map(neighbor -> toResponse(neighbor.entry(), neighbor.distanceKm()))
+                .toList();
+    }
+
+    /**
+     * Registra un punto de retiro. Sin coordenadas se ubica en el centroide de su comuna
+     */
+    public PickupPointResponse create(PickupPoint pickupPoint) {
+        if (pickupPoint.getName() == null || pickupPoint.getName().trim().isEmpty()) {
+            throw new IllegalArgumentException("El nombre no puede estar vacío");
+        }
+        if (pickupPoint.getAddress() == null || pickupPoint.getAddress().trim().isEmpty()) {
+            throw new IllegalArgumentException("La dirección no puede estar vacía");
+        }
+        if (pickupPoint.getComuna() == null || pickupPoint.getComuna().getComunaId() == null) {
+            throw new IllegalArgumentException("El punto de retiro debe tener una comuna válida");
+        }
+        Long comunaId = pickupPoint.getComuna().getComunaId();
+        if (gazetteer.comuna(comunaId).isEmpty()) {
+            throw new IllegalArgumentException("La comuna con ID " + comunaId + " no existe");
+        }
+        GeoPoint location = geocoder.locate(pickupPoint.getLatitude(), pickupPoint.getLongitude(), comunaId)
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "La comuna con ID " + comunaId + " no tiene coordenadas: debe indicar latitud y longitud"));
+
+        pickupPoint.setPickupPointId(null);
+        pickupPoint.setComuna(comunaRepository.getReferenceById(comunaId));
+        pickupPoint.setLatitude(location.latitude());
+        pickupPoint.setLongitude(location.longitude());
+        PickupPoint saved = pickupPointRepository.save(pickupPoint);
+        reload();
+        return toResponse(toEntry(saved), null);
+    }
+
+    public boolean delete(Long pickupPointId) {
+        if (!pickupPointRepository.existsById(pickupPointId)) {
+            return false;
+        }
+        pickupPointRepository.deleteById(pickupPointId);
+        reload();
+        return true;
+    }
+
+    /**
+     * Vuelve a leer los puntos de retiro (una consulta) y reemplaza el índice.
+     * Debe llamarse después de confirmar la escritura
+     */
+    public synchronized PickupPointIndex reload() {
+        index = PickupPointIndex.of(pickupPointRepository.findAll().stream().map(PickupPointService::toEntry).toList());
+        return index;
+    }
+
+    private PickupPointIndex index() {
+        PickupPointIndex current = index;
+        return current != null ? current : reload();
+    }
+
+    private GeoPoint locateAddress(Long addressId) {
+        AddressRepository.LocationView location = addressRepository.findLocationById(addressId)
+                .orElseThrow(() -> new IllegalArgumentException("La dirección con ID " + addressId + " no existe"));
+        return geocoder.locate(location.getLatitude(), location.getLongitude(), location.getComunaId())
+                .orElseThrow(() -> new IllegalArgumentException("No se pudo ubicar la dirección con ID " + addressId));
+    }
+
+    // getComunaId() de un proxy LAZY no inicializa la comuna
+    private static PickupPointIndex.Entry toEntry(PickupPoint pickupPoint) {
+        return new PickupPointIndex.Entry(pickupPoint.getPickupPointId(), pickupPoint.getName(),
+                pickupPoint.getAddress(), pickupPoint.getComuna().getComunaId(),
+                new GeoPoint(pickupPoint.getLatitude(), pickupPoint.getLongitude()));
+    }
+
+    private PickupPointResponse toResponse(PickupPointIndex.Entry entry, Double distanceKm) {
+        return PickupPointResponse.builder()
+                .pickupPointId(entry.pickupPointId())
+                .name(entry.name())
+                .address(entry.address())
+                .comunaId(entry.comunaId())
+                .comunaName(gazetteer.comuna(entry.comunaId()).map(Comuna::getName).orElse(null))
+                .latitude(entry.location().latitude())
+                .longitude(entry.location().longitude())
+                .distanceKm(distanceKm == null ? null : Math.round(distanceKm * 100) / 100.0)
+                .build();
+    }
+}
@@ -1,5 +1,7 @@
 package com.looprex.geography.service;
 
+import com.looprex.geography.dto.ComunaSummaryResponse;
+import com.looprex.geography.dto.RegionTreeResponse;
 import com.looprex.geography.model.Comuna;
 import com.looprex.geography.model.Region;
 import com.looprex.geography.repository.ComunaRepository;
@@ -14,20 +16,41 @@ public class RegionService {
 
     private final RegionRepository regionRepository;
     private final ComunaRepository comunaRepository;
+    private final ResourceVersionService resourceVersionService;
+    private final Gazetteer gazetteer;
+    // Árbol regiones → comunas armado para una versión de la instantánea de Gazetteer
+    private volatile RegionTree regionTree;
     
-    public RegionService(RegionRepository regionRepository, ComunaRepository comunaRepository) {
+    public RegionService(RegionRepository regionRepository, ComunaRepository comunaRepository,
+                         ResourceVersionService resourceVersionService, Gazetteer gazetteer) {
         this.regionRepository = regionRepository;
         this.comunaRepository = comunaRepository;
+        this.resourceVersionService = resourceVersionService;
+        this.gazetteer = gazetteer;
     }
 
-    // Obtener todas las regiones
+    // Obtener todas las regiones (desde la instantánea en memoria)
     public List<Region> getAllRegions() {
-        return regionRepository.findAll();
+        return gazetteer.regions();
     }
 
     // Obtener región por ID
     public Optional<Region> getRegionById(Long id) {
-        return regionRepository.findById(id);
+        return gazetteer.region(id);
+    }
+
+    /**
+     * Todas las regiones con sus comunas (ID y nombre). Se arma una sola vez por versión de la
+     * instantánea de Gazetteer y se reutiliza hasta la siguiente escritura
+     */
+    public List<RegionTreeResponse> getRegionTree() {
+        Gazetteer.Snapshot snapshot = gazetteer.snapshot();
+        RegionTree current = regionTree;
+        if (current == null || current.version() != snapshot.version()) {
+            current = new RegionTree(snapshot.version(), buildTree(snapshot));
+            regionTree = current;
+        }
+        return current.regions();
     }
 
     // Crear nueva región
@@ -42,7 +65,10 @@ public class RegionService {
         }
         
         // Guardar y retornar directamente
-        return regionRepository.save(region);
+        Region saved = regionRepository.save(region);
+        gazetteer.reload();
+        resourceVersionService.bump(ResourceVersionService.REGIONS);
+        return saved;
     }
 
     // Actualizar región
@@ -57,7 +83,10 @@ public class RegionService {
             }
             
             // Guardar y retornar
-            return regionRepository.save(existingRegion);
+            Region saved = regionRepository.save(existingRegion);
+            gazetteer.reload();
+            resourceVersionService.bump(ResourceVersionService.REGIONS);
+            return saved;
         });
     }
 
@@ -68,22 +97,43 @@ public class RegionService {
             throw new IllegalArgumentException("Región no encontrada");
         }
         
-        // Verificar que no tenga comunas asociadas
-        List<Comuna> comunas = comunaRepository.findByRegionId(id);
-        if (!comunas.isEmpty()) {
+        // Verificar que no tenga comunas asociadas (solo se cuentan, no se cargan)
+        long comunas = comunaRepository.countByRegion_RegionId(id);
+        if (comunas > 0) {
             throw new IllegalStateException(
                 "No se puede eliminar la región porque tiene " + 
-                comunas.size() + " comuna(s) asociada(s). " +
+                comunas + " comuna(s) asociada(s). " +
                 "Elimina las comunas primero."
             );
         }
         
         // Si no tiene comunas, eliminar
         regionRepository.deleteById(id);
+        gazetteer.reload();
+        resourceVersionService.bump(ResourceVersionService.REGIONS);
     }
 
     // Verificar si existe por nombre
     public boolean existsByName(String name) {
-        return regionRepository.findByName(name).isPresent();
+        return regionRepository.existsByName(name);
+    }
+
+    private static List<RegionTreeResponse> buildTree(Gazetteer.Snapshot snapshot) {
+        return snapshot.regions().stream()
+                .map(region -> RegionTreeResponse.builder()
+                        .regionId(region.getRegionId())
+                        .name(region.getName())
+                        .comunas(snapshot.comunasByRegion().getOrDefault(region.getRegionId(), List.of()).stream()
+                                .map(RegionService::toSummary)
+                                .toList())
+                        .build())
+                .toList();
+    }
+
+    private static ComunaSummaryResponse toSummary(Comuna comuna) {
+        return new ComunaSummaryResponse(comuna.getComunaId(), comuna.getName());
+    }
+
+    private record RegionTree(long version, List<RegionTreeResponse> regions) {
     }
-}
\ No newline at end of file
+}
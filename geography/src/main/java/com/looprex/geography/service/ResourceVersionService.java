@@ -0,0 +1,84 @@
+package com.looprex.geography.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class ResourceVersionService {
+
+    public static final String REGIONS = "regions";
+    public static final String COMUNAS = "comunas";
+
+    // Diferencia los ETags entre reinicios, ya que los contadores vuelven a cero
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final Map<String, CacheControl> cachePolicies;
+
+    public ResourceVersionService(@Value("${http.cache.regions.max-age:300}") long regionsMaxAge,
+                                  @Value("${http.cache.comunas.max-age:300}") long comunasMaxAge) {
+        this.cachePolicies = Map.of(
+            REGIONS, policy(regionsMaxAge),
+            COMUNAS, policy(comunasMaxAge)
+        );
+    }
+
+    /**
+     * Incrementa la versión de una tabla. Debe llamarse después de persistir la escritura
+     */
+    public long bump(String resource) {
+        return versions.computeIfAbsent(resource, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    public long current(String resource) {
+        AtomicLong version = versions.get(resource);
+        return version == null ? 0L : version.get();
+    }
+
+    /**
+     * Construye un ETag fuerte a partir de las versiones de todas las tablas
+     * que participan en la respuesta (ej: comunas incluye su región)
+     */
+    public String etag(String... resources) {
+        StringBuilder tag = new StringBuilder("\"").append(epoch);
+        for (String resource : resources) {
+            tag.append('-').append(current(resource));
+        }
+        return tag.append('"').toString();
+    }
+
+    /**
+     * Evalúa el header If-None-Match contra el ETag actual (acepta listas, "*" y prefijo W/)
+     */
+    public boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public CacheControl cacheControl(String resource) {
+        return cachePolicies.getOrDefault(resource, CacheControl.noCache());
+    }
+
+    private static CacheControl policy(long maxAgeSeconds) {
+        if (maxAgeSeconds <= 0) {
+            return CacheControl.noCache();
+        }
+        return CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).mustRevalidate();
+    }
+}
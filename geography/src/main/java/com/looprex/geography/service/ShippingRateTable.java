@@ -0,0 +1,156 @@
+package com.looprex.geography.service;
+
+import com.looprex.geography.model.Comuna;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tarifas de despacho precalculadas por comuna. Se arma una vez a partir de la configuración de
+ * zonas y de la instantánea del Gazetteer: cada comuna queda apuntando a su zona (la comuna
+ * tiene prioridad sobre su región y lo no configurado cae en la zona por defecto), así que
+ * cotizar es una búsqueda en un mapa más una búsqueda binaria en los tramos de peso.
+ * Es inmutable; ante cambios de comunas o de configuración se construye una tabla nueva
+ */
+public final class ShippingRateTable {
+
+    private static final int GRAMS_PER_KG = 1000;
+
+    private final String version;
+    private final long gazetteerVersion;
+    private final int[] bracketLimits;
+    private final Map<Long, Zone> zoneByComuna;
+    private final Zone defaultZone;
+    private final int defaultItemWeightGrams;
+    private final int maxWeightGrams;
+
+    private ShippingRateTable(String version, long gazetteerVersion, int[] bracketLimits,
+                              Map<Long, Zone> zoneByComuna, Zone defaultZone,
+                              int defaultItemWeightGrams, int maxWeightGrams) {
+        this.version = version;
+        this.gazetteerVersion = gazetteerVersion;
+        this.bracketLimits = bracketLimits;
+        this.zoneByComuna = zoneByComuna;
+        this.defaultZone = defaultZone;
+        this.defaultItemWeightGrams = defaultItemWeightGrams;
+        this.maxWeightGrams = maxWeightGrams;
+    }
+
+    /**
+     * @throws IllegalStateException si la configuración es inconsistente (tramos desordenados,
+     *         precios que no calzan con los tramos, zonas repetidas o zona por defecto inexistente)
+     */
+    public static ShippingRateTable build(Config config, Gazetteer.Snapshot snapshot) {
+        int[] limits = config.brackets().stream().mapToInt(Integer::intValue).toArray();
+        if (limits.length == 0) {
+            throw new IllegalStateException("Las tarifas de despacho deben definir al menos un tramo de peso");
+        }
+        for (int i = 0; i < limits.length; i++) {
+            if (limits[i] <= 0 || (i > 0 && limits[i] <= limits[i - 1])) {
+                throw new IllegalStateException("Los tramos de peso deben ser positivos y crecientes");
+            }
+        }
+
+        Map<String, Zone> zones = new LinkedHashMap<>();
+        Map<String, Zone> zoneByRegionName = new HashMap<>();
+        Map<String, Zone> zoneByComunaName = new HashMap<>();
+        for (ZoneConfig zoneConfig : config.zones()) {
+            if (zoneConfig.prices().size() != limits.length) {
+                throw new IllegalStateException("La zona " + zoneConfig.name() + " debe tener un precio por tramo de peso");
+            }
+            Zone zone = new Zone(zoneConfig.name(),
+                    zoneConfig.prices().stream().mapToInt(Integer::intValue).toArray(),
+                    zoneConfig.extraPerKg());
+            if (zones.put(zone.name(), zone) != null) {
+                throw new IllegalStateException("La zona " + zone.name() + " está repetida");
+            }
+            zoneConfig.regions().forEach(region -> zoneByRegionName.put(region, zone));
+            zoneConfig.comunas().forEach(comuna -> zoneByComunaName.put(comuna, zone));
+        }
+        Zone defaultZone = zones.get(config.defaultZone());
+        if (defaultZone == null) {
+            throw new IllegalStateException("La zona por defecto " + config.defaultZone() + " no está definida");
+        }
+
+        Map<Long, Zone> zoneByComuna = new HashMap<>();
+        for (Comuna comuna : snapshot.comunas()) {
+            Zone zone = zoneByComunaName.get(comuna.getName());
+            if (zone == null) {
+                zone = zoneByRegionName.getOrDefault(comuna.getRegion().getName(), defaultZone);
+            }
+            zoneByComuna.put(comuna.getComunaId(), zone);
+        }
+
+        return new ShippingRateTable(config.version(), snapshot.version(), limits, Map.copyOf(zoneByComuna),
+                defaultZone, config.defaultItemWeightGrams(), config.maxWeightGrams());
+    }
+
+    public String version() {
+        return version;
+    }
+
+    long gazetteerVersion() {
+        return gazetteerVersion;
+    }
+
+    public int defaultItemWeightGrams() {
+        return defaultItemWeightGrams;
+    }
+
+    public int maxWeightGrams() {
+        return maxWeightGrams;
+    }
+
+    /**
+     * Zona de una comuna. Las comunas creadas después de armar la tabla caen en la zona por defecto
+     */
+    public Zone zoneOf(Long comunaId) {
+        return zoneByComuna.getOrDefault(comunaId, defaultZone);
+    }
+
+    /**
+     * Precio del tramo que contiene el peso. Sobre el último tramo se cobra 'extraPerKg'
+     * por cada kilo (o fracción) adicional
+     */
+    public int price(Zone zone, long weightGrams) {
+        int index = Arrays.binarySearch(bracketLimits, (int) Math.min(weightGrams, Integer.MAX_VALUE));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        if (index < bracketLimits.length) {
+            return zone.prices()[index];
+        }
+        int last = bracketLimits.length - 1;
+        long extraKg = (weightGrams - bracketLimits[last] + GRAMS_PER_KG - 1) / GRAMS_PER_KG;
+        return Math.toIntExact(zone.prices()[last] + extraKg * zone.extraPerKg());
+    }
+
+    public record Zone(String name, int[] prices, int extraPerKg) {
+    }
+
+    /**
+     * Configuración de tarifas tal como viene en el recurso JSON
+     */
+    public record Config(String version,
+                         String defaultZone,
+                         int defaultItemWeightGrams,
+                         int maxWeightGrams,
+                         List<Integer> brackets,
+                         List<ZoneConfig> zones) {
+    }
+
+    public record ZoneConfig(String name,
+                             List<Integer> prices,
+                             int extraPerKg,
+                             List<String> regions,
+                             List<String> comunas) {
+
+        public ZoneConfig {
+            regions = regions == null ? List.of() : regions;
+            comunas = comunas == null ? List.of() : comunas;
+        }
+    }
+}
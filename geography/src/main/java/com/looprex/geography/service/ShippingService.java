@@ -0,0 +1,166 @@
+package com.looprex.geography.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.looprex.geography.dto.ShippingBatchQuoteRequest;
+import com.looprex.geography.dto.ShippingItem;
+import com.looprex.geography.dto.ShippingQuote;
+import com.looprex.geography.dto.ShippingQuoteRequest;
+import com.looprex.geography.model.Address;
+import com.looprex.geography.repository.AddressRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Cotización de despacho según la zona de la comuna de destino y el peso del carro.
+ * Las tarifas se leen una vez desde un recurso JSON y se precalculan por comuna en una
+ * ShippingRateTable, que se reconstruye solo cuando cambia la versión del Gazetteer.
+ * Cotizar a una comuna no consulta la base; cotizar a direcciones guardadas hace una sola
+ * consulta para obtener sus comunas
+ */
+@Service
+public class ShippingService {
+
+    static final int MAX_BATCH_SIZE = 100;
+
+    private final Gazetteer gazetteer;
+    private final AddressRepository addressRepository;
+    private final ShippingRateTable.Config config;
+    private volatile ShippingRateTable table;
+
+    public ShippingService(Gazetteer gazetteer,
+                           AddressRepository addressRepository,
+                           ObjectMapper objectMapper,
+                           @Value("${shipping.rates.resource:classpath:shipping/rates.json}") Resource rates) {
+        this.gazetteer = gazetteer;
+        this.addressRepository = addressRepository;
+        try (InputStream input = rates.getInputStream()) {
+            this.config = objectMapper.readValue(input, ShippingRateTable.Config.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudieron leer las tarifas de despacho " + rates.getDescription(), e);
+        }
+        // Valida la configuración al iniciar, sin esperar a la primera cotización
+        ShippingRateTable.build(config, Gazetteer.build(0, List.of(), List.of()));
+    }
+
+    /**
+     * @throws IllegalArgumentException si falta el destino, la comuna o dirección no existe o el carro no es válido
+     */
+    public ShippingQuote quote(ShippingQuoteRequest request) {
+        if (request == null || (request.getComunaId() == null) == (request.getAddressId() == null)) {
+            throw new IllegalArgumentException("Debe indicar comunaId o addressId (solo uno)");
+        }
+        ShippingRateTable rates = table();
+        long weight = totalWeight(request.getItems(), rates);
+
+        if (request.getAddressId() != null) {
+            Address address = addressRepository.findById(request.getAddressId())
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            "La dirección con ID " + request.getAddressId() + " no existe"));
+            return quote(rates, address.getAddressId(), address.getComuna().getComunaId(), weight);
+        }
+        if (gazetteer.comuna(request.getComunaId()).isEmpty()) {
+            throw new IllegalArgumentException("La comuna con ID " + request.getComunaId() + " no existe");
+        }
+        return quote(rates, null, request.getComunaId(), weight);
+    }
+
+    /**
+     * Cotiza el mismo carro a varias direcciones guardadas (ej: todas las del usuario en la
+     * página del carro). Las cotizaciones vuelven en el orden de las direcciones pedidas
+     */
+    public List<ShippingQuote> quoteBatch(ShippingBatchQuoteRequest request) {
+        boolean byIds = request != null && request.getAddressIds() != null && !request.getAddressIds().isEmpty();
+        boolean byUser = request != null && request.getUserId() != null;
+        if (byIds == byUser) {
+            throw new IllegalArgumentException("Debe indicar addressIds o userId (solo uno)");
+        }
+        ShippingRateTable rates = table();
+        long weight = totalWeight(request.getItems(), rates);
+
+        List<Address> addresses;
+        if (byUser) {
+            addresses = addressRepository.findByUserId(request.getUserId());
+        } else {
+            List<Long> ids = request.getAddressIds().stream().distinct().toList();
+            if (ids.size() > MAX_BATCH_SIZE) {
+                throw new IllegalArgumentException("No se pueden cotizar más de " + MAX_BATCH_SIZE + " direcciones a la vez");
+            }
+            Map<Long, Address> found = addressRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Address::getAddressId, Function.identity()));
+            for (Long id : ids) {
+                if (!found.containsKey(id)) {
+                    throw new IllegalArgumentException("La dirección con ID " + id + " no existe");
+                }
+            }
+            addresses = ids.stream().map(found::get).toList();
+        }
+
+        return addresses.stream()
+                .map(address -> quote(rates, address.getAddressId(), address.getComuna().getComunaId(), weight))
+                .toList();
+    }
+
+    public String getRatesVersion() {
+        return config.version();
+    }
+
+    private ShippingQuote quote(ShippingRateTable rates, Long addressId, Long comunaId, long weight) {
+        ShippingRateTable.Zone zone = rates.zoneOf(comunaId);
+        return ShippingQuote.builder()
+                .addressId(addressId)
+                .comunaId(comunaId)
+                .zone(zone.name())
+                .weightGrams(weight)
+                .price(rates.price(zone, weight))
+                .ratesVersion(rates.version())
+                .build();
+    }
+
+    private static long totalWeight(List<ShippingItem> items, ShippingRateTable rates) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("El carro debe tener al menos un ítem");
+        }
+        long total = 0;
+        for (ShippingItem item : items) {
+            if (item == null || item.getQuantity() == null || item.getQuantity() <= 0) {
+                throw new IllegalArgumentException("La cantidad de cada ítem debe ser mayor a 0");
+            }
+            if (item.getWeightGrams() != null && item.getWeightGrams() <= 0) {
+                throw new IllegalArgumentException("El peso de cada ítem debe ser mayor a 0");
+            }
+            int weight = item.getWeightGrams() != null ? item.getWeightGrams() : rates.defaultItemWeightGrams();
+            total += (long) weight * item.getQuantity();
+            if (total > rates.maxWeightGrams()) {
+                throw new IllegalArgumentException(
+                        "El carro excede el peso máximo de despacho (" + rates.maxWeightGrams() + " g)");
+            }
+        }
+        return total;
+    }
+
+    // La tabla se rearma solo si cambiaron las comunas (nueva versión del Gazetteer)
+    private ShippingRateTable table() {
+        ShippingRateTable current = table;
+        if (current != null && current.gazetteerVersion() == gazetteer.version()) {
+            return current;
+        }
+        return rebuild();
+    }
+
+    private synchronized ShippingRateTable rebuild() {
+        Gazetteer.Snapshot snapshot = gazetteer.snapshot();
+        if (table == null || table.gazetteerVersion() != snapshot.version()) {
+            table = ShippingRateTable.build(config, snapshot);
+        }
+        return table;
+    }
+}
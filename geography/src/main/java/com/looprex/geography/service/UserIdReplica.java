@@ -0,0 +1,125 @@
+package com.looprex.geography.service;
+
+import com.looprex.geography.client.UserClient;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Réplica local de los IDs de usuario válidos, para validar direcciones sin llamar a users.
+ * Los usuarios no se eliminan y sus IDs son correlativos, así que basta un bit por ID (~125 KB por
+ * millón de usuarios) y leer periódicamente los IDs posteriores al último recibido (GET /api/users/ids).
+ * La réplica no es completa: un ID ausente no significa que el usuario no exista. Puede haberse
+ * registrado después de la última sincronización, o haber confirmado fuera de orden (su transacción
+ * terminó después de la de un ID mayor ya leído): el cursor ya lo pasó y la sincronización no lo traerá.
+ * Por eso AddressService confirma con UserClient cada ID ausente y, si existe, lo agrega
+ */
+@Component
+public class UserIdReplica implements DisposableBean {
+
+    private final UserClient userClient;
+    private final int pageSize;
+    private final ScheduledExecutorService scheduler;
+    private final Object syncLock = new Object();
+
+    // Copia en escritura: las lecturas no toman locks y ven siempre un conjunto completo
+    private volatile BitSet ids = new BitSet();
+    private volatile long lastSyncedId;
+
+    public UserIdReplica(UserClient userClient,
+                         @Value("${user-service.replica.page-size:10000}") int pageSize,
+                         @Value("${user-service.replica.sync-interval-ms:30000}") long syncIntervalMillis) {
+        this.userClient = userClient;
+        this.pageSize = Math.max(1, pageSize);
+        if (syncIntervalMillis > 0) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "user-id-replica");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.scheduler.scheduleWithFixedDelay(this::syncQuietly, 0, syncIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    public boolean contains(Long userId) {
+        return userId != null && userId > 0 && userId <= Integer.MAX_VALUE && ids.get(userId.intValue());
+    }
+
+    /**
+     * Agrega un ID confirmado con users antes de que llegue por la sincronización
+     */
+    public synchronized void add(Long userId) {
+        if (userId == null || userId <= 0 || userId > Integer.MAX_VALUE || contains(userId)) {
+            return;
+        }
+        BitSet copy = (BitSet) ids.clone();
+        copy.set(userId.intValue());
+        ids = copy;
+    }
+
+    /**
+     * Trae los IDs posteriores al último recibido, página por página
+     * @return cantidad de IDs recibidos
+     */
+    public int sync() {
+        synchronized (syncLock) {
+            // Las páginas se leen sin bloquear add(): solo la publicación final toma el lock
+            BitSet received = new BitSet();
+            long after = lastSyncedId;
+            List<Long> page;
+            do {
+                page = userClient.getUserIdsAfter(after, pageSize);
+                for (Long id : page) {
+                    after = Math.max(after, id);
+                    if (id > 0 && id <= Integer.MAX_VALUE) {
+                        received.set(id.intValue());
+                    }
+                }
+            } while (page.size() >= pageSize);
+
+            if (!received.isEmpty()) {
+                publish(received);
+            }
+            lastSyncedId = after;
+            return received.cardinality();
+        }
+    }
+
+    private synchronized void publish(BitSet received) {
+        BitSet copy = (BitSet) ids.clone();
+        copy.or(received);
+        ids = copy;
+    }
+
+    public long lastSyncedId() {
+        return lastSyncedId;
+    }
+
+    public int size() {
+        return ids.cardinality();
+    }
+
+    // Si users no responde se conserva la réplica actual y se reintenta en el siguiente ciclo
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (Exception e) {
+            // las validaciones siguen funcionando con la confirmación remota
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
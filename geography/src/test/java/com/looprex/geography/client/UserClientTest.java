@@ -0,0 +1,42 @@
+package com.looprex.geography.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.looprex.geography.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserClientTest {
+
+    private UserClient userClient;
+
+    @AfterEach
+    void tearDown() {
+        if (userClient != null) {
+            userClient.destroy();
+        }
+    }
+
+    @Test
+    void userExists_DeberiaLanzarServiceUnavailableCuandoUsersNoResponde() {
+        // Arrange: puerto sin servidor, la conexión se rechaza
+        userClient = new UserClient("http://127.0.0.1:1", 1, 200, 2000);
+
+        // Act & Assert: un error de comunicación no equivale a "el usuario no existe"
+        assertThrows(ServiceUnavailableException.class, () -> userClient.userExists(1L));
+    }
+
+    @Test
+    void parseExists_DeberiaLeerElMapaDeIdsAExistencia() throws Exception {
+        // Act
+        Map<Long, Boolean> result = UserClient.parseExists(new ObjectMapper().readTree("""
+                {"data": {"1": true, "2": false}}
+                """));
+
+        // Assert
+        assertEquals(Map.of(1L, true, 2L, false), result);
+    }
+}
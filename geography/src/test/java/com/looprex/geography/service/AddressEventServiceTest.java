@@ -0,0 +1,122 @@
+package com.looprex.geography.service;
+
+import com.looprex.geography.dto.AddressEventPage;
+import com.looprex.geography.dto.AddressEventResponse;
+import com.looprex.geography.model.AddressEvent;
+import com.looprex.geography.repository.AddressEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AddressEventServiceTest {
+
+    @Mock
+    private AddressEventRepository addressEventRepository;
+
+    private AddressEventService addressEventService;
+
+    @BeforeEach
+    void setUp() {
+        addressEventService = new AddressEventService(addressEventRepository, 5000);
+    }
+
+    private static AddressEvent event(long eventId, LocalDateTime occurredAt) {
+        return new AddressEvent(eventId, AddressEvent.Type.CREATED, eventId * 10, 1L, null, occurredAt);
+    }
+
+    @Test
+    void record_DeberiaGuardarEventoConFecha() {
+        // Act
+        addressEventService.record(AddressEvent.Type.UPDATED, 5L, 2L, 1L);
+
+        // Assert
+        verify(addressEventRepository).save(argThat(e -> e.getEventId() == null
+                && e.getType() == AddressEvent.Type.UPDATED
+                && e.getAddressId() == 5L && e.getUserId() == 2L && e.getPreviousUserId() == 1L
+                && e.getOccurredAt() != null));
+    }
+
+    @Test
+    void getEventsAfter_DeberiaRetornarEventosYCursorSiguiente() {
+        // Arrange
+        LocalDateTime old = LocalDateTime.now().minusMinutes(1);
+        when(addressEventRepository.findByEventIdGreaterThanOrderByEventIdAsc(3L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(event(4, old), event(5, old)));
+
+        // Act
+        AddressEventPage page = addressEventService.getEventsAfter(3L, 2);
+
+        // Assert
+        assertEquals(List.of(4L, 5L), page.getEvents().stream().map(AddressEventResponse::getEventId).toList());
+        assertEquals(40L, page.getEvents().get(0).getAddressId());
+        assertEquals(5L, page.getNextAfterId());
+        assertTrue(page.isHasMore());
+    }
+
+    @Test
+    void getEventsAfter_DeberiaDetenerseEnHuecoReciente() {
+        // Arrange: el 3 puede ser una transacción que aún no se confirma
+        LocalDateTime old = LocalDateTime.now().minusMinutes(1);
+        when(addressEventRepository.findByEventIdGreaterThanOrderByEventIdAsc(eq(1L), any()))
+                .thenReturn(List.of(event(2, old), event(4, LocalDateTime.now())));
+
+        // Act
+        AddressEventPage page = addressEventService.getEventsAfter(1L, null);
+
+        // Assert
+        assertEquals(1, page.getEvents().size());
+        assertEquals(2L, page.getNextAfterId());
+        assertFalse(page.isHasMore());
+    }
+
+    @Test
+    void getEventsAfter_DeberiaSaltarHuecoAntiguo() {
+        // Arrange: el 3 quedó de una transacción revertida hace tiempo
+        LocalDateTime old = LocalDateTime.now().minusMinutes(1);
+        when(addressEventRepository.findByEventIdGreaterThanOrderByEventIdAsc(eq(0L), any()))
+                .thenReturn(List.of(event(1, old), event(2, old), event(4, old)));
+
+        // Act
+        AddressEventPage page = addressEventService.getEventsAfter(0L, null);
+
+        // Assert
+        assertEquals(3, page.getEvents().size());
+        assertEquals(4L, page.getNextAfterId());
+        assertFalse(page.isHasMore());
+    }
+
+    @Test
+    void getEventsAfter_DeberiaMantenerCursorSinEventos() {
+        // Arrange
+        when(addressEventRepository.findByEventIdGreaterThanOrderByEventIdAsc(eq(9L), any())).thenReturn(List.of());
+
+        // Act
+        AddressEventPage page = addressEventService.getEventsAfter(9L, 10);
+
+        // Assert
+        assertTrue(page.getEvents().isEmpty());
+        assertEquals(9L, page.getNextAfterId());
+    }
+
+    @Test
+    void getEventsAfter_DeberiaRechazarParametrosInvalidos() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> addressEventService.getEventsAfter(-1L, 10));
+        assertThrows(IllegalArgumentException.class, () -> addressEventService.getEventsAfter(0L, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> addressEventService.getEventsAfter(0L, AddressEventService.MAX_PAGE_SIZE + 1));
+        verifyNoInteractions(addressEventRepository);
+    }
+}
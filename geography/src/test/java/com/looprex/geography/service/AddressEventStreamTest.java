@@ -0,0 +1,163 @@
+package com.looprex.geography.service;
+
+import com.looprex.geography.dto.AddressEventPage;
+import com.looprex.geography.dto.AddressEventResponse;
+import com.looprex.geography.model.AddressEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AddressEventStreamTest {
+
+    @Mock
+    private AddressEventService addressEventService;
+
+    private AddressEventStream stream;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        // Sin despacho periódico: cada prueba llama dispatch() directamente
+        stream = new AddressEventStream(addressEventService, 0, 60_000, 60_000, 10_000, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        stream.destroy();
+    }
+
+    // Registra los eventos enviados; si 'gate' no se abre, el envío queda bloqueado como con un cliente lento
+    private static class RecordingEmitter extends SseEmitter {
+        private final CountDownLatch gate;
+        private final List<SseEventBuilder> sent = new CopyOnWriteArrayList<>();
+
+        RecordingEmitter(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void send(SseEventBuilder event) throws IOException {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            sent.add(event);
+        }
+    }
+
+    private static AddressEventResponse event(long eventId) {
+        return AddressEventResponse.builder()
+                .eventId(eventId)
+                .type(AddressEvent.Type.CREATED)
+                .addressId(eventId)
+                .userId(1L)
+                .build();
+    }
+
+    @Test
+    void dispatch_DeberiaLeerUnaVezDesdeElCursorMasAtrasado() {
+        // Arrange
+        stream.subscribe(5L);
+        stream.subscribe(2L);
+        when(addressEventService.getEventsAfter(2L, AddressEventService.MAX_PAGE_SIZE))
+                .thenReturn(new AddressEventPage(List.of(event(3), event(4), event(6)), 6L, false));
+        when(addressEventService.getEventsAfter(6L, AddressEventService.MAX_PAGE_SIZE))
+                .thenReturn(new AddressEventPage(List.of(), 6L, false));
+
+        // Act
+        stream.dispatch();
+        stream.dispatch();
+
+        // Assert: tras el primer despacho ambos suscriptores quedaron en el evento 6
+        verify(addressEventService, times(1)).getEventsAfter(2L, AddressEventService.MAX_PAGE_SIZE);
+        verify(addressEventService, times(1)).getEventsAfter(6L, AddressEventService.MAX_PAGE_SIZE);
+        verifyNoMoreInteractions(addressEventService);
+    }
+
+    @Test
+    void dispatch_DeberiaSeguirLeyendoMientrasHayaMasPaginas() {
+        // Arrange
+        stream.subscribe(0L);
+        when(addressEventService.getEventsAfter(0L, AddressEventService.MAX_PAGE_SIZE))
+                .thenReturn(new AddressEventPage(List.of(event(1), event(2)), 2L, true));
+        when(addressEventService.getEventsAfter(2L, AddressEventService.MAX_PAGE_SIZE))
+                .thenReturn(new AddressEventPage(List.of(event(3)), 3L, false));
+
+        // Act
+        stream.dispatch();
+
+        // Assert
+        verify(addressEventService).getEventsAfter(2L, AddressEventService.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    void dispatch_ClienteLentoNoDeberiaRetrasarALosDemas() throws InterruptedException {
+        // Arrange: cola de 2 eventos y envío trabado más de 200 ms se considera muerto
+        stream.destroy();
+        stream = new AddressEventStream(addressEventService, 0, 60_000, 60_000, 200, 2);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        RecordingEmitter fast = new RecordingEmitter(new CountDownLatch(0));
+        stream.subscribe(slow, 0);
+        stream.subscribe(fast, 0);
+        when(addressEventService.getEventsAfter(anyLong(), eq(AddressEventService.MAX_PAGE_SIZE)))
+                .thenAnswer(invocation -> {
+                    long after = invocation.getArgument(0);
+                    List<AddressEventResponse> events = List.of(event(1), event(2), event(3), event(4)).stream()
+                            .filter(event -> event.getEventId() > after)
+                            .toList();
+                    return new AddressEventPage(events, 4L, false);
+                });
+
+        // Act
+        for (int i = 0; i < 250 && fast.sent.size() < 4; i++) {
+            stream.dispatch();
+            Thread.sleep(20);
+        }
+
+        // Assert: el cliente rápido recibió todo aunque el lento sigue trabado en su primer envío
+        assertEquals(4, fast.sent.size());
+        assertTrue(slow.sent.isEmpty());
+
+        // Act: el envío trabado supera el timeout y se cierra solo esa conexión
+        Thread.sleep(250);
+        stream.dispatch();
+
+        // Assert
+        assertEquals(1, stream.subscriberCount());
+    }
+
+    @Test
+    void dispatch_NoDeberiaConsultarSinSuscriptores() {
+        // Act
+        stream.dispatch();
+
+        // Assert
+        verifyNoInteractions(addressEventService);
+        assertEquals(0, stream.subscriberCount());
+    }
+
+    @Test
+    void subscribe_DeberiaRechazarCursorNegativo() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> stream.subscribe(-1L));
+    }
+}
@@ -0,0 +1,54 @@
+package com.looprex.geography.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AddressNormalizerTest {
+
+    @Test
+    void key_DeberiaIgnorarMayusculasTildesYAbreviaturas() {
+        // Act
+        String abbreviated = AddressNormalizer.key("Av. Providencia", "123");
+        String expanded = AddressNormalizer.key("avenida  PROVIDENCIA", "123");
+        String accented = AddressNormalizer.key("Avda. Providéncia", "123");
+
+        // Assert
+        assertEquals("av providencia|123", abbreviated);
+        assertEquals(abbreviated, expanded);
+        assertEquals(abbreviated, accented);
+    }
+
+    @Test
+    void key_DeberiaCanonicalizarElNumero() {
+        // Act & Assert
+        assertEquals("av providencia|123", AddressNormalizer.key("Av. Providencia", "#0123"));
+        assertEquals("av providencia|123", AddressNormalizer.key("Av. Providencia", "N° 123"));
+        assertEquals("av providencia|123", AddressNormalizer.key("Av. Providencia", "nro. 123"));
+        assertEquals("av providencia|123b", AddressNormalizer.key("Av. Providencia", "123-B"));
+        assertEquals("av providencia|sn", AddressNormalizer.key("Av. Providencia", "S/N"));
+        assertEquals("av providencia|0", AddressNormalizer.key("Av. Providencia", "000"));
+    }
+
+    @Test
+    void key_DeberiaOmitirLaPalabraCalleYAbreviarTitulos() {
+        // Act & Assert
+        assertEquals(AddressNormalizer.key("Merced", "100"), AddressNormalizer.key("Calle Merced", "100"));
+        assertEquals("pje gral bulnes|5", AddressNormalizer.key("Pasaje General Bulnes", "5"));
+    }
+
+    @Test
+    void key_DeberiaDistinguirCallesYNumerosDiferentes() {
+        // Act & Assert
+        assertNotEquals(AddressNormalizer.key("Av. Providencia", "123"), AddressNormalizer.key("Av. Providencia", "1230"));
+        assertNotEquals(AddressNormalizer.key("Los Leones", "55"), AddressNormalizer.key("Los Leones Norte", "55"));
+    }
+
+    @Test
+    void key_DeberiaRetornarNullCuandoNoQuedaCalleONumero() {
+        // Act & Assert
+        assertNull(AddressNormalizer.key("Calle", "123"));
+        assertNull(AddressNormalizer.key("Merced", "#"));
+        assertNull(AddressNormalizer.key(null, null));
+    }
+}
@@ -1,17 +1,26 @@
 package com.looprex.geography.service;
 
 import com.looprex.geography.client.UserClient;
+import com.looprex.geography.dto.AddressValidationResponse;
+import com.looprex.geography.exception.ServiceUnavailableException;
 import com.looprex.geography.model.Address;
+import com.looprex.geography.model.AddressEvent;
 import com.looprex.geography.model.Comuna;
 import com.looprex.geography.model.Region;
 import com.looprex.geography.repository.AddressRepository;
 import com.looprex.geography.repository.ComunaRepository;
+import com.looprex.geography.security.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.Arrays;
 import java.util.List;
@@ -33,6 +42,18 @@ class AddressServiceTest {
     @Mock
     private UserClient userClient;
 
+    @Mock
+    private Gazetteer gazetteer;
+
+    @Mock
+    private UserIdReplica userIdReplica;
+
+    @Mock
+    private AddressEventService addressEventService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private AddressService addressService;
 
@@ -59,6 +80,16 @@ class AddressServiceTest {
         testAddress.setComuna(testComuna);
     }
 
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private void authenticateAs(Long userId) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(userId, "CLIENT", 2L), null, List.of()));
+    }
+
     @Test
     void getAllAddresses_DeberiaRetornarListaDeDirecciones() {
         // Arrange
@@ -121,10 +152,21 @@ class AddressServiceTest {
         verify(addressRepository, never()).findByUserId(any());
     }
 
+    @Test
+    void getAddressesByUserId_DeberiaPropagarFallaDeUsersSinResponderQueNoExiste() {
+        // Arrange
+        when(userClient.userExists(999L)).thenThrow(new ServiceUnavailableException("users no responde"));
+
+        // Act & Assert
+        assertThrows(ServiceUnavailableException.class, () -> addressService.getAddressesByUserId(999L));
+        verify(userIdReplica, never()).add(any());
+        verify(addressRepository, never()).findByUserId(any());
+    }
+
     @Test
     void createAddress_DeberiaCrearDireccionExitosamente() {
         // Arrange
-        when(comunaRepository.findById(1L)).thenReturn(Optional.of(testComuna));
+        when(gazetteer.comuna(1L)).thenReturn(Optional.of(testComuna));
         when(userClient.userExists(1L)).thenReturn(true);
         when(addressRepository.save(any(Address.class))).thenReturn(testAddress);
         when(addressRepository.findById(1L)).thenReturn(Optional.of(testAddress));
@@ -135,10 +177,11 @@ class AddressServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals("Av. Providencia", result.getStreet());
-        verify(comunaRepository, times(1)).findById(1L);
+        verify(gazetteer, times(1)).comuna(1L);
         verify(userClient, times(1)).userExists(1L);
         verify(addressRepository, times(1)).save(any(Address.class));
         verify(addressRepository, times(1)).findById(1L);
+        verify(addressEventService).record(AddressEvent.Type.CREATED, 1L, 1L, null);
 }
 
     @Test
@@ -159,7 +202,7 @@ class AddressServiceTest {
     @Test
     void createAddress_DeberiaLanzarExcepcionCuandoComunaNoExiste() {
         // Arrange
-        when(comunaRepository.findById(1L)).thenReturn(Optional.empty());
+        when(gazetteer.comuna(1L)).thenReturn(Optional.empty());
 
         // Act & Assert
         IllegalArgumentException exception = assertThrows(
@@ -174,7 +217,7 @@ class AddressServiceTest {
     @Test
     void createAddress_DeberiaLanzarExcepcionCuandoUsuarioNoExiste() {
         // Arrange
-        when(comunaRepository.findById(1L)).thenReturn(Optional.of(testComuna));
+        when(gazetteer.comuna(1L)).thenReturn(Optional.of(testComuna));
         when(userClient.userExists(1L)).thenReturn(false);
 
         // Act & Assert
@@ -184,7 +227,7 @@ class AddressServiceTest {
         );
         
         assertTrue(exception.getMessage().contains("no existe"));
-        verify(comunaRepository, times(1)).findById(1L); // La comuna SÍ se busca
+        verify(gazetteer, times(1)).comuna(1L); // La comuna SÍ se busca
         verify(userClient, times(1)).userExists(1L); //  Se valida el usuario
         verify(addressRepository, never()).save(any()); // NO se guarda
     }
@@ -215,7 +258,7 @@ class AddressServiceTest {
     @Test
     void deleteAddress_DeberiaEliminarDireccionExitosamente() {
         // Arrange
-        when(addressRepository.existsById(1L)).thenReturn(true);
+        when(addressRepository.findOwnershipById(1L)).thenReturn(Optional.of(ownership(1L, 7L, 1L)));
 
         // Act
         boolean result = addressService.deleteAddress(1L);
@@ -223,12 +266,14 @@ class AddressServiceTest {
         // Assert
         assertTrue(result);
         verify(addressRepository, times(1)).deleteById(1L);
+        verify(addressEventService).record(AddressEvent.Type.DELETED, 1L, 7L, null);
+        verify(transactionManager).commit(any());
     }
 
     @Test
     void deleteAddress_DeberiaRetornarFalsoCuandoDireccionNoExiste() {
         // Arrange
-        when(addressRepository.existsById(999L)).thenReturn(false);
+        when(addressRepository.findOwnershipById(999L)).thenReturn(Optional.empty());
 
         // Act
         boolean result = addressService.deleteAddress(999L);
@@ -236,5 +281,283 @@ class AddressServiceTest {
         // Assert
         assertFalse(result);
         verify(addressRepository, never()).deleteById(any());
+        verifyNoInteractions(addressEventService);
+    }
+
+    @Test
+    void updateAddress_DeberiaRegistrarDuenoAnteriorCuandoCambiaDeUsuario() {
+        // Arrange
+        Address updatedAddress = new Address();
+        updatedAddress.setUserId(2L);
+        authenticateAs(2L);
+        when(addressRepository.findById(1L)).thenReturn(Optional.of(testAddress));
+        when(addressRepository.save(any(Address.class))).thenReturn(testAddress);
+
+        // Act
+        addressService.updateAddress(1L, updatedAddress);
+
+        // Assert
+        verify(addressEventService).record(AddressEvent.Type.UPDATED, 1L, 2L, 1L);
+    }
+
+    @Test
+    void getDefaultAddress_DeberiaOmitirLlamadaAUsersCuandoEsElMismoUsuario() {
+        // Arrange
+        authenticateAs(1L);
+        when(addressRepository.findFirstByUserIdOrderByAddressIdAsc(1L)).thenReturn(Optional.of(testAddress));
+
+        // Act
+        Optional<Address> result = addressService.getDefaultAddress(1L);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(1L, result.get().getAddressId());
+        verify(userClient, never()).userExists(any());
+    }
+
+    @Test
+    void getDefaultAddress_DeberiaValidarUsuarioCuandoElTokenEsDeOtroUsuario() {
+        // Arrange
+        authenticateAs(2L);
+        when(userClient.userExists(1L)).thenReturn(false);
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> addressService.getDefaultAddress(1L)
+        );
+
+        assertEquals("El usuario con ID 1 no existe", exception.getMessage());
+        verify(addressRepository, never()).findFirstByUserIdOrderByAddressIdAsc(any());
+    }
+
+    @Test
+    void getAddressesByIds_DeberiaRetornarEnElOrdenPedidoOmitiendoInexistentes() {
+        // Arrange
+        Address second = new Address(2L, "Los Leones", "55", 1L, testComuna);
+        when(addressRepository.findAllById(List.of(2L, 99L, 1L))).thenReturn(List.of(testAddress, second));
+
+        // Act
+        List<Address> result = addressService.getAddressesByIds(List.of(2L, 99L, 1L, 2L));
+
+        // Assert
+        assertEquals(List.of(2L, 1L), result.stream().map(Address::getAddressId).toList());
+        verify(addressRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void getAddressesByIds_DeberiaLanzarExcepcionCuandoListaVacia() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> addressService.getAddressesByIds(List.of())
+        );
+
+        assertEquals("Debe indicar al menos un ID de dirección", exception.getMessage());
+        verify(addressRepository, never()).findAllById(any());
+    }
+
+    private static AddressRepository.OwnershipView ownership(Long addressId, Long userId, Long comunaId) {
+        return new AddressRepository.OwnershipView() {
+            public Long getAddressId() { return addressId; }
+            public Long getUserId() { return userId; }
+            public Long getComunaId() { return comunaId; }
+        };
+    }
+
+    @Test
+    void validateAddress_DeberiaRetornarComunaYRegionCuandoPerteneceAlUsuario() {
+        // Arrange
+        when(addressRepository.findOwnershipById(1L)).thenReturn(Optional.of(ownership(1L, 1L, 1L)));
+        when(gazetteer.comuna(1L)).thenReturn(Optional.of(testComuna));
+
+        // Act
+        AddressValidationResponse result = addressService.validateAddress(1L, 1L);
+
+        // Assert
+        assertTrue(result.isExists());
+        assertTrue(result.getOwned());
+        assertEquals("Santiago", result.getComunaName());
+        assertEquals(1L, result.getRegionId());
+        assertEquals("Región Metropolitana", result.getRegionName());
+        verify(addressRepository, never()).findById(any());
+        verify(userClient, never()).userExists(any());
+    }
+
+    @Test
+    void validateAddress_DeberiaOcultarUbicacionCuandoEsDeOtroUsuario() {
+        // Arrange
+        when(addressRepository.findOwnershipById(1L)).thenReturn(Optional.of(ownership(1L, 1L, 1L)));
+
+        // Act
+        AddressValidationResponse result = addressService.validateAddress(1L, 2L);
+
+        // Assert
+        assertTrue(result.isExists());
+        assertFalse(result.getOwned());
+        assertNull(result.getComunaId());
+        verify(gazetteer, never()).comuna(any());
+    }
+
+    @Test
+    void validateAddress_DeberiaIndicarQueNoExiste() {
+        // Arrange
+        when(addressRepository.findOwnershipById(99L)).thenReturn(Optional.empty());
+
+        // Act
+        AddressValidationResponse result = addressService.validateAddress(99L, null);
+
+        // Assert
+        assertFalse(result.isExists());
+        assertNull(result.getOwned());
+    }
+
+    @Test
+    void createAddress_DeberiaRetornarLaDireccionExistenteCuandoEsEquivalente() {
+        // Arrange
+        Address duplicate = new Address(null, "avenida providencia", "#01234", 1L, testComuna);
+        when(gazetteer.comuna(1L)).thenReturn(Optional.of(testComuna));
+        when(userClient.userExists(1L)).thenReturn(true);
+        when(addressRepository.findByUserIdAndComuna_ComunaIdAndNormalizedKey(1L, 1L, "av providencia|1234"))
+                .thenReturn(Optional.of(testAddress));
+
+        // Act
+        Address result = addressService.createAddress(duplicate);
+
+        // Assert
+        assertEquals(1L, result.getAddressId());
+        verify(addressRepository, never()).save(any());
+    }
+
+    @Test
+    void createAddress_DeberiaGuardarLaClaveNormalizada() {
+        // Arrange
+        when(gazetteer.comuna(1L)).thenReturn(Optional.of(testComuna));
+        when(userClient.userExists(1L)).thenReturn(true);
+        when(addressRepository.save(any(Address.class))).thenReturn(testAddress);
+        when(addressRepository.findById(1L)).thenReturn(Optional.of(testAddress));
+
+        // Act
+        addressService.createAddress(testAddress);
+
+        // Assert
+        verify(addressRepository).save(argThat(a -> "av providencia|1234".equals(a.getNormalizedKey())));
+    }
+
+    @Test
+    void updateAddress_DeberiaLanzarExcepcionCuandoQuedaIgualAOtraDireccion() {
+        // Arrange
+        Address other = new Address(2L, "Av. Providencia", "1234", 1L, testComuna);
+        Address existing = new Address(1L, "Los Leones", "55", 1L, testComuna);
+        Address changes = new Address();
+        changes.setStreet("Avenida Providencia");
+        changes.setNumber("1234");
+        when(addressRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(addressRepository.findByUserIdAndComuna_ComunaIdAndNormalizedKey(1L, 1L, "av providencia|1234"))
+                .thenReturn(Optional.of(other));
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> addressService.updateAddress(1L, changes)
+        );
+
+        assertEquals("El usuario ya tiene registrada esta dirección (ID 2)", exception.getMessage());
+        verify(addressRepository, never()).save(any());
+    }
+
+    @Test
+    void updateAddress_DeberiaConservarSinClaveUnDuplicadoAntiguoCuandoNoCambiaLaDireccion() {
+        // Arrange: duplicado que backfillNormalizedKeys dejó sin clave; solo se corrigen las coordenadas
+        Address legacy = new Address(2L, "avenida providencia", "1234", 1L, testComuna);
+        Address changes = new Address();
+        changes.setLatitude(-33.4263);
+        changes.setLongitude(-70.6200);
+        when(addressRepository.findById(2L)).thenReturn(Optional.of(legacy));
+        when(addressRepository.save(any(Address.class))).thenReturn(legacy);
+
+        // Act
+        Optional<Address> result = addressService.updateAddress(2L, changes);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertNull(legacy.getNormalizedKey());
+        assertEquals(-33.4263, legacy.getLatitude());
+        verify(addressRepository, never()).findByUserIdAndComuna_ComunaIdAndNormalizedKey(any(), any(), any());
+    }
+
+    @Test
+    void updateAddress_DeberiaTraducirViolacionDeUnicidadConcurrenteA400() {
+        // Arrange: otra solicitud registra la misma dirección entre la verificación y el UPDATE
+        Address other = new Address(2L, "Av. Providencia", "1234", 1L, testComuna);
+        Address existing = new Address(1L, "Los Leones", "55", 1L, testComuna);
+        Address changes = new Address();
+        changes.setStreet("Avenida Providencia");
+        changes.setNumber("1234");
+        when(addressRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(addressRepository.findByUserIdAndComuna_ComunaIdAndNormalizedKey(1L, 1L, "av providencia|1234"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(other));
+        when(addressRepository.save(any(Address.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_addresses_user_comuna_key"));
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> addressService.updateAddress(1L, changes)
+        );
+
+        assertEquals("El usuario ya tiene registrada esta dirección (ID 2)", exception.getMessage());
+        verifyNoInteractions(addressEventService);
     }
-}
\ No newline at end of file
+
+    @Test
+    void backfillNormalizedKeys_DeberiaAsignarClaveSoloALaPrimeraDeCadaDuplicado() {
+        // Arrange
+        Address first = new Address(1L, "Av. Providencia", "1234", 1L, testComuna);
+        Address repeated = new Address(2L, "avenida providencia", "1234", 1L, testComuna);
+        Address otherUser = new Address(3L, "Av. Providencia", "1234", 2L, testComuna);
+        when(addressRepository.findByNormalizedKeyIsNull()).thenReturn(List.of(first, repeated, otherUser));
+
+        // Act
+        int duplicates = addressService.backfillNormalizedKeys();
+
+        // Assert
+        assertEquals(1, duplicates);
+        assertEquals("av providencia|1234", first.getNormalizedKey());
+        assertNull(repeated.getNormalizedKey());
+        assertEquals("av providencia|1234", otherUser.getNormalizedKey());
+        verify(addressRepository).saveAll(List.of(first, otherUser));
+    }
+
+    @Test
+    void createAddress_DeberiaOmitirLlamadaAUsersCuandoElUsuarioEstaEnLaReplica() {
+        // Arrange
+        when(gazetteer.comuna(1L)).thenReturn(Optional.of(testComuna));
+        when(userIdReplica.contains(1L)).thenReturn(true);
+        when(addressRepository.save(any(Address.class))).thenReturn(testAddress);
+        when(addressRepository.findById(1L)).thenReturn(Optional.of(testAddress));
+
+        // Act
+        addressService.createAddress(testAddress);
+
+        // Assert
+        verify(userClient, never()).userExists(any());
+        verify(addressRepository, times(1)).save(any(Address.class));
+    }
+
+    @Test
+    void createAddress_DeberiaAgregarALaReplicaElUsuarioConfirmadoPorUsers() {
+        // Arrange
+        when(gazetteer.comuna(1L)).thenReturn(Optional.of(testComuna));
+        when(userClient.userExists(1L)).thenReturn(true);
+        when(addressRepository.save(any(Address.class))).thenReturn(testAddress);
+        when(addressRepository.findById(1L)).thenReturn(Optional.of(testAddress));
+
+        // Act
+        addressService.createAddress(testAddress);
+
+        // Assert
+        verify(userIdReplica).add(1L);
+    }
+}
@@ -1,5 +1,6 @@
 package com.looprex.geography.service;
 
+import com.looprex.geography.dto.ComunaSummaryResponse;
 import com.looprex.geography.model.Comuna;
 import com.looprex.geography.model.Region;
 import com.looprex.geography.repository.ComunaRepository;
@@ -28,6 +29,12 @@ class ComunaServiceTest {
     @Mock
     private RegionRepository regionRepository;
 
+    @Mock
+    private ResourceVersionService resourceVersionService;
+
+    @Mock
+    private Gazetteer gazetteer;
+
     @InjectMocks
     private ComunaService comunaService;
 
@@ -55,7 +62,7 @@ class ComunaServiceTest {
         comuna2.setRegion(testRegion);
         
         List<Comuna> comunas = Arrays.asList(testComuna, comuna2);
-        when(comunaRepository.findAll()).thenReturn(comunas);
+        when(gazetteer.comunas()).thenReturn(comunas);
 
         // Act
         List<Comuna> result = comunaService.getAllComunas();
@@ -64,13 +71,14 @@ class ComunaServiceTest {
         assertNotNull(result);
         assertEquals(2, result.size());
         assertEquals("Santiago", result.get(0).getName());
-        verify(comunaRepository, times(1)).findAll();
+        verify(gazetteer, times(1)).comunas();
+        verify(comunaRepository, never()).findAll();
     }
 
     @Test
     void getComunaById_DeberiaRetornarComunaCuandoExiste() {
         // Arrange
-        when(comunaRepository.findById(1L)).thenReturn(Optional.of(testComuna));
+        when(gazetteer.comuna(1L)).thenReturn(Optional.of(testComuna));
 
         // Act
         Optional<Comuna> result = comunaService.getComunaById(1L);
@@ -78,14 +86,15 @@ class ComunaServiceTest {
         // Assert
         assertTrue(result.isPresent());
         assertEquals("Santiago", result.get().getName());
-        verify(comunaRepository, times(1)).findById(1L);
+        verify(gazetteer, times(1)).comuna(1L);
+        verify(comunaRepository, never()).findById(any());
     }
 
     @Test
     void getComunasByRegionId_DeberiaRetornarComunasDeLaRegion() {
         // Arrange
         List<Comuna> comunas = Arrays.asList(testComuna);
-        when(comunaRepository.findByRegionId(1L)).thenReturn(comunas);
+        when(gazetteer.comunasOf(1L)).thenReturn(comunas);
 
         // Act
         List<Comuna> result = comunaService.getComunasByRegionId(1L);
@@ -94,7 +103,20 @@ class ComunaServiceTest {
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals("Santiago", result.get(0).getName());
-        verify(comunaRepository, times(1)).findByRegionId(1L);
+        verify(gazetteer, times(1)).comunasOf(1L);
+    }
+
+    @Test
+    void getComunaSummariesByRegionId_DeberiaRetornarSoloIdYNombre() {
+        // Arrange
+        when(gazetteer.comunasOf(1L)).thenReturn(List.of(testComuna));
+
+        // Act
+        List<ComunaSummaryResponse> result = comunaService.getComunaSummariesByRegionId(1L);
+
+        // Assert
+        assertEquals(List.of(new ComunaSummaryResponse(testComuna.getComunaId(), "Santiago")), result);
+        verifyNoInteractions(comunaRepository);
     }
 
     @Test
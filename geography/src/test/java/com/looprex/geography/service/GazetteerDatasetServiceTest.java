@@ -0,0 +1,182 @@
+package com.looprex.geography.service;
+
+import com.looprex.geography.dto.DatasetApplyResult;
+import com.looprex.geography.model.Address;
+import com.looprex.geography.model.Comuna;
+import com.looprex.geography.model.Region;
+import com.looprex.geography.repository.AddressRepository;
+import com.looprex.geography.repository.ComunaRepository;
+import com.looprex.geography.repository.GazetteerBulkRepository;
+import com.looprex.geography.repository.RegionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Carga del dataset contra H2 real: valida los INSERT/DELETE por JDBC (nombres de columna),
+ * que el checksum evite volver a aplicar el mismo dataset y que no se borren comunas con direcciones
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({GazetteerDatasetService.class, GazetteerBulkRepository.class, Gazetteer.class, ResourceVersionService.class})
+class GazetteerDatasetServiceTest {
+
+    @Autowired
+    private GazetteerDatasetService datasetService;
+
+    @Autowired
+    private Gazetteer gazetteer;
+
+    @Autowired
+    private RegionRepository regionRepository;
+
+    @Autowired
+    private ComunaRepository comunaRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Test
+    void loadBundled_DeberiaCargarLas16RegionesYLas346Comunas() {
+        // Act
+        DatasetApplyResult result = datasetService.loadBundled();
+
+        // Assert
+        assertTrue(result.isApplied());
+        assertEquals(16, result.getRegionsInserted());
+        assertEquals(346, result.getComunasInserted());
+        assertEquals(16, regionRepository.count());
+        assertEquals(346, comunaRepository.count());
+        assertEquals(52, gazetteer.comunasOf(regionRepository.findByName("Región Metropolitana")
+                .orElseThrow().getRegionId()).size());
+    }
+
+    @Test
+    void loadBundled_DeberiaOmitirDatasetConElMismoChecksum() {
+        // Arrange
+        datasetService.loadBundled();
+        long version = gazetteer.version();
+
+        // Act
+        DatasetApplyResult result = datasetService.loadBundled();
+
+        // Assert
+        assertFalse(result.isApplied());
+        assertEquals(0, result.getComunasInserted());
+        assertEquals(346, comunaRepository.count());
+        assertEquals(version, gazetteer.version());
+    }
+
+    @Test
+    void loadBundled_DeberiaCompletarDatosExistentesSinDuplicarlos() {
+        // Arrange: datos sembrados antes de existir el dataset
+        Region metropolitana = regionRepository.save(new Region(null, "Región Metropolitana"));
+        Comuna santiago = comunaRepository.save(new Comuna(null, "Santiago", metropolitana));
+
+        // Act
+        DatasetApplyResult result = datasetService.loadBundled();
+
+        // Assert
+        assertEquals(15, result.getRegionsInserted());
+        assertEquals(345, result.getComunasInserted());
+        assertEquals(346, comunaRepository.count());
+        assertTrue(gazetteer.comuna(santiago.getComunaId()).isPresent());
+    }
+
+    @Test
+    void apply_DeberiaEliminarSobrantesYConservarComunasConDirecciones() {
+        // Arrange
+        datasetService.apply("""
+                # version=v1
+                Región Metropolitana;Santiago
+                Región Metropolitana;Providencia
+                Región de Valparaíso;Viña del Mar
+                """);
+        Comuna providencia = gazetteer.comunas().stream()
+                .filter(comuna -> comuna.getName().equals("Providencia"))
+                .findFirst().orElseThrow();
+        addressRepository.save(new Address(null, "Av. Providencia", "1234", 1L,
+                comunaRepository.getReferenceById(providencia.getComunaId())));
+
+        // Act
+        DatasetApplyResult result = datasetService.apply("""
+                # version=v2
+                Región Metropolitana;Santiago
+                Región Metropolitana;Ñuñoa
+                """);
+
+        // Assert
+        assertTrue(result.isApplied());
+        assertEquals(1, result.getComunasInserted());
+        assertEquals(1, result.getComunasRemoved());
+        assertEquals(1, result.getComunasKept());
+        assertEquals(1, result.getRegionsRemoved());
+        assertEquals(1, regionRepository.count());
+        assertEquals(3, comunaRepository.count());
+        assertEquals(3, gazetteer.comunas().size());
+        assertTrue(comunaRepository.findById(providencia.getComunaId()).isPresent());
+    }
+
+    @Test
+    void apply_DeberiaGuardarYActualizarSoloLosCentroidesQueCambian() {
+        // Arrange
+        datasetService.apply("""
+                # version=v1
+                region;comuna;lat;lon
+                Región Metropolitana;Santiago;-33.4489;-70.6693
+                Región Metropolitana;Providencia
+                """);
+
+        // Act
+        DatasetApplyResult result = datasetService.apply("""
+                # version=v2
+                Región Metropolitana;Santiago;-33.4489;-70.6693
+                Región Metropolitana;Providencia;-33.4320;-70.6090
+                """);
+
+        // Assert
+        assertEquals(1, result.getCentroidsUpdated());
+        Comuna providencia = gazetteer.comunas().stream()
+                .filter(comuna -> comuna.getName().equals("Providencia"))
+                .findFirst().orElseThrow();
+        assertEquals(-33.4320, providencia.getLatitude());
+        assertEquals(new GeoPoint(-33.4320, -70.6090), gazetteer.centroid(providencia.getComunaId()).orElseThrow());
+    }
+
+    @Test
+    void apply_DeberiaRechazarCoordenadasFueraDeRango() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> datasetService.apply("# version=v1\nRegión Metropolitana;Santiago;-133.4;-70.6\n")
+        );
+
+        assertEquals("Línea 2: coordenadas inválidas (-133.4, -70.6)", exception.getMessage());
+    }
+
+    @Test
+    void apply_DeberiaRechazarDatasetSinVersion() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> datasetService.apply("Región Metropolitana;Santiago\n")
+        );
+
+        assertTrue(exception.getMessage().contains("versión"));
+        assertEquals(0, regionRepository.count());
+    }
+
+    @Test
+    void apply_DeberiaRechazarComunaRepetida() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> datasetService.apply("# version=v1\nRegión Metropolitana;Santiago\nRegión Metropolitana;Santiago\n")
+        );
+
+        assertEquals("Línea 3: la comuna 'Santiago' está repetida en la región 'Región Metropolitana'",
+                exception.getMessage());
+    }
+}
@@ -0,0 +1,128 @@
+package com.looprex.geography.service;
+
+import com.looprex.geography.model.Comuna;
+import com.looprex.geography.model.Region;
+import com.looprex.geography.repository.ComunaRepository;
+import com.looprex.geography.repository.RegionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GazetteerTest {
+
+    @Mock
+    private RegionRepository regionRepository;
+
+    @Mock
+    private ComunaRepository comunaRepository;
+
+    @InjectMocks
+    private Gazetteer gazetteer;
+
+    private Region metropolitana;
+    private Region valparaiso;
+
+    @BeforeEach
+    void setUp() {
+        metropolitana = new Region(13L, "Región Metropolitana");
+        valparaiso = new Region(5L, "Región de Valparaíso");
+    }
+
+    @Test
+    void regions_DeberiaCargarUnaSolaVezYResponderDesdeMemoria() {
+        // Arrange
+        when(regionRepository.findAll()).thenReturn(List.of(metropolitana, valparaiso));
+        when(comunaRepository.findAllWithRegion()).thenReturn(List.of(
+                new Comuna(2L, "Providencia", metropolitana),
+                new Comuna(1L, "Santiago", metropolitana),
+                new Comuna(3L, "Viña del Mar", valparaiso)));
+
+        // Act
+        List<Region> regions = gazetteer.regions();
+        gazetteer.region(13L);
+        gazetteer.comuna(1L);
+        List<Comuna> comunas = gazetteer.comunasOf(13L);
+
+        // Assert
+        assertEquals(List.of(5L, 13L), regions.stream().map(Region::getRegionId).toList());
+        assertEquals(List.of("Santiago", "Providencia"), comunas.stream().map(Comuna::getName).toList());
+        assertEquals(1L, gazetteer.version());
+        verify(regionRepository, times(1)).findAll();
+        verify(comunaRepository, times(1)).findAllWithRegion();
+    }
+
+    @Test
+    void comuna_DeberiaCompartirLaRegionDeLaInstantanea() {
+        // Arrange
+        when(regionRepository.findAll()).thenReturn(List.of(metropolitana));
+        when(comunaRepository.findAllWithRegion()).thenReturn(List.of(new Comuna(1L, "Santiago", metropolitana)));
+
+        // Act
+        Comuna comuna = gazetteer.comuna(1L).orElseThrow();
+
+        // Assert
+        assertSame(gazetteer.region(13L).orElseThrow(), comuna.getRegion());
+        assertNotSame(metropolitana, comuna.getRegion());
+        assertTrue(gazetteer.comuna(99L).isEmpty());
+        assertTrue(gazetteer.comunasOf(99L).isEmpty());
+    }
+
+    @Test
+    void regions_DeberiaSerInmutable() {
+        // Arrange
+        when(regionRepository.findAll()).thenReturn(List.of(metropolitana));
+        when(comunaRepository.findAllWithRegion()).thenReturn(List.of());
+
+        // Act & Assert
+        assertThrows(UnsupportedOperationException.class, () -> gazetteer.regions().add(valparaiso));
+    }
+
+    @Test
+    void reload_DeberiaReemplazarInstantaneaEIncrementarVersion() {
+        // Arrange
+        when(regionRepository.findAll())
+                .thenReturn(List.of(metropolitana))
+                .thenReturn(List.of(metropolitana, valparaiso));
+        when(comunaRepository.findAllWithRegion()).thenReturn(List.of());
+        List<Region> before = gazetteer.regions();
+
+        // Act
+        gazetteer.reload();
+
+        // Assert
+        assertEquals(1, before.size());
+        assertEquals(2, gazetteer.regions().size());
+        assertEquals(2L, gazetteer.version());
+    }
+
+    @Test
+    void centroid_DeberiaUsarLaMedianaDeLaRegionCuandoLaComunaNoTieneCoordenadas() {
+        // Arrange: la comuna insular no desplaza el centro de la región
+        when(regionRepository.findAll()).thenReturn(List.of(valparaiso));
+        when(comunaRepository.findAllWithRegion()).thenReturn(List.of(
+                new Comuna(1L, "Valparaíso", valparaiso, -33.05, -71.61),
+                new Comuna(2L, "Viña del Mar", valparaiso, -33.02, -71.55),
+                new Comuna(3L, "Isla de Pascua", valparaiso, -27.11, -109.35),
+                new Comuna(4L, "Quilpué", valparaiso, -33.04, -71.44),
+                new Comuna(5L, "Olmué", valparaiso)));
+
+        // Act
+        GeoPoint own = gazetteer.centroid(2L).orElseThrow();
+        GeoPoint fallback = gazetteer.centroid(5L).orElseThrow();
+
+        // Assert
+        assertEquals(new GeoPoint(-33.02, -71.55), own);
+        assertEquals(-33.03, fallback.latitude(), 1e-9);
+        assertEquals(-71.58, fallback.longitude(), 1e-9);
+        assertTrue(gazetteer.centroid(99L).isEmpty());
+    }
+}
@@ -0,0 +1,69 @@
+package com.looprex.geography.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PickupPointIndexTest {
+
+    private static PickupPointIndex.Entry entry(long id, double latitude, double longitude) {
+        return new PickupPointIndex.Entry(id, "Punto " + id, "Calle " + id, 1L, new GeoPoint(latitude, longitude));
+    }
+
+    @Test
+    void nearest_DeberiaCoincidirConLaBusquedaExhaustiva() {
+        // Arrange: puntos a lo largo de Chile continental
+        Random random = new Random(42);
+        List<PickupPointIndex.Entry> entries = new ArrayList<>();
+        for (long id = 1; id <= 3000; id++) {
+            entries.add(entry(id, -18 - random.nextDouble() * 37, -76 + random.nextDouble() * 9));
+        }
+        PickupPointIndex index = PickupPointIndex.of(entries);
+
+        for (int query = 0; query < 200; query++) {
+            GeoPoint origin = new GeoPoint(-18 - random.nextDouble() * 37, -76 + random.nextDouble() * 9);
+            List<Long> expected = entries.stream()
+                    .sorted(Comparator.comparingDouble(e -> e.location().distanceKm(origin)))
+                    .limit(7)
+                    .map(PickupPointIndex.Entry::pickupPointId)
+                    .toList();
+
+            // Act
+            List<PickupPointIndex.Neighbor> nearest = index.nearest(origin, 7);
+
+            // Assert
+            assertEquals(expected, nearest.stream().map(n -> n.entry().pickupPointId()).toList());
+            assertEquals(nearest.get(0).entry().location().distanceKm(origin), nearest.get(0).distanceKm(), 1e-6);
+        }
+    }
+
+    @Test
+    void nearest_DeberiaCruzarElAntimeridiano() {
+        // Arrange
+        PickupPointIndex index = PickupPointIndex.of(List.of(
+                entry(1, -27.0, 179.9),
+                entry(2, -27.0, 170.0),
+                entry(3, -27.0, -170.0)));
+
+        // Act
+        List<PickupPointIndex.Neighbor> nearest = index.nearest(new GeoPoint(-27.0, -179.9), 2);
+
+        // Assert
+        assertEquals(List.of(1L, 3L), nearest.stream().map(n -> n.entry().pickupPointId()).toList());
+    }
+
+    @Test
+    void nearest_DeberiaRetornarTodosCuandoKSuperaLaCantidad() {
+        // Arrange
+        PickupPointIndex index = PickupPointIndex.of(List.of(entry(1, -33.44, -70.65), entry(2, -33.45, -70.66)));
+
+        // Act & Assert
+        assertEquals(2, index.nearest(new GeoPoint(-33.4, -70.6), 10).size());
+        assertTrue(PickupPointIndex.empty().nearest(new GeoPoint(-33.4, -70.6), 5).isEmpty());
+    }
+}
@@ -0,0 +1,163 @@
+package com.looprex.geography.service;
+
+import com.looprex.geography.dto.PickupPointResponse;
+import com.looprex.geography.model.Comuna;
+import com.looprex.geography.model.PickupPoint;
+import com.looprex.geography.model.Region;
+import com.looprex.geography.repository.AddressRepository;
+import com.looprex.geography.repository.ComunaRepository;
+import com.looprex.geography.repository.PickupPointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PickupPointServiceTest {
+
+    @Mock
+    private PickupPointRepository pickupPointRepository;
+
+    @Mock
+    private AddressRepository addressRepository;
+
+    @Mock
+    private ComunaRepository comunaRepository;
+
+    @Mock
+    private Gazetteer gazetteer;
+
+    private PickupPointService pickupPointService;
+
+    private Comuna santiago;
+    private Comuna providencia;
+
+    @BeforeEach
+    void setUp() {
+        Region metropolitana = new Region(1L, "Región Metropolitana");
+        santiago = new Comuna(1L, "Santiago", metropolitana, -33.4489, -70.6693);
+        providencia = new Comuna(2L, "Providencia", metropolitana, -33.4320, -70.6090);
+        pickupPointService = new PickupPointService(pickupPointRepository, addressRepository, comunaRepository,
+                gazetteer, new Geocoder(gazetteer));
+    }
+
+    private static PickupPoint pickupPoint(Long id, Comuna comuna, double latitude, double longitude) {
+        return new PickupPoint(id, "Punto " + id, "Calle " + id, comuna, latitude, longitude);
+    }
+
+    private static AddressRepository.LocationView location(Double latitude, Double longitude, Long comunaId) {
+        return new AddressRepository.LocationView() {
+            public Double getLatitude() { return latitude; }
+            public Double getLongitude() { return longitude; }
+            public Long getComunaId() { return comunaId; }
+        };
+    }
+
+    @Test
+    void nearest_DeberiaUbicarLaDireccionSinCoordenadasEnElCentroideDeSuComuna() {
+        // Arrange
+        when(pickupPointRepository.findAll()).thenReturn(List.of(
+                pickupPoint(1L, santiago, -33.4372, -70.6506),
+                pickupPoint(2L, providencia, -33.4226, -70.6094),
+                pickupPoint(3L, santiago, -33.5100, -70.7570)));
+        when(addressRepository.findLocationById(5L)).thenReturn(Optional.of(location(null, null, 2L)));
+        when(gazetteer.centroid(2L)).thenReturn(Optional.of(new GeoPoint(-33.4320, -70.6090)));
+        when(gazetteer.comuna(any())).thenAnswer(invocation ->
+                Optional.of(invocation.getArgument(0).equals(1L) ? santiago : providencia));
+
+        // Act
+        List<PickupPointResponse> nearest = pickupPointService.nearest(5L, null, null, 2);
+
+        // Assert
+        assertEquals(List.of(2L, 1L), nearest.stream().map(PickupPointResponse::getPickupPointId).toList());
+        assertEquals("Providencia", nearest.get(0).getComunaName());
+        assertEquals(1.07, nearest.get(0).getDistanceKm(), 0.05);
+        verify(pickupPointRepository, times(1)).findAll();
+    }
+
+    @Test
+    void nearest_DeberiaUsarLasCoordenadasExactasDeLaDireccion() {
+        // Arrange
+        when(pickupPointRepository.findAll()).thenReturn(List.of(
+                pickupPoint(1L, santiago, -33.4372, -70.6506),
+                pickupPoint(3L, santiago, -33.5100, -70.7570)));
+        when(addressRepository.findLocationById(5L)).thenReturn(Optional.of(location(-33.51, -70.75, 1L)));
+        when(gazetteer.comuna(1L)).thenReturn(Optional.of(santiago));
+
+        // Act
+        List<PickupPointResponse> nearest = pickupPointService.nearest(5L, null, null, 1);
+
+        // Assert
+        assertEquals(3L, nearest.get(0).getPickupPointId());
+        verify(gazetteer, never()).centroid(any());
+    }
+
+    @Test
+    void nearest_DeberiaLanzarExcepcionCuandoSeIndicanAmbosOrigenes() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> pickupPointService.nearest(5L, -33.4, -70.6, 5)
+        );
+
+        assertEquals("Debe indicar addressId o latitud y longitud (solo uno)", exception.getMessage());
+        verifyNoInteractions(pickupPointRepository, addressRepository);
+    }
+
+    @Test
+    void nearest_DeberiaLanzarExcepcionCuandoKEstaFueraDeRango() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> pickupPointService.nearest(null, -33.4, -70.6, 51)
+        );
+
+        assertEquals("k debe estar entre 1 y 50", exception.getMessage());
+    }
+
+    @Test
+    void nearest_DeberiaLanzarExcepcionCuandoLaDireccionNoExiste() {
+        // Arrange
+        when(addressRepository.findLocationById(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> pickupPointService.nearest(99L, null, null, null)
+        );
+
+        assertEquals("La dirección con ID 99 no existe", exception.getMessage());
+    }
+
+    @Test
+    void create_DeberiaUbicarEnElCentroideDeLaComunaCuandoNoTraeCoordenadas() {
+        // Arrange
+        PickupPoint request = new PickupPoint(null, "Tienda Centro", "Huérfanos 1160", new Comuna(1L, null, null), null, null);
+        when(gazetteer.comuna(1L)).thenReturn(Optional.of(santiago));
+        when(gazetteer.centroid(1L)).thenReturn(Optional.of(new GeoPoint(-33.4489, -70.6693)));
+        when(comunaRepository.getReferenceById(1L)).thenReturn(santiago);
+        when(pickupPointRepository.save(any(PickupPoint.class))).thenAnswer(invocation -> {
+            PickupPoint saved = invocation.getArgument(0);
+            saved.setPickupPointId(10L);
+            return saved;
+        });
+        when(pickupPointRepository.findAll()).thenReturn(List.of());
+
+        // Act
+        PickupPointResponse created = pickupPointService.create(request);
+
+        // Assert
+        assertEquals(10L, created.getPickupPointId());
+        assertEquals(-33.4489, created.getLatitude());
+        assertEquals(-70.6693, created.getLongitude());
+        verify(pickupPointRepository, times(1)).findAll();
+    }
+}
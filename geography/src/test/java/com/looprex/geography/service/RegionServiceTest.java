@@ -1,5 +1,6 @@
 package com.looprex.geography.service;
 
+import com.looprex.geography.dto.RegionTreeResponse;
 import com.looprex.geography.model.Comuna;
 import com.looprex.geography.model.Region;
 import com.looprex.geography.repository.RegionRepository;
@@ -28,6 +29,12 @@ class RegionServiceTest {
     @Mock
     private ComunaRepository comunaRepository;
 
+    @Mock
+    private ResourceVersionService resourceVersionService;
+
+    @Mock
+    private Gazetteer gazetteer;
+
     @InjectMocks
     private RegionService regionService;
 
@@ -48,7 +55,7 @@ class RegionServiceTest {
         region2.setName("Región de Valparaíso");
         
         List<Region> regions = Arrays.asList(testRegion, region2);
-        when(regionRepository.findAll()).thenReturn(regions);
+        when(gazetteer.regions()).thenReturn(regions);
 
         // Act
         List<Region> result = regionService.getAllRegions();
@@ -57,13 +64,13 @@ class RegionServiceTest {
         assertNotNull(result);
         assertEquals(2, result.size());
         assertEquals("Región Metropolitana", result.get(0).getName());
-        verify(regionRepository, times(1)).findAll();
+        verify(gazetteer, times(1)).regions();
     }
 
     @Test
     void getAllRegions_DeberiaRetornarListaVaciaCuandoNoHayRegiones() {
         // Arrange
-        when(regionRepository.findAll()).thenReturn(List.of());
+        when(gazetteer.regions()).thenReturn(List.of());
 
         // Act
         List<Region> result = regionService.getAllRegions();
@@ -71,13 +78,13 @@ class RegionServiceTest {
         // Assert
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(regionRepository, times(1)).findAll();
+        verify(gazetteer, times(1)).regions();
     }
 
     @Test
     void getRegionById_DeberiaRetornarRegionCuandoExiste() {
         // Arrange
-        when(regionRepository.findById(1L)).thenReturn(Optional.of(testRegion));
+        when(gazetteer.region(1L)).thenReturn(Optional.of(testRegion));
 
         // Act
         Optional<Region> result = regionService.getRegionById(1L);
@@ -85,20 +92,21 @@ class RegionServiceTest {
         // Assert
         assertTrue(result.isPresent());
         assertEquals("Región Metropolitana", result.get().getName());
-        verify(regionRepository, times(1)).findById(1L);
+        verify(gazetteer, times(1)).region(1L);
+        verify(regionRepository, never()).findById(any());
     }
 
     @Test
     void getRegionById_DeberiaRetornarVacioCuandoNoExiste() {
         // Arrange
-        when(regionRepository.findById(999L)).thenReturn(Optional.empty());
+        when(gazetteer.region(999L)).thenReturn(Optional.empty());
 
         // Act
         Optional<Region> result = regionService.getRegionById(999L);
 
         // Assert
         assertFalse(result.isPresent());
-        verify(regionRepository, times(1)).findById(999L);
+        verify(gazetteer, times(1)).region(999L);
     }
 
     @Test
@@ -182,7 +190,7 @@ class RegionServiceTest {
     void deleteRegion_DeberiaEliminarRegionExitosamente() {
         // Arrange
         when(regionRepository.existsById(1L)).thenReturn(true);
-        when(comunaRepository.findByRegionId(1L)).thenReturn(List.of()); // Sin comunas
+        when(comunaRepository.countByRegion_RegionId(1L)).thenReturn(0L); // Sin comunas
 
         // Act
         regionService.deleteRegion(1L);
@@ -204,12 +212,13 @@ class RegionServiceTest {
        
         assertEquals("Región no encontrada", exception.getMessage());
         verify(regionRepository, never()).deleteById(any());
+        verify(comunaRepository, never()).findByRegionId(any());
     }
 
     @Test
     void existsByName_DeberiaRetornarTrueCuandoExiste() {
         // Arrange
-        when(regionRepository.findByName("Región Metropolitana")).thenReturn(Optional.of(testRegion));
+        when(regionRepository.existsByName("Región Metropolitana")).thenReturn(true);
 
         // Act
         boolean result = regionService.existsByName("Región Metropolitana");
@@ -223,17 +232,7 @@ class RegionServiceTest {
         // Arrange
         when(regionRepository.existsById(1L)).thenReturn(true);
         
-        // Crear comunas mock
-        Comuna comuna1 = new Comuna();
-        comuna1.setComunaId(1L);
-        comuna1.setName("Comuna 1");
-        
-        Comuna comuna2 = new Comuna();
-        comuna2.setComunaId(2L);
-        comuna2.setName("Comuna 2");
-        
-        when(comunaRepository.findByRegionId(1L))
-            .thenReturn(List.of(comuna1, comuna2));
+        when(comunaRepository.countByRegion_RegionId(1L)).thenReturn(2L);
 
         // Act & Assert
         IllegalStateException exception = assertThrows(
@@ -249,7 +248,7 @@ class RegionServiceTest {
     @Test
     void existsByName_DeberiaRetornarFalseCuandoNoExiste() {
         // Arrange
-        when(regionRepository.findByName("Región Inexistente")).thenReturn(Optional.empty());
+        when(regionRepository.existsByName("Región Inexistente")).thenReturn(false);
 
         // Act
         boolean result = regionService.existsByName("Región Inexistente");
@@ -257,4 +256,43 @@ class RegionServiceTest {
         // Assert
         assertFalse(result);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getRegionTree_DeberiaAgruparComunasPorRegion() {
+        // Arrange
+        Region region2 = new Region(2L, "Región de Valparaíso");
+        Gazetteer.Snapshot snapshot = Gazetteer.build(1, List.of(testRegion, region2), List.of(
+            new Comuna(10L, "Santiago", testRegion),
+            new Comuna(11L, "Providencia", testRegion)
+        ));
+        when(gazetteer.snapshot()).thenReturn(snapshot);
+
+        // Act
+        List<RegionTreeResponse> result = regionService.getRegionTree();
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals("Región Metropolitana", result.get(0).getName());
+        assertEquals(List.of(10L, 11L), result.get(0).getComunas().stream().map(c -> c.getComunaId()).toList());
+        assertEquals("Providencia", result.get(0).getComunas().get(1).getName());
+        assertTrue(result.get(1).getComunas().isEmpty());
+    }
+
+    @Test
+    void getRegionTree_DeberiaReutilizarElArbolMientrasNoCambieLaVersion() {
+        // Arrange
+        Gazetteer.Snapshot v1 = Gazetteer.build(1, List.of(testRegion), List.of());
+        Gazetteer.Snapshot v2 = Gazetteer.build(2, List.of(testRegion, new Region(2L, "Región de Valparaíso")), List.of());
+        when(gazetteer.snapshot()).thenReturn(v1, v1, v2);
+
+        // Act
+        List<RegionTreeResponse> first = regionService.getRegionTree();
+        List<RegionTreeResponse> second = regionService.getRegionTree();
+        List<RegionTreeResponse> afterReload = regionService.getRegionTree();
+
+        // Assert
+        assertSame(first, second);
+        assertNotSame(first, afterReload);
+        assertEquals(2, afterReload.size());
+    }
+}
@@ -0,0 +1,60 @@
+package com.looprex.geography.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResourceVersionServiceTest {
+
+    private ResourceVersionService resourceVersionService;
+
+    @BeforeEach
+    void setUp() {
+        resourceVersionService = new ResourceVersionService(300, 0);
+    }
+
+    @Test
+    void etag_DeberiaCambiarAlIncrementarLaVersion() {
+        // Arrange
+        String before = resourceVersionService.etag(ResourceVersionService.COMUNAS, ResourceVersionService.REGIONS);
+
+        // Act
+        resourceVersionService.bump(ResourceVersionService.REGIONS);
+        String after = resourceVersionService.etag(ResourceVersionService.COMUNAS, ResourceVersionService.REGIONS);
+
+        // Assert
+        assertNotEquals(before, after);
+        assertEquals(1L, resourceVersionService.current(ResourceVersionService.REGIONS));
+        assertEquals(0L, resourceVersionService.current(ResourceVersionService.COMUNAS));
+    }
+
+    @Test
+    void etag_DeberiaSerEstableSinEscrituras() {
+        // Act & Assert
+        assertEquals(resourceVersionService.etag(ResourceVersionService.REGIONS),
+                resourceVersionService.etag(ResourceVersionService.REGIONS));
+    }
+
+    @Test
+    void matches_DeberiaAceptarListasWeakYComodin() {
+        // Arrange
+        String etag = resourceVersionService.etag(ResourceVersionService.COMUNAS);
+
+        // Act & Assert
+        assertTrue(resourceVersionService.matches(etag, etag));
+        assertTrue(resourceVersionService.matches("\"otro\", " + etag, etag));
+        assertTrue(resourceVersionService.matches("W/" + etag, etag));
+        assertTrue(resourceVersionService.matches("*", etag));
+        assertFalse(resourceVersionService.matches("\"otro\"", etag));
+        assertFalse(resourceVersionService.matches(null, etag));
+    }
+
+    @Test
+    void cacheControl_DeberiaUsarPoliticaPorRecurso() {
+        // Act & Assert
+        assertEquals("max-age=300, must-revalidate",
+                resourceVersionService.cacheControl(ResourceVersionService.REGIONS).getHeaderValue());
+        assertEquals("no-cache", resourceVersionService.cacheControl(ResourceVersionService.COMUNAS).getHeaderValue());
+    }
+}
@@ -0,0 +1,260 @@
+package com.looprex.geography.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.looprex.geography.dto.ShippingBatchQuoteRequest;
+import com.looprex.geography.dto.ShippingItem;
+import com.looprex.geography.dto.ShippingQuote;
+import com.looprex.geography.dto.ShippingQuoteRequest;
+import com.looprex.geography.model.Address;
+import com.looprex.geography.model.Comuna;
+import com.looprex.geography.model.Region;
+import com.looprex.geography.repository.AddressRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ShippingServiceTest {
+
+    @Mock
+    private Gazetteer gazetteer;
+
+    @Mock
+    private AddressRepository addressRepository;
+
+    private ShippingService shippingService;
+
+    private Comuna santiago;
+    private Comuna vina;
+    private Comuna isla;
+
+    @BeforeEach
+    void setUp() {
+        Region metropolitana = new Region(1L, "Región Metropolitana");
+        Region valparaiso = new Region(2L, "Región de Valparaíso");
+        santiago = new Comuna(1L, "Santiago", metropolitana);
+        vina = new Comuna(2L, "Viña del Mar", valparaiso);
+        isla = new Comuna(3L, "Isla de Pascua", valparaiso);
+
+        shippingService = new ShippingService(gazetteer, addressRepository, new ObjectMapper(),
+                new ClassPathResource("shipping/rates.json"));
+    }
+
+    private void stubSnapshot(long version) {
+        Gazetteer.Snapshot snapshot = Gazetteer.build(version,
+                List.of(santiago.getRegion(), vina.getRegion()), List.of(santiago, vina, isla));
+        lenient().when(gazetteer.version()).thenReturn(version);
+        when(gazetteer.snapshot()).thenReturn(snapshot);
+    }
+
+    private static List<ShippingItem> items(Integer weightGrams, int quantity) {
+        return List.of(ShippingItem.builder().weightGrams(weightGrams).quantity(quantity).build());
+    }
+
+    private static Address address(Long addressId, Comuna comuna) {
+        return new Address(addressId, "Calle", "123", 7L, comuna);
+    }
+
+    @Test
+    void quote_DeberiaCobrarElTramoDelPesoTotalSegunLaZona() {
+        // Arrange
+        stubSnapshot(1);
+        when(gazetteer.comuna(1L)).thenReturn(Optional.of(santiago));
+
+        // Act: 2 × 1200 g = 2400 g, tramo hasta 3 kg de la RM
+        ShippingQuote quote = shippingService.quote(
+                ShippingQuoteRequest.builder().comunaId(1L).items(items(1200, 2)).build());
+
+        // Assert
+        assertEquals("RM", quote.getZone());
+        assertEquals(2400, quote.getWeightGrams());
+        assertEquals(3990, quote.getPrice());
+        assertEquals("2025-1", quote.getRatesVersion());
+    }
+
+    @Test
+    void quote_DeberiaIncluirElLimiteSuperiorEnElTramo() {
+        // Arrange
+        stubSnapshot(1);
+        when(gazetteer.comuna(2L)).thenReturn(Optional.of(vina));
+
+        // Act
+        ShippingQuote exact = shippingService.quote(
+                ShippingQuoteRequest.builder().comunaId(2L).items(items(1000, 1)).build());
+        ShippingQuote over = shippingService.quote(
+                ShippingQuoteRequest.builder().comunaId(2L).items(items(1001, 1)).build());
+
+        // Assert
+        assertEquals("CENTRO", exact.getZone());
+        assertEquals(3990, exact.getPrice());
+        assertEquals(4990, over.getPrice());
+    }
+
+    @Test
+    void quote_DeberiaPriorizarLaZonaDeLaComunaSobreLaDeSuRegion() {
+        // Arrange
+        stubSnapshot(1);
+        when(gazetteer.comuna(3L)).thenReturn(Optional.of(isla));
+
+        // Act: sin peso informado se usa el peso por defecto (1 kg)
+        ShippingQuote quote = shippingService.quote(
+                ShippingQuoteRequest.builder().comunaId(3L).items(items(null, 1)).build());
+
+        // Assert
+        assertEquals("EXTREMA", quote.getZone());
+        assertEquals(6990, quote.getPrice());
+    }
+
+    @Test
+    void quote_DeberiaCobrarKiloAdicionalSobreElUltimoTramo() {
+        // Arrange
+        stubSnapshot(1);
+        when(gazetteer.comuna(1L)).thenReturn(Optional.of(santiago));
+
+        // Act: 21,5 kg = último tramo (20 kg) + 2 kilos o fracción
+        ShippingQuote quote = shippingService.quote(
+                ShippingQuoteRequest.builder().comunaId(1L).items(items(21500, 1)).build());
+
+        // Assert
+        assertEquals(8990 + 2 * 400, quote.getPrice());
+    }
+
+    @Test
+    void quote_DeberiaUsarLaComunaDeLaDireccionGuardada() {
+        // Arrange
+        stubSnapshot(1);
+        when(addressRepository.findById(5L)).thenReturn(Optional.of(address(5L, vina)));
+
+        // Act
+        ShippingQuote quote = shippingService.quote(
+                ShippingQuoteRequest.builder().addressId(5L).items(items(500, 1)).build());
+
+        // Assert
+        assertEquals(5L, quote.getAddressId());
+        assertEquals(2L, quote.getComunaId());
+        assertEquals("CENTRO", quote.getZone());
+    }
+
+    @Test
+    void quote_DeberiaLanzarExcepcionCuandoLaComunaNoExiste() {
+        // Arrange
+        stubSnapshot(1);
+        when(gazetteer.comuna(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> shippingService.quote(ShippingQuoteRequest.builder().comunaId(99L).items(items(500, 1)).build())
+        );
+
+        assertEquals("La comuna con ID 99 no existe", exception.getMessage());
+    }
+
+    @Test
+    void quote_DeberiaLanzarExcepcionCuandoSeExcedeElPesoMaximo() {
+        // Arrange
+        stubSnapshot(1);
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> shippingService.quote(ShippingQuoteRequest.builder().comunaId(1L).items(items(30000, 2)).build())
+        );
+
+        assertEquals("El carro excede el peso máximo de despacho (50000 g)", exception.getMessage());
+    }
+
+    @Test
+    void quote_DeberiaLanzarExcepcionCuandoSeIndicanAmbosDestinos() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> shippingService.quote(
+                    ShippingQuoteRequest.builder().comunaId(1L).addressId(5L).items(items(500, 1)).build())
+        );
+
+        assertEquals("Debe indicar comunaId o addressId (solo uno)", exception.getMessage());
+        verify(gazetteer, never()).snapshot();
+    }
+
+    @Test
+    void quote_DeberiaReconstruirLaTablaSoloCuandoCambiaElGazetteer() {
+        // Arrange
+        stubSnapshot(1);
+        when(gazetteer.comuna(1L)).thenReturn(Optional.of(santiago));
+        ShippingQuoteRequest request = ShippingQuoteRequest.builder().comunaId(1L).items(items(500, 1)).build();
+
+        // Act
+        shippingService.quote(request);
+        shippingService.quote(request);
+        stubSnapshot(2);
+        shippingService.quote(request);
+
+        // Assert
+        verify(gazetteer, times(2)).snapshot();
+    }
+
+    @Test
+    void quoteBatch_DeberiaCotizarLasDireccionesEnElOrdenPedidoConUnaConsulta() {
+        // Arrange
+        stubSnapshot(1);
+        when(addressRepository.findAllById(List.of(2L, 1L)))
+                .thenReturn(List.of(address(1L, santiago), address(2L, isla)));
+
+        // Act
+        List<ShippingQuote> quotes = shippingService.quoteBatch(ShippingBatchQuoteRequest.builder()
+                .addressIds(List.of(2L, 1L))
+                .items(items(1200, 2))
+                .build());
+
+        // Assert
+        assertEquals(List.of(2L, 1L), quotes.stream().map(ShippingQuote::getAddressId).toList());
+        assertEquals(List.of(8990, 3990), quotes.stream().map(ShippingQuote::getPrice).toList());
+        verify(addressRepository, times(1)).findAllById(any());
+        verify(addressRepository, never()).findById(any());
+    }
+
+    @Test
+    void quoteBatch_DeberiaCotizarTodasLasDireccionesDelUsuario() {
+        // Arrange
+        stubSnapshot(1);
+        when(addressRepository.findByUserId(7L)).thenReturn(List.of(address(1L, santiago), address(2L, vina)));
+
+        // Act
+        List<ShippingQuote> quotes = shippingService.quoteBatch(ShippingBatchQuoteRequest.builder()
+                .userId(7L)
+                .items(items(500, 1))
+                .build());
+
+        // Assert
+        assertEquals(List.of("RM", "CENTRO"), quotes.stream().map(ShippingQuote::getZone).toList());
+    }
+
+    @Test
+    void quoteBatch_DeberiaLanzarExcepcionCuandoUnaDireccionNoExiste() {
+        // Arrange
+        stubSnapshot(1);
+        when(addressRepository.findAllById(List.of(1L, 99L))).thenReturn(List.of(address(1L, santiago)));
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> shippingService.quoteBatch(ShippingBatchQuoteRequest.builder()
+                    .addressIds(List.of(1L, 99L))
+                    .items(items(500, 1))
+                    .build())
+        );
+
+        assertEquals("La dirección con ID 99 no existe", exception.getMessage());
+    }
+}
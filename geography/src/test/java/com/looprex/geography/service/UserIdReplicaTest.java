@@ -0,0 +1,87 @@
+package com.looprex.geography.service;
+
+import com.looprex.geography.client.UserClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserIdReplicaTest {
+
+    @Mock
+    private UserClient userClient;
+
+    private UserIdReplica replica;
+
+    @BeforeEach
+    void setUp() {
+        // Sin sincronización periódica: cada prueba llama sync() directamente
+        replica = new UserIdReplica(userClient, 2, 0);
+    }
+
+    @Test
+    void sync_DeberiaLeerPaginasHastaRecibirUnaIncompleta() {
+        // Arrange
+        when(userClient.getUserIdsAfter(0L, 2)).thenReturn(List.of(1L, 2L));
+        when(userClient.getUserIdsAfter(2L, 2)).thenReturn(List.of(5L));
+
+        // Act
+        int received = replica.sync();
+
+        // Assert
+        assertEquals(3, received);
+        assertTrue(replica.contains(1L));
+        assertTrue(replica.contains(5L));
+        assertFalse(replica.contains(3L));
+        assertEquals(5L, replica.lastSyncedId());
+    }
+
+    @Test
+    void sync_DeberiaContinuarDesdeElUltimoIdRecibido() {
+        // Arrange
+        when(userClient.getUserIdsAfter(0L, 2)).thenReturn(List.of(1L));
+        when(userClient.getUserIdsAfter(1L, 2)).thenReturn(List.of(7L));
+        replica.sync();
+
+        // Act
+        replica.sync();
+
+        // Assert
+        assertTrue(replica.contains(1L));
+        assertTrue(replica.contains(7L));
+        assertEquals(2, replica.size());
+    }
+
+    @Test
+    void sync_DeberiaConservarLaReplicaCuandoUsersFalla() {
+        // Arrange
+        when(userClient.getUserIdsAfter(0L, 2)).thenReturn(List.of(1L));
+        replica.sync();
+        when(userClient.getUserIdsAfter(1L, 2)).thenThrow(new RuntimeException("timeout"));
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> replica.sync());
+        assertTrue(replica.contains(1L));
+        assertEquals(1L, replica.lastSyncedId());
+    }
+
+    @Test
+    void add_DeberiaAgregarIdsConfirmadosFueraDeLaSincronizacion() {
+        // Act
+        replica.add(42L);
+        replica.add(null);
+
+        // Assert
+        assertTrue(replica.contains(42L));
+        assertFalse(replica.contains(null));
+        assertEquals(1, replica.size());
+        verifyNoInteractions(userClient);
+    }
+}
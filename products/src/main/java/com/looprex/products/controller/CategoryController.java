@@ -5,6 +5,7 @@ import com.looprex.products.dto.CategoryResponse;
 import com.looprex.products.mapper.CategoryMapper;
 import com.looprex.products.model.Category;
 import com.looprex.products.service.CategoryService;
+import com.looprex.products.service.ResourceVersionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,6 +14,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -33,13 +35,16 @@ public class CategoryController {
 
     private final CategoryService categoryService;
     private final CategoryMapper categoryMapper;
+    private final ResourceVersionService resourceVersionService;
 
     private static final String NOT_FOUND = "No encontrada";
     private static final String CATEGORY_WITH_ID = "Categoría con ID ";
 
-    public CategoryController(CategoryService categoryService, CategoryMapper categoryMapper) {
+    public CategoryController(CategoryService categoryService, CategoryMapper categoryMapper,
+                              ResourceVersionService resourceVersionService) {
         this.categoryService = categoryService;
         this.categoryMapper = categoryMapper;
+        this.resourceVersionService = resourceVersionService;
     }
 
     @GetMapping
@@ -48,7 +53,8 @@ public class CategoryController {
     description = "Retorna una lista completa de todas las categorías de productos disponibles. " +
                   "Útil para construir menús de navegación, filtros de categorías en la tienda, " +
                   "y selectores de categoría en formularios de creación/edición de productos. " +
-                  "Si no hay categorías registradas, retorna un status 204 (No Content)"
+                  "Si no hay categorías registradas, retorna un status 204 (No Content). " +
+                  "Soporta revalidación con ETag (If-None-Match → 304 Not Modified)"
                 )
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -99,9 +105,23 @@ public class CategoryController {
                     """
                 )
             )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "304",
+            description = "Las categorías no han cambiado desde el ETag enviado en If-None-Match"
         )
     })
-    public ResponseEntity<ApiResponse<List<CategoryResponse>>> getAllCategories() {
+    public ResponseEntity<ApiResponse<List<CategoryResponse>>> getAllCategories(
+            @Parameter(description = "ETag obtenido en una respuesta anterior")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = resourceVersionService.etag(ResourceVersionService.CATEGORIES);
+        if (resourceVersionService.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(resourceVersionService.cacheControl(ResourceVersionService.CATEGORIES))
+                    .build();
+        }
+
         List<Category> categories = categoryService.getAllCategories();
 
         if (categories.isEmpty()) {
@@ -114,7 +134,10 @@ public class CategoryController {
                 .map(categoryMapper::toCategoryResponse)
                 .toList();
 
-        return ResponseEntity.ok(new ApiResponse<>(true, 200, "Categorías obtenidas exitosamente", categoryResponses, categoryResponses.size()));
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(resourceVersionService.cacheControl(ResourceVersionService.CATEGORIES))
+                .body(new ApiResponse<>(true, 200, "Categorías obtenidas exitosamente", categoryResponses, categoryResponses.size()));
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,116 @@
+package com.looprex.products.controller;
+
+import com.looprex.products.dto.ApiResponse;
+import com.looprex.products.dto.ProductChangeFeed;
+import com.looprex.products.service.ProductChangeService;
+import com.looprex.products.service.ProductChangeStream;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/products/changes")
+@Tag(
+    name = "Cambios de productos",
+    description = "Feed append-only de cambios en productos, categorías y estados. Permite a otros " +
+                  "servicios mantener réplicas locales e invalidar cachés con precisión, leyendo desde " +
+                  "la última secuencia procesada o suscribiéndose por Server-Sent Events"
+)
+public class ProductChangeController {
+
+    private final ProductChangeService productChangeService;
+    private final ProductChangeStream productChangeStream;
+
+    public ProductChangeController(ProductChangeService productChangeService, ProductChangeStream productChangeStream) {
+        this.productChangeService = productChangeService;
+        this.productChangeStream = productChangeStream;
+    }
+
+    @GetMapping
+    @Operation(
+    summary = "Leer cambios desde una secuencia",
+    description = "Retorna los cambios con secuencia mayor a 'since', en orden ascendente. " +
+                  "Para reanudar, usar el valor 'lastSeq' de la respuesta como próximo 'since'. " +
+                  "Si 'hasMore' es true, hay más cambios disponibles de inmediato. " +
+                  "Las importaciones masivas se registran como un solo cambio IMPORTED sin entityId, " +
+                  "que indica invalidar todos los productos"
+                )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Página de cambios (puede estar vacía)",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    value = """
+                    {
+                      "success": true,
+                      "statusCode": 200,
+                      "message": "Cambios obtenidos exitosamente",
+                      "data": {
+                        "changes": [
+                          { "seq": 41, "entityType": "PRODUCT", "entityId": 1, "operation": "UPDATED", "changedAt": 1700000000000 },
+                          { "seq": 42, "entityType": "CATEGORY", "entityId": 3, "operation": "CREATED", "changedAt": 1700000005000 }
+                        ],
+                        "lastSeq": 42,
+                        "hasMore": false
+                      },
+                      "count": 2
+                    }
+                    """
+                )
+            )
+        )
+    })
+    public ResponseEntity<ApiResponse<ProductChangeFeed>> getChanges(
+            @Parameter(description = "Última secuencia procesada por el consumidor (0 = desde el inicio)", example = "40")
+            @RequestParam(defaultValue = "0") Long since,
+            @Parameter(description = "Máximo de cambios a retornar (1 a 1000)", example = "500")
+            @RequestParam(defaultValue = "500") int limit) {
+        ProductChangeFeed feed = productChangeService.getChangesSince(since, limit);
+        return ResponseEntity.ok(new ApiResponse<>(true, 200, "Cambios obtenidos exitosamente",
+                feed, feed.getChanges().size()));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+    summary = "Suscribirse a los cambios (Server-Sent Events)",
+    description = "Abre un stream SSE. Primero se reenvían los cambios posteriores a 'since' " +
+                  "(o al header Last-Event-ID al reconectar) y luego los nuevos, con algunos segundos de " +
+                  "retraso como máximo. Si el cliente no alcanza a recibir los cambios se cierra la conexión " +
+                  "y debe reconectar. " +
+                  "Cada evento se llama 'change', su id es la secuencia y su data el cambio en JSON"
+                )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Stream de eventos abierto",
+            content = @Content(
+                mediaType = "text/event-stream",
+                examples = @ExampleObject(
+                    value = """
+                    id:42
+                    event:change
+                    data:{"seq":42,"entityType":"CATEGORY","entityId":3,"operation":"CREATED","changedAt":1700000005000}
+                    """
+                )
+            )
+        )
+    })
+    public SseEmitter streamChanges(
+            @Parameter(description = "Última secuencia procesada por el consumidor", example = "40")
+            @RequestParam(required = false) Long since,
+            @Parameter(description = "Enviado automáticamente por EventSource al reconectar")
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return productChangeStream.subscribe(lastEventId != null ? lastEventId : since);
+    }
+}
@@ -1,10 +1,18 @@
 package com.looprex.products.controller;
 
 import com.looprex.products.dto.ApiResponse;
+import com.looprex.products.dto.PriceLookupRequest;
+import com.looprex.products.dto.ProductImportResult;
+import com.looprex.products.dto.ProductPriceResponse;
 import com.looprex.products.dto.ProductResponse;
 import com.looprex.products.mapper.ProductMapper;
 import com.looprex.products.model.Product;
+import com.looprex.products.model.ProductPrice;
+import com.looprex.products.service.ProductExportService;
+import com.looprex.products.service.ProductImportService;
+import com.looprex.products.service.ProductPriceService;
 import com.looprex.products.service.ProductService;
+import com.looprex.products.service.ResourceVersionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,10 +21,17 @@ import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
 import java.util.List;
 
 @RestController
@@ -33,13 +48,25 @@ public class ProductController {
 
     private final ProductService productService;
     private final ProductMapper productMapper;
+    private final ResourceVersionService resourceVersionService;
+    private final ProductImportService productImportService;
+    private final ProductExportService productExportService;
+    private final ProductPriceService productPriceService;
 
     private static final String NOT_FOUND = "No encontrada";
     private static final String PRODUCT_WITH_ID = "Producto con ID ";
 
-    public ProductController(ProductService productService, ProductMapper productMapper) {
+    public ProductController(ProductService productService, ProductMapper productMapper,
+                             ResourceVersionService resourceVersionService,
+                             ProductImportService productImportService,
+                             ProductExportService productExportService,
+                             ProductPriceService productPriceService) {
         this.productService = productService;
         this.productMapper = productMapper;
+        this.resourceVersionService = resourceVersionService;
+        this.productImportService = productImportService;
+        this.productExportService = productExportService;
+        this.productPriceService = productPriceService;
     }
 
     @GetMapping
@@ -49,7 +76,9 @@ public class ProductController {
                       "Cada producto incluye sus datos básicos (nombre, descripción, precio, stock), " +
                       "además de objetos anidados con información de su categoría y estado. " +
                       "Útil para mostrar el catálogo completo en la tienda o en paneles administrativos. " +
-                      "Si no hay productos registrados, retorna un status 204 (No Content)"
+                      "Si no hay productos registrados, retorna un status 204 (No Content). " +
+                      "Soporta revalidación con ETag: si el header If-None-Match coincide con la versión " +
+                      "actual del catálogo, retorna 304 (Not Modified) sin consultar la base de datos"
     )
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -106,9 +135,25 @@ public class ProductController {
                     """
                 )
             )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "304",
+            description = "El catálogo no ha cambiado desde el ETag enviado en If-None-Match"
         )
     })
-    public ResponseEntity<ApiResponse<List<ProductResponse>>> getAllProducts() {
+    public ResponseEntity<ApiResponse<List<ProductResponse>>> getAllProducts(
+            @Parameter(description = "ETag obtenido en una respuesta anterior", example = "\"m1x2y3z-4-1-0\"")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // La respuesta incluye categoría y estado anidados, por lo que el ETag depende de las tres tablas
+        String etag = resourceVersionService.etag(
+                ResourceVersionService.PRODUCTS, ResourceVersionService.CATEGORIES, ResourceVersionService.STATUSES);
+        if (resourceVersionService.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(resourceVersionService.cacheControl(ResourceVersionService.PRODUCTS))
+                    .build();
+        }
+
         List<Product> products = productService.getAllProducts();
 
         if (products.isEmpty()) {
@@ -121,7 +166,10 @@ public class ProductController {
                 .map(productMapper::toProductResponse)
                 .toList();
 
-        return ResponseEntity.ok(new ApiResponse<>(true, 200, "Productos obtenidos exitosamente", productResponses, productResponses.size()));
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(resourceVersionService.cacheControl(ResourceVersionService.PRODUCTS))
+                .body(new ApiResponse<>(true, 200, "Productos obtenidos exitosamente", productResponses, productResponses.size()));
     }
 
 
@@ -200,6 +248,128 @@ public class ProductController {
                         .body(new ApiResponse<>(false, 404, PRODUCT_WITH_ID + id + NOT_FOUND, null)));
     }
 
+    @GetMapping("/{id}/price")
+    @Operation(
+    summary = "Obtener precio vigente en un instante",
+    description = "Retorna el precio que tenía el producto en el instante indicado (por defecto, ahora), " +
+                  "según el historial de precios. Permite validar el precio unitario de un detalle " +
+                  "contra el precio vigente en la fecha de la compra. Los productos sin cambios de precio " +
+                  "registrados retornan su precio actual con effectiveFrom = 0"
+                )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Precio vigente encontrado",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    value = """
+                    {
+                      "success": true,
+                      "statusCode": 200,
+                      "message": "Precio obtenido exitosamente",
+                      "data": {
+                        "productId": 1,
+                        "price": 1899990,
+                        "effectiveFrom": 1700000000000,
+                        "at": 1700500000000
+                      }
+                    }
+                    """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "404",
+            description = "El producto no existe o no tenía precio en ese instante"
+        )
+    })
+    public ResponseEntity<ApiResponse<ProductPriceResponse>> getProductPriceAt(
+            @Parameter(description = "ID del producto", example = "1", required = true)
+            @PathVariable Long id,
+            @Parameter(description = "Instante a consultar en milisegundos desde epoch (por defecto, ahora)",
+                       example = "1700500000000")
+            @RequestParam(required = false) Long at) {
+        long instant = at != null ? at : System.currentTimeMillis();
+        return productPriceService.getPriceAt(id, instant)
+                .map(price -> ResponseEntity.ok(new ApiResponse<>(true, 200, "Precio obtenido exitosamente", price)))
+                .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new ApiResponse<>(false, 404,
+                                "No hay precio vigente para el producto con ID " + id + " en ese instante", null)));
+    }
+
+    @GetMapping("/{id}/price/history")
+    @Operation(
+    summary = "Obtener historial de precios",
+    description = "Retorna todos los precios registrados del producto en orden cronológico. " +
+                  "Útil para auditorías sin recorrer los detalles de compra"
+                )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Historial obtenido (vacío si el precio nunca cambió desde que existe el historial)",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<ApiResponse<List<ProductPrice>>> getProductPriceHistory(
+            @Parameter(description = "ID del producto", example = "1", required = true)
+            @PathVariable Long id) {
+        List<ProductPrice> history = productPriceService.getPriceHistory(id);
+        return ResponseEntity.ok(new ApiResponse<>(true, 200, "Historial de precios obtenido exitosamente",
+                history, history.size()));
+    }
+
+    @PostMapping("/prices/lookup")
+    @Operation(
+    summary = "Obtener precios vigentes de varios productos",
+    description = "Variante por lote de GET /api/products/{id}/price: resuelve en una sola consulta " +
+                  "los precios vigentes de hasta 500 productos en el mismo instante (ej: todos los " +
+                  "detalles de una compra en su buyDate). Los productos sin precio en ese instante se omiten"
+                )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Precios obtenidos",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    value = """
+                    {
+                      "success": true,
+                      "statusCode": 200,
+                      "message": "Precios obtenidos exitosamente",
+                      "data": [
+                        { "productId": 1, "price": 1899990, "effectiveFrom": 1700000000000, "at": 1700500000000 },
+                        { "productId": 2, "price": 59990, "effectiveFrom": 0, "at": 1700500000000 }
+                      ],
+                      "count": 2
+                    }
+                    """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Lista de IDs vacía o con más de 500 elementos"
+        )
+    })
+    public ResponseEntity<ApiResponse<List<ProductPriceResponse>>> lookupPrices(
+            @RequestBody PriceLookupRequest request) {
+        try {
+            long instant = request.getAt() != null ? request.getAt() : System.currentTimeMillis();
+            List<ProductPriceResponse> prices = productPriceService.getPricesAt(request.getProductIds(), instant);
+            return ResponseEntity.ok(new ApiResponse<>(true, 200, "Precios obtenidos exitosamente",
+                    prices, prices.size()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(false, 400, e.getMessage(), null));
+        }
+    }
 
     @GetMapping("/category/{categoryId}")
     @Operation(
@@ -550,6 +720,203 @@ public class ProductController {
         }
     }
 
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @Operation(
+    summary = "Importar productos desde CSV",
+    description = "Importación masiva de productos. El archivo se procesa en streaming, fila a fila, " +
+                  "y se inserta en lotes JDBC (tamaño configurable con products.import.batch-size). " +
+                  "La primera línea debe ser el encabezado; columnas reconocidas en cualquier orden: " +
+                  "name, description, price, stock, categoryId, statusId, productPhoto. " +
+                  "Las filas inválidas (campos faltantes, valores negativos, categoría o estado inexistente) " +
+                  "se reportan con su número de línea sin abortar la importación"
+                )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Importación completada (puede incluir filas rechazadas)",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    value = """
+                    {
+                      "success": true,
+                      "statusCode": 200,
+                      "message": "Importación completada: 2 producto(s) importado(s), 1 fila(s) con errores",
+                      "data": {
+                        "rowsRead": 3,
+                        "imported": 2,
+                        "failed": 1,
+                        "elapsedMillis": 12,
+                        "rowsPerSecond": 250.0,
+                        "errors": [
+                          { "line": 3, "message": "La categoría con ID 999 no existe" }
+                        ]
+                      }
+                    }
+                    """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Encabezado CSV inválido o archivo ilegible"
+        )
+    })
+    public ResponseEntity<ApiResponse<ProductImportResult>> importProductsCsv(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                description = "Archivo CSV con encabezado",
+                required = true,
+                content = @Content(
+                    mediaType = "text/csv",
+                    examples = @ExampleObject(
+                        value = """
+                        name,description,price,stock,categoryId,statusId,productPhoto
+                        "Ram DDR5 Kingston Fury","Kingston Fury Beast DDR5 16GB, 5200MHz",59990,40,2,1,
+                        AMD Ryzen 5 7600X,Procesador de 6 núcleos,229990,15,3,1,https://example.com/7600x.jpg
+                        """
+                    )
+                )
+            )
+            InputStream body) {
+        try {
+            return importResponse(productImportService.importCsv(body));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(false, 400, e.getMessage(), null));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(false, 400, "No se pudo leer el archivo: " + e.getMessage(), null));
+        }
+    }
+
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    @Operation(
+    summary = "Importar productos desde NDJSON",
+    description = "Igual que la importación CSV, pero cada línea es un objeto JSON de producto " +
+                  "con los mismos campos que POST /api/products. Las líneas con JSON inválido " +
+                  "se reportan como errores de fila"
+                )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Importación completada (puede incluir filas rechazadas)",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class)
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Archivo ilegible"
+        )
+    })
+    public ResponseEntity<ApiResponse<ProductImportResult>> importProductsNdjson(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                description = "Un producto JSON por línea",
+                required = true,
+                content = @Content(
+                    mediaType = "application/x-ndjson",
+                    examples = @ExampleObject(
+                        value = """
+                        {"name":"Ram DDR5 Kingston Fury","description":"16GB 5200MHz","price":59990,"stock":40,"categoryId":2,"statusId":1}
+                        {"name":"AMD Ryzen 5 7600X","description":"6 núcleos","price":229990,"stock":15,"categoryId":3,"statusId":1}
+                        """
+                    )
+                )
+            )
+            InputStream body) {
+        try {
+            return importResponse(productImportService.importNdjson(body));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(false, 400, "No se pudo leer el archivo: " + e.getMessage(), null));
+        }
+    }
+
+    private ResponseEntity<ApiResponse<ProductImportResult>> importResponse(ProductImportResult result) {
+        String message = "Importación completada: " + result.getImported() + " producto(s) importado(s), " +
+                result.getFailed() + " fila(s) con errores";
+        return ResponseEntity.ok(new ApiResponse<>(true, 200, message, result));
+    }
+
+    @GetMapping("/export")
+    @Operation(
+    summary = "Exportar catálogo en NDJSON o CSV",
+    description = "Transmite todos los productos fila a fila directamente desde la base de datos, " +
+                  "sin cargar el catálogo en memoria. Cada fila incluye el nombre de la categoría y del estado. " +
+                  "Con updatedSince solo se exportan los productos modificados desde ese instante, " +
+                  "lo que permite sincronizaciones incrementales. Con gzip=true la respuesta se comprime " +
+                  "(Content-Encoding: gzip)"
+                )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Exportación en curso",
+            content = {
+                @Content(
+                    mediaType = "application/x-ndjson",
+                    examples = @ExampleObject(
+                        value = """
+                        {"productId":1,"name":"Ram DDR5 Kingston Fury","description":"16GB 5200MHz","price":59990,"stock":40,"productPhoto":null,"categoryId":2,"categoryName":"Memorias Ram","statusId":1,"statusName":"Activo","updatedAt":1700000000000}
+                        """
+                    )
+                ),
+                @Content(
+                    mediaType = "text/csv",
+                    examples = @ExampleObject(
+                        value = """
+                        productId,name,description,price,stock,productPhoto,categoryId,categoryName,statusId,statusName,updatedAt
+                        1,Ram DDR5 Kingston Fury,16GB 5200MHz,59990,40,,2,Memorias Ram,1,Activo,1700000000000
+                        """
+                    )
+                )
+            }
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Formato no soportado"
+        )
+    })
+    public ResponseEntity<?> exportProducts(
+            @Parameter(description = "Formato de salida: ndjson (por defecto) o csv", example = "ndjson")
+            @RequestParam(defaultValue = ProductExportService.NDJSON) String format,
+            @Parameter(description = "Solo productos modificados desde este instante (milisegundos desde epoch)",
+                       example = "1700000000000")
+            @RequestParam(required = false) Long updatedSince,
+            @Parameter(description = "Comprimir la respuesta con gzip", example = "false")
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        String resolved;
+        try {
+            resolved = ProductExportService.resolveFormat(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(false, 400, e.getMessage(), null));
+        }
+
+        boolean csv = resolved.equals(ProductExportService.CSV);
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                try (GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192)) {
+                    productExportService.export(resolved, updatedSince, gzipOut);
+                }
+            } else {
+                productExportService.export(resolved, updatedSince, out);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(csv
+                        ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"products." + resolved + "\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
     @PutMapping("/{id}")
     @Operation(
     summary = "Actualizar producto existente",
@@ -3,6 +3,7 @@ package com.looprex.products.controller;
 import com.looprex.products.dto.ApiResponse;
 import com.looprex.products.dto.StatusResponse;
 import com.looprex.products.mapper.StatusMapper;
+import com.looprex.products.service.ResourceVersionService;
 import com.looprex.products.service.StatusService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,6 +12,7 @@ import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -30,10 +32,13 @@ public class StatusController {
 
     private final StatusService statusService;
     private final StatusMapper statusMapper;
+    private final ResourceVersionService resourceVersionService;
 
-    public StatusController(StatusService statusService, StatusMapper statusMapper) {
+    public StatusController(StatusService statusService, StatusMapper statusMapper,
+                            ResourceVersionService resourceVersionService) {
         this.statusService = statusService;
         this.statusMapper = statusMapper;
+        this.resourceVersionService = resourceVersionService;
     }
 
     @GetMapping
@@ -45,7 +50,8 @@ public class StatusController {
                   "• Estados de compras: Pendiente (3), Completado (4), Cancelado (5), En envío (6) " +
                   "Este endpoint es útil para poblar selectores de estado en formularios de " +
                   "creación/edición de productos y para filtros de estado en dashboards. " +
-                  "Si no hay estados registrados, retorna un status 204 (No Content)"
+                  "Si no hay estados registrados, retorna un status 204 (No Content). " +
+                  "Soporta revalidación con ETag (If-None-Match → 304 Not Modified)"
                 )
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -108,9 +114,23 @@ public class StatusController {
                     """
                 )
             )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "304",
+            description = "Los estados no han cambiado desde el ETag enviado en If-None-Match"
         )
     })
-    public ResponseEntity<ApiResponse<List<StatusResponse>>> getAllStatuses() {
+    public ResponseEntity<ApiResponse<List<StatusResponse>>> getAllStatuses(
+            @Parameter(description = "ETag obtenido en una respuesta anterior")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = resourceVersionService.etag(ResourceVersionService.STATUSES);
+        if (resourceVersionService.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(resourceVersionService.cacheControl(ResourceVersionService.STATUSES))
+                    .build();
+        }
+
         List<com.looprex.products.model.Status> statuses = statusService.getAllStatuses();
 
         if (statuses.isEmpty()) {
@@ -123,7 +143,10 @@ public class StatusController {
                 .map(statusMapper::toStatusResponse)
                 .toList();
 
-        return ResponseEntity.ok(new ApiResponse<>(true, 200, "Estados obtenidos exitosamente", statusResponses, statusResponses.size()));
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(resourceVersionService.cacheControl(ResourceVersionService.STATUSES))
+                .body(new ApiResponse<>(true, 200, "Estados obtenidos exitosamente", statusResponses, statusResponses.size()));
     }
 
     @GetMapping("/{id}")
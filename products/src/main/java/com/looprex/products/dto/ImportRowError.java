@@ -0,0 +1,19 @@
+package com.looprex.products.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Error asociado a una fila del archivo importado")
+public class ImportRowError {
+
+    @Schema(description = "Número de línea en el archivo de origen", example = "42")
+    private long line;
+
+    @Schema(description = "Motivo del rechazo", example = "La categoría con ID 999 no existe")
+    private String message;
+}
@@ -0,0 +1,22 @@
+package com.looprex.products.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Consulta de precios vigentes de varios productos en un mismo instante")
+public class PriceLookupRequest {
+
+    @Schema(description = "IDs de los productos (máximo 500)", example = "[1, 2, 3]")
+    private List<Long> productIds;
+
+    @Schema(description = "Instante a consultar en milisegundos desde epoch (por defecto, ahora)",
+            example = "1700500000000")
+    private Long at;
+}
@@ -0,0 +1,25 @@
+package com.looprex.products.dto;
+
+import com.looprex.products.model.ProductChange;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Página del feed de cambios de productos")
+public class ProductChangeFeed {
+
+    @Schema(description = "Cambios con secuencia mayor a 'since', en orden ascendente")
+    private List<ProductChange> changes;
+
+    @Schema(description = "Secuencia a usar como 'since' en la próxima consulta", example = "42")
+    private long lastSeq;
+
+    @Schema(description = "Indica si quedan más cambios por leer inmediatamente", example = "false")
+    private boolean hasMore;
+}
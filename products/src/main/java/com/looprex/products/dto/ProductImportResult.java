@@ -0,0 +1,35 @@
+package com.looprex.products.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Resumen de una importación masiva de productos")
+public class ProductImportResult {
+
+    @Schema(description = "Filas de datos leídas (sin contar el encabezado)", example = "10000")
+    private long rowsRead;
+
+    @Schema(description = "Productos insertados correctamente", example = "9998")
+    private long imported;
+
+    @Schema(description = "Filas rechazadas por validación o por error de base de datos", example = "2")
+    private long failed;
+
+    @Schema(description = "Duración total de la importación en milisegundos", example = "850")
+    private long elapsedMillis;
+
+    @Schema(description = "Throughput de la importación (filas leídas por segundo)", example = "11764.7")
+    private double rowsPerSecond;
+
+    @Schema(description = "Detalle de las filas rechazadas (se reportan como máximo las primeras 1000)")
+    private List<ImportRowError> errors;
+}
@@ -0,0 +1,26 @@
+package com.looprex.products.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Precio de un producto vigente en un instante dado")
+public class ProductPriceResponse {
+
+    @Schema(description = "ID del producto", example = "1")
+    private Long productId;
+
+    @Schema(description = "Precio vigente en pesos chilenos (CLP)", example = "1899990")
+    private Integer price;
+
+    @Schema(description = "Desde cuándo rige este precio (milisegundos desde epoch, 0 = anterior al historial)",
+            example = "1700000000000")
+    private Long effectiveFrom;
+
+    @Schema(description = "Instante consultado (milisegundos desde epoch)", example = "1700500000000")
+    private Long at;
+}
@@ -42,4 +42,7 @@ public class ProductResponse {
 
     @Schema(description = "Objeto de estado completo")
     private StatusResponse status;
+
+    @Schema(description = "Fecha de última modificación (milisegundos desde epoch)", example = "1700000000000")
+    private Long updatedAt;
 }
\ No newline at end of file
@@ -32,6 +32,7 @@ public class ProductMapper {
         response.setPrice(product.getPrice());
         response.setStatusId(product.getStatusId());
         response.setCategoryId(product.getCategoryId());
+        response.setUpdatedAt(product.getUpdatedAt());
 
         // Mapear categoría anidada si existe
         if (product.getCategory() != null) {
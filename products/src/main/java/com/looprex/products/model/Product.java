@@ -13,7 +13,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = @Index(name = "idx_products_updated_at", columnList = "updatedAt"))
 @Schema(
     description = "Entidad que representa un producto en el e-commerce. " +
                   "Contiene toda la información necesaria para gestionar el inventario, precios y estado del producto",
@@ -108,4 +108,20 @@ public class Product {
         accessMode = Schema.AccessMode.READ_ONLY
     )
     private Status status;
+
+    @Column
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Schema(
+        description = "Fecha de la última modificación en formato timestamp (milisegundos desde epoch). " +
+                      "Se establece automáticamente al crear o actualizar el producto",
+        example = "1700000000000",
+        accessMode = Schema.AccessMode.READ_ONLY
+    )
+    private Long updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void touchUpdatedAt() {
+        this.updatedAt = System.currentTimeMillis();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.looprex.products.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "product_changes")
+@Schema(
+    description = "Registro inmutable de un cambio en productos, categorías o estados. " +
+                  "El número de secuencia es creciente y permite reanudar el feed desde el último cambio procesado",
+    example = "{ \"seq\": 42, \"entityType\": \"PRODUCT\", \"entityId\": 1, \"operation\": \"UPDATED\", " +
+              "\"changedAt\": 1700000000000 }"
+)
+public class ProductChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Schema(description = "Número de secuencia del cambio (cursor del feed)", example = "42")
+    private Long seq;
+
+    @Column(nullable = false, length = 20)
+    @Schema(description = "Tipo de entidad modificada", example = "PRODUCT",
+            allowableValues = {"PRODUCT", "CATEGORY", "STATUS"})
+    private String entityType;
+
+    @Column
+    @Schema(description = "ID de la entidad modificada. Es nulo en importaciones masivas, " +
+                          "que invalidan todos los productos", example = "1")
+    private Long entityId;
+
+    @Column(nullable = false, length = 20)
+    @Schema(description = "Operación realizada", example = "UPDATED",
+            allowableValues = {"CREATED", "UPDATED", "DELETED", "IMPORTED"})
+    private String operation;
+
+    @Column(nullable = false)
+    @Schema(description = "Fecha del cambio en formato timestamp (milisegundos desde epoch)", example = "1700000000000")
+    private Long changedAt;
+}
@@ -0,0 +1,44 @@
+package com.looprex.products.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(
+    name = "product_prices",
+    indexes = @Index(name = "idx_product_prices_product_effective", columnList = "productId, effectiveFrom")
+)
+@Schema(
+    description = "Precio de un producto vigente desde un instante dado. " +
+                  "Cada cambio de precio agrega una fila; las filas nunca se modifican",
+    example = "{ \"priceId\": 1, \"productId\": 1, \"price\": 1899990, \"effectiveFrom\": 1700000000000 }"
+)
+public class ProductPrice {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Schema(description = "Identificador único del registro de precio", example = "1")
+    private Long priceId;
+
+    @Column(nullable = false)
+    @Schema(description = "ID del producto", example = "1")
+    private Long productId;
+
+    @Column(nullable = false)
+    @Schema(description = "Precio en pesos chilenos (CLP)", example = "1899990")
+    private Integer price;
+
+    @Column(nullable = false)
+    @Schema(
+        description = "Inicio de vigencia en milisegundos desde epoch. " +
+                      "0 indica un precio anterior al registro del historial",
+        example = "1700000000000"
+    )
+    private Long effectiveFrom;
+}
@@ -0,0 +1,31 @@
+package com.looprex.products.repository;
+
+import com.looprex.products.model.ProductPrice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ProductPriceRepository extends JpaRepository<ProductPrice, Long> {
+
+    Optional<ProductPrice> findFirstByProductIdAndEffectiveFromLessThanEqualOrderByEffectiveFromDescPriceIdDesc(
+            Long productId, Long at);
+
+    List<ProductPrice> findByProductIdOrderByEffectiveFromAscPriceIdAsc(Long productId);
+
+    boolean existsByProductId(Long productId);
+
+    // Un solo recorrido del índice (productId, effectiveFrom) para todos los productos
+    @Query("SELECT pp FROM ProductPrice pp WHERE pp.productId IN :productIds AND pp.effectiveFrom = (" +
+           "SELECT MAX(p2.effectiveFrom) FROM ProductPrice p2 " +
+           "WHERE p2.productId = pp.productId AND p2.effectiveFrom <= :at)")
+    List<ProductPrice> findEffectiveAt(@Param("productIds") Collection<Long> productIds, @Param("at") Long at);
+
+    @Query("SELECT DISTINCT pp.productId FROM ProductPrice pp WHERE pp.productId IN :productIds")
+    List<Long> findProductIdsWithHistory(@Param("productIds") Collection<Long> productIds);
+}
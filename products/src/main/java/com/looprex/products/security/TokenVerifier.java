@@ -0,0 +1,135 @@
+package com.looprex.products.security;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.looprex.products.client.AuthKeyClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Verifica localmente los access tokens (JWT RS256) emitidos por el microservicio users.
+ * La clave pública se descarga una vez y se mantiene en memoria; solo se vuelve a pedir
+ * cuando llega un token firmado con otro 'kid' (rotación de claves), como máximo
+ * una vez cada 30 segundos para que tokens falsos no generen tráfico hacia users.
+ */
+@Component
+public class TokenVerifier {
+
+    private static final long MIN_REFRESH_INTERVAL_MILLIS = 30_000;
+    private static final TypeReference<Map<String, Object>> JSON_MAP = new TypeReference<>() {};
+    private static final Base64.Decoder B64 = Base64.getUrlDecoder();
+
+    private final AuthKeyClient authKeyClient;
+    private final ObjectMapper objectMapper;
+    private final String issuer;
+
+    private volatile VerificationKey key;
+    private long lastFetchMillis;
+
+    public TokenVerifier(AuthKeyClient authKeyClient, ObjectMapper objectMapper,
+                         @Value("${security.jwt.issuer:looprex-users}") String issuer) {
+        this.authKeyClient = authKeyClient;
+        this.objectMapper = objectMapper;
+        this.issuer = issuer;
+    }
+
+    /**
+     * @throws IllegalArgumentException si el token es inválido o expiró
+     * @throws IllegalStateException si no se pudo obtener la clave pública
+     */
+    public AuthenticatedUser verify(String token) {
+        String[] parts = token.split("\\.");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Token mal formado");
+        }
+        Map<String, Object> header = decode(parts[0]);
+        if (!"RS256".equals(header.get("alg"))) {
+            throw new IllegalArgumentException("Algoritmo de firma no soportado");
+        }
+
+        PublicKey publicKey = keyFor((String) header.get("kid"));
+        try {
+            Signature verifier = Signature.getInstance("SHA256withRSA");
+            verifier.initVerify(publicKey);
+            verifier.update((parts[0] + "." + parts[1]).getBytes(StandardCharsets.US_ASCII));
+            if (!verifier.verify(B64.decode(parts[2]))) {
+                throw new IllegalArgumentException("Firma del token inválida");
+            }
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Firma del token inválida");
+        }
+
+        Map<String, Object> claims = decode(parts[1]);
+        if (!issuer.equals(claims.get("iss")) || !"access".equals(claims.get("typ"))) {
+            throw new IllegalArgumentException("Token no válido para esta operación");
+        }
+        if (!(claims.get("exp") instanceof Number exp) || exp.longValue() <= System.currentTimeMillis() / 1000) {
+            throw new IllegalArgumentException("Token expirado");
+        }
+        try {
+            Long userId = Long.valueOf(String.valueOf(claims.get("sub")));
+            Long roleId = claims.get("roleId") instanceof Number number ? number.longValue() : null;
+            return new AuthenticatedUser(userId, (String) claims.get("role"), roleId);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Token mal formado");
+        }
+    }
+
+    private Map<String, Object> decode(String part) {
+        try {
+            return objectMapper.readValue(B64.decode(part), JSON_MAP);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Token mal formado");
+        }
+    }
+
+    private PublicKey keyFor(String kid) {
+        VerificationKey current = key;
+        if (current != null && current.kid().equals(kid)) {
+            return current.publicKey();
+        }
+        synchronized (this) {
+            current = key;
+            if (current != null && current.kid().equals(kid)) {
+                return current.publicKey();
+            }
+            long now = System.currentTimeMillis();
+            if (now - lastFetchMillis < MIN_REFRESH_INTERVAL_MILLIS) {
+                if (current == null) {
+                    throw new IllegalStateException("Clave pública de tokens no disponible");
+                }
+                throw new IllegalArgumentException("Clave de firma desconocida");
+            }
+            lastFetchMillis = now;
+            key = current = load(authKeyClient.fetchPublicKey());
+        }
+        if (!current.kid().equals(kid)) {
+            throw new IllegalArgumentException("Clave de firma desconocida");
+        }
+        return current.publicKey();
+    }
+
+    private static VerificationKey load(JsonNode data) {
+        try {
+            byte[] encoded = Base64.getDecoder().decode(data.path("publicKey").asText());
+            PublicKey publicKey = KeyFactory.getInstance("RSA").generatePublic(new X509EncodedKeySpec(encoded));
+            return new VerificationKey(data.path("kid").asText(), publicKey);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Clave pública de tokens inválida");
+        }
+    }
+
+    private record VerificationKey(String kid, PublicKey publicKey) {
+    }
+}
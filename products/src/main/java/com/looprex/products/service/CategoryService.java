@@ -6,6 +6,8 @@ import com.looprex.products.repository.CategoryRepository;
 import com.looprex.products.repository.ProductRepository;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,10 +17,20 @@ public class CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final ProductRepository productRepository;
+    private final ResourceVersionService resourceVersionService;
+    private final ProductChangeService productChangeService;
+    // Cada mutación y su cambio en el feed se confirman juntos (outbox)
+    private final TransactionTemplate transactionTemplate;
     
-    public CategoryService(CategoryRepository categoryRepository, ProductRepository productRepository) {
+    public CategoryService(CategoryRepository categoryRepository, ProductRepository productRepository,
+                           ResourceVersionService resourceVersionService,
+                           ProductChangeService productChangeService,
+                           PlatformTransactionManager transactionManager) {
         this.categoryRepository = categoryRepository;
         this.productRepository = productRepository;
+        this.resourceVersionService = resourceVersionService;
+        this.productChangeService = productChangeService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     public List<Category> getAllCategories() {
@@ -38,7 +50,13 @@ public class CategoryService {
             throw new IllegalArgumentException("Ya existe una categoría con ese nombre");
         }
 
-        return categoryRepository.save(category);
+        Category saved = transactionTemplate.execute(status -> {
+            Category inserted = categoryRepository.save(category);
+            productChangeService.record(ProductChangeService.CATEGORY, inserted.getCategoryId(), ProductChangeService.CREATED);
+            return inserted;
+        });
+        resourceVersionService.bump(ResourceVersionService.CATEGORIES);
+        return saved;
     }
 
     public Optional<Category> updateCategory(Long id, Category updatedCategory) {
@@ -51,7 +69,13 @@ public class CategoryService {
                 existingCategory.setName(updatedCategory.getName());
             }
 
-            return categoryRepository.save(existingCategory);
+            Category saved = transactionTemplate.execute(status -> {
+                Category updated = categoryRepository.save(existingCategory);
+                productChangeService.record(ProductChangeService.CATEGORY, id, ProductChangeService.UPDATED);
+                return updated;
+            });
+            resourceVersionService.bump(ResourceVersionService.CATEGORIES);
+            return saved;
         });
     }
 
@@ -71,7 +95,11 @@ public class CategoryService {
             );
         }
         // Si no tiene productos, eliminar
-        categoryRepository.deleteById(id);
+        transactionTemplate.executeWithoutResult(status -> {
+            categoryRepository.deleteById(id);
+            productChangeService.record(ProductChangeService.CATEGORY, id, ProductChangeService.DELETED);
+        });
+        resourceVersionService.bump(ResourceVersionService.CATEGORIES);
     }
 
     public boolean existsByName(String name) {
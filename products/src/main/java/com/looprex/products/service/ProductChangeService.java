@@ -0,0 +1,80 @@
+package com.looprex.products.service;
+
+import com.looprex.products.dto.ProductChangeFeed;
+import com.looprex.products.model.ProductChange;
+import com.looprex.products.repository.ProductChangeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Log de cambios append-only de productos, categorías y estados (outbox).
+ * Cada mutación guarda su cambio en la misma transacción, así que un cambio existe si y solo si la
+ * mutación se confirmó. Los consumidores leen el feed desde la última secuencia procesada (polling)
+ * o se suscriben por Server-Sent Events (ProductChangeStream)
+ */
+@Service
+public class ProductChangeService {
+
+    public static final String PRODUCT = "PRODUCT";
+    public static final String CATEGORY = "CATEGORY";
+    public static final String STATUS = "STATUS";
+
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String DELETED = "DELETED";
+    public static final String IMPORTED = "IMPORTED";
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final ProductChangeRepository productChangeRepository;
+    private final long gapGraceMillis;
+
+    public ProductChangeService(ProductChangeRepository productChangeRepository,
+                                @Value("${products.changes.gap-grace-ms:5000}") long gapGraceMillis) {
+        this.productChangeRepository = productChangeRepository;
+        this.gapGraceMillis = Math.max(0, gapGraceMillis);
+    }
+
+    /**
+     * Registra un cambio. Debe llamarse dentro de la transacción que hace la mutación
+     */
+    public ProductChange record(String entityType, Long entityId, String operation) {
+        ProductChange change = new ProductChange(null, entityType, entityId, operation, System.currentTimeMillis());
+        return productChangeRepository.save(change);
+    }
+
+    /**
+     * Cambios posteriores a 'since', en orden.
+     * Las secuencias se asignan al insertar pero las transacciones pueden confirmarse en otro orden: un
+     * hueco puede ser un cambio aún no confirmado, que no debe saltarse porque el cursor ya no volvería
+     * atrás. La página se corta en el primer hueco reciente; si el cambio posterior al hueco tiene más
+     * de products.changes.gap-grace-ms, la secuencia faltante es de una transacción revertida y se continúa
+     */
+    public ProductChangeFeed getChangesSince(Long since, int limit) {
+        long from = since == null ? 0L : since;
+        int size = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+
+        // Se pide una fila extra solo para saber si hay más páginas
+        List<ProductChange> page = productChangeRepository.findBySeqGreaterThanOrderBySeqAsc(from, Limit.of(size + 1));
+        long settled = System.currentTimeMillis() - gapGraceMillis;
+        List<ProductChange> changes = new ArrayList<>(Math.min(page.size(), size));
+        long lastSeq = from;
+        boolean stoppedAtGap = false;
+        for (ProductChange change : page) {
+            if (changes.size() == size) {
+                break;
+            }
+            if (change.getSeq() != lastSeq + 1 && change.getChangedAt() > settled) {
+                stoppedAtGap = true;
+                break;
+            }
+            changes.add(change);
+            lastSeq = change.getSeq();
+        }
+        return new ProductChangeFeed(changes, lastSeq, !stoppedAtGap && page.size() > size);
+    }
+}
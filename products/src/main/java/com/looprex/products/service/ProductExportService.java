@@ -0,0 +1,213 @@
+package com.looprex.products.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * Exportación del catálogo completo en NDJSON o CSV.
+ * Recorre los productos con un cursor de solo avance y escribe cada fila directamente
+ * en la respuesta, sin construir entidades ni listas: el uso de memoria es constante
+ * sin importar el tamaño de la tabla. En MySQL el cursor real requiere useCursorFetch=true
+ * en la URL; sin ello el driver ignora el fetch size y carga el resultado completo.
+ */
+@Service
+public class ProductExportService {
+
+    public static final String NDJSON = "ndjson";
+    public static final String CSV = "csv";
+
+    private static final String SELECT_SQL =
+            "SELECT p.product_id, p.name, p.description, p.price, p.stock, p.product_photo, " +
+            "p.category_id, c.name AS category_name, p.status_id, s.name AS status_name, p.updated_at " +
+            "FROM products p " +
+            "LEFT JOIN categories c ON c.category_id = p.category_id " +
+            "LEFT JOIN statuses s ON s.status_id = p.status_id";
+
+    private static final String[] CSV_HEADER = {
+        "productId", "name", "description", "price", "stock", "productPhoto",
+        "categoryId", "categoryName", "statusId", "statusName", "updatedAt"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public ProductExportService(JdbcTemplate jdbcTemplate,
+                                ObjectMapper objectMapper,
+                                @Value("${products.export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.fetchSize = Math.max(1, fetchSize);
+    }
+
+    /**
+     * Normaliza y valida el formato solicitado (ndjson o csv)
+     */
+    public static String resolveFormat(String format) {
+        String value = format == null ? NDJSON : format.trim().toLowerCase(Locale.ROOT);
+        if (!value.equals(NDJSON) && !value.equals(CSV)) {
+            throw new IllegalArgumentException("Formato no soportado: " + format + ". Use 'ndjson' o 'csv'");
+        }
+        return value;
+    }
+
+    /**
+     * Escribe los productos en el stream indicado. Si updatedSince no es nulo, solo se exportan
+     * los productos modificados en ese instante o después (milisegundos desde epoch)
+     *
+     * @return cantidad de filas exportadas
+     */
+    public long export(String format, Long updatedSince, OutputStream out) throws IOException {
+        String resolved = resolveFormat(format);
+        String sql = updatedSince == null
+                ? SELECT_SQL + " ORDER BY p.product_id"
+                : SELECT_SQL + " WHERE p.updated_at >= ? ORDER BY p.product_id";
+
+        RowWriter writer = resolved.equals(CSV) ? new CsvRowWriter(out) : new NdjsonRowWriter(out);
+        long[] rows = {0};
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(
+                        sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                if (updatedSince != null) {
+                    ps.setLong(1, updatedSince);
+                }
+                return ps;
+            }, rs -> {
+                try {
+                    writer.write(rs);
+                    rows[0]++;
+                } catch (IOException e) {
+                    // El cliente cortó la conexión: se aborta la consulta y se libera el cursor
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.close();
+        return rows[0];
+    }
+
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void close() throws IOException;
+    }
+
+    private class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(OutputStream out) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            // Sin esto el generador cerraría el stream de la respuesta
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("productId", rs.getLong("product_id"));
+            generator.writeStringField("name", rs.getString("name"));
+            generator.writeStringField("description", rs.getString("description"));
+            writeNullableNumber("price", rs.getObject("price", Integer.class));
+            writeNullableNumber("stock", rs.getObject("stock", Integer.class));
+            generator.writeStringField("productPhoto", rs.getString("product_photo"));
+            writeNullableNumber("categoryId", rs.getObject("category_id", Long.class));
+            generator.writeStringField("categoryName", rs.getString("category_name"));
+            writeNullableNumber("statusId", rs.getObject("status_id", Long.class));
+            generator.writeStringField("statusName", rs.getString("status_name"));
+            writeNullableNumber("updatedAt", rs.getObject("updated_at", Long.class));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        private void writeNullableNumber(String field, Number value) throws IOException {
+            if (value == null) {
+                generator.writeNullField(field);
+            } else {
+                generator.writeNumberField(field, value.longValue());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writeRecord(CSV_HEADER);
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            writeRecord(new String[] {
+                rs.getString("product_id"),
+                rs.getString("name"),
+                rs.getString("description"),
+                rs.getString("price"),
+                rs.getString("stock"),
+                rs.getString("product_photo"),
+                rs.getString("category_id"),
+                rs.getString("category_name"),
+                rs.getString("status_id"),
+                rs.getString("status_name"),
+                rs.getString("updated_at")
+            });
+        }
+
+        private void writeRecord(String[] fields) throws IOException {
+            for (int i = 0; i < fields.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeField(fields[i]);
+            }
+            writer.write("\r\n");
+        }
+
+        // Mismas reglas RFC 4180 que acepta la importación: comillas si hay coma, comilla o salto de línea
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+}
@@ -0,0 +1,393 @@
+package com.looprex.products.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.looprex.products.dto.ImportRowError;
+import com.looprex.products.dto.ProductImportResult;
+import com.looprex.products.model.Product;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Importación masiva de productos desde CSV o NDJSON.
+ * Lee la entrada fila a fila (sin cargar el archivo en memoria), valida contra las
+ * categorías y estados existentes y escribe con JDBC batch. Los productos usan IDENTITY,
+ * lo que impide a Hibernate agrupar inserts, por eso se usa JdbcTemplate directamente
+ * y no se solicitan las claves generadas.
+ */
+@Service
+public class ProductImportService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO products (stock, product_photo, name, description, price, status_id, category_id, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final String DOESNT_EXIST = " no existe";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate rowTemplate;
+    private final ObjectMapper objectMapper;
+    private final ResourceVersionService resourceVersionService;
+    private final ProductChangeService productChangeService;
+    private final int batchSize;
+
+    public ProductImportService(JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                ObjectMapper objectMapper,
+                                ResourceVersionService resourceVersionService,
+                                ProductChangeService productChangeService,
+                                @Value("${products.import.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.rowTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.rowTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+        this.objectMapper = objectMapper;
+        this.resourceVersionService = resourceVersionService;
+        this.productChangeService = productChangeService;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Importa un CSV con encabezado. Columnas reconocidas (en cualquier orden):
+     * name, description, price, stock, categoryId, statusId, productPhoto
+     */
+    public ProductImportResult importCsv(InputStream input) throws IOException {
+        ImportSession session = new ImportSession();
+        CsvReader reader = new CsvReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+
+        List<String> header = reader.next();
+        if (header == null) {
+            return session.finish();
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("name")) {
+            throw new IllegalArgumentException("El CSV debe tener un encabezado con al menos la columna 'name'");
+        }
+
+        List<String> fields;
+        while ((fields = reader.next()) != null) {
+            long line = reader.recordLine();
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            try {
+                session.accept(line, fromCsv(fields, columns));
+            } catch (NumberFormatException e) {
+                session.reject(line, "Valor numérico inválido: " + e.getMessage());
+            }
+        }
+        return session.finish();
+    }
+
+    /**
+     * Importa NDJSON: un objeto JSON de producto por línea
+     */
+    public ProductImportResult importNdjson(InputStream input) throws IOException {
+        ImportSession session = new ImportSession();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                session.accept(lineNumber, objectMapper.readValue(line, Product.class));
+            } catch (JsonProcessingException e) {
+                session.reject(lineNumber, "JSON inválido: " + e.getOriginalMessage());
+            }
+        }
+        return session.finish();
+    }
+
+    private static Product fromCsv(List<String> fields, Map<String, Integer> columns) {
+        Product product = new Product();
+        product.setName(field(fields, columns, "name"));
+        product.setDescription(field(fields, columns, "description"));
+        product.setProductPhoto(field(fields, columns, "productphoto"));
+
+        String price = field(fields, columns, "price");
+        String stock = field(fields, columns, "stock");
+        String categoryId = field(fields, columns, "categoryid");
+        String statusId = field(fields, columns, "statusid");
+        product.setPrice(price == null ? null : Integer.valueOf(price.trim()));
+        product.setStock(stock == null ? null : Integer.valueOf(stock.trim()));
+        product.setCategoryId(categoryId == null ? null : Long.valueOf(categoryId.trim()));
+        product.setStatusId(statusId == null ? null : Long.valueOf(statusId.trim()));
+        return product;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static void bind(PreparedStatement ps, Product product) throws SQLException {
+        ps.setInt(1, product.getStock());
+        if (product.getProductPhoto() == null) {
+            ps.setNull(2, Types.VARCHAR);
+        } else {
+            ps.setString(2, product.getProductPhoto());
+        }
+        ps.setString(3, product.getName());
+        ps.setString(4, product.getDescription());
+        ps.setInt(5, product.getPrice());
+        ps.setLong(6, product.getStatusId());
+        ps.setLong(7, product.getCategoryId());
+        ps.setLong(8, product.getUpdatedAt());
+    }
+
+    /**
+     * Estado de una importación: IDs válidos, lote pendiente y contadores
+     */
+    private class ImportSession {
+
+        private final long startNanos = System.nanoTime();
+        // Se consultan una sola vez por importación, no por fila
+        private final Set<Long> categoryIds = new HashSet<>(
+                jdbcTemplate.queryForList("SELECT category_id FROM categories", Long.class));
+        private final Set<Long> statusIds = new HashSet<>(
+                jdbcTemplate.queryForList("SELECT status_id FROM statuses", Long.class));
+
+        private final List<Product> batch = new ArrayList<>(batchSize);
+        private final List<Long> batchLines = new ArrayList<>(batchSize);
+        private final List<ImportRowError> errors = new ArrayList<>();
+        private long rowsRead;
+        private long imported;
+        private long failed;
+
+        void accept(long line, Product product) {
+            rowsRead++;
+            String error = validate(product);
+            if (error != null) {
+                failed++;
+                addError(line, error);
+                return;
+            }
+            product.setUpdatedAt(System.currentTimeMillis());
+            batch.add(product);
+            batchLines.add(line);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long line, String message) {
+            rowsRead++;
+            failed++;
+            addError(line, message);
+        }
+
+        ProductImportResult finish() {
+            flush();
+            if (imported > 0) {
+                resourceVersionService.bump(ResourceVersionService.PRODUCTS);
+            }
+            long elapsedNanos = System.nanoTime() - startNanos;
+            double rowsPerSecond = elapsedNanos == 0 ? 0 : rowsRead * 1_000_000_000d / elapsedNanos;
+            return new ProductImportResult(rowsRead, imported, failed, elapsedNanos / 1_000_000,
+                    Math.round(rowsPerSecond * 10) / 10d, errors);
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                // Los IDs generados no se recuperan en batch: cada lote confirmado lleva un cambio sin entityId
+                // que invalida todos los productos, en la misma transacción que sus filas
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), ProductImportService::bind);
+                    productChangeService.record(ProductChangeService.PRODUCT, null, ProductChangeService.IMPORTED);
+                });
+                imported += batch.size();
+            } catch (DataAccessException e) {
+                // El lote completo se revirtió: reintentar fila por fila para aislar las que fallan.
+                // Cada fila va en un savepoint dentro de una sola transacción, que registra el cambio
+                // solo si alguna fila quedó guardada
+                Integer saved = transactionTemplate.execute(status -> {
+                    int rows = 0;
+                    for (int i = 0; i < batch.size(); i++) {
+                        if (insertRow(batch.get(i), batchLines.get(i))) {
+                            rows++;
+                        }
+                    }
+                    if (rows > 0) {
+                        productChangeService.record(ProductChangeService.PRODUCT, null, ProductChangeService.IMPORTED);
+                    }
+                    return rows;
+                });
+                imported += saved == null ? 0 : saved;
+            }
+            batch.clear();
+            batchLines.clear();
+        }
+
+        private boolean insertRow(Product product, long line) {
+            try {
+                rowTemplate.executeWithoutResult(status -> jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, product)));
+                return true;
+            } catch (DataAccessException rowError) {
+                failed++;
+                addError(line, "Error al guardar: " +
+                        NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+                return false;
+            }
+        }
+
+        private void addError(long line, String message) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportRowError(line, message));
+            }
+        }
+
+        private String validate(Product product) {
+            if (product.getName() == null || product.getName().trim().isEmpty()) {
+                return "El nombre del producto no puede estar vacío";
+            }
+            if (product.getName().length() > 200) {
+                return "El nombre del producto debe tener entre 1 y 200 caracteres";
+            }
+            if (product.getDescription() == null || product.getDescription().trim().isEmpty()) {
+                return "La descripción del producto no puede estar vacía";
+            }
+            if (product.getDescription().length() > 1000) {
+                return "La descripción debe tener entre 1 y 1000 caracteres";
+            }
+            if (product.getPrice() == null || product.getPrice() < 0) {
+                return "El precio debe ser mayor o igual a 0";
+            }
+            if (product.getStock() == null || product.getStock() < 0) {
+                return "El stock debe ser mayor o igual a 0";
+            }
+            if (product.getCategoryId() == null) {
+                return "El producto debe tener una categoría";
+            }
+            if (product.getStatusId() == null) {
+                return "El producto debe tener un estado";
+            }
+            if (!categoryIds.contains(product.getCategoryId())) {
+                return "La categoría con ID " + product.getCategoryId() + DOESNT_EXIST;
+            }
+            if (!statusIds.contains(product.getStatusId())) {
+                return "El estado con ID " + product.getStatusId() + DOESNT_EXIST;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Lector CSV mínimo (RFC 4180): separador coma, comillas dobles y comillas escapadas ("").
+     * Los campos entre comillas pueden contener comas y saltos de línea
+     */
+    static class CsvReader {
+
+        private final Reader reader;
+        private long line = 1;
+        private long recordLine;
+        private boolean eof;
+
+        CsvReader(Reader reader) {
+            this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+        }
+
+        long recordLine() {
+            return recordLine;
+        }
+
+        List<String> next() throws IOException {
+            if (eof) {
+                return null;
+            }
+            recordLine = line;
+            List<String> fields = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            boolean quoted = false;
+            boolean any = false;
+
+            int c;
+            while ((c = reader.read()) != -1) {
+                any = true;
+                char ch = (char) c;
+                if (quoted) {
+                    if (ch == '"') {
+                        reader.mark(1);
+                        int peek = reader.read();
+                        if (peek == '"') {
+                            current.append('"');
+                        } else {
+                            quoted = false;
+                            if (peek != -1) {
+                                reader.reset();
+                            }
+                        }
+                    } else {
+                        if (ch == '\n') {
+                            line++;
+                        }
+                        current.append(ch);
+                    }
+                } else if (ch == '"') {
+                    quoted = true;
+                } else if (ch == ',') {
+                    fields.add(current.toString());
+                    current.setLength(0);
+                } else if (ch == '\n') {
+                    line++;
+                    fields.add(stripCarriageReturn(current));
+                    return fields;
+                } else {
+                    current.append(ch);
+                }
+            }
+
+            eof = true;
+            if (!any) {
+                return null;
+            }
+            fields.add(stripCarriageReturn(current));
+            return fields;
+        }
+
+        private static String stripCarriageReturn(StringBuilder value) {
+            int length = value.length();
+            if (length > 0 && value.charAt(length - 1) == '\r') {
+                value.setLength(length - 1);
+            }
+            return value.toString();
+        }
+    }
+}
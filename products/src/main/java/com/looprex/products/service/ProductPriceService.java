@@ -0,0 +1,112 @@
+package com.looprex.products.service;
+
+import com.looprex.products.dto.ProductPriceResponse;
+import com.looprex.products.model.Product;
+import com.looprex.products.model.ProductPrice;
+import com.looprex.products.repository.ProductPriceRepository;
+import com.looprex.products.repository.ProductRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Historial de precios de productos y consulta del precio vigente en un instante.
+ * Los productos creados antes del historial (o por importación masiva) no tienen filas:
+ * para ellos el precio actual se considera vigente desde siempre (effectiveFrom = 0)
+ * hasta su primer cambio, momento en que ese precio anterior queda registrado.
+ */
+@Service
+public class ProductPriceService {
+
+    public static final int MAX_BATCH_SIZE = 500;
+
+    private final ProductPriceRepository productPriceRepository;
+    private final ProductRepository productRepository;
+
+    public ProductPriceService(ProductPriceRepository productPriceRepository,
+                               ProductRepository productRepository) {
+        this.productPriceRepository = productPriceRepository;
+        this.productRepository = productRepository;
+    }
+
+    /**
+     * Registra un nuevo precio vigente desde 'effectiveFrom'.
+     * Si el producto aún no tiene historial, primero guarda el precio anterior como base
+     */
+    public void recordPriceChange(Long productId, Integer previousPrice, Integer newPrice, long effectiveFrom) {
+        if (previousPrice != null && !productPriceRepository.existsByProductId(productId)) {
+            productPriceRepository.save(new ProductPrice(null, productId, previousPrice, 0L));
+        }
+        productPriceRepository.save(new ProductPrice(null, productId, newPrice, effectiveFrom));
+    }
+
+    public Optional<ProductPriceResponse> getPriceAt(Long productId, long at) {
+        Optional<ProductPrice> price = productPriceRepository
+                .findFirstByProductIdAndEffectiveFromLessThanEqualOrderByEffectiveFromDescPriceIdDesc(productId, at);
+        if (price.isPresent()) {
+            return price.map(p -> toResponse(p, at));
+        }
+        if (productPriceRepository.existsByProductId(productId)) {
+            // Tiene historial, pero el producto aún no existía en ese instante
+            return Optional.empty();
+        }
+        return productRepository.findById(productId)
+                .map(product -> new ProductPriceResponse(product.getProductId(), product.getPrice(), 0L, at));
+    }
+
+    /**
+     * Precios vigentes de varios productos en el mismo instante (ej: los detalles de una compra).
+     * Los productos sin precio en ese instante se omiten del resultado
+     */
+    public List<ProductPriceResponse> getPricesAt(List<Long> productIds, long at) {
+        if (productIds == null || productIds.isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar al menos un ID de producto");
+        }
+        Set<Long> ids = new LinkedHashSet<>(productIds);
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("No se pueden consultar más de " + MAX_BATCH_SIZE + " productos a la vez");
+        }
+
+        Map<Long, ProductPrice> effective = new HashMap<>();
+        for (ProductPrice price : productPriceRepository.findEffectiveAt(ids, at)) {
+            // Dos cambios en el mismo milisegundo: gana el último registrado
+            effective.merge(price.getProductId(), price,
+                    (a, b) -> a.getPriceId() >= b.getPriceId() ? a : b);
+        }
+
+        Set<Long> withoutPrice = new HashSet<>(ids);
+        withoutPrice.removeAll(effective.keySet());
+        Map<Long, Product> legacy = new HashMap<>();
+        if (!withoutPrice.isEmpty()) {
+            withoutPrice.removeAll(productPriceRepository.findProductIdsWithHistory(withoutPrice));
+            productRepository.findAllById(withoutPrice)
+                    .forEach(product -> legacy.put(product.getProductId(), product));
+        }
+
+        List<ProductPriceResponse> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ProductPrice price = effective.get(id);
+            if (price != null) {
+                result.add(toResponse(price, at));
+            } else if (legacy.containsKey(id)) {
+                result.add(new ProductPriceResponse(id, legacy.get(id).getPrice(), 0L, at));
+            }
+        }
+        return result;
+    }
+
+    public List<ProductPrice> getPriceHistory(Long productId) {
+        return productPriceRepository.findByProductIdOrderByEffectiveFromAscPriceIdAsc(productId);
+    }
+
+    private static ProductPriceResponse toResponse(ProductPrice price, long at) {
+        return new ProductPriceResponse(price.getProductId(), price.getPrice(), price.getEffectiveFrom(), at);
+    }
+}
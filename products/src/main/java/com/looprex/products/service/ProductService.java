@@ -7,8 +7,11 @@ import com.looprex.products.repository.CategoryRepository;
 import com.looprex.products.repository.ProductRepository;
 import com.looprex.products.repository.StatusRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -17,15 +20,28 @@ public class ProductService {
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final StatusRepository statusRepository;
+    private final ResourceVersionService resourceVersionService;
+    private final ProductChangeService productChangeService;
+    private final ProductPriceService productPriceService;
+    // Cada mutación y su cambio en el feed se confirman juntos (outbox)
+    private final TransactionTemplate transactionTemplate;
 
     private static final String DOESNT_EXIST = " no existe";
 
     public ProductService(ProductRepository productRepository,
                          CategoryRepository categoryRepository,
-                         StatusRepository statusRepository) {
+                         StatusRepository statusRepository,
+                         ResourceVersionService resourceVersionService,
+                         ProductChangeService productChangeService,
+                         ProductPriceService productPriceService,
+                         PlatformTransactionManager transactionManager) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
         this.statusRepository = statusRepository;
+        this.resourceVersionService = resourceVersionService;
+        this.productChangeService = productChangeService;
+        this.productPriceService = productPriceService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     public List<Product> getAllProducts() {
@@ -85,17 +101,32 @@ public class ProductService {
         product.setStatus(status);
 
         // Guardar y recargar
-        Product saved = productRepository.save(product);
+        Product saved = transactionTemplate.execute(tx -> {
+            Product inserted = productRepository.save(product);
+            productPriceService.recordPriceChange(inserted.getProductId(), null, inserted.getPrice(), System.currentTimeMillis());
+            productChangeService.record(ProductChangeService.PRODUCT, inserted.getProductId(), ProductChangeService.CREATED);
+            return inserted;
+        });
+        resourceVersionService.bump(ResourceVersionService.PRODUCTS);
         return productRepository.findById(saved.getProductId()).orElse(saved);
     }
 
     public Optional<Product> updateProduct(Long id, Product updatedProduct) {
         return productRepository.findById(id).map(existingProduct -> {
+            Integer previousPrice = existingProduct.getPrice();
             updateBasicFields(updatedProduct, existingProduct);
             updateCategoryIfProvided(updatedProduct, existingProduct);
             updateStatusIfProvided(updatedProduct, existingProduct);
 
-            Product saved = productRepository.save(existingProduct);
+            Product saved = transactionTemplate.execute(tx -> {
+                Product updated = productRepository.save(existingProduct);
+                if (!Objects.equals(previousPrice, updated.getPrice())) {
+                    productPriceService.recordPriceChange(id, previousPrice, updated.getPrice(), System.currentTimeMillis());
+                }
+                productChangeService.record(ProductChangeService.PRODUCT, id, ProductChangeService.UPDATED);
+                return updated;
+            });
+            resourceVersionService.bump(ResourceVersionService.PRODUCTS);
             return productRepository.findById(saved.getProductId()).orElse(saved);
         });
     }
@@ -153,7 +184,11 @@ public class ProductService {
 
     public boolean deleteProduct(Long id) {
         if (productRepository.existsById(id)) {
-            productRepository.deleteById(id);
+            transactionTemplate.executeWithoutResult(tx -> {
+                productRepository.deleteById(id);
+                productChangeService.record(ProductChangeService.PRODUCT, id, ProductChangeService.DELETED);
+            });
+            resourceVersionService.bump(ResourceVersionService.PRODUCTS);
             return true;
         }
         return false;
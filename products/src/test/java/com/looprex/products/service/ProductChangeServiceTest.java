@@ -0,0 +1,134 @@
+package com.looprex.products.service;
+
+import com.looprex.products.dto.ProductChangeFeed;
+import com.looprex.products.model.ProductChange;
+import com.looprex.products.repository.ProductChangeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductChangeServiceTest {
+
+    @Mock
+    private ProductChangeRepository productChangeRepository;
+
+    private ProductChangeService productChangeService;
+
+    @BeforeEach
+    void setUp() {
+        productChangeService = new ProductChangeService(productChangeRepository, 5000);
+    }
+
+    private static ProductChange change(long seq) {
+        return new ProductChange(seq, ProductChangeService.PRODUCT, seq, ProductChangeService.UPDATED, 1000L + seq);
+    }
+
+    @Test
+    void record_DeberiaGuardarCambioConFecha() {
+        // Arrange
+        when(productChangeRepository.save(any(ProductChange.class))).thenAnswer(invocation -> {
+            ProductChange saved = invocation.getArgument(0);
+            saved.setSeq(1L);
+            return saved;
+        });
+
+        // Act
+        ProductChange result = productChangeService.record(
+                ProductChangeService.CATEGORY, 3L, ProductChangeService.CREATED);
+
+        // Assert
+        ArgumentCaptor<ProductChange> captor = ArgumentCaptor.forClass(ProductChange.class);
+        verify(productChangeRepository).save(captor.capture());
+        assertEquals(1L, result.getSeq());
+        assertEquals(ProductChangeService.CATEGORY, captor.getValue().getEntityType());
+        assertEquals(3L, captor.getValue().getEntityId());
+        assertEquals(ProductChangeService.CREATED, captor.getValue().getOperation());
+        assertNotNull(captor.getValue().getChangedAt());
+    }
+
+    @Test
+    void getChangesSince_DeberiaIndicarQueHayMasCambios() {
+        // Arrange
+        when(productChangeRepository.findBySeqGreaterThanOrderBySeqAsc(5L, Limit.of(3)))
+                .thenReturn(List.of(change(6), change(7), change(8)));
+
+        // Act
+        ProductChangeFeed result = productChangeService.getChangesSince(5L, 2);
+
+        // Assert
+        assertEquals(2, result.getChanges().size());
+        assertEquals(7L, result.getLastSeq());
+        assertTrue(result.isHasMore());
+    }
+
+    @Test
+    void getChangesSince_DeberiaMantenerSecuenciaCuandoNoHayCambios() {
+        // Arrange
+        when(productChangeRepository.findBySeqGreaterThanOrderBySeqAsc(42L, Limit.of(501)))
+                .thenReturn(List.of());
+
+        // Act
+        ProductChangeFeed result = productChangeService.getChangesSince(42L, 500);
+
+        // Assert
+        assertTrue(result.getChanges().isEmpty());
+        assertEquals(42L, result.getLastSeq());
+        assertFalse(result.isHasMore());
+    }
+
+    @Test
+    void getChangesSince_DeberiaLimitarTamanoMaximoDePagina() {
+        // Arrange
+        when(productChangeRepository.findBySeqGreaterThanOrderBySeqAsc(0L,
+                Limit.of(ProductChangeService.MAX_PAGE_SIZE + 1))).thenReturn(List.of(change(1)));
+
+        // Act
+        ProductChangeFeed result = productChangeService.getChangesSince(null, 50_000);
+
+        // Assert
+        assertEquals(1, result.getChanges().size());
+        assertEquals(1L, result.getLastSeq());
+    }
+
+    @Test
+    void getChangesSince_DeberiaDetenerseEnHuecoReciente() {
+        // Arrange: la secuencia 7 puede ser una transacción que aún no se confirma
+        long now = System.currentTimeMillis();
+        when(productChangeRepository.findBySeqGreaterThanOrderBySeqAsc(5L, Limit.of(11)))
+                .thenReturn(List.of(change(6), new ProductChange(8L, ProductChangeService.PRODUCT, 8L,
+                        ProductChangeService.UPDATED, now)));
+
+        // Act
+        ProductChangeFeed result = productChangeService.getChangesSince(5L, 10);
+
+        // Assert
+        assertEquals(1, result.getChanges().size());
+        assertEquals(6L, result.getLastSeq());
+        assertFalse(result.isHasMore());
+    }
+
+    @Test
+    void getChangesSince_DeberiaSaltarHuecoAntiguo() {
+        // Arrange: la secuencia 7 quedó de una transacción revertida hace tiempo
+        when(productChangeRepository.findBySeqGreaterThanOrderBySeqAsc(5L, Limit.of(11)))
+                .thenReturn(List.of(change(6), change(8)));
+
+        // Act
+        ProductChangeFeed result = productChangeService.getChangesSince(5L, 10);
+
+        // Assert
+        assertEquals(2, result.getChanges().size());
+        assertEquals(8L, result.getLastSeq());
+    }
+}
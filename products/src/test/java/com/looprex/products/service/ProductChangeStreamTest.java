@@ -0,0 +1,142 @@
+package com.looprex.products.service;
+
+import com.looprex.products.dto.ProductChangeFeed;
+import com.looprex.products.model.ProductChange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductChangeStreamTest {
+
+    @Mock
+    private ProductChangeService productChangeService;
+
+    private ProductChangeStream stream;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        stream.destroy();
+    }
+
+    // Sin despacho periódico: cada prueba llama dispatch() directamente
+    private ProductChangeStream stream(long sendTimeoutMillis, int queueCapacity) {
+        return new ProductChangeStream(productChangeService, 0, 60_000, 60_000, sendTimeoutMillis, queueCapacity);
+    }
+
+    private static ProductChange change(long seq) {
+        return new ProductChange(seq, ProductChangeService.PRODUCT, seq, ProductChangeService.UPDATED, 1000L + seq);
+    }
+
+    private static ProductChangeFeed feed(long since, long... seqs) {
+        List<ProductChange> changes = LongStream.of(seqs).filter(seq -> seq > since).mapToObj(ProductChangeStreamTest::change).toList();
+        return new ProductChangeFeed(changes, changes.isEmpty() ? since : changes.get(changes.size() - 1).getSeq(), false);
+    }
+
+    // Registra los eventos enviados; si 'gate' no se abre, el envío queda bloqueado como con un cliente lento
+    private static class RecordingEmitter extends SseEmitter {
+        private final CountDownLatch gate;
+        private final List<SseEventBuilder> sent = new CopyOnWriteArrayList<>();
+
+        RecordingEmitter(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void send(SseEventBuilder event) throws IOException {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            sent.add(event);
+        }
+    }
+
+    @Test
+    void dispatch_DeberiaLeerUnaVezDesdeElCursorMasAtrasado() {
+        // Arrange
+        stream = stream(10_000, 10);
+        stream.subscribe(5L);
+        stream.subscribe(2L);
+        when(productChangeService.getChangesSince(2L, ProductChangeService.MAX_PAGE_SIZE)).thenReturn(feed(2, 3, 4, 6));
+        when(productChangeService.getChangesSince(6L, ProductChangeService.MAX_PAGE_SIZE)).thenReturn(feed(6));
+
+        // Act
+        stream.dispatch();
+        stream.dispatch();
+
+        // Assert: tras el primer despacho ambos suscriptores quedaron en la secuencia 6
+        verify(productChangeService, times(1)).getChangesSince(2L, ProductChangeService.MAX_PAGE_SIZE);
+        verify(productChangeService, times(1)).getChangesSince(6L, ProductChangeService.MAX_PAGE_SIZE);
+        verifyNoMoreInteractions(productChangeService);
+    }
+
+    @Test
+    void dispatch_NoDeberiaConsultarSinSuscriptores() {
+        // Arrange
+        stream = stream(10_000, 10);
+
+        // Act
+        stream.dispatch();
+
+        // Assert
+        verifyNoInteractions(productChangeService);
+        assertEquals(0, stream.subscriberCount());
+    }
+
+    @Test
+    void dispatch_ClienteLentoNoDeberiaRetrasarALosDemas() throws InterruptedException {
+        // Arrange
+        stream = stream(200, 2);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        RecordingEmitter fast = new RecordingEmitter(new CountDownLatch(0));
+        stream.subscribe(slow, 0);
+        stream.subscribe(fast, 0);
+        when(productChangeService.getChangesSince(anyLong(), eq(ProductChangeService.MAX_PAGE_SIZE)))
+                .thenAnswer(invocation -> feed(invocation.getArgument(0), 1, 2, 3, 4));
+
+        // Act
+        for (int i = 0; i < 250 && fast.sent.size() < 4; i++) {
+            stream.dispatch();
+            Thread.sleep(20);
+        }
+
+        // Assert
+        assertEquals(4, fast.sent.size());
+        assertTrue(slow.sent.isEmpty());
+
+        // Act: el envío trabado supera el timeout y se cierra solo esa conexión
+        Thread.sleep(250);
+        stream.dispatch();
+
+        // Assert
+        assertEquals(1, stream.subscriberCount());
+    }
+
+    @Test
+    void subscribe_DeberiaRechazarSecuenciaNegativa() {
+        // Arrange
+        stream = stream(10_000, 10);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> stream.subscribe(-1L));
+    }
+}
@@ -0,0 +1,111 @@
+package com.looprex.products.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductExportServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private ProductExportService productExportService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(
+                new DriverManagerDataSource("jdbc:h2:mem:exporttest;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE categories (category_id BIGINT PRIMARY KEY, name VARCHAR(100))");
+        jdbcTemplate.execute("CREATE TABLE statuses (status_id BIGINT PRIMARY KEY, name VARCHAR(50))");
+        jdbcTemplate.execute("CREATE TABLE products (product_id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "stock INT, product_photo CLOB, name VARCHAR(200), description VARCHAR(1000), price INT, " +
+                "status_id BIGINT, category_id BIGINT, updated_at BIGINT)");
+        jdbcTemplate.update("INSERT INTO categories VALUES (1, 'Tarjetas de Graficas')");
+        jdbcTemplate.update("INSERT INTO statuses VALUES (1, 'Activo')");
+        jdbcTemplate.update("INSERT INTO products (stock, name, description, price, status_id, category_id, updated_at) " +
+                "VALUES (15, 'ASUS ROG Strix RTX 4090', 'Tarjeta gráfica, 24GB', 1899990, 1, 1, 1000)");
+        jdbcTemplate.update("INSERT INTO products (stock, name, description, price, status_id, category_id, updated_at) " +
+                "VALUES (3, 'Placa \"B650\"', 'Línea 1\nLínea 2', 189990, 1, 1, 2000)");
+
+        productExportService = new ProductExportService(jdbcTemplate, objectMapper, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void export_DeberiaEscribirUnObjetoJsonPorLinea() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long rows = productExportService.export("ndjson", null, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, rows);
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("ASUS ROG Strix RTX 4090", first.get("name").asText());
+        assertEquals("Tarjetas de Graficas", first.get("categoryName").asText());
+        assertEquals("Activo", first.get("statusName").asText());
+        assertEquals(1899990, first.get("price").asInt());
+        assertTrue(first.get("productPhoto").isNull());
+    }
+
+    @Test
+    void export_DeberiaFiltrarPorUpdatedSince() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long rows = productExportService.export("ndjson", 1500L, out);
+
+        // Assert
+        assertEquals(1, rows);
+        JsonNode only = objectMapper.readTree(out.toString(StandardCharsets.UTF_8).trim());
+        assertEquals(2000L, only.get("updatedAt").asLong());
+    }
+
+    @Test
+    void export_DeberiaGenerarCsvCompatibleConLaImportacion() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long rows = productExportService.export("CSV", null, out);
+
+        // Assert
+        assertEquals(2, rows);
+        ProductImportService.CsvReader reader = new ProductImportService.CsvReader(
+                new StringReader(out.toString(StandardCharsets.UTF_8)));
+        assertEquals("productId", reader.next().get(0));
+        assertEquals("Tarjeta gráfica, 24GB", reader.next().get(2));
+        List<String> second = reader.next();
+        assertEquals("Placa \"B650\"", second.get(1));
+        assertEquals("Línea 1\nLínea 2", second.get(2));
+    }
+
+    @Test
+    void export_DeberiaLanzarExcepcionCuandoFormatoNoEsSoportado() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> productExportService.export("xml", null, new ByteArrayOutputStream())
+        );
+
+        assertTrue(exception.getMessage().contains("Formato no soportado"));
+    }
+}
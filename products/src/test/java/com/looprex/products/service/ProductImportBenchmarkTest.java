@@ -0,0 +1,76 @@
+package com.looprex.products.service;
+
+import com.looprex.products.dto.ProductImportResult;
+import com.looprex.products.model.Category;
+import com.looprex.products.model.Status;
+import com.looprex.products.repository.CategoryRepository;
+import com.looprex.products.repository.ProductRepository;
+import com.looprex.products.repository.StatusRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark de throughput de la importación masiva (filas/s) sobre H2 en memoria.
+ * Se ejecuta solo a pedido: mvn test -Dtest=ProductImportBenchmarkTest -Dbenchmark=true
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:importbench",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ProductImportBenchmarkTest {
+
+    private static final int ROWS = 50_000;
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private StatusRepository statusRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void importCsv_Throughput() throws IOException {
+        Long categoryId = categoryRepository.findAll().stream().findFirst()
+                .orElseGet(() -> categoryRepository.save(new Category(null, "Benchmark"))).getCategoryId();
+        Long statusId = statusRepository.findAll().stream().findFirst()
+                .orElseGet(() -> statusRepository.save(new Status(null, "Activo"))).getStatusId();
+        long before = productRepository.count();
+
+        StringBuilder csv = new StringBuilder("name,description,price,stock,categoryId,statusId\n");
+        for (int i = 0; i < ROWS; i++) {
+            csv.append("Producto ").append(i).append(",Descripción del producto ").append(i)
+               .append(',').append(1000 + i).append(',').append(i % 100)
+               .append(',').append(categoryId).append(',').append(statusId).append('\n');
+        }
+        byte[] payload = csv.toString().getBytes(StandardCharsets.UTF_8);
+
+        // Calentamiento
+        productImportService.importCsv(new ByteArrayInputStream(payload));
+
+        ProductImportResult result = productImportService.importCsv(new ByteArrayInputStream(payload));
+
+        System.out.printf("Importación CSV: %d filas en %d ms -> %.1f filas/s%n",
+                result.getRowsRead(), result.getElapsedMillis(), result.getRowsPerSecond());
+        assertEquals(ROWS, result.getImported());
+        assertEquals(before + 2L * ROWS, productRepository.count());
+    }
+}
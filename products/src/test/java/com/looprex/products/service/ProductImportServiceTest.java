@@ -0,0 +1,195 @@
+package com.looprex.products.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.looprex.products.dto.ProductImportResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ResourceVersionService resourceVersionService;
+
+    @Mock
+    private ProductChangeService productChangeService;
+
+    private ProductImportService productImportService;
+
+    @BeforeEach
+    void setUp() {
+        productImportService = new ProductImportService(jdbcTemplate, new TransactionTemplate(transactionManager),
+                new ObjectMapper(), resourceVersionService, productChangeService, 2);
+        lenient().when(jdbcTemplate.queryForList("SELECT category_id FROM categories", Long.class)).thenReturn(List.of(1L, 2L));
+        lenient().when(jdbcTemplate.queryForList("SELECT status_id FROM statuses", Long.class)).thenReturn(List.of(1L));
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importCsv_DeberiaInsertarEnLotesYReportarFilasInvalidas() throws IOException {
+        // Arrange
+        String csv = """
+                name,description,price,stock,categoryId,statusId
+                "Ram DDR5, 16GB",Memoria,59990,40,2,1
+                Ryzen 5,Procesador,229990,15,1,1
+                Sin categoria,Producto,1000,1,999,1
+                Precio negativo,Producto,-5,1,1,1
+                Intel i5,Procesador,199990,10,1,1
+                """;
+
+        // Act
+        ProductImportResult result = productImportService.importCsv(stream(csv));
+
+        // Assert
+        assertEquals(5, result.getRowsRead());
+        assertEquals(3, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(4, result.getErrors().get(0).getLine());
+        assertEquals("La categoría con ID 999 no existe", result.getErrors().get(0).getMessage());
+        assertEquals(5, result.getErrors().get(1).getLine());
+        // Lote de 2 + lote final de 1
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        verify(resourceVersionService).bump(ResourceVersionService.PRODUCTS);
+        // Un cambio por lote, confirmado junto con sus filas
+        verify(productChangeService, times(2)).record(ProductChangeService.PRODUCT, null, ProductChangeService.IMPORTED);
+    }
+
+    @Test
+    void importNdjson_DeberiaReportarLineasConJsonInvalido() throws IOException {
+        // Arrange
+        String ndjson = """
+                {"name":"Ryzen 5","description":"Procesador","price":229990,"stock":15,"categoryId":1,"statusId":1}
+                {no es json
+                
+                {"name":"Ryzen 7","description":"Procesador","price":329990,"stock":5,"categoryId":1,"statusId":7}
+                """;
+
+        // Act
+        ProductImportResult result = productImportService.importNdjson(stream(ndjson));
+
+        // Assert
+        assertEquals(3, result.getRowsRead());
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(2, result.getErrors().get(0).getLine());
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("JSON inválido"));
+        assertEquals("El estado con ID 7 no existe", result.getErrors().get(1).getMessage());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importCsv_DeberiaAislarFilasQueFallanEnBaseDeDatos() throws IOException {
+        // Arrange
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicado"));
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class)))
+                .thenReturn(1)
+                .thenThrow(new DataIntegrityViolationException("duplicado"));
+        String csv = "name,description,price,stock,categoryId,statusId\nA,Desc,1,1,1,1\nB,Desc,1,1,1,1\n";
+
+        // Act
+        ProductImportResult result = productImportService.importCsv(stream(csv));
+
+        // Assert
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(3, result.getErrors().get(0).getLine());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importCsv_DeberiaRegistrarUnCambioCuandoElReintentoFilaPorFilaGuardaAlguna() throws IOException {
+        // Arrange: el lote falla y el reintento guarda una fila y rechaza la otra
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicado"));
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicado"))
+                .thenReturn(1);
+        String csv = "name,description,price,stock,categoryId,statusId\nA,Desc,1,1,1,1\nB,Desc,1,1,1,1\n";
+
+        // Act
+        ProductImportResult result = productImportService.importCsv(stream(csv));
+
+        // Assert
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getErrors().get(0).getLine());
+        // El lote fallido no dejó cambio; el reintento registra uno solo para las filas guardadas
+        verify(productChangeService, times(1)).record(ProductChangeService.PRODUCT, null, ProductChangeService.IMPORTED);
+        verify(resourceVersionService).bump(ResourceVersionService.PRODUCTS);
+        // Transacción del lote, transacción del reintento y un savepoint por fila
+        verify(transactionManager, times(4)).getTransaction(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importCsv_NoDeberiaRegistrarCambioCuandoNingunaFilaDelReintentoSeGuarda() throws IOException {
+        // Arrange
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicado"));
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicado"));
+        String csv = "name,description,price,stock,categoryId,statusId\nA,Desc,1,1,1,1\nB,Desc,1,1,1,1\n";
+
+        // Act
+        ProductImportResult result = productImportService.importCsv(stream(csv));
+
+        // Assert
+        assertEquals(0, result.getImported());
+        assertEquals(2, result.getFailed());
+        verify(productChangeService, never()).record(anyString(), any(), anyString());
+        verify(resourceVersionService, never()).bump(anyString());
+    }
+
+    @Test
+    void importCsv_DeberiaRechazarEncabezadoSinNombre() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> productImportService.importCsv(stream("price,stock\n1,1\n")));
+    }
+
+    @Test
+    void csvReader_DeberiaSoportarComillasEscapadasYSaltosDeLinea() throws IOException {
+        // Arrange
+        ProductImportService.CsvReader reader = new ProductImportService.CsvReader(
+                new StringReader("a,\"b \"\"x\"\"\",c\r\n\"multi\nlinea\",2,3\nfinal"));
+
+        // Act & Assert
+        assertEquals(List.of("a", "b \"x\"", "c"), reader.next());
+        assertEquals(List.of("multi\nlinea", "2", "3"), reader.next());
+        assertEquals(2, reader.recordLine());
+        assertEquals(List.of("final"), reader.next());
+        assertEquals(4, reader.recordLine());
+        assertNull(reader.next());
+    }
+}
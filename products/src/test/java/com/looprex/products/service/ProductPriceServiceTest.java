@@ -0,0 +1,154 @@
+package com.looprex.products.service;
+
+import com.looprex.products.dto.ProductPriceResponse;
+import com.looprex.products.model.Product;
+import com.looprex.products.model.ProductPrice;
+import com.looprex.products.repository.ProductPriceRepository;
+import com.looprex.products.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductPriceServiceTest {
+
+    @Mock
+    private ProductPriceRepository productPriceRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @InjectMocks
+    private ProductPriceService productPriceService;
+
+    private static Product product(long id, int price) {
+        Product product = new Product();
+        product.setProductId(id);
+        product.setPrice(price);
+        return product;
+    }
+
+    @Test
+    void recordPriceChange_DeberiaGuardarPrecioBaseCuandoNoHayHistorial() {
+        // Arrange
+        when(productPriceRepository.existsByProductId(1L)).thenReturn(false);
+
+        // Act
+        productPriceService.recordPriceChange(1L, 1899990, 1799990, 5000L);
+
+        // Assert
+        ArgumentCaptor<ProductPrice> captor = ArgumentCaptor.forClass(ProductPrice.class);
+        verify(productPriceRepository, times(2)).save(captor.capture());
+        assertEquals(1899990, captor.getAllValues().get(0).getPrice());
+        assertEquals(0L, captor.getAllValues().get(0).getEffectiveFrom());
+        assertEquals(1799990, captor.getAllValues().get(1).getPrice());
+        assertEquals(5000L, captor.getAllValues().get(1).getEffectiveFrom());
+    }
+
+    @Test
+    void recordPriceChange_DeberiaGuardarSoloNuevoPrecioCuandoHayHistorial() {
+        // Arrange
+        when(productPriceRepository.existsByProductId(1L)).thenReturn(true);
+
+        // Act
+        productPriceService.recordPriceChange(1L, 1899990, 1799990, 5000L);
+
+        // Assert
+        verify(productPriceRepository, times(1)).save(any(ProductPrice.class));
+    }
+
+    @Test
+    void getPriceAt_DeberiaRetornarPrecioVigenteDelHistorial() {
+        // Arrange
+        when(productPriceRepository
+                .findFirstByProductIdAndEffectiveFromLessThanEqualOrderByEffectiveFromDescPriceIdDesc(1L, 4000L))
+                .thenReturn(Optional.of(new ProductPrice(7L, 1L, 1899990, 3000L)));
+
+        // Act
+        Optional<ProductPriceResponse> result = productPriceService.getPriceAt(1L, 4000L);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(1899990, result.get().getPrice());
+        assertEquals(3000L, result.get().getEffectiveFrom());
+        verify(productRepository, never()).findById(any());
+    }
+
+    @Test
+    void getPriceAt_DeberiaRetornarVacioCuandoProductoNoExistiaEnEseInstante() {
+        // Arrange
+        when(productPriceRepository
+                .findFirstByProductIdAndEffectiveFromLessThanEqualOrderByEffectiveFromDescPriceIdDesc(1L, 1000L))
+                .thenReturn(Optional.empty());
+        when(productPriceRepository.existsByProductId(1L)).thenReturn(true);
+
+        // Act
+        Optional<ProductPriceResponse> result = productPriceService.getPriceAt(1L, 1000L);
+
+        // Assert
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void getPriceAt_DeberiaUsarPrecioActualCuandoNoHayHistorial() {
+        // Arrange
+        when(productPriceRepository
+                .findFirstByProductIdAndEffectiveFromLessThanEqualOrderByEffectiveFromDescPriceIdDesc(1L, 1000L))
+                .thenReturn(Optional.empty());
+        when(productPriceRepository.existsByProductId(1L)).thenReturn(false);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(1L, 59990)));
+
+        // Act
+        Optional<ProductPriceResponse> result = productPriceService.getPriceAt(1L, 1000L);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(59990, result.get().getPrice());
+        assertEquals(0L, result.get().getEffectiveFrom());
+    }
+
+    @Test
+    void getPricesAt_DeberiaCombinarHistorialYPreciosActuales() {
+        // Arrange
+        when(productPriceRepository.findEffectiveAt(anyCollection(), eq(4000L))).thenReturn(List.of(
+                new ProductPrice(1L, 1L, 100, 3000L),
+                new ProductPrice(2L, 1L, 120, 3000L)));
+        when(productPriceRepository.findProductIdsWithHistory(Set.of(2L, 3L))).thenReturn(List.of(3L));
+        when(productRepository.findAllById(Set.of(2L))).thenReturn(List.of(product(2L, 59990)));
+
+        // Act
+        List<ProductPriceResponse> result = productPriceService.getPricesAt(List.of(1L, 2L, 3L, 1L), 4000L);
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals(1L, result.get(0).getProductId());
+        assertEquals(120, result.get(0).getPrice());
+        assertEquals(2L, result.get(1).getProductId());
+        assertEquals(59990, result.get(1).getPrice());
+    }
+
+    @Test
+    void getPricesAt_DeberiaLanzarExcepcionCuandoListaEstaVacia() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> productPriceService.getPricesAt(Collections.emptyList(), 1000L)
+        );
+
+        assertEquals("Debe indicar al menos un ID de producto", exception.getMessage());
+    }
+}
@@ -12,6 +12,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.Arrays;
 import java.util.List;
@@ -19,6 +20,8 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +36,18 @@ class ProductServiceTest {
     @Mock
     private StatusRepository statusRepository;
 
+    @Mock
+    private ResourceVersionService resourceVersionService;
+
+    @Mock
+    private ProductChangeService productChangeService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ProductPriceService productPriceService;
+
     @InjectMocks
     private ProductService productService;
 
@@ -223,6 +238,7 @@ class ProductServiceTest {
         assertTrue(result.isPresent());
         verify(productRepository, times(2)).findById(1L);
         verify(productRepository, times(1)).save(any(Product.class));
+        verify(productPriceService, times(1)).recordPriceChange(eq(1L), eq(1899990), eq(1799990), anyLong());
     }
 
     @Test
@@ -236,6 +252,9 @@ class ProductServiceTest {
         // Assert
         assertTrue(result);
         verify(productRepository, times(1)).deleteById(1L);
+        verify(resourceVersionService, times(1)).bump(ResourceVersionService.PRODUCTS);
+        verify(productChangeService, times(1))
+            .record(ProductChangeService.PRODUCT, 1L, ProductChangeService.DELETED);
     }
 
     @Test
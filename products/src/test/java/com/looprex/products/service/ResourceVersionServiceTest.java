@@ -0,0 +1,60 @@
+package com.looprex.products.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResourceVersionServiceTest {
+
+    private ResourceVersionService resourceVersionService;
+
+    @BeforeEach
+    void setUp() {
+        resourceVersionService = new ResourceVersionService(0, 60, 300);
+    }
+
+    @Test
+    void etag_DeberiaCambiarAlIncrementarLaVersion() {
+        // Arrange
+        String before = resourceVersionService.etag(ResourceVersionService.PRODUCTS, ResourceVersionService.CATEGORIES);
+
+        // Act
+        resourceVersionService.bump(ResourceVersionService.CATEGORIES);
+        String after = resourceVersionService.etag(ResourceVersionService.PRODUCTS, ResourceVersionService.CATEGORIES);
+
+        // Assert
+        assertNotEquals(before, after);
+        assertEquals(1L, resourceVersionService.current(ResourceVersionService.CATEGORIES));
+        assertEquals(0L, resourceVersionService.current(ResourceVersionService.PRODUCTS));
+    }
+
+    @Test
+    void etag_DeberiaSerEstableSinEscrituras() {
+        // Act & Assert
+        assertEquals(resourceVersionService.etag(ResourceVersionService.STATUSES),
+                resourceVersionService.etag(ResourceVersionService.STATUSES));
+    }
+
+    @Test
+    void matches_DeberiaAceptarListasWeakYComodin() {
+        // Arrange
+        String etag = resourceVersionService.etag(ResourceVersionService.PRODUCTS);
+
+        // Act & Assert
+        assertTrue(resourceVersionService.matches(etag, etag));
+        assertTrue(resourceVersionService.matches("\"otro\", " + etag, etag));
+        assertTrue(resourceVersionService.matches("W/" + etag, etag));
+        assertTrue(resourceVersionService.matches("*", etag));
+        assertFalse(resourceVersionService.matches("\"otro\"", etag));
+        assertFalse(resourceVersionService.matches(null, etag));
+    }
+
+    @Test
+    void cacheControl_DeberiaUsarPoliticaPorRecurso() {
+        // Act & Assert
+        assertEquals("no-cache", resourceVersionService.cacheControl(ResourceVersionService.PRODUCTS).getHeaderValue());
+        assertEquals("max-age=60, must-revalidate",
+                resourceVersionService.cacheControl(ResourceVersionService.CATEGORIES).getHeaderValue());
+    }
+}
@@ -1,10 +1,16 @@
 package com.looprex.shopping.client;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
 @Component
 public class AddressClient {
 
@@ -17,20 +23,45 @@ public class AddressClient {
     }
 
     /**
-     * Verifica si una dirección existe llamando al microservicio geography
-     * @param addressId ID de la dirección a verificar
-     * @return true si existe, false si no existe
+     * Valida en una sola llamada que la dirección exista y pertenezca al usuario (GET /api/addresses/{id}/validate).
+     * El resultado no se guarda en caché: se usa al confirmar una compra, y una dirección eliminada
+     * o reasignada a otro usuario debe rechazarse de inmediato
+     * @param addressId ID de la dirección
+     * @param userId    usuario que debe ser dueño de la dirección
      */
-    public boolean addressExists(Long addressId) {
+    public AddressValidation validateAddress(Long addressId, Long userId) {
+        if (addressId == null) {
+            return new AddressValidation(false, false, null, null);
+        }
         try {
-            this.webClient.get()
-                    .uri("/api/addresses/{id}", addressId)
+            JsonNode response = this.webClient.get()
+                    .uri(uri -> uri.path("/api/addresses/{id}/validate").queryParam("userId", userId).build(addressId))
                     .retrieve()
-                    .bodyToMono(String.class)
+                    .bodyToMono(JsonNode.class)
                     .block();
-            return true;
-        } catch (WebClientResponseException.NotFound e) {
-            return false;
+            return parseValidation(response);
+        } catch (Exception e) {
+            throw new RuntimeException("Error al comunicarse con el microservicio de geografía: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Obtiene varias direcciones en una sola llamada
+     * @param addressIds IDs de las direcciones (máximo 200)
+     * @return JSON de cada dirección encontrada, por ID; las inexistentes no aparecen
+     */
+    public Map<Long, JsonNode> getAddressesByIds(Collection<Long> addressIds) {
+        if (addressIds == null || addressIds.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            JsonNode response = this.webClient.post()
+                    .uri("/api/addresses/batch")
+                    .bodyValue(Map.of("ids", new LinkedHashSet<>(addressIds)))
+                    .retrieve()
+                    .bodyToMono(JsonNode.class)
+                    .block();
+            return parseAddresses(response);
         } catch (Exception e) {
             throw new RuntimeException("Error al comunicarse con el microservicio de geografía: " + e.getMessage());
         }
@@ -54,4 +85,30 @@ public class AddressClient {
             throw new RuntimeException("Error al comunicarse con el microservicio de geografía: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    static Map<Long, JsonNode> parseAddresses(JsonNode response) {
+        Map<Long, JsonNode> result = new LinkedHashMap<>();
+        if (response != null && response.hasNonNull("data")) {
+            response.get("data").forEach(address -> result.put(address.get("addressId").asLong(), address));
+        }
+        return result;
+    }
+
+    static AddressValidation parseValidation(JsonNode response) {
+        JsonNode data = response == null ? null : response.get("data");
+        if (data == null || data.isNull()) {
+            return new AddressValidation(false, false, null, null);
+        }
+        return new AddressValidation(
+                data.path("exists").asBoolean(false),
+                data.path("owned").asBoolean(false),
+                data.hasNonNull("comunaId") ? data.get("comunaId").asLong() : null,
+                data.hasNonNull("regionId") ? data.get("regionId").asLong() : null);
+    }
+
+    /**
+     * Resultado compacto de la validación: existencia, pertenencia y ubicación (solo si es del usuario)
+     */
+    public record AddressValidation(boolean exists, boolean owned, Long comunaId, Long regionId) {
+    }
+}
@@ -0,0 +1,111 @@
+package com.looprex.shopping.client;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Agrupa las consultas por clave que llegan dentro de una ventana corta en una sola llamada
+ * por lote (request collapsing). Las consultas concurrentes por la misma clave comparten el
+ * mismo resultado. El lote se envía al cumplirse la ventana o al llegar a 'maxBatchSize'.
+ */
+public class RequestCollapser<K, V> implements AutoCloseable {
+
+    private final Function<Set<K>, Map<K, V>> batchLoader;
+    private final V missingValue;
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final long timeoutMillis;
+    private final ScheduledExecutorService scheduler;
+
+    // Protegidos por 'this'
+    private Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+    private boolean flushScheduled;
+
+    /**
+     * @param batchLoader  resuelve un lote de claves; las claves ausentes del resultado reciben 'missingValue'
+     * @param threads      hilos que ejecutan las llamadas por lote
+     */
+    public RequestCollapser(String name, Function<Set<K>, Map<K, V>> batchLoader, V missingValue,
+                            long windowMillis, int maxBatchSize, long timeoutMillis, int threads) {
+        this.batchLoader = batchLoader;
+        this.missingValue = missingValue;
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.timeoutMillis = timeoutMillis;
+        AtomicInteger counter = new AtomicInteger();
+        this.scheduler = Executors.newScheduledThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, name + "-batch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Encola la clave y espera el resultado del lote en que quede incluida.
+     * Si el lote falla se relanza la misma excepción del batchLoader
+     */
+    public V get(K key) {
+        CompletableFuture<V> future = enqueue(key);
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Tiempo de espera agotado para la consulta por lote");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Consulta por lote interrumpida");
+        }
+    }
+
+    synchronized CompletableFuture<V> enqueue(K key) {
+        CompletableFuture<V> future = pending.get(key);
+        if (future != null) {
+            return future;
+        }
+        future = new CompletableFuture<>();
+        pending.put(key, future);
+        if (pending.size() >= maxBatchSize) {
+            scheduler.execute(this::flush);
+        } else if (!flushScheduled) {
+            flushScheduled = true;
+            scheduler.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+        }
+        return future;
+    }
+
+    void flush() {
+        Map<K, CompletableFuture<V>> batch;
+        synchronized (this) {
+            batch = pending;
+            pending = new LinkedHashMap<>();
+            flushScheduled = false;
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            Map<K, V> result = batchLoader.apply(batch.keySet());
+            batch.forEach((key, future) -> future.complete(result.getOrDefault(key, missingValue)));
+        } catch (RuntimeException e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
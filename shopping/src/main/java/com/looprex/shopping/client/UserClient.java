@@ -1,38 +1,56 @@
 package com.looprex.shopping.client;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
 @Component
-public class UserClient {
+public class UserClient implements DisposableBean {
 
     private final WebClient webClient;
+    private final RequestCollapser<Long, Boolean> existsCollapser;
 
-    public UserClient(@Value("${user-service.url}") String userServiceUrl) {
+    public UserClient(@Value("${user-service.url}") String userServiceUrl,
+                      @Value("${user-service.batch.window-ms:5}") long batchWindowMillis,
+                      @Value("${user-service.batch.max-size:200}") int batchMaxSize,
+                      @Value("${user-service.batch.timeout-ms:3000}") long batchTimeoutMillis) {
         this.webClient = WebClient.builder()
                 .baseUrl(userServiceUrl)
                 .build();
+        // Las verificaciones concurrentes se agrupan en un solo POST /api/users/batch/exists
+        this.existsCollapser = new RequestCollapser<>("user-exists", this::fetchExists, false,
+                batchWindowMillis, batchMaxSize, batchTimeoutMillis, 2);
     }
 
     /**
-     * Verifica si un usuario existe llamando al microservicio users
+     * Verifica si un usuario existe llamando al microservicio users.
+     * Las llamadas concurrentes se agrupan en lotes (ver RequestCollapser)
      * @param userId ID del usuario a verificar
      * @return true si existe, false si no existe
      */
-
-     
     public boolean userExists(Long userId) {
+        if (userId == null) {
+            return false;
+        }
+        return existsCollapser.get(userId);
+    }
+
+    private Map<Long, Boolean> fetchExists(Set<Long> userIds) {
         try {
-            this.webClient.get()
-                    .uri("/api/users/{id}", userId)
+            JsonNode response = this.webClient.post()
+                    .uri("/api/users/batch/exists")
+                    .bodyValue(Map.of("ids", userIds))
                     .retrieve()
-                    .bodyToMono(String.class)
+                    .bodyToMono(JsonNode.class)
                     .block();
-            return true;
-        } catch (WebClientResponseException.NotFound e) {
-            return false;
+            return parseExists(response);
         } catch (Exception e) {
             throw new RuntimeException("Error al comunicarse con el microservicio de usuarios: " + e.getMessage());
         }
@@ -56,4 +74,18 @@ public class UserClient {
             throw new RuntimeException("Error al comunicarse con el microservicio de usuarios: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    static Map<Long, Boolean> parseExists(JsonNode response) {
+        Map<Long, Boolean> result = new HashMap<>();
+        if (response != null && response.hasNonNull("data")) {
+            response.get("data").fields().forEachRemaining(
+                    entry -> result.put(Long.valueOf(entry.getKey()), entry.getValue().asBoolean()));
+        }
+        return result;
+    }
+
+    @Override
+    public void destroy() {
+        existsCollapser.close();
+    }
+}
@@ -5,6 +5,7 @@ import com.looprex.shopping.client.StatusClient;
 import com.looprex.shopping.client.UserClient;
 import com.looprex.shopping.model.Buy;
 import com.looprex.shopping.repository.BuyRepository;
+import com.looprex.shopping.security.AuthenticatedUser;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -41,7 +42,7 @@ public class BuyService {
     }
 
     public List<Buy> getBuysByUser(Long userId) {
-        if (!userClient.userExists(userId)) {
+        if (!userExists(userId)) {
             throw new IllegalArgumentException("El usuario con ID " + userId + " no existe");
         }
         return buyRepository.findByUserId(userId);
@@ -110,13 +111,19 @@ public class BuyService {
             throw new IllegalArgumentException("Ya existe una compra con el número de orden " + buy.getOrderNumber());
         }
 
-        if (!userClient.userExists(buy.getUserId())) {
+        if (!userExists(buy.getUserId())) {
             throw new IllegalArgumentException("El usuario con ID " + buy.getUserId() + " no existe");
         }
 
-        if (!addressClient.addressExists(buy.getAddressId())) {
+        // Existencia y pertenencia en una sola llamada a geography
+        AddressClient.AddressValidation address = addressClient.validateAddress(buy.getAddressId(), buy.getUserId());
+        if (!address.exists()) {
             throw new IllegalArgumentException("La dirección con ID " + buy.getAddressId() + " no existe");
         }
+        if (!address.owned()) {
+            throw new IllegalArgumentException("La dirección con ID " + buy.getAddressId() +
+                    " no pertenece al usuario " + buy.getUserId());
+        }
 
         if (!statusClient.statusExists(buy.getStatusId())) {
             throw new IllegalArgumentException("El estado con ID " + buy.getStatusId() + " no existe");
@@ -140,6 +147,14 @@ public class BuyService {
         });
     }
 
+    private boolean userExists(Long userId) {
+        // Un token verificado del mismo usuario ya prueba que existe: se evita la llamada a users
+        if (AuthenticatedUser.isCurrentUser(userId)) {
+            return true;
+        }
+        return userClient.userExists(userId);
+    }
+
     public boolean deleteBuy(Long id) {
         if (buyRepository.existsById(id)) {
             buyRepository.deleteById(id);
@@ -0,0 +1,115 @@
+package com.looprex.shopping.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AddressClientTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void parseAddresses_DeberiaIndexarLasDireccionesPorIdEnOrden() throws Exception {
+        // Arrange
+        JsonNode response = objectMapper.readTree("""
+                {"success": true, "data": [
+                  {"addressId": 7, "street": "Av. Siempre Viva"},
+                  {"addressId": 3, "street": "Los Olmos"}
+                ]}
+                """);
+
+        // Act
+        Map<Long, JsonNode> addresses = AddressClient.parseAddresses(response);
+
+        // Assert
+        assertEquals(List.of(7L, 3L), List.copyOf(addresses.keySet()));
+        assertEquals("Los Olmos", addresses.get(3L).get("street").asText());
+    }
+
+    @Test
+    void parseAddresses_DeberiaRetornarVacioSinData() throws Exception {
+        // Act & Assert
+        assertTrue(AddressClient.parseAddresses(null).isEmpty());
+        assertTrue(AddressClient.parseAddresses(objectMapper.readTree("{\"data\": null}")).isEmpty());
+        assertTrue(AddressClient.parseAddresses(objectMapper.readTree("{\"success\": false}")).isEmpty());
+    }
+
+    @Test
+    void parseValidation_DeberiaLeerExistenciaPertenenciaYUbicacion() throws Exception {
+        // Arrange
+        JsonNode response = objectMapper.readTree("""
+                {"data": {"exists": true, "owned": true, "comunaId": 12, "regionId": 4}}
+                """);
+
+        // Act
+        AddressClient.AddressValidation validation = AddressClient.parseValidation(response);
+
+        // Assert
+        assertEquals(new AddressClient.AddressValidation(true, true, 12L, 4L), validation);
+    }
+
+    @Test
+    void parseValidation_DeberiaDejarUbicacionNulaCuandoNoEsDelUsuario() throws Exception {
+        // Arrange: geography no informa la ubicación de direcciones ajenas
+        JsonNode response = objectMapper.readTree("""
+                {"data": {"exists": true, "owned": false, "comunaId": null}}
+                """);
+
+        // Act
+        AddressClient.AddressValidation validation = AddressClient.parseValidation(response);
+
+        // Assert
+        assertEquals(new AddressClient.AddressValidation(true, false, null, null), validation);
+    }
+
+    @Test
+    void parseValidation_DeberiaTratarRespuestaSinDataComoInexistente() throws Exception {
+        // Act & Assert
+        AddressClient.AddressValidation missing = new AddressClient.AddressValidation(false, false, null, null);
+        assertEquals(missing, AddressClient.parseValidation(null));
+        assertEquals(missing, AddressClient.parseValidation(objectMapper.readTree("{\"data\": null}")));
+        assertEquals(missing, AddressClient.parseValidation(objectMapper.readTree("{\"data\": {}}")));
+    }
+
+    @Test
+    void validateAddress_DeberiaConsultarGeographyEnCadaCompra() throws Exception {
+        // Arrange: la dirección es del usuario y luego se elimina en geography
+        AtomicReference<String> body = new AtomicReference<>("""
+                {"data": {"exists": true, "owned": true, "comunaId": 12, "regionId": 4}}
+                """);
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/addresses/7/validate", exchange -> {
+            byte[] bytes = body.get().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        });
+        server.start();
+        try {
+            AddressClient addressClient = new AddressClient("http://127.0.0.1:" + server.getAddress().getPort());
+            assertTrue(addressClient.validateAddress(7L, 1L).owned());
+
+            // Act
+            body.set("""
+                    {"data": {"exists": false, "owned": false}}
+                    """);
+            AddressClient.AddressValidation validation = addressClient.validateAddress(7L, 1L);
+
+            // Assert: una validación positiva anterior no mantiene aceptada una dirección eliminada
+            assertFalse(validation.exists());
+            assertFalse(validation.owned());
+        } finally {
+            server.stop(0);
+        }
+    }
+}
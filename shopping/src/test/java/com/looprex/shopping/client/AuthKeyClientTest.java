@@ -0,0 +1,39 @@
+package com.looprex.shopping.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthKeyClientTest {
+
+    @Test
+    void fetchPublicKey_DeberiaFallarAlVencerElTiempoDeEspera() throws Exception {
+        // Arrange: users acepta la conexión pero nunca responde
+        CountDownLatch release = new CountDownLatch(1);
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/auth/public-key", exchange -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.close();
+        });
+        server.start();
+        try {
+            AuthKeyClient authKeyClient = new AuthKeyClient("http://127.0.0.1:" + server.getAddress().getPort(), 200);
+
+            // Act & Assert: IllegalStateException es el 503 del filtro de autenticación
+            assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    () -> assertThrows(IllegalStateException.class, authKeyClient::fetchPublicKey));
+        } finally {
+            release.countDown();
+            server.stop(0);
+        }
+    }
+}
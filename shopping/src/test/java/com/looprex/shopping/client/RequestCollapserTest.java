@@ -0,0 +1,102 @@
+package com.looprex.shopping.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCollapserTest {
+
+    private final List<Set<Long>> batches = Collections.synchronizedList(new ArrayList<>());
+    private RequestCollapser<Long, Boolean> collapser;
+
+    @AfterEach
+    void tearDown() {
+        if (collapser != null) {
+            collapser.close();
+        }
+    }
+
+    @Test
+    void get_DeberiaAgruparConsultasConcurrentesEnUnSoloLote() throws Exception {
+        // Arrange
+        collapser = new RequestCollapser<>("test", this::existsEven, false, 200, 100, 2000, 1);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+
+        // Act
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (long id = 1; id <= 8; id++) {
+            long userId = id;
+            results.add(callers.submit(() -> collapser.get(userId)));
+        }
+
+        // Assert
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals((i + 1) % 2 == 0, results.get(i).get());
+        }
+        assertEquals(1, batches.size());
+        assertEquals(8, batches.get(0).size());
+        callers.shutdownNow();
+    }
+
+    @Test
+    void enqueue_DeberiaCompartirResultadoParaLaMismaClave() {
+        // Arrange
+        collapser = new RequestCollapser<>("test", this::existsEven, false, 10_000, 100, 2000, 1);
+
+        // Act
+        CompletableFuture<Boolean> first = collapser.enqueue(2L);
+        CompletableFuture<Boolean> second = collapser.enqueue(2L);
+        collapser.flush();
+
+        // Assert
+        assertSame(first, second);
+        assertTrue(first.join());
+        assertEquals(Set.of(2L), batches.get(0));
+    }
+
+    @Test
+    void enqueue_DeberiaEnviarLoteAlAlcanzarElMaximo() throws Exception {
+        // Arrange: ventana larga, el lote debe salir por tamaño
+        collapser = new RequestCollapser<>("test", this::existsEven, false, 60_000, 3, 2000, 1);
+
+        // Act
+        collapser.enqueue(1L);
+        collapser.enqueue(2L);
+        CompletableFuture<Boolean> last = collapser.enqueue(3L);
+
+        // Assert
+        assertFalse(last.get());
+        assertEquals(Set.of(1L, 2L, 3L), batches.get(0));
+    }
+
+    @Test
+    void get_DeberiaPropagarErrorDelLoteATodasLasConsultas() {
+        // Arrange
+        collapser = new RequestCollapser<>("test", ids -> {
+            throw new RuntimeException("Error al comunicarse con el microservicio de usuarios");
+        }, false, 1, 100, 2000, 1);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> collapser.get(1L));
+        assertEquals("Error al comunicarse con el microservicio de usuarios", exception.getMessage());
+    }
+
+    private Map<Long, Boolean> existsEven(Set<Long> ids) {
+        batches.add(Set.copyOf(ids));
+        Map<Long, Boolean> result = new HashMap<>();
+        ids.stream().filter(id -> id % 2 == 0).forEach(id -> result.put(id, true));
+        return result;
+    }
+}
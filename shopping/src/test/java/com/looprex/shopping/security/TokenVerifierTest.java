@@ -0,0 +1,131 @@
+package com.looprex.shopping.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.looprex.shopping.client.AuthKeyClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenVerifierTest {
+
+    private static final Base64.Encoder B64 = Base64.getUrlEncoder().withoutPadding();
+
+    @Mock
+    private AuthKeyClient authKeyClient;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private TokenVerifier tokenVerifier;
+    private KeyPair keyPair;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keyPair = generator.generateKeyPair();
+
+        ObjectNode data = objectMapper.createObjectNode();
+        data.put("kid", "kid-1");
+        data.put("publicKey", Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+        lenient().when(authKeyClient.fetchPublicKey()).thenReturn(data);
+
+        tokenVerifier = new TokenVerifier(authKeyClient, objectMapper, "looprex-users");
+    }
+
+    private String token(String kid, String payload) throws Exception {
+        String signingInput = B64.encodeToString(("{\"alg\":\"RS256\",\"typ\":\"JWT\",\"kid\":\"" + kid + "\"}")
+                .getBytes(StandardCharsets.UTF_8)) + "." + B64.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        Signature signer = Signature.getInstance("SHA256withRSA");
+        signer.initSign(keyPair.getPrivate());
+        signer.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+        return signingInput + "." + B64.encodeToString(signer.sign());
+    }
+
+    private static String accessClaims(long exp) {
+        return "{\"iss\":\"looprex-users\",\"sub\":\"7\",\"typ\":\"access\",\"role\":\"ADMIN\",\"roleId\":1,\"exp\":" + exp + "}";
+    }
+
+    @Test
+    void verify_DeberiaRetornarUsuarioYCachearClavePublica() throws Exception {
+        // Arrange
+        String token = token("kid-1", accessClaims(System.currentTimeMillis() / 1000 + 600));
+
+        // Act
+        AuthenticatedUser first = tokenVerifier.verify(token);
+        AuthenticatedUser second = tokenVerifier.verify(token);
+
+        // Assert
+        assertEquals(7L, first.getUserId());
+        assertEquals("ADMIN", first.getRole());
+        assertEquals(1L, second.getRoleId());
+        verify(authKeyClient, times(1)).fetchPublicKey();
+    }
+
+    @Test
+    void verify_DeberiaRechazarTokenExpirado() throws Exception {
+        // Arrange
+        String token = token("kid-1", accessClaims(System.currentTimeMillis() / 1000 - 1));
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> tokenVerifier.verify(token)
+        );
+
+        assertEquals("Token expirado", exception.getMessage());
+    }
+
+    @Test
+    void verify_DeberiaRechazarFirmaAlterada() throws Exception {
+        // Arrange
+        String[] parts = token("kid-1", accessClaims(System.currentTimeMillis() / 1000 + 600)).split("\\.");
+        String forged = parts[0] + "." + B64.encodeToString(accessClaims(9999999999L)
+                .replace("\"7\"", "\"8\"").getBytes(StandardCharsets.UTF_8)) + "." + parts[2];
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> tokenVerifier.verify(forged)
+        );
+
+        assertEquals("Firma del token inválida", exception.getMessage());
+    }
+
+    @Test
+    void verify_NoDeberiaConsultarUsersRepetidamenteConKidDesconocido() throws Exception {
+        // Arrange
+        tokenVerifier.verify(token("kid-1", accessClaims(System.currentTimeMillis() / 1000 + 600)));
+        String unknown = token("kid-2", accessClaims(System.currentTimeMillis() / 1000 + 600));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> tokenVerifier.verify(unknown));
+        assertThrows(IllegalArgumentException.class, () -> tokenVerifier.verify(unknown));
+        verify(authKeyClient, times(1)).fetchPublicKey();
+    }
+
+    @Test
+    void verify_DeberiaFallarRapidoMientrasUsersNoEntregaLaClave() throws Exception {
+        // Arrange
+        when(authKeyClient.fetchPublicKey()).thenThrow(new IllegalStateException("Tiempo de espera agotado"));
+        String token = token("kid-1", accessClaims(System.currentTimeMillis() / 1000 + 600));
+
+        // Act & Assert: el segundo intento no vuelve a esperar a users
+        assertThrows(IllegalStateException.class, () -> tokenVerifier.verify(token));
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> tokenVerifier.verify(token));
+
+        assertEquals("Clave pública de tokens no disponible", exception.getMessage());
+        verify(authKeyClient, times(1)).fetchPublicKey();
+    }
+}
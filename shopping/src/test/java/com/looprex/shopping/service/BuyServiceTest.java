@@ -5,12 +5,15 @@ import com.looprex.shopping.client.StatusClient;
 import com.looprex.shopping.client.UserClient;
 import com.looprex.shopping.model.Buy;
 import com.looprex.shopping.repository.BuyRepository;
+import com.looprex.shopping.security.AuthenticatedUser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.util.Arrays;
 import java.util.List;
@@ -23,6 +26,9 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class BuyServiceTest {
 
+    private static final AddressClient.AddressValidation VALID_ADDRESS =
+            new AddressClient.AddressValidation(true, true, 1L, 1L);
+
     @Mock
     private BuyRepository buyRepository;
 
@@ -144,6 +150,25 @@ class BuyServiceTest {
         verify(buyRepository, times(1)).findByUserId(1L);
     }
 
+    @Test
+    void getBuysByUser_NoDeberiaConsultarUsersCuandoElTokenEsDelMismoUsuario() {
+        // Arrange
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(1L, "CLIENT", 2L), null, List.of()));
+        when(buyRepository.findByUserId(1L)).thenReturn(Arrays.asList(testBuy));
+
+        try {
+            // Act
+            List<Buy> result = buyService.getBuysByUser(1L);
+
+            // Assert
+            assertEquals(1, result.size());
+            verify(userClient, never()).userExists(any());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
     @Test
     void getBuysByUser_DeberiaLanzarExcepcionCuandoUsuarioNoExiste() {
         // Arrange
@@ -182,7 +207,7 @@ class BuyServiceTest {
         // Arrange
         when(buyRepository.findByOrderNumber("ORD-2025-001")).thenReturn(Optional.empty());
         when(userClient.userExists(1L)).thenReturn(true);
-        when(addressClient.addressExists(1L)).thenReturn(true);
+        when(addressClient.validateAddress(1L, 1L)).thenReturn(VALID_ADDRESS);
         when(statusClient.statusExists(1L)).thenReturn(true);
         when(buyRepository.save(any(Buy.class))).thenReturn(testBuy);
 
@@ -193,7 +218,7 @@ class BuyServiceTest {
         assertNotNull(result);
         assertEquals("ORD-2025-001", result.getOrderNumber());
         verify(userClient, times(1)).userExists(1L);
-        verify(addressClient, times(1)).addressExists(1L);
+        verify(addressClient, times(1)).validateAddress(1L, 1L);
         verify(statusClient, times(1)).statusExists(1L);
         verify(buyRepository, times(1)).save(any(Buy.class));
     }
@@ -249,7 +274,7 @@ class BuyServiceTest {
         // Arrange
         when(buyRepository.findByOrderNumber("ORD-2025-001")).thenReturn(Optional.empty());
         when(userClient.userExists(1L)).thenReturn(true);
-        when(addressClient.addressExists(1L)).thenReturn(false);
+        when(addressClient.validateAddress(1L, 1L)).thenReturn(new AddressClient.AddressValidation(false, false, null, null));
 
         // Act & Assert
         IllegalArgumentException exception = assertThrows(
@@ -261,12 +286,30 @@ class BuyServiceTest {
         verify(buyRepository, never()).save(any());
     }
 
+    @Test
+    void createBuy_DeberiaLanzarExcepcionCuandoDireccionEsDeOtroUsuario() {
+        // Arrange
+        when(buyRepository.findByOrderNumber("ORD-2025-001")).thenReturn(Optional.empty());
+        when(userClient.userExists(1L)).thenReturn(true);
+        when(addressClient.validateAddress(1L, 1L)).thenReturn(new AddressClient.AddressValidation(true, false, null, null));
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> buyService.createBuy(testBuy)
+        );
+
+        assertEquals("La dirección con ID 1 no pertenece al usuario 1", exception.getMessage());
+        verify(statusClient, never()).statusExists(any());
+        verify(buyRepository, never()).save(any());
+    }
+
     @Test
     void createBuy_DeberiaLanzarExcepcionCuandoEstadoNoExiste() {
         // Arrange
         when(buyRepository.findByOrderNumber("ORD-2025-001")).thenReturn(Optional.empty());
         when(userClient.userExists(1L)).thenReturn(true);
-        when(addressClient.addressExists(1L)).thenReturn(true);
+        when(addressClient.validateAddress(1L, 1L)).thenReturn(VALID_ADDRESS);
         when(statusClient.statusExists(1L)).thenReturn(false);
 
         // Act & Assert
@@ -285,7 +328,7 @@ class BuyServiceTest {
         testBuy.setBuyDate(null);
         when(buyRepository.findByOrderNumber("ORD-2025-001")).thenReturn(Optional.empty());
         when(userClient.userExists(1L)).thenReturn(true);
-        when(addressClient.addressExists(1L)).thenReturn(true);
+        when(addressClient.validateAddress(1L, 1L)).thenReturn(VALID_ADDRESS);
         when(statusClient.statusExists(1L)).thenReturn(true);
         when(buyRepository.save(any(Buy.class))).thenReturn(testBuy);
 
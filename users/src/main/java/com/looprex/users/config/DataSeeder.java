@@ -1,17 +1,32 @@
 package com.looprex.users.config;
 
 import com.looprex.users.model.Role;
+import com.looprex.users.model.SearchText;
 import com.looprex.users.model.User;
 import com.looprex.users.repository.RoleRepository;
 import com.looprex.users.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+// Antes que SyntheticUserGenerator, que necesita los roles creados
 @Component
+@Order(0)
 public class DataSeeder implements CommandLineRunner {
 
+    private static final Logger log = LoggerFactory.getLogger(DataSeeder.class);
+
+    private static final String ADMIN_RUT = "12345678-9";
+
     private final RoleRepository roleRepository;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
@@ -37,7 +52,12 @@ public class DataSeeder implements CommandLineRunner {
                     .orElseThrow(() -> new RuntimeException("Rol ADMIN no encontrado"));
 
             User admin = new User();
-            admin.setRut("12345678-9");
+            // El RUT de ejemplo puede pertenecer a un usuario real: en ese caso el admin queda sin RUT
+            if (userRepository.findExistingRutKeys(List.of(SearchText.rut(ADMIN_RUT))).isEmpty()) {
+                admin.setRut(ADMIN_RUT);
+            } else {
+                log.warn("El RUT {} ya está registrado: el usuario admin se crea sin RUT", ADMIN_RUT);
+            }
             admin.setName("Admin");
             admin.setLastname("Sistema");
             admin.setPhone("912345678");
@@ -47,5 +67,44 @@ public class DataSeeder implements CommandLineRunner {
             admin.setStatusId(1L);
             userRepository.save(admin);
         }
+
+        // Completar columnas de búsqueda de usuarios creados antes de que existieran
+        int skippedRuts = 0;
+        List<User> pending = userRepository.findTop500ByEmailKeyIsNull();
+        while (!pending.isEmpty()) {
+            skippedRuts += backfillSearchKeys(pending);
+            userRepository.saveAll(pending);
+            userRepository.flush();
+            pending = userRepository.findTop500ByEmailKeyIsNull();
+        }
+        if (skippedRuts > 0) {
+            log.warn("{} usuario(s) quedaron sin rutKey por tener un RUT equivalente al de otro usuario", skippedRuts);
+        }
+    }
+
+    /**
+     * Como AddressService.backfillNormalizedKeys: la base puede tener RUTs repetidos o con otro
+     * formato que normalizan a la misma clave. Solo el primero (o el ya registrado) la recibe;
+     * los demás quedan sin rutKey en vez de violar uk_users_rut e impedir el arranque
+     * @return cantidad de usuarios que quedaron sin rutKey
+     */
+    private int backfillSearchKeys(List<User> pending) {
+        List<String> keys = pending.stream().map(user -> SearchText.rut(user.getRut()))
+                .filter(Objects::nonNull).distinct().toList();
+        Set<String> assigned = new HashSet<>(keys.isEmpty() ? List.of() : userRepository.findExistingRutKeys(keys));
+        int skipped = 0;
+        for (User user : pending) {
+            user.refreshSearchKeys();
+            String key = SearchText.rut(user.getRut());
+            if (key != null && assigned.add(key)) {
+                user.setRutKey(key);
+            } else {
+                user.setRutKey(null);
+                if (key != null) {
+                    skipped++;
+                }
+            }
+        }
+        return skipped;
     }
-}
\ No newline at end of file
+}
@@ -1,16 +1,24 @@
 package com.looprex.users.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.looprex.users.security.BoundedPasswordEncoder;
+import com.looprex.users.security.FileSessionStore;
+import com.looprex.users.security.InMemorySessionStore;
+import com.looprex.users.security.PasswordEncoders;
+import com.looprex.users.security.SessionStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.nio.file.Path;
 import java.util.Arrays;
 
 
@@ -18,9 +26,37 @@ import java.util.Arrays;
 @EnableWebSecurity
 public class SecurityConfig {
 
+    /**
+     * Encoder delegante (algoritmo y costo configurables) ejecutado en un pool dedicado con
+     * cola acotada (ver BoundedPasswordEncoder). hash-threads=0 usa un hilo por CPU disponible.
+     * Al subir el costo o cambiar de algoritmo, los hashes existentes se migran en el siguiente login
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password.algorithm:bcrypt}") String algorithm,
+                                           @Value("${security.password.bcrypt-strength:10}") int bcryptStrength,
+                                           @Value("${security.password.pbkdf2-iterations:310000}") int pbkdf2Iterations,
+                                           @Value("${security.password.hash-threads:0}") int threads,
+                                           @Value("${security.password.hash-queue-capacity:100}") int queueCapacity,
+                                           @Value("${security.password.hash-timeout-ms:3000}") long timeoutMillis,
+                                           MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(
+                PasswordEncoders.delegating(algorithm, bcryptStrength, pbkdf2Iterations),
+                threads, queueCapacity, timeoutMillis, meterRegistry);
+    }
+
+    /**
+     * 'memory' pierde las sesiones al reiniciar; 'file' las conserva entre reinicios ordenados
+     */
+    @Bean
+    public SessionStore sessionStore(@Value("${security.session.store:memory}") String store,
+                                     @Value("${security.session.max-size:100000}") int maxSize,
+                                     @Value("${security.session.file:./data/sessions.json}") String file,
+                                     ObjectMapper objectMapper) {
+        return switch (store) {
+            case "memory" -> new InMemorySessionStore(maxSize);
+            case "file" -> new FileSessionStore(maxSize, Path.of(file), objectMapper);
+            default -> throw new IllegalStateException("Almacenamiento de sesiones no soportado: " + store);
+        };
     }
 
      @Bean
@@ -0,0 +1,123 @@
+package com.looprex.users.config;
+
+import com.looprex.users.model.Role;
+import com.looprex.users.model.User;
+import com.looprex.users.repository.UserBulkRepository;
+import com.looprex.users.repository.UserRepository;
+import com.looprex.users.service.RoleCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Genera usuarios sintéticos para pruebas de carga. Solo se activa con el perfil 'generate-users':
+ *
+ *   java -jar users.jar --spring.profiles.active=generate-users --users.generator.count=2000000
+ *
+ * Los usuarios cumplen las validaciones de User (RUT con dígito verificador, teléfono 9XXXXXXXX,
+ * nombres solo con letras) y comparten un único hash de 'users.generator.password', calculado una
+ * vez: hashear millones de contraseñas tomaría horas. Se insertan en lotes por JDBC y se continúa
+ * desde el último índice generado, así volver a ejecutarlo agrega usuarios en vez de fallar por duplicados
+ */
+@Component
+@Profile("generate-users")
+@Order(1)
+public class SyntheticUserGenerator implements CommandLineRunner {
+
+    static final String EMAIL_DOMAIN = "@loadtest.looprex.cl";
+
+    // Cuerpos de RUT sobre los de personas reales, para no chocar con usuarios existentes
+    private static final long RUT_BASE = 50_000_000L;
+
+    private static final String[] NAMES = {
+        "Juan", "María", "José", "Ana", "Pedro", "Camila", "Diego", "Valentina", "Matías", "Sofía",
+        "Benjamín", "Martina", "Tomás", "Florencia", "Vicente", "Javiera", "Agustín", "Catalina",
+        "Joaquín", "Fernanda", "Cristóbal", "Constanza", "Ignacio", "Antonia", "Sebastián", "Isidora"
+    };
+
+    private static final String[] LASTNAMES = {
+        "González", "Muñoz", "Rojas", "Díaz", "Pérez", "Soto", "Contreras", "Silva", "Martínez",
+        "Sepúlveda", "Morales", "Rodríguez", "López", "Fuentes", "Hernández", "Torres", "Araya",
+        "Flores", "Espinoza", "Valenzuela", "Castillo", "Tapia", "Reyes", "Gutiérrez", "Castro", "Núñez"
+    };
+
+    private final UserRepository userRepository;
+    private final UserBulkRepository userBulkRepository;
+    private final RoleCache roleCache;
+    private final PasswordEncoder passwordEncoder;
+    private final long count;
+    private final int batchSize;
+    private final String password;
+
+    public SyntheticUserGenerator(UserRepository userRepository, UserBulkRepository userBulkRepository,
+                                  RoleCache roleCache, PasswordEncoder passwordEncoder,
+                                  @Value("${users.generator.count:1000000}") long count,
+                                  @Value("${users.generator.batch-size:1000}") int batchSize,
+                                  @Value("${users.generator.password:LoadTest123!}") String password) {
+        this.userRepository = userRepository;
+        this.userBulkRepository = userBulkRepository;
+        this.roleCache = roleCache;
+        this.passwordEncoder = passwordEncoder;
+        this.count = count;
+        this.batchSize = batchSize;
+        this.password = password;
+    }
+
+    @Override
+    public void run(String... args) {
+        Role client = roleCache.findByName("CLIENT")
+                .orElseThrow(() -> new IllegalStateException("Rol CLIENT no encontrado"));
+        String passwordHash = passwordEncoder.encode(password);
+
+        long start = userRepository.countByEmailKeyEndingWith(EMAIL_DOMAIN);
+        long end = start + count;
+        List<User> batch = new ArrayList<>(batchSize);
+        for (long n = start; n < end; n++) {
+            batch.add(syntheticUser(n, client, passwordHash));
+            if (batch.size() == batchSize || n == end - 1) {
+                userBulkRepository.insertAll(batch, batchSize);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Usuario sintético número 'n'. Determinista: el mismo n siempre produce los mismos datos
+     */
+    static User syntheticUser(long n, Role role, String passwordHash) {
+        String name = NAMES[(int) (n % NAMES.length)];
+        String lastname = LASTNAMES[(int) ((n / NAMES.length) % LASTNAMES.length)];
+        long rutBody = RUT_BASE + n;
+
+        User user = new User();
+        user.setRut(rutBody + "-" + rutCheckDigit(rutBody));
+        user.setName(name);
+        user.setLastname(lastname);
+        user.setPhone(String.format("9%08d", n % 100_000_000L));
+        user.setEmail("usuario" + n + EMAIL_DOMAIN);
+        user.setPassword(passwordHash);
+        user.setRole(role);
+        user.setStatusId(1L);
+        return user;
+    }
+
+    /**
+     * Dígito verificador del RUT (módulo 11, factores 2..7)
+     */
+    static char rutCheckDigit(long body) {
+        int sum = 0;
+        int factor = 2;
+        for (long rest = body; rest > 0; rest /= 10) {
+            sum += (int) (rest % 10) * factor;
+            factor = factor == 7 ? 2 : factor + 1;
+        }
+        int digit = 11 - (sum % 11);
+        return digit == 11 ? '0' : digit == 10 ? 'K' : (char) ('0' + digit);
+    }
+}
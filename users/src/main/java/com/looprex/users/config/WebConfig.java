@@ -1,12 +1,35 @@
 package com.looprex.users.config; // Cambiar según microservicio
 
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    /**
+     * Rutas con trabajo lento fuera de la base (hash de contraseñas, copia de archivos): sin
+     * EntityManager por request, para que la conexión se libere al terminar cada consulta
+     */
+    static final String[] NO_ENTITY_MANAGER_IN_VIEW = {
+        "/api/users/login",
+        "/api/users/register",
+        "/api/users/*/password",
+        "/api/users/*/email",
+        "/api/users/*/profile-photo",
+        "/api/users/import"
+    };
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    public WebConfig(ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
@@ -20,4 +43,16 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowCredentials(true)
                 .maxAge(3600);
     }
-}
\ No newline at end of file
+
+    // Reemplaza spring.jpa.open-in-view (desactivado), que no permite excluir rutas
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        EntityManagerFactory emf = entityManagerFactory.getIfAvailable();
+        if (emf == null) {
+            return;
+        }
+        OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(emf);
+        registry.addWebRequestInterceptor(interceptor).excludePathPatterns(NO_ENTITY_MANAGER_IN_VIEW);
+    }
+}
@@ -0,0 +1,208 @@
+package com.looprex.users.controller;
+
+import com.looprex.users.dto.ApiResponse;
+import com.looprex.users.dto.AuthTokens;
+import com.looprex.users.dto.PublicKeyResponse;
+import com.looprex.users.dto.SessionResponse;
+import com.looprex.users.model.User;
+import com.looprex.users.security.Session;
+import com.looprex.users.service.SessionService;
+import com.looprex.users.service.TokenService;
+import com.looprex.users.service.UserService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/api/auth")
+@Tag(
+    name = "Autenticación",
+    description = "Renovación de tokens, validación de sesiones y publicación de la clave pública con la " +
+                  "que los demás servicios verifican localmente los access tokens emitidos en el login"
+)
+public class AuthController {
+
+    private final TokenService tokenService;
+    private final UserService userService;
+    private final SessionService sessionService;
+
+    public AuthController(TokenService tokenService, UserService userService, SessionService sessionService) {
+        this.tokenService = tokenService;
+        this.userService = userService;
+        this.sessionService = sessionService;
+    }
+
+    @PostMapping("/refresh")
+    @Operation(
+        summary = "Renovar tokens",
+        description = "Recibe un refresh token válido y emite un nuevo par de tokens. " +
+                      "El rol se vuelve a leer desde la base de datos, por lo que un cambio de rol " +
+                      "se refleja a más tardar al vencer el access token actual"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Tokens renovados",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    value = """
+                    {
+                      "success": true,
+                      "statusCode": 200,
+                      "message": "Tokens renovados exitosamente",
+                      "data": {
+                        "accessToken": "eyJhbGciOiJSUzI1NiIsInR5cCI6IkpXVCJ9...",
+                        "refreshToken": "eyJhbGciOiJSUzI1NiIsInR5cCI6IkpXVCJ9...",
+                        "tokenType": "Bearer",
+                        "expiresIn": 900
+                      }
+                    }
+                    """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "401",
+            description = "Refresh token inválido, expirado, emitido antes de un cambio de contraseña o email, " +
+                          "o de un usuario que ya no existe"
+        )
+    })
+    public ResponseEntity<ApiResponse<AuthTokens>> refresh(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                description = "Refresh token obtenido en el login",
+                required = true,
+                content = @Content(
+                    mediaType = "application/json",
+                    examples = @ExampleObject(value = "{ \"refreshToken\": \"eyJhbGciOiJSUzI1NiIsInR5cCI6IkpXVCJ9...\" }")
+                )
+            )
+            @RequestBody Map<String, String> body) {
+        try {
+            TokenService.RefreshClaims claims = tokenService.verifyRefresh(body.get("refreshToken"));
+            Optional<User> user = userService.getUserById(claims.userId());
+            if (user.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(new ApiResponse<>(false, HttpStatus.UNAUTHORIZED.value(), "Usuario no encontrado"));
+            }
+            // Emitido antes del último cambio de contraseña o email
+            if (claims.credentialVersion() != user.get().currentCredentialVersion()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(new ApiResponse<>(false, HttpStatus.UNAUTHORIZED.value(), "Refresh token revocado"));
+            }
+            return ResponseEntity.ok(new ApiResponse<>(true, HttpStatus.OK.value(),
+                    "Tokens renovados exitosamente", tokenService.issueTokens(user.get())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ApiResponse<>(false, HttpStatus.UNAUTHORIZED.value(), e.getMessage()));
+        }
+    }
+
+    @GetMapping("/session")
+    @Operation(
+        summary = "Validar sesión",
+        description = "Valida el sessionId entregado en el login sin consultar la base de datos ni verificar " +
+                      "la contraseña. Pensado para que el cliente confirme su sesión al abrir la app en vez " +
+                      "de repetir el login. La sesión deja de ser válida al expirar, al cerrar sesión o al " +
+                      "cambiar el usuario su contraseña o email"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Sesión vigente",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    value = """
+                    {
+                      "success": true,
+                      "statusCode": 200,
+                      "message": "Sesión válida",
+                      "data": {
+                        "userId": 1,
+                        "roleId": 2,
+                        "role": "CLIENT",
+                        "expiresAt": 1767225600000
+                      }
+                    }
+                    """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "401",
+            description = "Sesión inexistente, expirada o revocada"
+        )
+    })
+    public ResponseEntity<ApiResponse<SessionResponse>> validateSession(
+            @RequestHeader(value = "X-Session-Id", required = false) String sessionId) {
+        Optional<Session> session = sessionService.validate(sessionId);
+        if (session.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ApiResponse<>(false, HttpStatus.UNAUTHORIZED.value(), "Sesión no válida"));
+        }
+        SessionResponse response = SessionResponse.builder()
+                .userId(session.get().userId())
+                .roleId(session.get().roleId())
+                .role(session.get().roleName())
+                .expiresAt(session.get().expiresAt())
+                .build();
+        return ResponseEntity.ok(new ApiResponse<>(true, HttpStatus.OK.value(), "Sesión válida", response));
+    }
+
+    @DeleteMapping("/session")
+    @Operation(
+        summary = "Cerrar sesión",
+        description = "Revoca el sessionId indicado. Es idempotente: una sesión inexistente también responde 200"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Sesión cerrada"
+        )
+    })
+    public ResponseEntity<ApiResponse<Void>> logout(
+            @RequestHeader(value = "X-Session-Id", required = false) String sessionId) {
+        sessionService.revoke(sessionId);
+        return ResponseEntity.ok(new ApiResponse<>(true, HttpStatus.OK.value(), "Sesión cerrada exitosamente"));
+    }
+
+    @GetMapping("/public-key")
+    @Operation(
+        summary = "Obtener clave pública de firma",
+        description = "Retorna la clave pública RSA con la que se firman los tokens. Los demás servicios " +
+                      "la descargan una vez, la mantienen en caché y solo vuelven a pedirla si reciben " +
+                      "un token con un 'kid' desconocido"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Clave pública actual",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<ApiResponse<PublicKeyResponse>> getPublicKey() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS))
+                .body(new ApiResponse<>(true, HttpStatus.OK.value(),
+                        "Clave pública obtenida exitosamente", tokenService.getPublicKey()));
+    }
+}
@@ -1,9 +1,21 @@
 package com.looprex.users.controller;
 
 import com.looprex.users.dto.ApiResponse;
+import com.looprex.users.dto.LoginResponse;
+import com.looprex.users.dto.UserBatchSummaryResponse;
+import com.looprex.users.dto.UserIdsRequest;
+import com.looprex.users.dto.UserImportRequest;
+import com.looprex.users.dto.UserImportResult;
+import com.looprex.users.dto.UserPage;
+import com.looprex.users.dto.UserSearchCriteria;
 import com.looprex.users.dto.UserResponse;
 import com.looprex.users.mapper.UserMapper;
 import com.looprex.users.model.User;
+import com.looprex.users.service.LoginThrottleService;
+import com.looprex.users.service.PhotoStorageService;
+import com.looprex.users.service.SessionService;
+import com.looprex.users.service.TokenService;
+import com.looprex.users.service.UserImportService;
 import com.looprex.users.service.UserService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,16 +25,25 @@ import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @RestController
@@ -37,10 +58,22 @@ public class UserController {
 
     private final UserService userService;
     private final UserMapper userMapper;
+    private final TokenService tokenService;
+    private final LoginThrottleService loginThrottleService;
+    private final PhotoStorageService photoStorageService;
+    private final SessionService sessionService;
+    private final UserImportService userImportService;
 
-    public UserController(UserService userService, UserMapper userMapper) {
+    public UserController(UserService userService, UserMapper userMapper, TokenService tokenService,
+                          LoginThrottleService loginThrottleService, PhotoStorageService photoStorageService,
+                          SessionService sessionService, UserImportService userImportService) {
         this.userService = userService;
         this.userMapper = userMapper;
+        this.tokenService = tokenService;
+        this.loginThrottleService = loginThrottleService;
+        this.photoStorageService = photoStorageService;
+        this.sessionService = sessionService;
+        this.userImportService = userImportService;
     }
 
     private static final String USER_NOT_FOUND = "Usuario no encontrado";
@@ -51,7 +84,13 @@ public class UserController {
         description = "Autentica un usuario mediante email y contraseña. Valida las credenciales " +
                       "contra la base de datos usando BCrypt para verificar el hash de la contraseña. " +
                       "Si las credenciales son correctas, retorna los datos completos del usuario " +
-                      "incluyendo su rol y estado, pero SIN incluir la contraseña por seguridad"
+                      "incluyendo su rol y estado, pero SIN incluir la contraseña por seguridad. " +
+                      "Además emite un access token firmado de vida corta (userId y rol) y un refresh token; " +
+                      "los demás servicios validan el access token localmente con la clave pública. " +
+                      "También abre una sesión opaca (sessionId) que el cliente puede validar en " +
+                      "/api/auth/session al volver a abrir la app, sin repetir el login. " +
+                      "Tras varios intentos fallidos para el mismo email o IP se aplica una espera " +
+                      "exponencial (429 con Retry-After), y si el pool de hashing está saturado se responde 503"
     )
     @PostMapping("/login")
     @ApiResponses(value = {
@@ -79,7 +118,13 @@ public class UserController {
                           "roleId": 2,
                           "name": "CLIENT"
                         },
-                        "statusId": 1
+                        "statusId": 1,
+                        "accessToken": "eyJhbGciOiJSUzI1NiIsInR5cCI6IkpXVCJ9...",
+                        "refreshToken": "eyJhbGciOiJSUzI1NiIsInR5cCI6IkpXVCJ9...",
+                        "tokenType": "Bearer",
+                        "expiresIn": 900,
+                        "sessionId": "q3Jd9c2y0rV5mY1b8xgk8yZ3QH0n7kXW0eVQm2t6a1s",
+                        "sessionExpiresIn": 2592000
                       }
                     }
                     """
@@ -119,9 +164,30 @@ public class UserController {
                     """
                 )
             )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "429",
+            description = "Demasiados intentos fallidos - esperar los segundos indicados en Retry-After",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    value = """
+                    {
+                      "success": false,
+                      "statusCode": 429,
+                      "message": "Demasiados intentos fallidos. Intente nuevamente en 4 segundo(s)"
+                    }
+                    """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "503",
+            description = "Servicio saturado - el pool de hashing de contraseñas no tiene capacidad disponible"
         )
     })
-    public ResponseEntity<ApiResponse<UserResponse>> login(@io.swagger.v3.oas.annotations.parameters.RequestBody(
+    public ResponseEntity<ApiResponse<LoginResponse>> login(@io.swagger.v3.oas.annotations.parameters.RequestBody(
                 description = "Credenciales de acceso del usuario (email y contraseña en texto plano)",
                 required = true,
                 content = @Content(
@@ -137,12 +203,13 @@ public class UserController {
                     )
                 )
             )
-            @RequestBody Map<String, String> credentials) {
+            @RequestBody Map<String, String> credentials,
+            HttpServletRequest request) {
         String email = credentials.get("email");
         String password = credentials.get("password");
 
         if (email == null || password == null) {
-            ApiResponse<UserResponse> response = new ApiResponse<>(
+            ApiResponse<LoginResponse> response = new ApiResponse<>(
                 false,
                 HttpStatus.BAD_REQUEST.value(),
                 "Email y contraseña son requeridos"
@@ -150,19 +217,29 @@ public class UserController {
             return ResponseEntity.badRequest().body(response);
         }
 
+        String clientIp = request.getRemoteAddr();
+        loginThrottleService.checkAllowed(email, clientIp);
+
         Optional<User> userOpt = userService.login(email, password);
         
         if (userOpt.isPresent()) {
-            UserResponse userResponse = userMapper.toUserResponse(userOpt.get());
-            ApiResponse<UserResponse> response = new ApiResponse<>(
+            loginThrottleService.recordSuccess(email);
+            LoginResponse loginResponse = LoginResponse.builder()
+                    .user(userMapper.toUserResponse(userOpt.get()))
+                    .tokens(tokenService.issueTokens(userOpt.get()))
+                    .sessionId(sessionService.create(userOpt.get()))
+                    .sessionExpiresIn(sessionService.getTtlSeconds())
+                    .build();
+            ApiResponse<LoginResponse> response = new ApiResponse<>(
                 true,
                 HttpStatus.OK.value(),
                 "Login exitoso",
-                userResponse
+                loginResponse
             );
             return ResponseEntity.ok(response);
         } else {
-            ApiResponse<UserResponse> response = new ApiResponse<>(
+            loginThrottleService.recordFailure(email, clientIp);
+            ApiResponse<LoginResponse> response = new ApiResponse<>(
                 false,
                 HttpStatus.UNAUTHORIZED.value(),
                 "Credenciales inválidas"
@@ -379,10 +456,10 @@ public class UserController {
             example = "1",
             required = true
         )@PathVariable Long id) {
-        Optional<User> userOpt = userService.getUserById(id);
+        Optional<UserResponse> userOpt = userService.getUserResponse(id);
         
         if (userOpt.isPresent()) {
-            UserResponse userResponse = userMapper.toUserResponse(userOpt.get());
+            UserResponse userResponse = userOpt.get();
             ApiResponse<UserResponse> response = new ApiResponse<>(
                 true,
                 HttpStatus.OK.value(),
@@ -403,15 +480,16 @@ public class UserController {
     // 4. Get all users
     @Operation(
         summary = "Obtener todos los usuarios",
-        description = "Retorna una lista completa de todos los usuarios registrados en el sistema. " +
-                      "Cada usuario incluye su información personal, rol y estado. Este endpoint es típicamente " +
-                      "usado por administradores para gestionar usuarios. Si no hay usuarios registrados, " +
-                      "retorna un status 204 (No Content)"
+        description = "Retorna una página de resúmenes de usuarios (UserPage) paginada por keyset, típicamente " +
+                      "usada por administradores para gestionar usuarios. Sin parámetros retorna la primera página " +
+                      "ordenada por id con el tamaño por defecto (20). Admite filtros por prefijo de email, RUT, " +
+                      "nombre/apellido (sin distinguir tildes ni mayúsculas) y por rol, orden por id, email o " +
+                      "apellido, y 'nextCursor' para pedir la siguiente página"
     )
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
             responseCode = "200",
-            description = "Lista de usuarios obtenida exitosamente",
+            description = "Página de usuarios obtenida exitosamente (puede venir vacía)",
             content = @Content(
                 mediaType = "application/json",
                 schema = @Schema(implementation = ApiResponse.class),
@@ -421,45 +499,30 @@ public class UserController {
                       "success": true,
                       "statusCode": 200,
                       "message": "Usuarios obtenidos exitosamente",
-                      "data": [
-                        {
-                          "userId": 1,
-                          "rut": "12345678-9",
-                          "name": "Juan",
-                          "lastname": "Pérez",
-                          "phone": "912345678",
-                          "email": "juan@example.com",
-                          "profilePhoto": "https://example.com/photo1.jpg",
-                          "role": {
+                      "data": {
+                        "items": [
+                          {
+                            "userId": 1,
+                            "name": "Juan",
+                            "lastname": "Pérez",
+                            "email": "juan@example.com",
                             "roleId": 2,
-                            "name": "CLIENT"
-                          },
-                          "statusId": 1
-                        },
-                        {
-                          "userId": 2,
-                          "rut": "98765432-1",
-                          "name": "Admin",
-                          "lastname": "Sistema",
-                          "phone": "987654321",
-                          "email": "admin@looprex.cl",
-                          "profilePhoto": null,
-                          "role": {
-                            "roleId": 1,
-                            "name": "ADMIN"
-                          },
-                          "statusId": 1
-                        }
-                      ],
-                      "count": 2
+                            "roleName": "CLIENT",
+                            "statusId": 1
+                          }
+                        ],
+                        "nextCursor": "aWR8MXw",
+                        "hasMore": true
+                      },
+                      "count": 1
                     }
                     """
                 )
             )
         ),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
-            responseCode = "204",
-            description = "No hay usuarios en el sistema - Base de datos vacía",
+            responseCode = "400",
+            description = "Orden, dirección, cursor o límite inválidos",
             content = @Content(
                 mediaType = "application/json",
                 schema = @Schema(implementation = ApiResponse.class),
@@ -467,10 +530,10 @@ public class UserController {
                     value = """
                     {
                       "success": false,
-                      "statusCode": 204,
-                      "message": "No se encontraron usuarios en el sistema",
+                      "statusCode": 400,
+                      "message": "El límite debe estar entre 1 y 100",
                       "data": null,
-                      "count": 0
+                      "count": null
                     }
                     """
                 )
@@ -478,32 +541,39 @@ public class UserController {
         )
     })
     @GetMapping
-    public ResponseEntity<ApiResponse<List<UserResponse>>> getAllUsers() {
-        List<User> users = userService.getAllUsers();
-        
-        if (users.isEmpty()) {
-            ApiResponse<List<UserResponse>> response = new ApiResponse<>(
-                false,
-                HttpStatus.NO_CONTENT.value(),
-                "No se encontraron usuarios en el sistema",
-                null,
-                0L
-            );
-            return ResponseEntity.status(HttpStatus.NO_CONTENT).body(response);
+    public ResponseEntity<ApiResponse<UserPage>> getAllUsers(
+            @Parameter(description = "Prefijo del email", example = "juan")
+            @RequestParam(required = false) String email,
+            @Parameter(description = "Prefijo del RUT (se ignoran puntos y guion)", example = "12345")
+            @RequestParam(required = false) String rut,
+            @Parameter(description = "Prefijo del nombre o del apellido", example = "perez")
+            @RequestParam(required = false) String name,
+            @Parameter(description = "Nombre del rol", example = "CLIENT")
+            @RequestParam(required = false) String role,
+            @Parameter(description = "Orden: id, email o lastname (por defecto id)", example = "email")
+            @RequestParam(required = false) String sort,
+            @Parameter(description = "Dirección: asc o desc (por defecto asc)", example = "asc")
+            @RequestParam(required = false) String direction,
+            @Parameter(description = "Cursor 'nextCursor' de la página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (1 a 100, por defecto 20)", example = "20")
+            @RequestParam(required = false) Integer limit) {
+        try {
+            UserPage page = userService.searchUsers(UserSearchCriteria.builder()
+                    .email(email).rut(rut).name(name).role(role)
+                    .sort(sort).direction(direction).cursor(cursor).limit(limit)
+                    .build());
+            return ResponseEntity.ok(new ApiResponse<>(
+                true,
+                HttpStatus.OK.value(),
+                "Usuarios obtenidos exitosamente",
+                page,
+                (long) page.getItems().size()
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, HttpStatus.BAD_REQUEST.value(), e.getMessage()));
         }
-        
-        List<UserResponse> userResponses = users.stream()
-                .map(userMapper::toUserResponse)
-                .toList();
-        
-        ApiResponse<List<UserResponse>> response = new ApiResponse<>(
-            true,
-            HttpStatus.OK.value(),
-            "Usuarios obtenidos exitosamente",
-            userResponses,
-            (long) userResponses.size()
-        );
-        return ResponseEntity.ok(response);
     }
 
     // 5. Update personal data
@@ -758,13 +828,126 @@ public class UserController {
         }
     }
 
+    // 6b. Upload profile photo
+    @Operation(
+        summary = "Subir foto de perfil",
+        description = "Recibe la imagen (JPEG o PNG, máximo 5 MB) como multipart/form-data en el campo 'file'. " +
+                      "El archivo se guarda en el almacenamiento local del servicio identificado por el hash de su " +
+                      "contenido (la misma imagen se guarda una sola vez) y en profilePhoto queda solo esa clave; " +
+                      "la respuesta expone la URL /api/users/photos/{clave}. Las miniaturas se generan en segundo plano"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Foto almacenada y asignada al usuario",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    value = """
+                    {
+                      "success": true,
+                      "statusCode": 200,
+                      "message": "Foto de perfil actualizada exitosamente",
+                      "data": {
+                        "userId": 1,
+                        "email": "juan@example.com",
+                        "profilePhoto": "/api/users/photos/9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08.jpg"
+                      }
+                    }
+                    """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Archivo vacío, que no es JPEG/PNG o con dimensiones no válidas"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "404",
+            description = "Usuario no encontrado"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "413",
+            description = "El archivo supera el tamaño máximo permitido"
+        )
+    })
+    @PostMapping(value = "/{id}/profile-photo", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<UserResponse>> uploadProfilePhoto(
+            @Parameter(description = "ID único del usuario", example = "1", required = true)
+            @PathVariable Long id,
+            @Parameter(description = "Imagen JPEG o PNG", required = true)
+            @RequestParam("file") MultipartFile file) {
+        try (InputStream content = file.getInputStream()) {
+            Optional<User> updatedOpt = userService.uploadProfilePhoto(id, content);
+            if (updatedOpt.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new ApiResponse<>(false, HttpStatus.NOT_FOUND.value(), USER_NOT_FOUND));
+            }
+            return ResponseEntity.ok(new ApiResponse<>(
+                true,
+                HttpStatus.OK.value(),
+                "Foto de perfil actualizada exitosamente",
+                userMapper.toUserResponse(updatedOpt.get())
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, HttpStatus.BAD_REQUEST.value(), "No se pudo leer el archivo"));
+        }
+    }
+
+    // 6c. Serve profile photo
+    @Operation(
+        summary = "Obtener foto de perfil",
+        description = "Sirve una foto almacenada por su clave, original o como miniatura cuadrada ('size'). " +
+                      "Como la clave es el hash del contenido, la respuesta se cachea por un año (immutable). " +
+                      "Si la miniatura aún se está generando se sirve el original sin caché"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Imagen"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Clave o tamaño no válidos"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Foto no encontrada")
+    })
+    @GetMapping("/photos/{key}")
+    public ResponseEntity<?> getPhoto(
+            @Parameter(description = "Clave de la foto", required = true)
+            @PathVariable String key,
+            @Parameter(description = "Lado de la miniatura en píxeles (ej: 64 o 256). Sin valor se sirve el original",
+                       example = "256")
+            @RequestParam(required = false) Integer size) {
+        try {
+            Optional<Path> file = photoStorageService.resolve(key, size);
+            if (file.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new ApiResponse<>(false, HttpStatus.NOT_FOUND.value(), "Foto no encontrada"));
+            }
+            // Miniatura aún en generación: se sirve el original sin caché para que el cliente reintente
+            boolean thumbnailPending = size != null
+                    && file.get().getFileName().toString().startsWith(PhotoStorageService.ORIGINAL);
+            CacheControl cacheControl = thumbnailPending
+                    ? CacheControl.noCache()
+                    : CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+            return ResponseEntity.ok()
+                    .cacheControl(cacheControl)
+                    .contentType(MediaType.parseMediaType(PhotoStorageService.contentType(key)))
+                    .body(new FileSystemResource(file.get()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+        }
+    }
+
     // 7. Update password
     @Operation(
         summary = "Cambiar contraseña",
         description = "Permite cambiar la contraseña del usuario. Requiere la contraseña actual para validación " +
                       "de seguridad. La nueva contraseña debe cumplir con los requisitos mínimos (8 caracteres). " +
                       "Ambas contraseñas se envían en texto plano, pero son encriptadas con BCrypt antes de " +
-                      "almacenarlas. Si la contraseña actual no coincide, se rechaza la operación"
+                      "almacenarlas. Si la contraseña actual no coincide, se rechaza la operación. " +
+                      "Al cambiarla se revocan todas las sesiones abiertas del usuario"
     )
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -898,7 +1081,7 @@ public class UserController {
         description = "Permite cambiar el email del usuario. Requiere la contraseña actual como medida de seguridad " +
                       "adicional. Valida que el nuevo email no esté en uso por otro usuario, ya que el email " +
                       "es único en el sistema. El nuevo email debe tener un formato válido según las validaciones " +
-                      "de Jakarta Validation (@Email)"
+                      "de Jakarta Validation (@Email). Al cambiarlo se revocan todas las sesiones abiertas del usuario"
     )
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -1039,4 +1222,275 @@ public class UserController {
             return ResponseEntity.badRequest().body(response);
         }
     }
-}
\ No newline at end of file
+
+    // 9. Batch exists
+    @Operation(
+        summary = "Verificar existencia de varios usuarios",
+        description = "Pensado para los demás microservicios: resuelve en una sola consulta (solo la clave " +
+                      "primaria, sin cargar la entidad, el rol ni la contraseña) si existen hasta 500 usuarios. " +
+                      "Retorna un mapa ID -> true/false en el orden solicitado"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Existencia resuelta",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    value = """
+                    {
+                      "success": true,
+                      "statusCode": 200,
+                      "message": "Existencia de usuarios verificada",
+                      "data": { "1": true, "2": true, "99": false },
+                      "count": 3
+                    }
+                    """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Lista de IDs vacía, con nulos o con más de 500 elementos"
+        )
+    })
+    @PostMapping("/batch/exists")
+    public ResponseEntity<ApiResponse<Map<Long, Boolean>>> usersExist(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                description = "IDs de usuario a verificar",
+                required = true,
+                content = @Content(
+                    mediaType = "application/json",
+                    examples = @ExampleObject(value = "{ \"ids\": [1, 2, 99] }")
+                )
+            )
+            @RequestBody UserIdsRequest request) {
+        try {
+            Map<Long, Boolean> result = userService.usersExist(request.getIds());
+            return ResponseEntity.ok(new ApiResponse<>(
+                true,
+                HttpStatus.OK.value(),
+                "Existencia de usuarios verificada",
+                result,
+                (long) result.size()
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+        }
+    }
+
+    // 10. Batch summary
+    @Operation(
+        summary = "Obtener resumen de varios usuarios",
+        description = "Retorna en una sola consulta los datos básicos (nombre, email, rol y estado) de hasta " +
+                      "500 usuarios, más la lista de IDs que no existen. No incluye contraseña, RUT ni teléfono"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Resúmenes obtenidos",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    value = """
+                    {
+                      "success": true,
+                      "statusCode": 200,
+                      "message": "Resumen de usuarios obtenido",
+                      "data": {
+                        "users": [
+                          {
+                            "userId": 1,
+                            "name": "Juan",
+                            "lastname": "Pérez",
+                            "email": "juan@example.com",
+                            "roleId": 2,
+                            "roleName": "CLIENT",
+                            "statusId": 1
+                          }
+                        ],
+                        "missing": [99]
+                      },
+                      "count": 1
+                    }
+                    """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Lista de IDs vacía, con nulos o con más de 500 elementos"
+        )
+    })
+    @PostMapping("/batch/summary")
+    public ResponseEntity<ApiResponse<UserBatchSummaryResponse>> getUserSummaries(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                description = "IDs de usuario a consultar",
+                required = true,
+                content = @Content(
+                    mediaType = "application/json",
+                    examples = @ExampleObject(value = "{ \"ids\": [1, 99] }")
+                )
+            )
+            @RequestBody UserIdsRequest request) {
+        try {
+            UserBatchSummaryResponse result = userService.getUserSummaries(request.getIds());
+            return ResponseEntity.ok(new ApiResponse<>(
+                true,
+                HttpStatus.OK.value(),
+                "Resumen de usuarios obtenido",
+                result,
+                (long) result.getUsers().size()
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+        }
+    }
+
+    // 11. Bulk import
+    @Operation(
+        summary = "Importar usuarios",
+        description = "Importa hasta 1000 usuarios desde otro sistema en una sola solicitud. Cada usuario se " +
+                      "valida con las mismas reglas que el registro; los inválidos o con email/RUT ya en uso " +
+                      "(en la base o repetidos en el lote) se informan por posición y el resto se inserta en lotes. " +
+                      "Se recomienda enviar passwordHash (BCrypt o con prefijo {id}), que se guarda tal cual y " +
+                      "se migra al algoritmo configurado en el primer login; una contraseña en claro se hashea " +
+                      "al importar, lo que limita el rendimiento de la importación"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Importación procesada (revisar 'rejected')",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    value = """
+                    {
+                      "success": true,
+                      "statusCode": 200,
+                      "message": "Importación procesada",
+                      "data": {
+                        "imported": 1,
+                        "rejected": [
+                          {
+                            "index": 1,
+                            "email": "juan@example.com",
+                            "message": "El email ya está en uso"
+                          }
+                        ]
+                      },
+                      "count": 1
+                    }
+                    """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Lote vacío o con más de 1000 usuarios"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "409",
+            description = "Registros concurrentes tomaron emails o RUTs del lote incluso tras reintentar; no se importó nada"
+        )
+    })
+    @PostMapping("/import")
+    public ResponseEntity<ApiResponse<UserImportResult>> importUsers(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                description = "Usuarios a importar",
+                required = true,
+                content = @Content(
+                    mediaType = "application/json",
+                    examples = @ExampleObject(value = """
+                        {
+                          "users": [
+                            {
+                              "rut": "12345678-5",
+                              "name": "Juan",
+                              "lastname": "Pérez",
+                              "phone": "912345678",
+                              "email": "juan@example.com",
+                              "passwordHash": "$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy",
+                              "role": "CLIENT"
+                            }
+                          ]
+                        }
+                        """)
+                )
+            )
+            @RequestBody UserImportRequest request) {
+        try {
+            UserImportResult result = userImportService.importUsers(request.getUsers());
+            return ResponseEntity.ok(new ApiResponse<>(
+                true,
+                HttpStatus.OK.value(),
+                "Importación procesada",
+                result,
+                (long) result.getImported()
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+        }
+    }
+
+    // 12. ID feed
+    @Operation(
+        summary = "Obtener IDs de usuario desde un ID",
+        description = "Retorna, en orden, los IDs de usuario mayores a afterId (hasta 10000 por página). Los " +
+                      "usuarios no se eliminan, así que otros servicios mantienen una réplica de los IDs válidos " +
+                      "pidiendo periódicamente los IDs posteriores al último recibido. Si la página viene llena " +
+                      "hay más IDs por leer. La réplica puede omitir IDs confirmados fuera de orden (un registro " +
+                      "más lento que otro posterior): un ID ausente debe confirmarse con POST /api/users/batch/exists"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "IDs obtenidos",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    value = """
+                    {
+                      "success": true,
+                      "statusCode": 200,
+                      "message": "IDs de usuario obtenidos",
+                      "data": [11, 12, 15],
+                      "count": 3
+                    }
+                    """
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "afterId negativo o límite fuera de 1 a 10000"
+        )
+    })
+    @GetMapping("/ids")
+    public ResponseEntity<ApiResponse<List<Long>>> getUserIds(
+            @Parameter(description = "Último ID recibido (por defecto 0)", example = "10")
+            @RequestParam(required = false) Long afterId,
+            @Parameter(description = "Máximo de IDs (1 a 10000, por defecto 10000)", example = "5000")
+            @RequestParam(required = false) Integer limit) {
+        try {
+            List<Long> ids = userService.getUserIdsAfter(afterId, limit);
+            return ResponseEntity.ok(new ApiResponse<>(
+                true,
+                HttpStatus.OK.value(),
+                "IDs de usuario obtenidos",
+                ids,
+                (long) ids.size()
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+        }
+    }
+}
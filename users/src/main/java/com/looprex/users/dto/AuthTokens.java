@@ -0,0 +1,29 @@
+package com.looprex.users.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Par de tokens firmados emitidos al autenticar")
+public class AuthTokens {
+
+    @Schema(description = "Token de acceso (JWT RS256) con userId y rol. Enviar como 'Authorization: Bearer <token>'",
+            example = "eyJhbGciOiJSUzI1NiIsInR5cCI6IkpXVCJ9...")
+    private String accessToken;
+
+    @Schema(description = "Token para obtener un nuevo par en /api/auth/refresh",
+            example = "eyJhbGciOiJSUzI1NiIsInR5cCI6IkpXVCJ9...")
+    private String refreshToken;
+
+    @Schema(description = "Tipo de token", example = "Bearer")
+    private String tokenType;
+
+    @Schema(description = "Segundos de vida del token de acceso", example = "900")
+    private Long expiresIn;
+}
@@ -0,0 +1,31 @@
+package com.looprex.users.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Datos del usuario autenticado junto con sus tokens")
+public class LoginResponse {
+
+    // Se aplanan para mantener la forma de la respuesta de login anterior (data.userId, data.email, ...)
+    @JsonUnwrapped
+    private UserResponse user;
+
+    @JsonUnwrapped
+    private AuthTokens tokens;
+
+    @Schema(description = "ID opaco de sesión. Enviar en 'X-Session-Id' a /api/auth/session para " +
+                          "validar la sesión sin volver a hacer login",
+            example = "q3Jd9c2y0rV5mY1b8xgk8yZ3QH0n7kXW0eVQm2t6a1s")
+    private String sessionId;
+
+    @Schema(description = "Segundos de vida de la sesión", example = "2592000")
+    private Long sessionExpiresIn;
+}
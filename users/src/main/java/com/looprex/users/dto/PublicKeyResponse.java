@@ -0,0 +1,27 @@
+package com.looprex.users.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Clave pública para verificar localmente los tokens emitidos por este servicio")
+public class PublicKeyResponse {
+
+    @Schema(description = "Identificador de la clave (header 'kid' de los tokens)", example = "q1W2e3R4t5Y6u7I8")
+    private String kid;
+
+    @Schema(description = "Algoritmo de firma", example = "RS256")
+    private String algorithm;
+
+    @Schema(description = "Emisor esperado (claim 'iss')", example = "looprex-users")
+    private String issuer;
+
+    @Schema(description = "Clave pública RSA codificada en X.509 (Base64)")
+    private String publicKey;
+}
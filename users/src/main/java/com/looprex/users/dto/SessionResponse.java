@@ -0,0 +1,27 @@
+package com.looprex.users.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Sesión vigente")
+public class SessionResponse {
+
+    @Schema(description = "ID del usuario dueño de la sesión", example = "1")
+    private Long userId;
+
+    @Schema(description = "ID del rol al momento del login", example = "2")
+    private Long roleId;
+
+    @Schema(description = "Nombre del rol al momento del login", example = "CLIENT")
+    private String role;
+
+    @Schema(description = "Expiración de la sesión (epoch en milisegundos)", example = "1767225600000")
+    private Long expiresAt;
+}
@@ -0,0 +1,23 @@
+package com.looprex.users.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Resultado de una consulta de resúmenes por lote")
+public class UserBatchSummaryResponse {
+
+    @Schema(description = "Usuarios encontrados, en el orden de los IDs solicitados")
+    private List<UserSummary> users;
+
+    @Schema(description = "IDs solicitados que no existen", example = "[99]")
+    private List<Long> missing;
+}
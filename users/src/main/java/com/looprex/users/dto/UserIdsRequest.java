@@ -0,0 +1,18 @@
+package com.looprex.users.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Lista de IDs de usuario para consultas por lote")
+public class UserIdsRequest {
+
+    @Schema(description = "IDs de usuario (máximo 500, los repetidos se consultan una vez)", example = "[1, 2, 3]")
+    private List<Long> ids;
+}
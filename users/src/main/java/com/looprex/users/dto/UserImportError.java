@@ -0,0 +1,24 @@
+package com.looprex.users.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Usuario rechazado en una importación")
+public class UserImportError {
+
+    @Schema(description = "Posición del usuario en el lote enviado", example = "3")
+    private Integer index;
+
+    @Schema(description = "Email del usuario rechazado", example = "juan@example.com")
+    private String email;
+
+    @Schema(description = "Motivo del rechazo", example = "El email ya está en uso")
+    private String message;
+}
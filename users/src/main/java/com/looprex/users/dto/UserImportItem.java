@@ -0,0 +1,45 @@
+package com.looprex.users.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Usuario a importar desde otro sistema")
+public class UserImportItem {
+
+    @Schema(description = "RUT del usuario", example = "12345678-9")
+    private String rut;
+
+    @Schema(description = "Nombre del usuario", example = "Juan")
+    private String name;
+
+    @Schema(description = "Apellido del usuario", example = "Pérez")
+    private String lastname;
+
+    @Schema(description = "Teléfono (9 dígitos comenzando con 9)", example = "912345678")
+    private String phone;
+
+    @Schema(description = "Email del usuario", example = "juan@example.com")
+    private String email;
+
+    @Schema(description = "Contraseña en texto plano. Se hashea al importar (lento): preferir passwordHash",
+            example = "Pass123!")
+    private String password;
+
+    @Schema(description = "Hash existente (BCrypt, con o sin prefijo {id}). Se guarda tal cual y se " +
+                          "migra al algoritmo configurado en el primer login",
+            example = "$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy")
+    private String passwordHash;
+
+    @Schema(description = "Nombre del rol (por defecto CLIENT)", example = "CLIENT")
+    private String role;
+
+    @Schema(description = "ID del estado (por defecto 1)", example = "1")
+    private Long statusId;
+}
@@ -0,0 +1,18 @@
+package com.looprex.users.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Lote de usuarios a importar")
+public class UserImportRequest {
+
+    @Schema(description = "Usuarios a importar (máximo 1000 por solicitud)")
+    private List<UserImportItem> users;
+}
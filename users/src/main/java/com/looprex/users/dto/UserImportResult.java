@@ -0,0 +1,23 @@
+package com.looprex.users.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Resultado de una importación de usuarios")
+public class UserImportResult {
+
+    @Schema(description = "Usuarios insertados", example = "998")
+    private Integer imported;
+
+    @Schema(description = "Usuarios rechazados con su motivo; los demás del lote se importan igual")
+    private List<UserImportError> rejected;
+}
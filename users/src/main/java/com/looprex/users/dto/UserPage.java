@@ -0,0 +1,27 @@
+package com.looprex.users.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Página de usuarios con cursor para pedir la siguiente")
+public class UserPage {
+
+    @Schema(description = "Usuarios de la página")
+    private List<UserSummary> items;
+
+    @Schema(description = "Cursor a enviar en 'cursor' para obtener la siguiente página (null si no hay más)",
+            example = "ZW1haWx8MjB8anVhbkBleGFtcGxlLmNvbQ")
+    private String nextCursor;
+
+    @Schema(description = "Indica si hay más resultados", example = "true")
+    private boolean hasMore;
+}
@@ -0,0 +1,33 @@
+package com.looprex.users.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Filtros, orden y cursor del listado paginado de usuarios. Todos los campos son opcionales
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserSearchCriteria {
+
+    // Prefijos (sin distinguir tildes ni mayúsculas)
+    private String email;
+    private String rut;
+    private String name;
+
+    // Nombre exacto del rol (ADMIN, CLIENT)
+    private String role;
+
+    // id | email | lastname
+    private String sort;
+
+    // asc | desc
+    private String direction;
+
+    private String cursor;
+    private Integer limit;
+}
@@ -0,0 +1,36 @@
+package com.looprex.users.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Resumen de un usuario para otros servicios (sin contraseña, RUT ni teléfono)")
+public class UserSummary {
+
+    @Schema(description = "ID del usuario", example = "1")
+    private Long userId;
+
+    @Schema(description = "Nombre del usuario", example = "Juan")
+    private String name;
+
+    @Schema(description = "Apellido del usuario", example = "Pérez")
+    private String lastname;
+
+    @Schema(description = "Email del usuario", example = "juan@example.com")
+    private String email;
+
+    @Schema(description = "ID del rol", example = "2")
+    private Long roleId;
+
+    @Schema(description = "Nombre del rol", example = "CLIENT")
+    private String roleName;
+
+    @Schema(description = "ID del estado", example = "1")
+    private Long statusId;
+}
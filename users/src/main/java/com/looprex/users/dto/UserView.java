@@ -0,0 +1,26 @@
+package com.looprex.users.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Proyección de lectura de un usuario: solo las columnas que expone UserResponse.
+ * No incluye la contraseña ni las columnas de búsqueda, y del rol trae solo el ID
+ * (la clave foránea de users), así la consulta no necesita unir la tabla de roles
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserView {
+
+    private Long userId;
+    private String rut;
+    private String name;
+    private String lastname;
+    private String phone;
+    private String email;
+    private String profilePhoto;
+    private Long roleId;
+    private Long statusId;
+}
@@ -0,0 +1,11 @@
+package com.looprex.users.exception;
+
+/**
+ * La operación choca con datos escritos concurrentemente y no se pudo resolver (se responde 409)
+ */
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.looprex.users.exception;
+
+/**
+ * El servicio no puede aceptar más trabajo en este momento (se responde 503)
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
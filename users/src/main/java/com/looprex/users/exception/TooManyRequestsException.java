@@ -0,0 +1,18 @@
+package com.looprex.users.exception;
+
+/**
+ * El cliente superó el límite de intentos y debe esperar (se responde 429 con Retry-After)
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
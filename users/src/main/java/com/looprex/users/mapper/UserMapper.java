@@ -2,7 +2,11 @@ package com.looprex.users.mapper;
 
 import com.looprex.users.dto.RoleResponse;
 import com.looprex.users.dto.UserResponse;
+import com.looprex.users.dto.UserSummary;
+import com.looprex.users.dto.UserView;
+import com.looprex.users.model.Role;
 import com.looprex.users.model.User;
+import com.looprex.users.service.PhotoStorageService;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -25,9 +29,53 @@ public class UserMapper {
                 .lastname(user.getLastname())
                 .phone(user.getPhone())
                 .email(user.getEmail())
-                .profilePhoto(user.getProfilePhoto())
+                .profilePhoto(photoUrl(user.getProfilePhoto()))
                 .role(roleResponse) 
                 .statusId(user.getStatusId())
                 .build();
     }
+
+    // Convierte la proyección UserView → UserResponse. El rol viene del caché de roles
+    public UserResponse toUserResponse(UserView view, Role role) {
+        RoleResponse roleResponse = null;
+        if (role != null) {
+            roleResponse = RoleResponse.builder()
+                    .roleId(role.getRoleId())
+                    .name(role.getName())
+                    .build();
+        }
+
+        return UserResponse.builder()
+                .userId(view.getUserId())
+                .rut(view.getRut())
+                .name(view.getName())
+                .lastname(view.getLastname())
+                .phone(view.getPhone())
+                .email(view.getEmail())
+                .profilePhoto(photoUrl(view.getProfilePhoto()))
+                .role(roleResponse)
+                .statusId(view.getStatusId())
+                .build();
+    }
+
+    // Convierte User entity → UserSummary (listados y consultas por lote)
+    public UserSummary toUserSummary(User user) {
+        return UserSummary.builder()
+                .userId(user.getUserId())
+                .name(user.getName())
+                .lastname(user.getLastname())
+                .email(user.getEmail())
+                .roleId(user.getRole() != null ? user.getRole().getRoleId() : null)
+                .roleName(user.getRole() != null ? user.getRole().getName() : null)
+                .statusId(user.getStatusId())
+                .build();
+    }
+
+    // Fotos subidas al servicio: se guarda solo la clave y se expone la URL que la sirve.
+    // Las URLs externas anteriores se retornan tal cual
+    private static String photoUrl(String profilePhoto) {
+        return PhotoStorageService.isStoredKey(profilePhoto)
+                ? "/api/users/photos/" + profilePhoto
+                : profilePhoto;
+    }
 }
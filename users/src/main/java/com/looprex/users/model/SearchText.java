@@ -0,0 +1,37 @@
+package com.looprex.users.model;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalización de texto para las columnas de búsqueda de usuarios: sin tildes, en minúsculas
+ * y con espacios colapsados, así "Núñez", "nunez" y "NUÑEZ " comparten el mismo prefijo.
+ */
+public final class SearchText {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+    private static final Pattern NON_RUT = Pattern.compile("[^0-9K]");
+
+    private SearchText() {
+    }
+
+    public static String fold(String value) {
+        if (value == null) {
+            return null;
+        }
+        String withoutMarks = MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return SPACES.matcher(withoutMarks.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * RUT solo con dígitos y K: "12.345.678-k" → "12345678K"
+     */
+    public static String rut(String value) {
+        if (value == null) {
+            return null;
+        }
+        return NON_RUT.matcher(value.toUpperCase(Locale.ROOT)).replaceAll("");
+    }
+}
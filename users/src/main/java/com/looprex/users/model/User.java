@@ -1,20 +1,37 @@
 package com.looprex.users.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.Objects;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+    @UniqueConstraint(name = User.UK_EMAIL, columnNames = "email"),
+    @UniqueConstraint(name = User.UK_RUT, columnNames = "rutKey")
+}, indexes = {
+    @Index(name = "idx_users_email_key", columnList = "emailKey, userId"),
+    @Index(name = "idx_users_rut_key", columnList = "rutKey"),
+    @Index(name = "idx_users_name_key", columnList = "nameKey"),
+    @Index(name = "idx_users_lastname_key", columnList = "lastnameKey, userId")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Schema(description = "Entidad que representa un usuario del sistema")
 public class User {
 
+    // Los nombres se usan para traducir la violación de unicidad al mensaje de negocio
+    public static final String UK_EMAIL = "uk_users_email";
+    public static final String UK_RUT = "uk_users_rut";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "userId")
@@ -48,7 +65,7 @@ public class User {
     @NotBlank(message = "El email es obligatorio")
     @Email(message = "El email debe tener un formato válido")
     @Size(max = 100, message = "El email no puede exceder 100 caracteres")
-    @Column(name = "email", nullable = false, unique = true, length = 100)
+    @Column(name = "email", nullable = false, length = 100)
     @Schema(description = "Email del usuario (debe ser único)", example = "juan@example.com")
     private String email;
 
@@ -63,8 +80,9 @@ public class User {
     @Schema(description = "URL o ruta de la foto de perfil del usuario", example = "https://example.com/photo.jpg")
     private String profilePhoto;
 
+    // LAZY: las lecturas resuelven el nombre del rol con RoleCache usando solo la clave foránea
     @NotNull(message = "El rol es obligatorio")
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "roleId", nullable = false)
     @Schema(description = "Rol asignado al usuario")
     private Role role;
@@ -74,4 +92,71 @@ public class User {
     @Column(name = "statusId", nullable = false)
     @Schema(description = "ID del estado del usuario", example = "1")
     private Long statusId;
+
+    // Columnas normalizadas (ver SearchText) para búsqueda por prefijo y paginación por keyset
+    @JsonIgnore
+    @Column(name = "emailKey", length = 100)
+    @Schema(hidden = true)
+    private String emailKey;
+
+    @JsonIgnore
+    @Column(name = "rutKey", length = 12)
+    @Schema(hidden = true)
+    private String rutKey;
+
+    @JsonIgnore
+    @Column(name = "nameKey", length = 100)
+    @Schema(hidden = true)
+    private String nameKey;
+
+    @JsonIgnore
+    @Column(name = "lastnameKey", length = 100)
+    @Schema(hidden = true)
+    private String lastnameKey;
+
+    // Aumenta al cambiar contraseña o email; los refresh tokens emitidos con una versión anterior dejan de servir
+    @JsonIgnore
+    @Column(name = "credentialVersion")
+    @Schema(hidden = true)
+    private Long credentialVersion;
+
+    // RUT con el que se leyó la fila; ver refreshSearchKeys
+    @Transient
+    @JsonIgnore
+    @Schema(hidden = true)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private String loadedRut;
+
+    @PostLoad
+    void rememberLoadedRut() {
+        this.loadedRut = rut;
+    }
+
+    /**
+     * Versión de credenciales vigente; las filas anteriores a la columna no la tienen y equivalen a 0
+     */
+    public long currentCredentialVersion() {
+        return credentialVersion == null ? 0 : credentialVersion;
+    }
+
+    public void bumpCredentialVersion() {
+        this.credentialVersion = currentCredentialVersion() + 1;
+    }
+
+    /**
+     * Una fila ya guardada sin rutKey es un RUT duplicado anterior a la restricción única
+     * (ver DataSeeder): la conserva sin clave mientras el RUT no cambie, para que editar otros
+     * datos de ese usuario no choque con uk_users_rut
+     */
+    @PrePersist
+    @PreUpdate
+    public void refreshSearchKeys() {
+        this.emailKey = SearchText.fold(email);
+        if (userId == null || rutKey != null || !Objects.equals(rut, loadedRut)) {
+            this.rutKey = SearchText.rut(rut);
+        }
+        this.nameKey = SearchText.fold(name);
+        this.lastnameKey = SearchText.fold(lastname);
+    }
 }
\ No newline at end of file
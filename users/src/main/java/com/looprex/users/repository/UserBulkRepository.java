@@ -0,0 +1,60 @@
+package com.looprex.users.repository;
+
+import com.looprex.users.model.User;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Inserción masiva de usuarios con JDBC en lotes. Con IDENTITY Hibernate no agrupa los INSERT,
+ * así que importaciones y datos de carga escriben directo por aquí (con rewriteBatchedStatements
+ * el driver de MySQL envía cada lote como un solo INSERT multi-fila).
+ * Los usuarios deben venir validados, con la contraseña ya hasheada y el rol asignado
+ */
+@Repository
+public class UserBulkRepository {
+
+    private static final String INSERT = "INSERT INTO users (rut, name, lastname, phone, email, password, " +
+            "profile_photo, role_id, status_id, email_key, rut_key, name_key, lastname_key) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserBulkRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserta todos los usuarios en una transacción, en lotes de 'batchSize'. Retorna cuántos se insertaron
+     */
+    @Transactional
+    public int insertAll(List<User> users, int batchSize) {
+        users.forEach(User::refreshSearchKeys);
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT, users, Math.max(1, batchSize), (ps, user) -> {
+            ps.setString(1, user.getRut());
+            ps.setString(2, user.getName());
+            ps.setString(3, user.getLastname());
+            ps.setString(4, user.getPhone());
+            ps.setString(5, user.getEmail());
+            ps.setString(6, user.getPassword());
+            ps.setString(7, user.getProfilePhoto());
+            ps.setLong(8, user.getRole().getRoleId());
+            ps.setLong(9, user.getStatusId());
+            ps.setString(10, user.getEmailKey());
+            ps.setString(11, user.getRutKey());
+            ps.setString(12, user.getNameKey());
+            ps.setString(13, user.getLastnameKey());
+        });
+        // Con lotes reescritos el driver informa SUCCESS_NO_INFO (-2): se cuenta la fila como insertada
+        int inserted = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                inserted += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+            }
+        }
+        return inserted;
+    }
+}
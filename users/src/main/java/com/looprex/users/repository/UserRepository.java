@@ -1,15 +1,24 @@
 package com.looprex.users.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.looprex.users.dto.UserSummary;
+import com.looprex.users.dto.UserView;
 import com.looprex.users.model.User;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
 
     Optional<User> findByEmail(String email);
 
@@ -21,4 +30,47 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     List<User> findByRole_RoleId(Long roleId);
 
+    // Re-hash del login: transacción propia de un UPDATE, condicionado al hash que se verificó
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.userId = :userId AND u.password = :currentHash")
+    int updatePasswordIfUnchanged(@Param("userId") Long userId,
+                                  @Param("currentHash") String currentHash,
+                                  @Param("newHash") String newHash);
+
+    // Subida de foto: la copia del archivo ocurre fuera de la transacción, que solo cubre este UPDATE
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.profilePhoto = :photo WHERE u.userId = :userId")
+    int updateProfilePhotoById(@Param("userId") Long userId, @Param("photo") String photo);
+
+    // Filas anteriores a las columnas de búsqueda normalizadas, para completarlas al iniciar
+    List<User> findTop500ByEmailKeyIsNull();
+
+    // Claves ya registradas, para rechazar duplicados de una importación antes de insertar
+    @Query("SELECT u.emailKey FROM User u WHERE u.emailKey IN :keys")
+    List<String> findExistingEmailKeys(@Param("keys") Collection<String> keys);
+
+    @Query("SELECT u.rutKey FROM User u WHERE u.rutKey IN :keys")
+    List<String> findExistingRutKeys(@Param("keys") Collection<String> keys);
+
+    long countByEmailKeyEndingWith(String suffix);
+
+    // Solo la clave primaria: se resuelve con el índice, sin cargar la entidad ni el rol
+    @Query("SELECT u.userId FROM User u WHERE u.userId IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Feed de IDs para las réplicas de otros servicios: recorre la clave primaria en orden, sin cargar filas
+    @Query("SELECT u.userId FROM User u WHERE u.userId > :afterId ORDER BY u.userId")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT new com.looprex.users.dto.UserSummary(u.userId, u.name, u.lastname, u.email, " +
+           "r.roleId, r.name, u.statusId) FROM User u JOIN u.role r WHERE u.userId IN :ids")
+    List<UserSummary> findSummariesByUserIdIn(@Param("ids") Collection<Long> ids);
+
+    // u.role.roleId se resuelve con la clave foránea de users: sin JOIN a roles ni la contraseña
+    @Query("SELECT new com.looprex.users.dto.UserView(u.userId, u.rut, u.name, u.lastname, u.phone, " +
+           "u.email, u.profilePhoto, u.role.roleId, u.statusId) FROM User u WHERE u.userId = :id")
+    Optional<UserView> findViewById(@Param("id") Long id);
+
 }
@@ -0,0 +1,95 @@
+package com.looprex.users.repository;
+
+import com.looprex.users.model.Role;
+import com.looprex.users.model.User;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Predicados del listado de usuarios. Todas las comparaciones son sobre las columnas
+ * normalizadas e indexadas (emailKey, rutKey, nameKey, lastnameKey)
+ */
+public final class UserSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private UserSpecifications() {
+    }
+
+    /**
+     * Carga el rol en la misma consulta (evita un SELECT por rol al mapear los resúmenes)
+     */
+    public static Specification<User> fetchRole() {
+        return (root, query, cb) -> {
+            if (query != null && query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("role", JoinType.INNER);
+            }
+            return null;
+        };
+    }
+
+    public static Specification<User> keyStartsWith(String attribute, String prefix) {
+        return (root, query, cb) -> prefix == null || prefix.isEmpty()
+                ? null
+                : cb.like(root.get(attribute), escapeLike(prefix) + "%", LIKE_ESCAPE);
+    }
+
+    public static Specification<User> nameStartsWith(String prefix) {
+        return (root, query, cb) -> {
+            if (prefix == null || prefix.isEmpty()) {
+                return null;
+            }
+            String pattern = escapeLike(prefix) + "%";
+            return cb.or(cb.like(root.get("nameKey"), pattern, LIKE_ESCAPE),
+                         cb.like(root.get("lastnameKey"), pattern, LIKE_ESCAPE));
+        };
+    }
+
+    public static Specification<User> hasRole(String roleName) {
+        return (root, query, cb) -> {
+            if (roleName == null || roleName.isBlank()) {
+                return null;
+            }
+            Join<User, Role> role = findOrJoinRole(root);
+            return cb.equal(cb.upper(role.get("name")), roleName.trim().toUpperCase());
+        };
+    }
+
+    /**
+     * Condición de keyset: filas posteriores a (value, userId) en el orden indicado.
+     * Con column == "userId" basta comparar el ID
+     */
+    public static Specification<User> after(String column, boolean descending, String value, Long userId) {
+        return (root, query, cb) -> {
+            if (userId == null) {
+                return null;
+            }
+            Expression<Long> id = root.get("userId");
+            Predicate idAfter = descending ? cb.lessThan(id, userId) : cb.greaterThan(id, userId);
+            if ("userId".equals(column)) {
+                return idAfter;
+            }
+            Expression<String> key = root.get(column);
+            Predicate keyAfter = descending ? cb.lessThan(key, value) : cb.greaterThan(key, value);
+            return cb.or(keyAfter, cb.and(cb.equal(key, value), idAfter));
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Join<User, Role> findOrJoinRole(From<?, User> root) {
+        // Reutiliza el fetch de fetchRole() si existe, para no unir la tabla dos veces
+        return root.getFetches().stream()
+                .filter(fetch -> "role".equals(fetch.getAttribute().getName()))
+                .map(fetch -> (Join<User, Role>) fetch)
+                .findFirst()
+                .orElseGet(() -> root.join("role"));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
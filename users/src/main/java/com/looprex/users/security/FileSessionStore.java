@@ -0,0 +1,66 @@
+package com.looprex.users.security;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * Sesiones en memoria que sobreviven a un reinicio ordenado: al detenerse se escriben en
+ * 'file' y al iniciar se vuelven a cargar. El archivo se borra apenas se lee, así una caída
+ * del proceso pierde las sesiones (los clientes vuelven a hacer login) pero nunca revive
+ * sesiones revocadas después de la última escritura
+ */
+public class FileSessionStore extends InMemorySessionStore implements DisposableBean {
+
+    private static final TypeReference<List<Session>> SESSIONS = new TypeReference<>() {};
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    public FileSessionStore(int maxSize, Path file, ObjectMapper objectMapper) {
+        super(maxSize);
+        this.file = file;
+        this.objectMapper = objectMapper;
+        load();
+    }
+
+    private void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            saveAll(objectMapper.readValue(file.toFile(), SESSIONS));
+        } catch (IOException e) {
+            // Un archivo dañado no impide arrancar: solo se pierden las sesiones
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo eliminar el archivo de sesiones " + file, e);
+        }
+    }
+
+    void flush() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, "sessions", ".tmp");
+        try {
+            objectMapper.writeValue(temp.toFile(), snapshot());
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        flush();
+    }
+}
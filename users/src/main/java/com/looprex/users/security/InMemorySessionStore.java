@@ -0,0 +1,105 @@
+package com.looprex.users.security;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Sesiones en memoria con tamaño máximo. Al llenarse se descartan primero las expiradas y,
+ * si no alcanza, las menos usadas recientemente. Un índice por usuario permite revocar
+ * todas sus sesiones sin recorrer el mapa completo
+ */
+public class InMemorySessionStore implements SessionStore {
+
+    private final int maxSize;
+    private final LinkedHashMap<String, Session> sessions;
+    private final Map<Long, Set<String>> byUser = new HashMap<>();
+
+    public InMemorySessionStore(int maxSize) {
+        this.maxSize = Math.max(1, maxSize);
+        this.sessions = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    @Override
+    public synchronized void save(Session session) {
+        if (!sessions.containsKey(session.key()) && sessions.size() >= maxSize) {
+            evict(System.currentTimeMillis());
+        }
+        Session previous = sessions.put(session.key(), session);
+        if (previous != null) {
+            unindex(previous);
+        }
+        byUser.computeIfAbsent(session.userId(), id -> new HashSet<>()).add(session.key());
+    }
+
+    @Override
+    public synchronized Optional<Session> find(String key) {
+        return Optional.ofNullable(sessions.get(key));
+    }
+
+    @Override
+    public synchronized void remove(String key) {
+        Session removed = sessions.remove(key);
+        if (removed != null) {
+            unindex(removed);
+        }
+    }
+
+    @Override
+    public synchronized int removeByUser(Long userId) {
+        Set<String> keys = byUser.remove(userId);
+        if (keys == null) {
+            return 0;
+        }
+        keys.forEach(sessions::remove);
+        return keys.size();
+    }
+
+    @Override
+    public synchronized int size() {
+        return sessions.size();
+    }
+
+    synchronized List<Session> snapshot() {
+        return new ArrayList<>(sessions.values());
+    }
+
+    synchronized void saveAll(Collection<Session> loaded) {
+        long now = System.currentTimeMillis();
+        loaded.stream().filter(session -> !session.isExpired(now)).forEach(this::save);
+    }
+
+    private void evict(long now) {
+        sessions.values().removeIf(session -> {
+            if (session.isExpired(now)) {
+                unindex(session);
+                return true;
+            }
+            return false;
+        });
+        // El orden de acceso deja primero la sesión menos usada
+        Iterator<Session> iterator = sessions.values().iterator();
+        while (sessions.size() >= maxSize && iterator.hasNext()) {
+            Session eldest = iterator.next();
+            iterator.remove();
+            unindex(eldest);
+        }
+    }
+
+    private void unindex(Session session) {
+        Set<String> keys = byUser.get(session.userId());
+        if (keys != null) {
+            keys.remove(session.key());
+            if (keys.isEmpty()) {
+                byUser.remove(session.userId());
+            }
+        }
+    }
+}
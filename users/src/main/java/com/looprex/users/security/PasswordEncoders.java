@@ -0,0 +1,120 @@
+package com.looprex.users.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Construcción de los encoders de contraseñas soportados. La usa SecurityConfig y también
+ * el benchmark de JMH, así lo que se mide es exactamente lo que corre en producción.
+ */
+public final class PasswordEncoders {
+
+    public static final String BCRYPT = "bcrypt";
+    public static final String PBKDF2 = "pbkdf2";
+
+    private static final int PBKDF2_SALT_LENGTH = 16;
+
+    private PasswordEncoders() {
+    }
+
+    /**
+     * Encoder delegante: los hashes nuevos se generan con 'algorithm' y prefijo {id}.
+     * Los hashes antiguos sin prefijo ($2a$...) se verifican como BCrypt, y
+     * upgradeEncoding() los marca como desactualizados para re-hashearlos en el próximo login
+     */
+    public static DelegatingPasswordEncoder delegating(String algorithm, int bcryptStrength, int pbkdf2Iterations) {
+        BCryptPasswordEncoder bcrypt = bcrypt(bcryptStrength);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, bcrypt);
+        encoders.put(PBKDF2, pbkdf2(pbkdf2Iterations));
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalStateException("Algoritmo de contraseñas no soportado: " + algorithm);
+        }
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(algorithm, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegating;
+    }
+
+    public static BCryptPasswordEncoder bcrypt(int strength) {
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    /**
+     * PBKDF2 con las iteraciones guardadas en el hash ("iteraciones$hash"): Pbkdf2PasswordEncoder no las
+     * guarda, así que sin esto subir pbkdf2-iterations dejaría de verificar los hashes existentes y
+     * upgradeEncoding() nunca los marcaría para re-hashear
+     */
+    public static PasswordEncoder pbkdf2(int iterations) {
+        return new IterationAwarePbkdf2(iterations);
+    }
+
+    private static Pbkdf2PasswordEncoder pbkdf2Encoder(int iterations) {
+        return new Pbkdf2PasswordEncoder("", PBKDF2_SALT_LENGTH, iterations,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+    }
+
+    private static final class IterationAwarePbkdf2 implements PasswordEncoder {
+
+        private static final char SEPARATOR = '$';
+
+        private final int iterations;
+        private final Map<Integer, Pbkdf2PasswordEncoder> encoders = new ConcurrentHashMap<>();
+
+        private IterationAwarePbkdf2(int iterations) {
+            this.iterations = iterations;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return iterations + String.valueOf(SEPARATOR) + encoder(iterations).encode(rawPassword);
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            if (encodedPassword == null) {
+                return false;
+            }
+            int separator = encodedPassword.indexOf(SEPARATOR);
+            // Hashes anteriores sin iteraciones: se generaron con el valor configurado en ese momento
+            if (separator < 0) {
+                return encoder(iterations).matches(rawPassword, encodedPassword);
+            }
+            Integer stored = storedIterations(encodedPassword, separator);
+            return stored != null && encoder(stored).matches(rawPassword, encodedPassword.substring(separator + 1));
+        }
+
+        // Igual que BCrypt: solo un costo menor al configurado requiere re-hashear
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            if (encodedPassword == null) {
+                return false;
+            }
+            int separator = encodedPassword.indexOf(SEPARATOR);
+            if (separator < 0) {
+                return true;
+            }
+            Integer stored = storedIterations(encodedPassword, separator);
+            return stored != null && stored < iterations;
+        }
+
+        private Pbkdf2PasswordEncoder encoder(int iterationCount) {
+            return encoders.computeIfAbsent(iterationCount, PasswordEncoders::pbkdf2Encoder);
+        }
+
+        private static Integer storedIterations(String encodedPassword, int separator) {
+            try {
+                int stored = Integer.parseInt(encodedPassword.substring(0, separator));
+                return stored > 0 ? stored : null;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
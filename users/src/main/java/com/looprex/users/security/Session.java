@@ -0,0 +1,12 @@
+package com.looprex.users.security;
+
+/**
+ * Sesión activa. 'key' es el SHA-256 del ID opaco entregado al cliente:
+ * el ID en claro nunca se guarda, ni en memoria ni en disco
+ */
+public record Session(String key, Long userId, Long roleId, String roleName, long createdAt, long expiresAt) {
+
+    public boolean isExpired(long now) {
+        return expiresAt <= now;
+    }
+}
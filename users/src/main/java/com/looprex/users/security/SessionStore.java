@@ -0,0 +1,23 @@
+package com.looprex.users.security;
+
+import java.util.Optional;
+
+/**
+ * Almacenamiento de sesiones. La implementación se elige con 'security.session.store'
+ * (memory o file, ver SecurityConfig)
+ */
+public interface SessionStore {
+
+    void save(Session session);
+
+    Optional<Session> find(String key);
+
+    void remove(String key);
+
+    /**
+     * Elimina todas las sesiones del usuario. Retorna cuántas se revocaron
+     */
+    int removeByUser(Long userId);
+
+    int size();
+}
@@ -0,0 +1,123 @@
+package com.looprex.users.service;
+
+import com.looprex.users.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Limita los intentos de login fallidos por email y por IP con backoff exponencial.
+ * Tras 'freeAttempts' fallos, cada fallo adicional duplica la espera (hasta 'maxBackoff').
+ * El chequeo ocurre antes de calcular BCrypt, así los intentos bloqueados no consumen CPU.
+ */
+@Service
+public class LoginThrottleService {
+
+    private static final int MAX_TRACKED_KEYS = 100_000;
+
+    private final int freeAttempts;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+    private final Map<String, Attempts> attempts = new ConcurrentHashMap<>();
+    private final Counter throttled;
+
+    public LoginThrottleService(@Value("${security.login.free-attempts:3}") int freeAttempts,
+                                @Value("${security.login.base-backoff-ms:1000}") long baseBackoffMillis,
+                                @Value("${security.login.max-backoff-ms:900000}") long maxBackoffMillis,
+                                MeterRegistry meterRegistry) {
+        this.freeAttempts = freeAttempts;
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.throttled = Counter.builder("users.login.throttled")
+                .description("Intentos de login rechazados por backoff")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @throws TooManyRequestsException si el email o la IP están en periodo de espera
+     */
+    public void checkAllowed(String email, String ip) {
+        long now = System.currentTimeMillis();
+        long waitMillis = Math.max(remaining(emailKey(email), now), remaining(ipKey(ip), now));
+        if (waitMillis > 0) {
+            throttled.increment();
+            long seconds = Math.max(1, (waitMillis + 999) / 1000);
+            throw new TooManyRequestsException(
+                    "Demasiados intentos fallidos. Intente nuevamente en " + seconds + " segundo(s)", seconds);
+        }
+    }
+
+    public void recordFailure(String email, String ip) {
+        long now = System.currentTimeMillis();
+        if (attempts.size() >= MAX_TRACKED_KEYS) {
+            evictExpired(now);
+        }
+        fail(emailKey(email), now);
+        fail(ipKey(ip), now);
+    }
+
+    /**
+     * Un login exitoso limpia el contador del email. El de la IP se mantiene
+     * para no premiar a quien prueba muchas cuentas desde la misma dirección
+     */
+    public void recordSuccess(String email) {
+        attempts.remove(emailKey(email));
+    }
+
+    private void fail(String key, long now) {
+        if (key == null) {
+            return;
+        }
+        attempts.compute(key, (k, current) -> {
+            int failures = (current == null || current.isStale(now, maxBackoffMillis)) ? 1 : current.failures + 1;
+            long blockedUntil = now + backoff(failures);
+            return new Attempts(failures, blockedUntil);
+        });
+    }
+
+    long backoff(int failures) {
+        int excess = failures - freeAttempts;
+        if (excess <= 0) {
+            return 0;
+        }
+        // 2^(excess-1) * base, sin desbordar
+        long multiplier = excess > 30 ? Long.MAX_VALUE : 1L << (excess - 1);
+        if (multiplier > maxBackoffMillis / Math.max(1, baseBackoffMillis)) {
+            return maxBackoffMillis;
+        }
+        return Math.min(maxBackoffMillis, multiplier * baseBackoffMillis);
+    }
+
+    private long remaining(String key, long now) {
+        if (key == null) {
+            return 0;
+        }
+        Attempts current = attempts.get(key);
+        return current == null ? 0 : current.blockedUntil - now;
+    }
+
+    private void evictExpired(long now) {
+        attempts.entrySet().removeIf(entry -> entry.getValue().isStale(now, maxBackoffMillis));
+    }
+
+    private static String emailKey(String email) {
+        return email == null ? null : "email:" + email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String ipKey(String ip) {
+        return ip == null ? null : "ip:" + ip;
+    }
+
+    private record Attempts(int failures, long blockedUntil) {
+
+        // Sin fallos durante el backoff máximo, el contador vuelve a cero
+        boolean isStale(long now, long window) {
+            return now - blockedUntil > window;
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package com.looprex.users.service;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Almacenamiento local de fotos de perfil direccionado por contenido.
+ * La clave es el SHA-256 del archivo más su extensión, así la misma imagen subida dos veces
+ * se guarda una sola vez y cada URL es inmutable (se puede cachear indefinidamente).
+ * Estructura: {storage-dir}/{hash}/original.{ext} y {storage-dir}/{hash}/{tamaño}.{ext}.
+ * Las miniaturas se generan en un pool acotado; mientras no existan se sirve el original.
+ */
+@Service
+public class PhotoStorageService implements DisposableBean {
+
+    public static final String ORIGINAL = "original";
+
+    private static final Pattern KEY = Pattern.compile("^[0-9a-f]{64}\\.(jpg|png)$");
+    private static final long MAX_PIXELS = 40_000_000L;
+
+    private final Path root;
+    private final long maxBytes;
+    private final List<Integer> thumbnailSizes;
+    private final ThreadPoolExecutor thumbnailExecutor;
+
+    public PhotoStorageService(@Value("${users.photos.storage-dir:./data/photos}") String storageDir,
+                               @Value("${users.photos.max-bytes:5242880}") long maxBytes,
+                               @Value("${users.photos.thumbnail-sizes:64,256}") List<Integer> thumbnailSizes,
+                               @Value("${users.photos.thumbnail-threads:2}") int threads,
+                               @Value("${users.photos.thumbnail-queue-capacity:100}") int queueCapacity) {
+        this.root = Path.of(storageDir).toAbsolutePath().normalize();
+        this.maxBytes = maxBytes;
+        this.thumbnailSizes = List.copyOf(thumbnailSizes);
+        AtomicInteger counter = new AtomicInteger();
+        this.thumbnailExecutor = new ThreadPoolExecutor(Math.max(1, threads), Math.max(1, threads),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "photo-thumbnail-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        try {
+            Files.createDirectories(root);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo crear el directorio de fotos " + root, e);
+        }
+    }
+
+    public static boolean isStoredKey(String value) {
+        return value != null && KEY.matcher(value).matches();
+    }
+
+    public List<Integer> getThumbnailSizes() {
+        return thumbnailSizes;
+    }
+
+    /**
+     * Copia el stream a disco calculando el hash al vuelo (sin cargar la imagen en memoria),
+     * valida que sea una imagen JPEG o PNG y encola la generación de miniaturas.
+     * @return clave de la foto para guardar en User.profilePhoto
+     */
+    public String store(InputStream content) {
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(root, "upload-", ".tmp");
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long size;
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                size = copyLimited(content, out);
+            }
+            if (size == 0) {
+                throw new IllegalArgumentException("El archivo está vacío");
+            }
+
+            String extension = validateImage(temp);
+            String key = HexFormat.of().formatHex(digest.digest()) + "." + extension;
+            Path original = original(key);
+            if (Files.exists(original)) {
+                // Misma imagen ya almacenada: se descarta la copia
+                Files.deleteIfExists(temp);
+            } else {
+                Files.createDirectories(original.getParent());
+                moveIntoPlace(temp, original);
+            }
+            temp = null;
+            scheduleThumbnails(key);
+            return key;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo almacenar la foto", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // el temporal huérfano no afecta a las fotos almacenadas
+                }
+            }
+        }
+    }
+
+    /**
+     * Ruta del archivo a servir. Si la miniatura aún no existe se retorna el original
+     * (y se reintenta generarla), por eso el llamador debe revisar si la ruta es la pedida.
+     * @param size tamaño de miniatura o null para el original
+     */
+    public Optional<Path> resolve(String key, Integer size) {
+        if (!isStoredKey(key)) {
+            throw new IllegalArgumentException("Clave de foto inválida");
+        }
+        if (size != null && !thumbnailSizes.contains(size)) {
+            throw new IllegalArgumentException("Tamaño no soportado. Valores permitidos: " + thumbnailSizes);
+        }
+        Path original = original(key);
+        if (!Files.exists(original)) {
+            return Optional.empty();
+        }
+        if (size == null) {
+            return Optional.of(original);
+        }
+        Path thumbnail = thumbnail(key, size);
+        if (Files.exists(thumbnail)) {
+            return Optional.of(thumbnail);
+        }
+        scheduleThumbnails(key);
+        return Optional.of(original);
+    }
+
+    public static String contentType(String key) {
+        return key.endsWith(".png") ? "image/png" : "image/jpeg";
+    }
+
+    void generateThumbnails(String key) {
+        Path original = original(key);
+        String format = formatName(key);
+        try {
+            BufferedImage source = null;
+            for (Integer size : thumbnailSizes) {
+                Path target = thumbnail(key, size);
+                if (Files.exists(target)) {
+                    continue;
+                }
+                if (source == null) {
+                    source = ImageIO.read(original.toFile());
+                    if (source == null) {
+                        return;
+                    }
+                }
+                Path temp = Files.createTempFile(original.getParent(), size + "-", ".tmp");
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    ImageIO.write(squareThumbnail(source, size, format), format, out);
+                }
+                moveIntoPlace(temp, target);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudieron generar las miniaturas de " + key, e);
+        }
+    }
+
+    private void scheduleThumbnails(String key) {
+        boolean missing = thumbnailSizes.stream().anyMatch(size -> !Files.exists(thumbnail(key, size)));
+        if (!missing) {
+            return;
+        }
+        try {
+            thumbnailExecutor.execute(() -> generateThumbnails(key));
+        } catch (RejectedExecutionException e) {
+            // Pool saturado: se reintentará la próxima vez que se pida la miniatura
+        }
+    }
+
+    private long copyLimited(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            total += read;
+            if (total > maxBytes) {
+                throw new IllegalArgumentException("La foto no puede superar " + (maxBytes / 1024) + " KB");
+            }
+            out.write(buffer, 0, read);
+        }
+        return total;
+    }
+
+    /**
+     * Lee solo la cabecera: formato y dimensiones, sin decodificar los píxeles
+     */
+    private static String validateImage(Path file) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalArgumentException("El archivo no es una imagen JPEG o PNG válida");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                String format = reader.getFormatName().toLowerCase();
+                String extension = switch (format) {
+                    case "jpeg", "jpg" -> "jpg";
+                    case "png" -> "png";
+                    default -> throw new IllegalArgumentException("Formato no soportado: solo JPEG o PNG");
+                };
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels <= 0 || pixels > MAX_PIXELS) {
+                    throw new IllegalArgumentException("Las dimensiones de la imagen no son válidas");
+                }
+                return extension;
+            } catch (IOException e) {
+                throw new IllegalArgumentException("El archivo no es una imagen JPEG o PNG válida");
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Escala para cubrir el cuadrado y recorta al centro
+     */
+    private static BufferedImage squareThumbnail(BufferedImage source, int size, String format) {
+        double scale = Math.max((double) size / source.getWidth(), (double) size / source.getHeight());
+        int width = (int) Math.ceil(source.getWidth() * scale);
+        int height = (int) Math.ceil(source.getHeight() * scale);
+        int type = "png".equals(format) ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage thumbnail = new BufferedImage(size, size, type);
+        Graphics2D graphics = thumbnail.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, (size - width) / 2, (size - height) / 2, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return thumbnail;
+    }
+
+    private static void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // Subida concurrente de la misma imagen: el contenido es idéntico
+            Files.deleteIfExists(source);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private Path original(String key) {
+        return root.resolve(hash(key)).resolve(ORIGINAL + "." + extension(key));
+    }
+
+    private Path thumbnail(String key, int size) {
+        return root.resolve(hash(key)).resolve(size + "." + extension(key));
+    }
+
+    private static String hash(String key) {
+        return key.substring(0, key.indexOf('.'));
+    }
+
+    private static String extension(String key) {
+        return key.substring(key.indexOf('.') + 1);
+    }
+
+    private static String formatName(String key) {
+        return "png".equals(extension(key)) ? "png" : "jpg";
+    }
+
+    @Override
+    public void destroy() {
+        thumbnailExecutor.shutdownNow();
+    }
+
+    int pendingThumbnails() {
+        return thumbnailExecutor.getQueue().size() + thumbnailExecutor.getActiveCount();
+    }
+}
@@ -0,0 +1,76 @@
+package com.looprex.users.service;
+
+import com.looprex.users.model.Role;
+import com.looprex.users.repository.RoleRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Roles en memoria. Son pocos y prácticamente inmutables (ADMIN, CLIENT), así que registrar
+ * un usuario no necesita consultar la tabla de roles. Un ID desconocido se busca en la base
+ * y, si existe, se agrega; si no, no se cachea (un rol creado después se verá en la siguiente consulta).
+ */
+@Service
+public class RoleCache {
+
+    private final RoleRepository roleRepository;
+    private final Map<Long, Role> byId = new ConcurrentHashMap<>();
+    private final Map<String, Role> byName = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public RoleCache(RoleRepository roleRepository) {
+        this.roleRepository = roleRepository;
+    }
+
+    public Optional<Role> findById(Long roleId) {
+        if (roleId == null) {
+            return Optional.empty();
+        }
+        loadIfNeeded();
+        Role role = byId.get(roleId);
+        if (role != null) {
+            return Optional.of(role);
+        }
+        return roleRepository.findById(roleId).map(this::put);
+    }
+
+    public Optional<Role> findByName(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        loadIfNeeded();
+        Role role = byName.get(name.toUpperCase(Locale.ROOT));
+        if (role != null) {
+            return Optional.of(role);
+        }
+        return roleRepository.findByName(name).map(this::put);
+    }
+
+    public void evictAll() {
+        loaded = false;
+        byId.clear();
+        byName.clear();
+    }
+
+    private void loadIfNeeded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                roleRepository.findAll().forEach(this::put);
+                loaded = true;
+            }
+        }
+    }
+
+    private Role put(Role role) {
+        byId.put(role.getRoleId(), role);
+        byName.put(role.getName().toUpperCase(Locale.ROOT), role);
+        return role;
+    }
+}
@@ -0,0 +1,87 @@
+package com.looprex.users.service;
+
+import com.looprex.users.model.User;
+import com.looprex.users.security.Session;
+import com.looprex.users.security.SessionStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Sesiones opacas emitidas en el login. Validar una sesión es un hash SHA-256 y una búsqueda
+ * en memoria, sin consultar la base ni recalcular el hash de la contraseña, así un cliente que
+ * abre la app no necesita volver a hacer login mientras su sesión siga vigente.
+ * Cambiar la contraseña o el email revoca todas las sesiones del usuario
+ */
+@Service
+public class SessionService {
+
+    private static final Base64.Encoder B64 = Base64.getUrlEncoder().withoutPadding();
+
+    private final SessionStore sessionStore;
+    private final long ttlMillis;
+    private final SecureRandom random = new SecureRandom();
+
+    public SessionService(SessionStore sessionStore,
+                          @Value("${security.session.ttl-seconds:2592000}") long ttlSeconds) {
+        this.sessionStore = sessionStore;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    /**
+     * Crea una sesión para el usuario y retorna su ID opaco. Es lo único que ve el cliente
+     */
+    public String create(User user) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String sessionId = B64.encodeToString(bytes);
+
+        long now = System.currentTimeMillis();
+        Long roleId = user.getRole() != null ? user.getRole().getRoleId() : null;
+        String roleName = user.getRole() != null ? user.getRole().getName() : null;
+        sessionStore.save(new Session(hash(sessionId), user.getUserId(), roleId, roleName, now, now + ttlMillis));
+        return sessionId;
+    }
+
+    public Optional<Session> validate(String sessionId) {
+        if (sessionId == null || sessionId.isBlank()) {
+            return Optional.empty();
+        }
+        String key = hash(sessionId);
+        Optional<Session> session = sessionStore.find(key);
+        if (session.isPresent() && session.get().isExpired(System.currentTimeMillis())) {
+            sessionStore.remove(key);
+            return Optional.empty();
+        }
+        return session;
+    }
+
+    public void revoke(String sessionId) {
+        if (sessionId != null && !sessionId.isBlank()) {
+            sessionStore.remove(hash(sessionId));
+        }
+    }
+
+    public int revokeAll(Long userId) {
+        return sessionStore.removeByUser(userId);
+    }
+
+    public long getTtlSeconds() {
+        return ttlMillis / 1000;
+    }
+
+    private static String hash(String sessionId) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return B64.encodeToString(digest.digest(sessionId.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
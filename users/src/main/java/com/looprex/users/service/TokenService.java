@@ -0,0 +1,208 @@
+package com.looprex.users.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.looprex.users.dto.AuthTokens;
+import com.looprex.users.dto.PublicKeyResponse;
+import com.looprex.users.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Emisión y verificación de tokens firmados (JWT RS256).
+ * El access token es de vida corta y lleva userId y rol, para que los demás servicios
+ * autoricen localmente con la clave pública sin consultar a este servicio.
+ * El refresh token solo sirve para obtener un nuevo par en /api/auth/refresh.
+ * Si no se configuran claves, se genera un par al iniciar (solo para desarrollo:
+ * los tokens emitidos dejan de ser válidos al reiniciar).
+ */
+@Service
+public class TokenService {
+
+    public static final String ACCESS = "access";
+    public static final String REFRESH = "refresh";
+    public static final String ALGORITHM = "RS256";
+
+    private static final Base64.Encoder B64 = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder B64_DECODER = Base64.getUrlDecoder();
+    private static final TypeReference<Map<String, Object>> CLAIMS = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper;
+    private final PrivateKey privateKey;
+    private final PublicKey publicKey;
+    private final String keyId;
+    private final String issuer;
+    private final long accessTtlSeconds;
+    private final long refreshTtlSeconds;
+
+    public TokenService(ObjectMapper objectMapper,
+                        @Value("${security.jwt.private-key:}") String privateKeyBase64,
+                        @Value("${security.jwt.public-key:}") String publicKeyBase64,
+                        @Value("${security.jwt.issuer:looprex-users}") String issuer,
+                        @Value("${security.jwt.access-ttl-seconds:900}") long accessTtlSeconds,
+                        @Value("${security.jwt.refresh-ttl-seconds:604800}") long refreshTtlSeconds) {
+        this.objectMapper = objectMapper;
+        this.issuer = issuer;
+        this.accessTtlSeconds = accessTtlSeconds;
+        this.refreshTtlSeconds = refreshTtlSeconds;
+        try {
+            KeyPair keyPair = privateKeyBase64.isBlank() || publicKeyBase64.isBlank()
+                    ? generateKeyPair()
+                    : loadKeyPair(privateKeyBase64, publicKeyBase64);
+            this.privateKey = keyPair.getPrivate();
+            this.publicKey = keyPair.getPublic();
+            // El kid cambia con la clave, así los verificadores saben cuándo volver a descargarla
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(publicKey.getEncoded());
+            this.keyId = B64.encodeToString(digest).substring(0, 16);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudieron cargar las claves de firma de tokens", e);
+        }
+    }
+
+    public AuthTokens issueTokens(User user) {
+        long now = System.currentTimeMillis() / 1000;
+        String roleName = user.getRole() != null ? user.getRole().getName() : null;
+        Long roleId = user.getRole() != null ? user.getRole().getRoleId() : null;
+
+        Map<String, Object> access = baseClaims(user.getUserId(), ACCESS, now, accessTtlSeconds);
+        access.put("role", roleName);
+        access.put("roleId", roleId);
+        Map<String, Object> refresh = baseClaims(user.getUserId(), REFRESH, now, refreshTtlSeconds);
+        refresh.put("ver", user.currentCredentialVersion());
+
+        return AuthTokens.builder()
+                .accessToken(sign(access))
+                .refreshToken(sign(refresh))
+                .tokenType("Bearer")
+                .expiresIn(accessTtlSeconds)
+                .build();
+    }
+
+    /**
+     * Verifica firma, emisor, tipo y expiración. Retorna el userId del token
+     */
+    public Long verify(String token, String expectedType) {
+        return subject(verifiedClaims(token, expectedType));
+    }
+
+    /**
+     * Verifica un refresh token. Retorna el userId y la versión de credenciales con la que se emitió,
+     * que debe seguir siendo la del usuario (ver User#bumpCredentialVersion); los tokens anteriores
+     * a la versión no la traen y equivalen a 0
+     */
+    public RefreshClaims verifyRefresh(String token) {
+        Map<String, Object> claims = verifiedClaims(token, REFRESH);
+        long version = claims.get("ver") instanceof Number ver ? ver.longValue() : 0;
+        return new RefreshClaims(subject(claims), version);
+    }
+
+    public PublicKeyResponse getPublicKey() {
+        return PublicKeyResponse.builder()
+                .kid(keyId)
+                .algorithm(ALGORITHM)
+                .issuer(issuer)
+                .publicKey(Base64.getEncoder().encodeToString(publicKey.getEncoded()))
+                .build();
+    }
+
+    private Map<String, Object> verifiedClaims(String token, String expectedType) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("Token requerido");
+        }
+        String[] parts = token.split("\\.");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Token mal formado");
+        }
+        Map<String, Object> claims;
+        try {
+            Signature verifier = Signature.getInstance("SHA256withRSA");
+            verifier.initVerify(publicKey);
+            verifier.update((parts[0] + "." + parts[1]).getBytes(StandardCharsets.US_ASCII));
+            if (!verifier.verify(B64_DECODER.decode(parts[2]))) {
+                throw new IllegalArgumentException("Firma del token inválida");
+            }
+            claims = objectMapper.readValue(B64_DECODER.decode(parts[1]), CLAIMS);
+        } catch (GeneralSecurityException | IOException e) {
+            throw new IllegalArgumentException("Token mal formado");
+        }
+
+        if (!issuer.equals(claims.get("iss")) || !expectedType.equals(claims.get("typ"))) {
+            throw new IllegalArgumentException("Token no válido para esta operación");
+        }
+        if (!(claims.get("exp") instanceof Number exp) || exp.longValue() <= System.currentTimeMillis() / 1000) {
+            throw new IllegalArgumentException("Token expirado");
+        }
+        return claims;
+    }
+
+    private static Long subject(Map<String, Object> claims) {
+        try {
+            return Long.valueOf(String.valueOf(claims.get("sub")));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Token mal formado");
+        }
+    }
+
+    private Map<String, Object> baseClaims(Long userId, String type, long now, long ttlSeconds) {
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("iss", issuer);
+        claims.put("sub", String.valueOf(userId));
+        claims.put("typ", type);
+        claims.put("iat", now);
+        claims.put("exp", now + ttlSeconds);
+        return claims;
+    }
+
+    private String sign(Map<String, Object> claims) {
+        try {
+            Map<String, Object> header = new LinkedHashMap<>();
+            header.put("alg", ALGORITHM);
+            header.put("typ", "JWT");
+            header.put("kid", keyId);
+            String signingInput = B64.encodeToString(objectMapper.writeValueAsBytes(header)) + "." +
+                    B64.encodeToString(objectMapper.writeValueAsBytes(claims));
+
+            Signature signer = Signature.getInstance("SHA256withRSA");
+            signer.initSign(privateKey);
+            signer.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+            return signingInput + "." + B64.encodeToString(signer.sign());
+        } catch (GeneralSecurityException | JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo firmar el token", e);
+        }
+    }
+
+    private static KeyPair generateKeyPair() throws GeneralSecurityException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        return generator.generateKeyPair();
+    }
+
+    private static KeyPair loadKeyPair(String privateKeyBase64, String publicKeyBase64) throws GeneralSecurityException {
+        KeyFactory factory = KeyFactory.getInstance("RSA");
+        PrivateKey privateKey = factory.generatePrivate(
+                new PKCS8EncodedKeySpec(Base64.getMimeDecoder().decode(privateKeyBase64)));
+        PublicKey publicKey = factory.generatePublic(
+                new X509EncodedKeySpec(Base64.getMimeDecoder().decode(publicKeyBase64)));
+        return new KeyPair(publicKey, privateKey);
+    }
+
+    public record RefreshClaims(Long userId, long credentialVersion) {
+    }
+}
@@ -0,0 +1,199 @@
+package com.looprex.users.service;
+
+import com.looprex.users.dto.UserImportError;
+import com.looprex.users.dto.UserImportItem;
+import com.looprex.users.dto.UserImportResult;
+import com.looprex.users.exception.ConflictException;
+import com.looprex.users.model.Role;
+import com.looprex.users.model.SearchText;
+import com.looprex.users.model.User;
+import com.looprex.users.repository.UserBulkRepository;
+import com.looprex.users.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Importación de usuarios desde otro sistema. Cada usuario se valida con las mismas reglas que
+ * el registro; los inválidos o duplicados se informan por posición y el resto se inserta en
+ * lotes con una sola consulta previa de duplicados por lote enviado (no una por usuario)
+ */
+@Service
+public class UserImportService {
+
+    public static final int MAX_IMPORT_SIZE = 1000;
+    public static final String DEFAULT_ROLE = "CLIENT";
+
+    // Hash con prefijo de DelegatingPasswordEncoder o BCrypt sin prefijo (se verifica con el matcher por defecto)
+    private static final Pattern SUPPORTED_HASH = Pattern.compile("^(\\{[a-z0-9]+}\\S+|\\$2[aby]?\\$\\d{2}\\$\\S{53})$");
+
+    private final UserRepository userRepository;
+    private final UserBulkRepository userBulkRepository;
+    private final RoleCache roleCache;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+
+    public UserImportService(UserRepository userRepository, UserBulkRepository userBulkRepository,
+                             RoleCache roleCache, PasswordEncoder passwordEncoder, Validator validator) {
+        this.userRepository = userRepository;
+        this.userBulkRepository = userBulkRepository;
+        this.roleCache = roleCache;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+    }
+
+    /**
+     * Sin transacción propia: el hash de las contraseñas en claro (hasta 1000, y la posible espera o
+     * rechazo del encoder acotado) ocurre antes de abrirla; solo insertAll escribe en una transacción.
+     * Si un registro concurrente toma un email o RUT después de la verificación, el lote completo
+     * se revierte: se vuelve a verificar, se rechazan esos usuarios y se reintenta una vez
+     */
+    public UserImportResult importUsers(List<UserImportItem> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar al menos un usuario a importar");
+        }
+        if (items.size() > MAX_IMPORT_SIZE) {
+            throw new IllegalArgumentException("No se pueden importar más de " + MAX_IMPORT_SIZE + " usuarios a la vez");
+        }
+
+        List<UserImportError> rejected = new ArrayList<>();
+        List<Candidate> candidates = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            UserImportItem item = items.get(i);
+            if (item == null) {
+                rejected.add(error(i, null, "El usuario no puede ser nulo"));
+                continue;
+            }
+            try {
+                candidates.add(new Candidate(i, item, toUser(item)));
+            } catch (IllegalArgumentException e) {
+                rejected.add(error(i, item.getEmail(), e.getMessage()));
+            }
+        }
+
+        List<Candidate> accepted = rejectTaken(candidates, rejected);
+        // Solo se hashean las contraseñas en claro de usuarios que efectivamente se insertan
+        for (Candidate candidate : accepted) {
+            if (candidate.item().getPasswordHash() == null) {
+                candidate.user().setPassword(passwordEncoder.encode(candidate.item().getPassword()));
+            }
+        }
+
+        int imported;
+        try {
+            imported = insert(accepted);
+        } catch (DataIntegrityViolationException e) {
+            if (!(UserService.uniqueViolation(e, "", "") instanceof IllegalArgumentException)) {
+                throw e;
+            }
+            accepted = rejectTaken(accepted, rejected);
+            try {
+                imported = insert(accepted);
+            } catch (DataIntegrityViolationException retry) {
+                RuntimeException translated = UserService.uniqueViolation(retry, "El email ya está en uso", "El email o RUT ya está en uso");
+                if (!(translated instanceof IllegalArgumentException)) {
+                    throw retry;
+                }
+                throw new ConflictException(translated.getMessage() + ": otro registro lo tomó durante la importación, reintente");
+            }
+        }
+        rejected.sort(Comparator.comparing(UserImportError::getIndex));
+        return UserImportResult.builder()
+                .imported(imported)
+                .rejected(rejected)
+                .build();
+    }
+
+    /**
+     * Una consulta por clave para todo el lote: rechaza los emails y RUTs ya registrados, y los
+     * repetidos dentro del mismo lote (las claves aceptadas se agregan a los conjuntos)
+     */
+    private List<Candidate> rejectTaken(List<Candidate> candidates, List<UserImportError> rejected) {
+        List<String> emailKeys = candidates.stream().map(candidate -> SearchText.fold(candidate.user().getEmail())).toList();
+        List<String> rutKeys = candidates.stream().map(candidate -> SearchText.rut(candidate.user().getRut()))
+                .filter(Objects::nonNull).toList();
+        Set<String> takenEmails = new HashSet<>(emailKeys.isEmpty() ? List.of() : userRepository.findExistingEmailKeys(emailKeys));
+        Set<String> takenRuts = new HashSet<>(rutKeys.isEmpty() ? List.of() : userRepository.findExistingRutKeys(rutKeys));
+
+        List<Candidate> accepted = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            User user = candidate.user();
+            String emailKey = SearchText.fold(user.getEmail());
+            String rutKey = SearchText.rut(user.getRut());
+            if (takenEmails.contains(emailKey)) {
+                rejected.add(error(candidate.index(), user.getEmail(), "El email ya está en uso"));
+            } else if (rutKey != null && takenRuts.contains(rutKey)) {
+                rejected.add(error(candidate.index(), user.getEmail(), "El RUT ya está en uso"));
+            } else {
+                takenEmails.add(emailKey);
+                if (rutKey != null) {
+                    takenRuts.add(rutKey);
+                }
+                accepted.add(candidate);
+            }
+        }
+        return accepted;
+    }
+
+    private int insert(List<Candidate> accepted) {
+        return accepted.isEmpty() ? 0
+                : userBulkRepository.insertAll(accepted.stream().map(Candidate::user).toList(), MAX_IMPORT_SIZE);
+    }
+
+    private User toUser(UserImportItem item) {
+        String roleName = item.getRole() == null ? DEFAULT_ROLE : item.getRole();
+        Role role = roleCache.findByName(roleName)
+                .orElseThrow(() -> new IllegalArgumentException("El rol especificado no existe"));
+
+        boolean hashed = item.getPasswordHash() != null;
+        if (hashed == (item.getPassword() != null)) {
+            throw new IllegalArgumentException("Debe indicar password o passwordHash (solo uno)");
+        }
+        if (hashed && !SUPPORTED_HASH.matcher(item.getPasswordHash()).matches()) {
+            throw new IllegalArgumentException("Formato de passwordHash no soportado");
+        }
+
+        User user = new User();
+        user.setRut(item.getRut());
+        user.setName(item.getName());
+        user.setLastname(item.getLastname());
+        user.setPhone(item.getPhone());
+        user.setEmail(item.getEmail());
+        user.setPassword(hashed ? item.getPasswordHash() : item.getPassword());
+        user.setRole(role);
+        user.setStatusId(item.getStatusId() == null ? 1L : item.getStatusId());
+
+        // Se valida con la contraseña en claro, así aplica el largo mínimo del registro
+        Set<ConstraintViolation<User>> violations = validator.validate(user);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                    .map(ConstraintViolation::getMessage)
+                    .findFirst()
+                    .orElseThrow());
+        }
+        return user;
+    }
+
+    // Usuario válido junto a su posición en la solicitud, para informar rechazos por índice
+    private record Candidate(int index, UserImportItem item, User user) {
+    }
+
+    private static UserImportError error(int index, String email, String message) {
+        return UserImportError.builder()
+                .index(index)
+                .email(email)
+                .message(message)
+                .build();
+    }
+}
@@ -1,78 +1,324 @@
 package com.looprex.users.service;
 
+import com.looprex.users.dto.UserBatchSummaryResponse;
+import com.looprex.users.dto.UserPage;
+import com.looprex.users.dto.UserResponse;
+import com.looprex.users.dto.UserSearchCriteria;
+import com.looprex.users.dto.UserSummary;
+import com.looprex.users.dto.UserView;
+import com.looprex.users.exception.ConflictException;
+import com.looprex.users.mapper.UserMapper;
+import com.looprex.users.model.SearchText;
 import com.looprex.users.model.User;
 import com.looprex.users.model.Role;
 import com.looprex.users.repository.UserRepository;
-import com.looprex.users.repository.RoleRepository;
+import com.looprex.users.repository.UserSpecifications;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class UserService {
 
+    public static final int MAX_BATCH_SIZE = 500;
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_ID_PAGE_SIZE = 10_000;
+
+    // Orden del listado → columna indexada por la que se pagina (siempre desempatando por userId)
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "userId",
+            "email", "emailKey",
+            "lastname", "lastnameKey");
+
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final RoleCache roleCache;
     private final PasswordEncoder passwordEncoder;
+    private final UserMapper userMapper;
+    private final PhotoStorageService photoStorageService;
+    private final SessionService sessionService;
+    // Escrituras cortas después de verificar o calcular hashes fuera de cualquier transacción
+    private final TransactionTemplate transactionTemplate;
 
-    public UserService(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, RoleCache roleCache, PasswordEncoder passwordEncoder,
+                       UserMapper userMapper, PhotoStorageService photoStorageService,
+                       SessionService sessionService, PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
-        this.roleRepository = roleRepository;
+        this.roleCache = roleCache;
         this.passwordEncoder = passwordEncoder;
+        this.userMapper = userMapper;
+        this.photoStorageService = photoStorageService;
+        this.sessionService = sessionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
+    /**
+     * Sin transacción: la verificación del hash (y la espera en BoundedPasswordEncoder) no debe
+     * retener una conexión del pool. Solo el re-hash, si corresponde, escribe en la base
+     */
     public Optional<User> login(String email, String password) {
         Optional<User> userOpt = userRepository.findByEmail(email);
         
         if (userOpt.isPresent()) {
             User user = userOpt.get();
-            if (passwordEncoder.matches(password, user.getPassword())) {
-                return Optional.of(user);
+            String currentHash = user.getPassword();
+            if (passwordEncoder.matches(password, currentHash)) {
+                // Hash con algoritmo o costo anterior: se aprovecha la contraseña en claro para migrarlo
+                if (passwordEncoder.upgradeEncoding(currentHash)) {
+                    String newHash = passwordEncoder.encode(password);
+                    // Solo si nadie cambió la contraseña mientras se calculaba el hash
+                    if (userRepository.updatePasswordIfUnchanged(user.getUserId(), currentHash, newHash) == 1) {
+                        user.setPassword(newHash);
+                    }
+                }
+                return Optional.of(withCachedRole(user));
             }
         }
         return Optional.empty();
     }
 
-    @Transactional
+    /**
+     * La unicidad de email y RUT la garantizan las restricciones únicas de la tabla: un solo
+     * INSERT por registro, y dos registros concurrentes con el mismo email no pueden pasar ambos.
+     * El hash se calcula antes del INSERT, sin transacción ni conexión tomada
+     */
     public User register(User user) {
-        if (userRepository.existsByEmail(user.getEmail())) {
-            throw new IllegalArgumentException("El correo electrónico ya está en uso");
-        }
-        
-        Role role = roleRepository.findById(user.getRole().getRoleId())
+        Long roleId = user.getRole() != null ? user.getRole().getRoleId() : null;
+        Role role = roleCache.findById(roleId)
                 .orElseThrow(() -> new IllegalArgumentException("El rol especificado no existe"));
 
         user.setRole(role);
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        
-        return userRepository.save(user);
+
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw uniqueViolation(e, "El correo electrónico ya está en uso", "El correo electrónico ya está en uso");
+        }
     }
 
     public Optional<User> getUserById(Long userId) {
-        return userRepository.findById(userId);
+        return userRepository.findById(userId).map(this::withCachedRole);
     }
 
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
 
+    /**
+     * Lectura para exponer al cliente: una sola consulta sobre users (sin contraseña ni JOIN a roles),
+     * con el rol resuelto desde RoleCache
+     */
+    public Optional<UserResponse> getUserResponse(Long userId) {
+        return userRepository.findViewById(userId).map(this::toUserResponse);
+    }
+
+    private UserResponse toUserResponse(UserView view) {
+        return userMapper.toUserResponse(view, roleCache.findById(view.getRoleId()).orElse(null));
+    }
+
+    /**
+     * Reemplaza el proxy LAZY del rol por la instancia en caché (mismo ID, así no cambia la
+     * clave foránea), para que el login y la emisión de tokens no consulten la tabla de roles
+     */
+    private User withCachedRole(User user) {
+        if (user.getRole() != null) {
+            roleCache.findById(user.getRole().getRoleId()).ifPresent(user::setRole);
+        }
+        return user;
+    }
+
+    /**
+     * Listado paginado por keyset: cada página continúa desde el último (clave de orden, userId)
+     * de la anterior, así el costo no crece con el número de página como con OFFSET.
+     * Los filtros son prefijos sobre columnas normalizadas (sin tildes ni mayúsculas)
+     */
+    public UserPage searchUsers(UserSearchCriteria criteria) {
+        String sort = criteria.getSort() == null ? "id" : criteria.getSort().trim().toLowerCase(Locale.ROOT);
+        String column = SORT_COLUMNS.get(sort);
+        if (column == null) {
+            throw new IllegalArgumentException("Orden no soportado: " + criteria.getSort() +
+                    ". Valores permitidos: id, email, lastname");
+        }
+        boolean descending = isDescending(criteria.getDirection());
+        int limit = criteria.getLimit() == null ? DEFAULT_PAGE_SIZE : criteria.getLimit();
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+
+        Specification<User> spec = Specification.allOf(
+                UserSpecifications.fetchRole(),
+                UserSpecifications.keyStartsWith("emailKey", SearchText.fold(criteria.getEmail())),
+                UserSpecifications.keyStartsWith("rutKey", SearchText.rut(criteria.getRut())),
+                UserSpecifications.nameStartsWith(SearchText.fold(criteria.getName())),
+                UserSpecifications.hasRole(criteria.getRole()));
+        if (criteria.getCursor() != null && !criteria.getCursor().isBlank()) {
+            String[] cursor = decodeCursor(criteria.getCursor(), sort);
+            spec = spec.and(UserSpecifications.after(column, descending, cursor[2], Long.valueOf(cursor[1])));
+        }
+
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort order = "userId".equals(column)
+                ? Sort.by(direction, "userId")
+                : Sort.by(direction, column).and(Sort.by(direction, "userId"));
+
+        // Se pide una fila extra solo para saber si hay otra página
+        List<User> users = userRepository.findBy(spec, query -> query.sortBy(order).limit(limit + 1).all());
+        boolean hasMore = users.size() > limit;
+        List<User> page = hasMore ? users.subList(0, limit) : users;
+
+        String nextCursor = null;
+        if (hasMore) {
+            User last = page.get(page.size() - 1);
+            nextCursor = encodeCursor(sort, last.getUserId(), sortValue(column, last));
+        }
+        return UserPage.builder()
+                .items(page.stream().map(userMapper::toUserSummary).toList())
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private static boolean isDescending(String direction) {
+        if (direction == null || direction.equalsIgnoreCase("asc")) {
+            return false;
+        }
+        if (direction.equalsIgnoreCase("desc")) {
+            return true;
+        }
+        throw new IllegalArgumentException("Dirección no soportada: " + direction + ". Valores permitidos: asc, desc");
+    }
+
+    private static String sortValue(String column, User user) {
+        return switch (column) {
+            case "emailKey" -> user.getEmailKey();
+            case "lastnameKey" -> user.getLastnameKey();
+            default -> "";
+        };
+    }
+
+    // Cursor opaco: "orden|userId|valor" en Base64 URL
+    private static String encodeCursor(String sort, Long userId, String value) {
+        String raw = sort + "|" + userId + "|" + (value == null ? "" : value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor, String sort) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        String[] parts = raw.split("\\|", 3);
+        if (parts.length != 3 || !parts[1].matches("\\d{1,18}")) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        if (!parts[0].equals(sort)) {
+            throw new IllegalArgumentException("El cursor no corresponde al orden solicitado");
+        }
+        return parts;
+    }
+
+    /**
+     * Existencia de varios usuarios en una sola consulta. El mapa respeta el orden de los IDs
+     */
+    public Map<Long, Boolean> usersExist(List<Long> userIds) {
+        Set<Long> ids = validateBatch(userIds);
+        Set<Long> existing = new HashSet<>(userRepository.findExistingIds(ids));
+
+        Map<Long, Boolean> result = new LinkedHashMap<>();
+        ids.forEach(id -> result.put(id, existing.contains(id)));
+        return result;
+    }
+
+    /**
+     * IDs de usuario mayores a afterId, en orden. Los usuarios no se eliminan, pero leer desde el
+     * último ID recibido no es un feed completo: un registro que confirma después de otro con ID
+     * mayor ya leído queda atrás del cursor. Las réplicas deben confirmar con users los IDs ausentes
+     */
+    public List<Long> getUserIdsAfter(Long afterId, Integer limit) {
+        long from = afterId == null ? 0 : afterId;
+        int size = limit == null ? MAX_ID_PAGE_SIZE : limit;
+        if (from < 0) {
+            throw new IllegalArgumentException("afterId no puede ser negativo");
+        }
+        if (size < 1 || size > MAX_ID_PAGE_SIZE) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + MAX_ID_PAGE_SIZE);
+        }
+        return userRepository.findIdsAfter(from, PageRequest.of(0, size));
+    }
+
+    public UserBatchSummaryResponse getUserSummaries(List<Long> userIds) {
+        Set<Long> ids = validateBatch(userIds);
+        Map<Long, UserSummary> found = userRepository.findSummariesByUserIdIn(ids).stream()
+                .collect(Collectors.toMap(UserSummary::getUserId, Function.identity()));
+
+        List<UserSummary> users = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            UserSummary summary = found.get(id);
+            if (summary != null) {
+                users.add(summary);
+            } else {
+                missing.add(id);
+            }
+        }
+        return UserBatchSummaryResponse.builder().users(users).missing(missing).build();
+    }
+
+    private Set<Long> validateBatch(List<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar al menos un ID de usuario");
+        }
+        if (userIds.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Los IDs de usuario no pueden ser nulos");
+        }
+        Set<Long> ids = new LinkedHashSet<>(userIds);
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("No se pueden consultar más de " + MAX_BATCH_SIZE + " usuarios a la vez");
+        }
+        return ids;
+    }
+
     @Transactional
     public Optional<User> updatePersonalData(Long userId, String rut, String name, String lastName, String phone) {
         return userRepository.findById(userId).map(existingUser -> {
-            
-            if (rut != null && !existingUser.getRut().equals(rut) && userRepository.existsByRut(rut)) {
-                throw new IllegalArgumentException("El RUT ya está en uso");
-            }
 
             Optional.ofNullable(rut).ifPresent(existingUser::setRut);
             Optional.ofNullable(name).ifPresent(existingUser::setName);
             Optional.ofNullable(lastName).ifPresent(existingUser::setLastname);
             Optional.ofNullable(phone).ifPresent(existingUser::setPhone);
 
-            return userRepository.save(existingUser);
+            try {
+                return userRepository.saveAndFlush(existingUser);
+            } catch (DataIntegrityViolationException e) {
+                throw uniqueViolation(e, "El email ya está en uso", "El RUT ya está en uso");
+            }
         });
     }
 
@@ -80,41 +326,126 @@ public class UserService {
     public Optional<User> updateProfilePhoto(Long userId, String photoUri) {
         return userRepository.findById(userId).map(user -> {
             user.setProfilePhoto(photoUri);
-            return userRepository.save(user);
+            return withCachedRole(userRepository.save(user));
         });
     }
 
-    @Transactional
+    /**
+     * Guarda la imagen en el almacenamiento local y deja solo su clave en profilePhoto.
+     * Se verifica primero que el usuario exista para no almacenar archivos huérfanos.
+     * Sin transacción: copiar y hashear hasta 5 MB no debe retener una conexión del pool;
+     * solo el UPDATE de la clave abre la suya
+     */
+    public Optional<User> uploadProfilePhoto(Long userId, InputStream content) {
+        if (!userRepository.existsById(userId)) {
+            return Optional.empty();
+        }
+        String key = photoStorageService.store(content);
+        // Usuario eliminado mientras se almacenaba: el archivo queda sin referencia, como cualquier foto reemplazada
+        if (userRepository.updateProfilePhotoById(userId, key) == 0) {
+            return Optional.empty();
+        }
+        return userRepository.findById(userId).map(this::withCachedRole);
+    }
+
+    /**
+     * Verificar la contraseña actual y calcular el nuevo hash ocurre fuera de cualquier transacción;
+     * solo la escritura abre una, y falla si la contraseña cambió mientras tanto
+     */
     public Optional<User> updatePassword(Long userId, String currentPassword, String newPassword) {
         return userRepository.findById(userId).map(user -> {
-        
-            if (!passwordEncoder.matches(currentPassword, user.getPassword())) {
+            String verifiedHash = user.getPassword();
+            if (!passwordEncoder.matches(currentPassword, verifiedHash)) {
                 throw new IllegalArgumentException("La contraseña actual es incorrecta");
             }
 
             if (newPassword == null || newPassword.trim().isEmpty()) {
                 throw new IllegalArgumentException("La nueva contraseña no puede estar vacía");
             }
-            
-            user.setPassword(passwordEncoder.encode(newPassword));
-            return userRepository.save(user);
+
+            String newHash = passwordEncoder.encode(newPassword);
+            User saved = transactionTemplate.execute(tx -> {
+                User current = reloadWithPassword(userId, verifiedHash);
+                current.setPassword(newHash);
+                current.bumpCredentialVersion();
+                return userRepository.save(current);
+            });
+            // Después del commit: un login entre la revocación y el commit no conserva una sesión con la contraseña anterior.
+            // Los refresh tokens ya emitidos quedan rechazados por la nueva versión de credenciales
+            sessionService.revokeAll(userId);
+            return withCachedRole(saved);
         });
     }
 
-    @Transactional
     public Optional<User> updateEmail(Long userId, String newEmail, String confirmPassword) {
         return userRepository.findById(userId).map(user -> {
-
-            if (!passwordEncoder.matches(confirmPassword, user.getPassword())) {
+            String verifiedHash = user.getPassword();
+            if (!passwordEncoder.matches(confirmPassword, verifiedHash)) {
                 throw new IllegalArgumentException("La contraseña es incorrecta");
             }
 
-            if (userRepository.existsByEmail(newEmail)) {
+            // El email actual también cuenta como "en uso", igual que antes de usar la restricción única
+            if (newEmail != null && newEmail.equalsIgnoreCase(user.getEmail())) {
                 throw new IllegalArgumentException("El email ya está en uso");
             }
 
-            user.setEmail(newEmail);
-            return userRepository.save(user);
+            User saved;
+            try {
+                saved = transactionTemplate.execute(tx -> {
+                    User current = reloadWithPassword(userId, verifiedHash);
+                    current.setEmail(newEmail);
+                    current.bumpCredentialVersion();
+                    return userRepository.saveAndFlush(current);
+                });
+            } catch (DataIntegrityViolationException e) {
+                throw uniqueViolation(e, "El email ya está en uso", "El email ya está en uso");
+            }
+            sessionService.revokeAll(userId);
+            return withCachedRole(saved);
         });
     }
-}
\ No newline at end of file
+
+    // Dentro de la transacción corta: la contraseña verificada fuera de ella debe seguir vigente
+    private User reloadWithPassword(Long userId, String verifiedHash) {
+        User current = userRepository.findById(userId)
+                .orElseThrow(() -> new ConflictException("El usuario fue modificado durante la operación, reintente"));
+        if (!Objects.equals(current.getPassword(), verifiedHash)) {
+            throw new ConflictException("La contraseña cambió durante la operación, reintente");
+        }
+        return current;
+    }
+
+    /**
+     * Traduce la violación de una restricción única al mensaje de negocio. Si la base no informa
+     * el nombre de la restricción (esquemas creados antes de nombrarlas) se usa 'fallbackMessage'.
+     * Otras violaciones de integridad se relanzan sin cambios
+     */
+    static RuntimeException uniqueViolation(DataIntegrityViolationException e,
+                                            String emailMessage, String fallbackMessage) {
+        Throwable cause = e;
+        while (cause != null && !(cause instanceof ConstraintViolationException)) {
+            cause = cause.getCause();
+        }
+        String constraint;
+        boolean unique;
+        if (cause instanceof ConstraintViolationException violation) {
+            constraint = violation.getConstraintName() == null
+                    ? "" : violation.getConstraintName().toLowerCase(Locale.ROOT);
+            unique = violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE;
+        } else {
+            // Inserción por JdbcTemplate (importación): el nombre de la restricción solo viene en el mensaje del driver
+            constraint = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+            unique = e instanceof DuplicateKeyException;
+        }
+        if (constraint.contains(User.UK_RUT)) {
+            return new IllegalArgumentException("El RUT ya está en uso");
+        }
+        if (constraint.contains(User.UK_EMAIL)) {
+            return new IllegalArgumentException(emailMessage);
+        }
+        if (unique) {
+            return new IllegalArgumentException(fallbackMessage);
+        }
+        return e;
+    }
+}
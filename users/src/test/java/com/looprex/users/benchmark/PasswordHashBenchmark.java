@@ -0,0 +1,72 @@
+package com.looprex.users.benchmark;
+
+import com.looprex.users.security.PasswordEncoders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia de verificación de contraseñas (lo que cuesta un login) por algoritmo y costo.
+ * Modo SampleTime: el reporte incluye p50/p90/p99 por configuración, para elegir el mayor
+ * costo que siga cumpliendo el SLO de login en el hardware donde se ejecuta.
+ *
+ * Ejecutar desde users/:
+ *   mvn -B test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.looprex.users.benchmark.PasswordHashBenchmark
+ * Para medir solo algunas configuraciones usar -Dexec.mainClass=org.openjdk.jmh.Main y
+ *   -Dexec.args="PasswordHashBenchmark -p config=bcrypt:12"
+ *
+ * No es un test: surefire no lo ejecuta.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class PasswordHashBenchmark {
+
+    private static final String PASSWORD = "Test123!";
+
+    // "algoritmo:costo" (costo = strength en BCrypt, iteraciones en PBKDF2)
+    @Param({"bcrypt:10", "bcrypt:11", "bcrypt:12", "bcrypt:13", "pbkdf2:310000", "pbkdf2:600000"})
+    public String config;
+
+    private PasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        String[] parts = config.split(":");
+        int cost = Integer.parseInt(parts[1]);
+        encoder = PasswordEncoders.PBKDF2.equals(parts[0])
+                ? PasswordEncoders.delegating(PasswordEncoders.PBKDF2, 10, cost)
+                : PasswordEncoders.delegating(PasswordEncoders.BCRYPT, cost, 310000);
+        hash = encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches(PASSWORD, hash);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PasswordHashBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,100 @@
+package com.looprex.users.config;
+
+import com.looprex.users.model.Role;
+import com.looprex.users.model.User;
+import com.looprex.users.repository.RoleRepository;
+import com.looprex.users.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class DataSeederTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    private DataSeeder dataSeeder;
+    private Role client;
+
+    @BeforeEach
+    void setUp() {
+        when(passwordEncoder.encode(anyString())).thenReturn("$2a$10$hashedPasswordForTests");
+        roleRepository.save(new Role(null, "ADMIN"));
+        client = roleRepository.save(new Role(null, "CLIENT"));
+        dataSeeder = new DataSeeder(roleRepository, userRepository, passwordEncoder);
+    }
+
+    @Test
+    void run_DeberiaDejarSinRutKeyLosRutsEquivalentesEnVezDeFallar() throws Exception {
+        // Arrange: dos filas anteriores a las columnas de búsqueda con el mismo RUT en distinto formato
+        Long first = userRepository.save(newUser("primero@test.com", "11111111-1")).getUserId();
+        Long second = userRepository.save(newUser("segundo@test.com", "22222222-2")).getUserId();
+        entityManager.flush();
+        entityManager.createQuery("UPDATE User u SET u.emailKey = null, u.rutKey = null, " +
+                "u.nameKey = null, u.lastnameKey = null").executeUpdate();
+        entityManager.createQuery("UPDATE User u SET u.rut = '11.111.111-1' WHERE u.userId = :id")
+                .setParameter("id", second).executeUpdate();
+        entityManager.clear();
+
+        // Act
+        dataSeeder.run();
+        entityManager.clear();
+
+        // Assert
+        assertEquals("111111111", userRepository.findById(first).orElseThrow().getRutKey());
+        User duplicate = userRepository.findById(second).orElseThrow();
+        assertNull(duplicate.getRutKey());
+        assertEquals("segundo@test.com", duplicate.getEmailKey());
+
+        // Editar otros datos del duplicado no vuelve a chocar con la restricción única
+        duplicate.setName("Segundo");
+        userRepository.saveAndFlush(duplicate);
+        entityManager.clear();
+        assertNull(userRepository.findById(second).orElseThrow().getRutKey());
+    }
+
+    @Test
+    void run_DeberiaCrearAdminSinRutCuandoElRutDeEjemploYaEstaRegistrado() throws Exception {
+        // Arrange
+        userRepository.saveAndFlush(newUser("real@test.com", "12.345.678-9"));
+
+        // Act
+        dataSeeder.run();
+
+        // Assert
+        User admin = userRepository.findByEmail("admin@looprex.cl").orElseThrow();
+        assertNull(admin.getRut());
+        assertNull(admin.getRutKey());
+    }
+
+    private User newUser(String email, String rut) {
+        User user = new User();
+        user.setRut(rut);
+        user.setName("Usuario");
+        user.setLastname("Prueba");
+        user.setPhone("912345678");
+        user.setEmail(email);
+        user.setPassword("$2a$10$hashedPasswordForTests");
+        user.setRole(client);
+        user.setStatusId(1L);
+        return user;
+    }
+}
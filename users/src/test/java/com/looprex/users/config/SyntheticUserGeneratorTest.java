@@ -0,0 +1,93 @@
+package com.looprex.users.config;
+
+import com.looprex.users.model.Role;
+import com.looprex.users.model.User;
+import com.looprex.users.repository.RoleRepository;
+import com.looprex.users.repository.UserBulkRepository;
+import com.looprex.users.repository.UserRepository;
+import com.looprex.users.service.RoleCache;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({UserBulkRepository.class, RoleCache.class})
+class SyntheticUserGeneratorTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserBulkRepository userBulkRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private RoleCache roleCache;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void rutCheckDigit_DeberiaCalcularDigitoVerificador() {
+        // Act & Assert
+        assertEquals('5', SyntheticUserGenerator.rutCheckDigit(12345678L));
+        assertEquals('1', SyntheticUserGenerator.rutCheckDigit(11111111L));
+        assertEquals('K', SyntheticUserGenerator.rutCheckDigit(6L));
+        assertEquals('0', SyntheticUserGenerator.rutCheckDigit(14L));
+    }
+
+    @Test
+    void syntheticUser_DeberiaCumplirLasValidacionesDeUsuario() {
+        // Arrange
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        Role role = new Role(2L, "CLIENT");
+
+        // Act & Assert
+        for (long n : List.of(0L, 1L, 675L, 99_999_999L)) {
+            User user = SyntheticUserGenerator.syntheticUser(n, role, "$2a$10$hashedPasswordForTests");
+            assertTrue(validator.validate(user).isEmpty(), () -> "Usuario inválido: " + user);
+        }
+    }
+
+    @Test
+    void run_DeberiaContinuarDesdeElUltimoUsuarioGeneradoYCompartirElHash() {
+        // Arrange
+        roleRepository.save(new Role(null, "CLIENT"));
+        roleCache.evictAll();
+        when(passwordEncoder.encode("LoadTest123!")).thenReturn("$2a$10$hashedPasswordForTests");
+        SyntheticUserGenerator generator = new SyntheticUserGenerator(userRepository, userBulkRepository,
+                roleCache, passwordEncoder, 30, 20, "LoadTest123!");
+
+        // Act
+        generator.run();
+        generator.run();
+
+        // Assert
+        List<User> users = userRepository.findAll();
+        assertEquals(60, users.size());
+        Set<String> ruts = new HashSet<>();
+        users.forEach(user -> ruts.add(user.getRut()));
+        assertEquals(60, ruts.size());
+        assertTrue(userRepository.findByEmail("usuario59" + SyntheticUserGenerator.EMAIL_DOMAIN).isPresent());
+        assertTrue(users.stream().allMatch(user -> user.getEmailKey() != null));
+        // Un hash por ejecución, no uno por usuario
+        verify(passwordEncoder, times(2)).encode(anyString());
+    }
+}
@@ -0,0 +1,86 @@
+package com.looprex.users.controller;
+
+import com.looprex.users.dto.AuthTokens;
+import com.looprex.users.model.Role;
+import com.looprex.users.model.User;
+import com.looprex.users.service.SessionService;
+import com.looprex.users.service.TokenService;
+import com.looprex.users.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AuthController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class AuthControllerTest {
+
+    private static final String REFRESH_BODY = "{\"refreshToken\": \"refresh-token\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private TokenService tokenService;
+
+    @MockitoBean
+    private UserService userService;
+
+    @MockitoBean
+    private SessionService sessionService;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setUserId(1L);
+        testUser.setEmail("juan@test.com");
+        testUser.setRole(new Role(2L, "CLIENT"));
+        when(userService.getUserById(1L)).thenReturn(Optional.of(testUser));
+    }
+
+    @Test
+    void refresh_DeberiaEmitirTokensCuandoLaVersionDeCredencialesCoincide() throws Exception {
+        // Arrange
+        testUser.setCredentialVersion(2L);
+        when(tokenService.verifyRefresh("refresh-token")).thenReturn(new TokenService.RefreshClaims(1L, 2L));
+        when(tokenService.issueTokens(testUser)).thenReturn(AuthTokens.builder()
+                .accessToken("access").refreshToken("refresh").tokenType("Bearer").expiresIn(900L).build());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(REFRESH_BODY))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.accessToken").value("access"));
+    }
+
+    @Test
+    void refresh_DeberiaRechazarTokenEmitidoAntesDeCambiarCredenciales() throws Exception {
+        // Arrange: el usuario cambió su contraseña después de emitirse el token
+        testUser.setCredentialVersion(3L);
+        when(tokenService.verifyRefresh("refresh-token")).thenReturn(new TokenService.RefreshClaims(1L, 2L));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(REFRESH_BODY))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Refresh token revocado"));
+        verify(tokenService, never()).issueTokens(any());
+    }
+}
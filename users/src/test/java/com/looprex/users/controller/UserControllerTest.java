@@ -1,10 +1,19 @@
 package com.looprex.users.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.looprex.users.dto.UserPage;
 import com.looprex.users.dto.UserResponse;
+import com.looprex.users.dto.UserSearchCriteria;
+import com.looprex.users.dto.UserSummary;
 import com.looprex.users.mapper.UserMapper;
 import com.looprex.users.model.Role;
 import com.looprex.users.model.User;
+import com.looprex.users.exception.TooManyRequestsException;
+import com.looprex.users.service.LoginThrottleService;
+import com.looprex.users.service.PhotoStorageService;
+import com.looprex.users.service.SessionService;
+import com.looprex.users.service.TokenService;
+import com.looprex.users.service.UserImportService;
 import com.looprex.users.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,11 +22,15 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.*;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -38,6 +51,21 @@ class UserControllerTest {
     @MockitoBean
     private UserMapper userMapper;
 
+    @MockitoBean
+    private TokenService tokenService;
+
+    @MockitoBean
+    private LoginThrottleService loginThrottleService;
+
+    @MockitoBean
+    private PhotoStorageService photoStorageService;
+
+    @MockitoBean
+    private SessionService sessionService;
+
+    @MockitoBean
+    private UserImportService userImportService;
+
     private User testUser;
     private UserResponse testUserResponse;
 
@@ -76,6 +104,7 @@ class UserControllerTest {
 
         when(userService.login("juan@test.com", "Test123!")).thenReturn(Optional.of(testUser));
         when(userMapper.toUserResponse(testUser)).thenReturn(testUserResponse);
+        when(sessionService.create(testUser)).thenReturn("sesion-opaca");
 
         // Act & Assert
         mockMvc.perform(post("/api/users/login")
@@ -83,14 +112,35 @@ class UserControllerTest {
                 .content(objectMapper.writeValueAsString(credentials)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
-                .andExpect(jsonPath("$.data.email").value("juan@test.com"));
+                .andExpect(jsonPath("$.data.email").value("juan@test.com"))
+                .andExpect(jsonPath("$.data.sessionId").value("sesion-opaca"));
+    }
+
+    @Test
+    void login_DeberiaRetornar429SinVerificarContrasenaCuandoHayBackoffActivo() throws Exception {
+        // Arrange
+        Map<String, String> credentials = new HashMap<>();
+        credentials.put("email", "juan@test.com");
+        credentials.put("password", "Incorrecta1!");
+
+        doThrow(new TooManyRequestsException("Demasiados intentos fallidos. Intente nuevamente en 4 segundo(s)", 4))
+                .when(loginThrottleService).checkAllowed(eq("juan@test.com"), anyString());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(credentials)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "4"))
+                .andExpect(jsonPath("$.success").value(false));
+
+        verify(userService, never()).login(anyString(), anyString());
     }
 
     @Test
     void getUserById_DeberiaRetornar200CuandoUsuarioExiste() throws Exception {
         // Arrange
-        when(userService.getUserById(1L)).thenReturn(Optional.of(testUser));
-        when(userMapper.toUserResponse(testUser)).thenReturn(testUserResponse);
+        when(userService.getUserResponse(1L)).thenReturn(Optional.of(testUserResponse));
 
         // Act & Assert
         mockMvc.perform(get("/api/users/1"))
@@ -102,7 +152,7 @@ class UserControllerTest {
     @Test
     void getUserById_DeberiaRetornar404CuandoUsuarioNoExiste() throws Exception {
         // Arrange
-        when(userService.getUserById(999L)).thenReturn(Optional.empty());
+        when(userService.getUserResponse(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         mockMvc.perform(get("/api/users/999"))
@@ -125,17 +175,77 @@ class UserControllerTest {
     }
 
     @Test
-    void getAllUsers_DeberiaRetornar200ConListaDeUsuarios() throws Exception {
-        
-        List<User> users = Arrays.asList(testUser);
-        
-        when(userService.getAllUsers()).thenReturn(users);
-        when(userMapper.toUserResponse(testUser)).thenReturn(testUserResponse);
+    void getAllUsers_DeberiaRetornar200ConLaPrimeraPaginaSinParametros() throws Exception {
+        // Arrange
+        UserPage page = UserPage.builder()
+                .items(List.of(UserSummary.builder().userId(1L).email("juan@test.com").build()))
+                .hasMore(false)
+                .build();
+        when(userService.searchUsers(UserSearchCriteria.builder().build())).thenReturn(page);
 
+        // Act & Assert
         mockMvc.perform(get("/api/users"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
-                .andExpect(jsonPath("$.count").value(1));
+                .andExpect(jsonPath("$.count").value(1))
+                .andExpect(jsonPath("$.data.items[0].email").value("juan@test.com"))
+                .andExpect(jsonPath("$.data.hasMore").value(false));
+    }
+
+    @Test
+    void getAllUsers_DeberiaRetornar400ConLimiteInvalido() throws Exception {
+        // Arrange
+        when(userService.searchUsers(UserSearchCriteria.builder().limit(500).build()))
+                .thenThrow(new IllegalArgumentException("El límite debe estar entre 1 y 100"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users").param("limit", "500"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("El límite debe estar entre 1 y 100"));
+    }
+
+    @Test
+    void getAllUsers_DeberiaRetornarPaginaCuandoSeEnvianParametrosDeBusqueda() throws Exception {
+        // Arrange
+        UserPage page = UserPage.builder()
+                .items(List.of(UserSummary.builder().userId(1L).email("juan@test.com").build()))
+                .nextCursor("aWR8MXw")
+                .hasMore(true)
+                .build();
+        when(userService.searchUsers(UserSearchCriteria.builder().email("ju").limit(1).build())).thenReturn(page);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users").param("email", "ju").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[0].email").value("juan@test.com"))
+                .andExpect(jsonPath("$.data.nextCursor").value("aWR8MXw"))
+                .andExpect(jsonPath("$.data.hasMore").value(true));
+    }
+
+    @Test
+    void uploadProfilePhoto_DeberiaRetornar200ConUsuarioActualizado() throws Exception {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile("file", "foto.png", "image/png", new byte[]{1, 2, 3});
+        when(userService.uploadProfilePhoto(eq(1L), any())).thenReturn(Optional.of(testUser));
+        when(userMapper.toUserResponse(testUser)).thenReturn(testUserResponse);
+
+        // Act & Assert
+        mockMvc.perform(multipart("/api/users/1/profile-photo").file(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.message").value("Foto de perfil actualizada exitosamente"));
+    }
+
+    @Test
+    void getPhoto_DeberiaRetornar400ConClaveInvalida() throws Exception {
+        // Arrange
+        when(photoStorageService.resolve(eq("..secreto"), any()))
+                .thenThrow(new IllegalArgumentException("Clave de foto inválida"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users/photos/..secreto"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Clave de foto inválida"));
     }
 
     @Test
@@ -157,5 +267,37 @@ class UserControllerTest {
                 .content(objectMapper.writeValueAsString(data)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true));
-    }   
-}
\ No newline at end of file
+    }
+
+    @Test
+    void usersExist_DeberiaRetornar200ConMapaDeExistencia() throws Exception {
+        // Arrange
+        Map<Long, Boolean> result = new LinkedHashMap<>();
+        result.put(1L, true);
+        result.put(99L, false);
+        when(userService.usersExist(List.of(1L, 99L))).thenReturn(result);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/users/batch/exists")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": [1, 99]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.1").value(true))
+                .andExpect(jsonPath("$.data.99").value(false))
+                .andExpect(jsonPath("$.count").value(2));
+    }
+
+    @Test
+    void usersExist_DeberiaRetornar400CuandoListaVacia() throws Exception {
+        // Arrange
+        when(userService.usersExist(List.of()))
+                .thenThrow(new IllegalArgumentException("Debe indicar al menos un ID de usuario"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/users/batch/exists")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": []}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Debe indicar al menos un ID de usuario"));
+    }
+}
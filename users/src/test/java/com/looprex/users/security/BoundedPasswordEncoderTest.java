@@ -0,0 +1,111 @@
+package com.looprex.users.security;
+
+import com.looprex.users.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+    private ExecutorService callers;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (encoder != null) {
+            encoder.destroy();
+        }
+        if (callers != null) {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void matches_DeberiaDelegarYRegistrarLatencia() {
+        // Arrange
+        encoder = new BoundedPasswordEncoder(new PlainEncoder(null), 1, 1, 1000, meterRegistry);
+
+        // Act
+        boolean result = encoder.matches("Test123!", "Test123!");
+
+        // Assert
+        assertTrue(result);
+        assertEquals(1, meterRegistry.get("users.password.hash").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void encode_DeberiaRechazarCon503CuandoLaColaEstaLlena() throws Exception {
+        // Arrange: 1 hilo ocupado + 1 tarea en cola
+        CountDownLatch started = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(new PlainEncoder(started), 1, 1, 5000, meterRegistry);
+        callers = Executors.newFixedThreadPool(2);
+        callers.submit(() -> encoder.encode("a"));
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        callers.submit(() -> encoder.encode("b"));
+        waitForQueue(1);
+
+        // Act & Assert
+        assertThrows(ServiceOverloadedException.class, () -> encoder.encode("c"));
+        assertEquals(1.0, meterRegistry.get("users.password.hash.rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("users.password.hash.queue").gauge().value());
+    }
+
+    @Test
+    void encode_DeberiaRechazarCon503CuandoSuperaElTimeout() throws Exception {
+        // Arrange
+        encoder = new BoundedPasswordEncoder(new PlainEncoder(new CountDownLatch(1)), 1, 1, 50, meterRegistry);
+
+        // Act & Assert
+        assertThrows(ServiceOverloadedException.class, () -> encoder.encode("a"));
+        assertEquals(1.0, meterRegistry.get("users.password.hash.rejected").counter().count());
+    }
+
+    private void waitForQueue(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (encoder.queueSize() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, encoder.queueSize());
+    }
+
+    /**
+     * Encoder trivial; si recibe un latch se bloquea hasta que el test lo libera
+     */
+    private class PlainEncoder implements PasswordEncoder {
+
+        private final CountDownLatch started;
+
+        PlainEncoder(CountDownLatch started) {
+            this.started = started;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            if (started != null) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.looprex.users.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordEncodersTest {
+
+    @Test
+    void delegating_DeberiaVerificarHashAntiguoSinPrefijoYMarcarloParaMigrar() {
+        // Arrange
+        String legacyHash = PasswordEncoders.bcrypt(4).encode("Test123!");
+        PasswordEncoder encoder = PasswordEncoders.delegating(PasswordEncoders.BCRYPT, 4, 1000);
+
+        // Act & Assert
+        assertTrue(encoder.matches("Test123!", legacyHash));
+        assertTrue(encoder.upgradeEncoding(legacyHash));
+    }
+
+    @Test
+    void delegating_DeberiaMarcarParaMigrarCuandoSubeElCosto() {
+        // Arrange
+        String weakHash = PasswordEncoders.delegating(PasswordEncoders.BCRYPT, 4, 1000).encode("Test123!");
+        PasswordEncoder stronger = PasswordEncoders.delegating(PasswordEncoders.BCRYPT, 5, 1000);
+
+        // Act & Assert
+        assertTrue(weakHash.startsWith("{bcrypt}"));
+        assertTrue(stronger.matches("Test123!", weakHash));
+        assertTrue(stronger.upgradeEncoding(weakHash));
+        assertFalse(stronger.upgradeEncoding(stronger.encode("Test123!")));
+    }
+
+    @Test
+    void delegating_DeberiaMarcarParaMigrarCuandoCambiaElAlgoritmo() {
+        // Arrange
+        String bcryptHash = PasswordEncoders.delegating(PasswordEncoders.BCRYPT, 4, 1000).encode("Test123!");
+        PasswordEncoder encoder = PasswordEncoders.delegating(PasswordEncoders.PBKDF2, 4, 1000);
+
+        // Act
+        String pbkdf2Hash = encoder.encode("Test123!");
+
+        // Assert
+        assertTrue(encoder.matches("Test123!", bcryptHash));
+        assertTrue(encoder.upgradeEncoding(bcryptHash));
+        assertTrue(pbkdf2Hash.startsWith("{pbkdf2}"));
+        assertTrue(encoder.matches("Test123!", pbkdf2Hash));
+    }
+
+    @Test
+    void delegating_DeberiaMarcarParaMigrarCuandoSubenLasIteracionesDePbkdf2() {
+        // Arrange
+        String weakHash = PasswordEncoders.delegating(PasswordEncoders.PBKDF2, 4, 1000).encode("Test123!");
+        PasswordEncoder stronger = PasswordEncoders.delegating(PasswordEncoders.PBKDF2, 4, 2000);
+
+        // Act & Assert
+        assertTrue(weakHash.startsWith("{pbkdf2}1000$"));
+        assertTrue(stronger.matches("Test123!", weakHash));
+        assertFalse(stronger.matches("Otra123!", weakHash));
+        assertTrue(stronger.upgradeEncoding(weakHash));
+        assertFalse(stronger.upgradeEncoding(stronger.encode("Test123!")));
+    }
+
+    @Test
+    void pbkdf2_DeberiaVerificarHashSinIteracionesYMarcarloParaMigrar() {
+        // Arrange: formato anterior, sin el prefijo de iteraciones
+        String legacyHash = new Pbkdf2PasswordEncoder("", 16, 1000,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256).encode("Test123!");
+        PasswordEncoder encoder = PasswordEncoders.pbkdf2(1000);
+
+        // Act & Assert
+        assertTrue(encoder.matches("Test123!", legacyHash));
+        assertTrue(encoder.upgradeEncoding(legacyHash));
+    }
+
+    @Test
+    void delegating_DeberiaFallarConAlgoritmoDesconocido() {
+        // Act & Assert
+        IllegalStateException exception = assertThrows(
+            IllegalStateException.class,
+            () -> PasswordEncoders.delegating("md5", 10, 1000)
+        );
+
+        assertEquals("Algoritmo de contraseñas no soportado: md5", exception.getMessage());
+    }
+}
@@ -0,0 +1,75 @@
+package com.looprex.users.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void save_DeberiaDescartarLaSesionMenosUsadaAlLlenarse() {
+        // Arrange
+        InMemorySessionStore store = new InMemorySessionStore(2);
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        store.save(new Session("a", 1L, 2L, "CLIENT", 0, expiresAt));
+        store.save(new Session("b", 2L, 2L, "CLIENT", 0, expiresAt));
+        store.find("a");
+
+        // Act
+        store.save(new Session("c", 3L, 2L, "CLIENT", 0, expiresAt));
+
+        // Assert
+        assertEquals(2, store.size());
+        assertTrue(store.find("a").isPresent());
+        assertTrue(store.find("b").isEmpty());
+        assertEquals(0, store.removeByUser(2L));
+    }
+
+    @Test
+    void save_DeberiaPreferirDescartarSesionesExpiradas() {
+        // Arrange
+        InMemorySessionStore store = new InMemorySessionStore(2);
+        long now = System.currentTimeMillis();
+        store.save(new Session("vigente", 1L, 2L, "CLIENT", 0, now + 60_000));
+        store.save(new Session("expirada", 2L, 2L, "CLIENT", 0, now - 1));
+        store.find("expirada");
+
+        // Act
+        store.save(new Session("nueva", 3L, 2L, "CLIENT", 0, now + 60_000));
+
+        // Assert
+        assertTrue(store.find("vigente").isPresent());
+        assertTrue(store.find("expirada").isEmpty());
+    }
+
+    @Test
+    void fileSessionStore_DeberiaConservarSesionesTrasReinicioOrdenado() throws Exception {
+        // Arrange
+        Path file = dir.resolve("sessions.json");
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        FileSessionStore store = new FileSessionStore(10, file, new ObjectMapper());
+        store.save(new Session("a", 1L, 2L, "CLIENT", 0, expiresAt));
+        store.save(new Session("b", 1L, 2L, "CLIENT", 0, expiresAt));
+        store.removeByUser(1L);
+        store.save(new Session("c", 2L, 1L, "ADMIN", 0, expiresAt));
+
+        // Act
+        store.destroy();
+        FileSessionStore restarted = new FileSessionStore(10, file, new ObjectMapper());
+
+        // Assert
+        assertEquals(1, restarted.size());
+        assertEquals("ADMIN", restarted.find("c").orElseThrow().roleName());
+        assertTrue(restarted.find("a").isEmpty());
+        // Leído el archivo se elimina: una caída posterior no puede revivir sesiones revocadas
+        assertFalse(Files.exists(file));
+    }
+}
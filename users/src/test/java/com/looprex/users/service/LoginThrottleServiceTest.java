@@ -0,0 +1,85 @@
+package com.looprex.users.service;
+
+import com.looprex.users.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoginThrottleService loginThrottleService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        loginThrottleService = new LoginThrottleService(3, 1000, 60_000, meterRegistry);
+    }
+
+    @Test
+    void checkAllowed_DeberiaPermitirLosIntentosLibres() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            loginThrottleService.recordFailure("juan@test.com", "10.0.0.1");
+        }
+
+        // Act & Assert
+        assertDoesNotThrow(() -> loginThrottleService.checkAllowed("juan@test.com", "10.0.0.1"));
+    }
+
+    @Test
+    void checkAllowed_DeberiaBloquearPorEmailAunqueCambieLaIp() {
+        // Arrange
+        for (int i = 0; i < 4; i++) {
+            loginThrottleService.recordFailure("Juan@Test.com", "10.0.0." + i);
+        }
+
+        // Act & Assert
+        TooManyRequestsException exception = assertThrows(
+            TooManyRequestsException.class,
+            () -> loginThrottleService.checkAllowed("juan@test.com", "10.0.0.99")
+        );
+
+        assertEquals(1, exception.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("users.login.throttled").counter().count());
+    }
+
+    @Test
+    void checkAllowed_DeberiaBloquearPorIpAunqueCambieElEmail() {
+        // Arrange
+        for (int i = 0; i < 4; i++) {
+            loginThrottleService.recordFailure("user" + i + "@test.com", "10.0.0.1");
+        }
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class,
+            () -> loginThrottleService.checkAllowed("otro@test.com", "10.0.0.1"));
+    }
+
+    @Test
+    void recordSuccess_DeberiaLimpiarElContadorDelEmail() {
+        // Arrange
+        for (int i = 0; i < 4; i++) {
+            loginThrottleService.recordFailure("juan@test.com", "10.0.0." + i);
+        }
+
+        // Act
+        loginThrottleService.recordSuccess("juan@test.com");
+
+        // Assert
+        assertDoesNotThrow(() -> loginThrottleService.checkAllowed("juan@test.com", "10.0.0.99"));
+    }
+
+    @Test
+    void backoff_DeberiaDuplicarseHastaElMaximo() {
+        // Act & Assert
+        assertEquals(0, loginThrottleService.backoff(3));
+        assertEquals(1000, loginThrottleService.backoff(4));
+        assertEquals(2000, loginThrottleService.backoff(5));
+        assertEquals(4000, loginThrottleService.backoff(6));
+        assertEquals(60_000, loginThrottleService.backoff(20));
+        assertEquals(60_000, loginThrottleService.backoff(100));
+    }
+}
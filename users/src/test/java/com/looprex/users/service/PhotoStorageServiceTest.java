@@ -0,0 +1,115 @@
+package com.looprex.users.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PhotoStorageServiceTest {
+
+    @TempDir
+    Path storageDir;
+
+    private PhotoStorageService photoStorageService;
+
+    @BeforeEach
+    void setUp() {
+        photoStorageService = new PhotoStorageService(storageDir.toString(), 1024 * 1024, List.of(64, 256), 1, 10);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        // Las miniaturas pendientes escriben en storageDir, que JUnit borra al terminar
+        awaitThumbnails();
+        photoStorageService.destroy();
+    }
+
+    @Test
+    void store_DeberiaDeduplicarPorContenido() throws Exception {
+        // Arrange
+        byte[] png = png(800, 600);
+
+        // Act
+        String first = photoStorageService.store(new ByteArrayInputStream(png));
+        String second = photoStorageService.store(new ByteArrayInputStream(png));
+
+        // Assert
+        assertEquals(first, second);
+        assertTrue(PhotoStorageService.isStoredKey(first));
+        assertTrue(first.endsWith(".png"));
+        try (Stream<Path> entries = Files.list(storageDir)) {
+            assertEquals(1, entries.count());
+        }
+    }
+
+    @Test
+    void store_DeberiaGenerarMiniaturasCuadradasEnSegundoPlano() throws Exception {
+        // Arrange
+        String key = photoStorageService.store(new ByteArrayInputStream(png(800, 600)));
+
+        // Act
+        awaitThumbnails();
+        Path thumbnail = photoStorageService.resolve(key, 64).orElseThrow();
+
+        // Assert
+        assertEquals("64.png", thumbnail.getFileName().toString());
+        BufferedImage image = ImageIO.read(thumbnail.toFile());
+        assertEquals(64, image.getWidth());
+        assertEquals(64, image.getHeight());
+    }
+
+    @Test
+    void store_DeberiaRechazarArchivoQueNoEsImagen() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> photoStorageService.store(new ByteArrayInputStream("no soy una imagen".getBytes())));
+
+        assertEquals("El archivo no es una imagen JPEG o PNG válida", exception.getMessage());
+        assertTrue(storageDir.toFile().list().length == 0);
+    }
+
+    @Test
+    void store_DeberiaRechazarArchivoDemasiadoGrande() {
+        // Arrange
+        PhotoStorageService small = new PhotoStorageService(storageDir.toString(), 100, List.of(64), 1, 1);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> small.store(new ByteArrayInputStream(new byte[101])));
+        small.destroy();
+    }
+
+    @Test
+    void resolve_DeberiaRechazarClavesFueraDelFormato() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> photoStorageService.resolve("../../etc/passwd", null));
+        assertThrows(IllegalArgumentException.class,
+            () -> photoStorageService.resolve("a".repeat(64) + ".png", 999));
+    }
+
+    private void awaitThumbnails() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (photoStorageService.pendingThumbnails() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(width / 2, height / 2, 0xFF0000);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,96 @@
+package com.looprex.users.service;
+
+import com.looprex.users.model.Role;
+import com.looprex.users.model.User;
+import com.looprex.users.security.InMemorySessionStore;
+import com.looprex.users.security.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionServiceTest {
+
+    private InMemorySessionStore sessionStore;
+    private SessionService sessionService;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        sessionStore = new InMemorySessionStore(100);
+        sessionService = new SessionService(sessionStore, 3600);
+
+        testUser = new User();
+        testUser.setUserId(1L);
+        testUser.setRole(new Role(2L, "CLIENT"));
+    }
+
+    @Test
+    void validate_DeberiaRetornarSesionCreadaEnElLogin() {
+        // Arrange
+        String sessionId = sessionService.create(testUser);
+
+        // Act
+        Optional<Session> session = sessionService.validate(sessionId);
+
+        // Assert
+        assertTrue(session.isPresent());
+        assertEquals(1L, session.get().userId());
+        assertEquals("CLIENT", session.get().roleName());
+        assertNotEquals(sessionId, session.get().key());
+    }
+
+    @Test
+    void validate_DeberiaRechazarSesionExpirada() {
+        // Arrange
+        SessionService expiring = new SessionService(sessionStore, 0);
+        String sessionId = expiring.create(testUser);
+
+        // Act & Assert
+        assertTrue(expiring.validate(sessionId).isEmpty());
+        assertEquals(0, sessionStore.size());
+    }
+
+    @Test
+    void revokeAll_DeberiaInvalidarTodasLasSesionesDelUsuario() {
+        // Arrange
+        String first = sessionService.create(testUser);
+        String second = sessionService.create(testUser);
+        User other = new User();
+        other.setUserId(2L);
+        String otherSession = sessionService.create(other);
+
+        // Act
+        int revoked = sessionService.revokeAll(1L);
+
+        // Assert
+        assertEquals(2, revoked);
+        assertTrue(sessionService.validate(first).isEmpty());
+        assertTrue(sessionService.validate(second).isEmpty());
+        assertTrue(sessionService.validate(otherSession).isPresent());
+    }
+
+    @Test
+    void revoke_DeberiaCerrarSoloLaSesionIndicada() {
+        // Arrange
+        String first = sessionService.create(testUser);
+        String second = sessionService.create(testUser);
+
+        // Act
+        sessionService.revoke(first);
+
+        // Assert
+        assertTrue(sessionService.validate(first).isEmpty());
+        assertTrue(sessionService.validate(second).isPresent());
+    }
+
+    @Test
+    void validate_DeberiaRechazarSesionVaciaODesconocida() {
+        // Act & Assert
+        assertTrue(sessionService.validate(null).isEmpty());
+        assertTrue(sessionService.validate(" ").isEmpty());
+        assertTrue(sessionService.validate("no-existe").isEmpty());
+    }
+}
@@ -0,0 +1,126 @@
+package com.looprex.users.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.looprex.users.dto.AuthTokens;
+import com.looprex.users.model.Role;
+import com.looprex.users.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenServiceTest {
+
+    private TokenService tokenService;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        tokenService = new TokenService(new ObjectMapper(), "", "", "looprex-users", 900, 3600);
+
+        testUser = new User();
+        testUser.setUserId(1L);
+        testUser.setEmail("juan@test.com");
+        testUser.setRole(new Role(2L, "CLIENT"));
+    }
+
+    @Test
+    void issueTokens_DeberiaEmitirAccessTokenConUserIdYRol() {
+        // Act
+        AuthTokens tokens = tokenService.issueTokens(testUser);
+
+        // Assert
+        assertEquals(1L, tokenService.verify(tokens.getAccessToken(), TokenService.ACCESS));
+        String payload = new String(Base64.getUrlDecoder().decode(tokens.getAccessToken().split("\\.")[1]),
+                StandardCharsets.UTF_8);
+        assertTrue(payload.contains("\"role\":\"CLIENT\""));
+        assertEquals("Bearer", tokens.getTokenType());
+        assertEquals(900L, tokens.getExpiresIn());
+    }
+
+    @Test
+    void verify_DeberiaRechazarRefreshTokenUsadoComoAccessToken() {
+        // Arrange
+        AuthTokens tokens = tokenService.issueTokens(testUser);
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> tokenService.verify(tokens.getRefreshToken(), TokenService.ACCESS)
+        );
+
+        assertEquals("Token no válido para esta operación", exception.getMessage());
+        assertEquals(1L, tokenService.verify(tokens.getRefreshToken(), TokenService.REFRESH));
+    }
+
+    @Test
+    void verifyRefresh_DeberiaRetornarLaVersionDeCredencialesDelToken() {
+        // Arrange
+        testUser.setCredentialVersion(2L);
+        String refreshToken = tokenService.issueTokens(testUser).getRefreshToken();
+
+        // Act
+        TokenService.RefreshClaims claims = tokenService.verifyRefresh(refreshToken);
+
+        // Assert
+        assertEquals(new TokenService.RefreshClaims(1L, 2L), claims);
+    }
+
+    @Test
+    void verifyRefresh_DeberiaTratarUsuarioSinVersionComoVersionCero() {
+        // Act
+        TokenService.RefreshClaims claims = tokenService.verifyRefresh(tokenService.issueTokens(testUser).getRefreshToken());
+
+        // Assert
+        assertEquals(0L, claims.credentialVersion());
+    }
+
+    @Test
+    void verify_DeberiaRechazarTokenAlterado() {
+        // Arrange
+        String[] parts = tokenService.issueTokens(testUser).getAccessToken().split("\\.");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                "{\"iss\":\"looprex-users\",\"sub\":\"99\",\"typ\":\"access\",\"exp\":9999999999}"
+                        .getBytes(StandardCharsets.UTF_8));
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> tokenService.verify(parts[0] + "." + forgedPayload + "." + parts[2], TokenService.ACCESS)
+        );
+
+        assertEquals("Firma del token inválida", exception.getMessage());
+    }
+
+    @Test
+    void verify_DeberiaRechazarTokenExpirado() {
+        // Arrange
+        TokenService expiring = new TokenService(new ObjectMapper(), "", "", "looprex-users", -1, -1);
+        String token = expiring.issueTokens(testUser).getAccessToken();
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> expiring.verify(token, TokenService.ACCESS)
+        );
+
+        assertEquals("Token expirado", exception.getMessage());
+    }
+
+    @Test
+    void getPublicKey_DeberiaPublicarKidDeLosTokens() {
+        // Arrange
+        String header = new String(Base64.getUrlDecoder().decode(
+                tokenService.issueTokens(testUser).getAccessToken().split("\\.")[0]), StandardCharsets.UTF_8);
+
+        // Act
+        String kid = tokenService.getPublicKey().getKid();
+
+        // Assert
+        assertTrue(header.contains("\"kid\":\"" + kid + "\""));
+        assertEquals("RS256", tokenService.getPublicKey().getAlgorithm());
+    }
+}
@@ -0,0 +1,149 @@
+package com.looprex.users.service;
+
+import com.looprex.users.mapper.UserMapper;
+import com.looprex.users.model.Role;
+import com.looprex.users.model.User;
+import com.looprex.users.repository.RoleRepository;
+import com.looprex.users.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * El hash de contraseñas (que puede esperar en BoundedPasswordEncoder) no debe ocurrir con una
+ * transacción abierta ni con una conexión o EntityManager asociados al hilo: solo la escritura
+ * posterior toma una conexión del pool
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false"
+})
+@Import({UserService.class, UserMapper.class, RoleCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserCredentialTransactionTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private RoleCache roleCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockitoBean
+    private PhotoStorageService photoStorageService;
+
+    @MockitoBean
+    private SessionService sessionService;
+
+    // Estado observado en cada llamada al encoder; una entrada por llamada
+    private final List<String> heldDuringHashing = new CopyOnWriteArrayList<>();
+    private Role client;
+
+    @BeforeEach
+    void setUp() {
+        client = roleRepository.save(new Role(null, "CLIENT"));
+        roleCache.evictAll();
+        when(passwordEncoder.encode(anyString())).thenAnswer(recording("$2a$10$hashedPasswordForTests"));
+        when(passwordEncoder.matches(any(), any())).thenAnswer(recording(true));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        roleRepository.deleteAll();
+        roleCache.evictAll();
+    }
+
+    @Test
+    void register_NoDeberiaRetenerConexionDuranteElHash() {
+        // Act
+        userService.register(newUser("juan@test.com"));
+
+        // Assert
+        assertEquals(List.of("libre"), heldDuringHashing);
+        assertEquals(1, userRepository.count());
+    }
+
+    @Test
+    void updatePassword_NoDeberiaRetenerConexionDuranteVerificacionNiHash() {
+        // Arrange
+        Long userId = userService.register(newUser("juan@test.com")).getUserId();
+        heldDuringHashing.clear();
+
+        // Act
+        userService.updatePassword(userId, "Test123!", "Nueva123!");
+
+        // Assert: matches y encode, ambos sin transacción
+        assertEquals(List.of("libre", "libre"), heldDuringHashing);
+    }
+
+    @Test
+    void updateEmail_NoDeberiaRetenerConexionDuranteLaVerificacion() {
+        // Arrange
+        Long userId = userService.register(newUser("juan@test.com")).getUserId();
+        heldDuringHashing.clear();
+
+        // Act
+        userService.updateEmail(userId, "nuevo@test.com", "Test123!");
+
+        // Assert
+        assertEquals(List.of("libre"), heldDuringHashing);
+        assertEquals("nuevo@test.com", userRepository.findById(userId).orElseThrow().getEmail());
+    }
+
+    private <T> Answer<T> recording(T result) {
+        return invocation -> {
+            boolean held = TransactionSynchronizationManager.isActualTransactionActive()
+                    || TransactionSynchronizationManager.hasResource(dataSource)
+                    || TransactionSynchronizationManager.hasResource(entityManagerFactory);
+            heldDuringHashing.add(held ? "retenida" : "libre");
+            return result;
+        };
+    }
+
+    private User newUser(String email) {
+        User user = new User();
+        user.setName("Usuario");
+        user.setLastname("Prueba");
+        user.setEmail(email);
+        user.setRut("12345678-9");
+        user.setPhone("912345678");
+        user.setPassword("Test123!");
+        user.setRole(new Role(client.getRoleId(), null));
+        user.setStatusId(1L);
+        return user;
+    }
+}
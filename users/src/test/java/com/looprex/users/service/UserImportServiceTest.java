@@ -0,0 +1,188 @@
+package com.looprex.users.service;
+
+import com.looprex.users.dto.UserImportItem;
+import com.looprex.users.dto.UserImportResult;
+import com.looprex.users.model.Role;
+import com.looprex.users.model.User;
+import com.looprex.users.repository.RoleRepository;
+import com.looprex.users.repository.UserBulkRepository;
+import com.looprex.users.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Importación contra H2 real: valida el INSERT por JDBC (nombres de columna, claves de búsqueda)
+ * y que los duplicados se detecten contra la base y dentro del mismo lote
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({UserImportService.class, UserBulkRepository.class, RoleCache.class})
+class UserImportServiceTest {
+
+    private static final String HASH = "$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy";
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private RoleCache roleCache;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        Role client = roleRepository.save(new Role(null, "CLIENT"));
+        roleRepository.save(new Role(null, "ADMIN"));
+        roleCache.evictAll();
+
+        User existing = new User();
+        existing.setRut("11.111.111-1");
+        existing.setName("Juan");
+        existing.setLastname("Pérez");
+        existing.setPhone("912345678");
+        existing.setEmail("juan@test.com");
+        existing.setPassword(HASH);
+        existing.setRole(client);
+        existing.setStatusId(1L);
+        userRepository.saveAndFlush(existing);
+    }
+
+    @Test
+    void importUsers_DeberiaInsertarConClavesDeBusquedaYHashSinCambios() {
+        // Arrange
+        List<UserImportItem> items = List.of(
+                item("María", "Núñez", "Maria@Test.com", "12345678-5").passwordHash(HASH).role("ADMIN").build());
+
+        // Act
+        UserImportResult result = userImportService.importUsers(items);
+
+        // Assert
+        assertEquals(1, result.getImported());
+        assertTrue(result.getRejected().isEmpty());
+        User imported = userRepository.findByEmail("Maria@Test.com").orElseThrow();
+        assertEquals(HASH, imported.getPassword());
+        assertEquals("maria@test.com", imported.getEmailKey());
+        assertEquals("nunez", imported.getLastnameKey());
+        assertEquals("12345678-5", imported.getRut());
+        assertEquals("ADMIN", imported.getRole().getName());
+        verify(passwordEncoder, never()).encode(anyString());
+    }
+
+    @Test
+    void importUsers_DeberiaRechazarDuplicadosEInvalidosSinDetenerElLote() {
+        // Arrange
+        when(passwordEncoder.encode("Clave123!")).thenReturn(HASH);
+        List<UserImportItem> items = new ArrayList<>();
+        items.add(item("Pedro", "Soto", "JUAN@test.com", "22222222-2").password("Clave123!").build());
+        items.add(item("Ana", "Rojas", "ana@test.com", "11111111-1").password("Clave123!").build());
+        items.add(item("Ana", "Díaz", "ana.diaz@test.com", "33333333-3").password("Clave123!").build());
+        items.add(item("Ana", "Díaz", "ana.diaz@test.com", "44444444-4").password("Clave123!").build());
+        items.add(item("Luis", "Mora", "luis@test.com", "55555555-5").phone("812345678").password("Clave123!").build());
+        items.add(item("Rosa", "Vera", "rosa@test.com", "66666666-6").passwordHash("texto-plano").build());
+
+        // Act
+        UserImportResult result = userImportService.importUsers(items);
+
+        // Assert
+        assertEquals(1, result.getImported());
+        assertEquals(List.of(0, 1, 3, 4, 5), result.getRejected().stream().map(e -> e.getIndex()).toList());
+        assertEquals("El email ya está en uso", result.getRejected().get(0).getMessage());
+        assertEquals("El RUT ya está en uso", result.getRejected().get(1).getMessage());
+        assertEquals("El email ya está en uso", result.getRejected().get(2).getMessage());
+        assertEquals("El teléfono debe comenzar con 9 y tener 9 dígitos", result.getRejected().get(3).getMessage());
+        assertEquals("Formato de passwordHash no soportado", result.getRejected().get(4).getMessage());
+        // Solo se hashea la contraseña del usuario que se insertó
+        verify(passwordEncoder, times(1)).encode("Clave123!");
+        assertEquals(2, userRepository.count());
+    }
+
+    // Sin la transacción del test: insertAll debe revertir su propio lote al fallar, como en producción
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void importUsers_DeberiaRechazarElEmailTomadoPorUnRegistroConcurrenteYReintentar() {
+        // Arrange: el registro ocurre después de la verificación de duplicados, mientras se hashea
+        when(passwordEncoder.encode("Clave123!")).thenAnswer(invocation -> {
+            User concurrent = new User();
+            concurrent.setRut("77777777-7");
+            concurrent.setName("Pedro");
+            concurrent.setLastname("Soto");
+            concurrent.setPhone("912345678");
+            concurrent.setEmail("pedro@test.com");
+            concurrent.setPassword(HASH);
+            concurrent.setRole(roleCache.findByName("CLIENT").orElseThrow());
+            concurrent.setStatusId(1L);
+            userRepository.saveAndFlush(concurrent);
+            return HASH;
+        });
+        List<UserImportItem> items = List.of(
+                item("Pedro", "Soto", "pedro@test.com", "22222222-2").password("Clave123!").build(),
+                item("Ana", "Rojas", "ana@test.com", "33333333-3").passwordHash(HASH).build());
+
+        try {
+            // Act
+            UserImportResult result = userImportService.importUsers(items);
+
+            // Assert
+            assertEquals(1, result.getImported());
+            assertEquals(1, result.getRejected().size());
+            assertEquals(0, result.getRejected().get(0).getIndex());
+            assertEquals("El email ya está en uso", result.getRejected().get(0).getMessage());
+            assertEquals(List.of("juan@test.com", "pedro@test.com", "ana@test.com"),
+                    userRepository.findAll().stream().map(User::getEmail).toList());
+            verify(passwordEncoder, times(1)).encode("Clave123!");
+        } finally {
+            userRepository.deleteAll();
+            roleRepository.deleteAll();
+        }
+    }
+
+    @Test
+    void importUsers_DeberiaRechazarLoteVacioOExcedido() {
+        // Arrange
+        List<UserImportItem> tooMany = new ArrayList<>();
+        for (int i = 0; i <= UserImportService.MAX_IMPORT_SIZE; i++) {
+            tooMany.add(item("Ana", "Soto", "ana" + i + "@test.com", null).passwordHash(HASH).build());
+        }
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> userImportService.importUsers(List.of()));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> userImportService.importUsers(tooMany));
+        assertEquals("No se pueden importar más de 1000 usuarios a la vez", exception.getMessage());
+    }
+
+    private static UserImportItem.UserImportItemBuilder item(String name, String lastname, String email, String rut) {
+        return UserImportItem.builder()
+                .name(name)
+                .lastname(lastname)
+                .email(email)
+                .rut(rut)
+                .phone("987654321");
+    }
+}
@@ -0,0 +1,148 @@
+package com.looprex.users.service;
+
+import com.looprex.users.dto.UserPage;
+import com.looprex.users.dto.UserResponse;
+import com.looprex.users.dto.UserSearchCriteria;
+import com.looprex.users.mapper.UserMapper;
+import com.looprex.users.model.Role;
+import com.looprex.users.model.User;
+import com.looprex.users.repository.RoleRepository;
+import com.looprex.users.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara, con las estadísticas de Hibernate, la lectura anterior (entidad completa y mapeo)
+ * con la proyección usada por GET /api/users/{id}: la proyección debe costar un solo statement,
+ * sin tocar la tabla de roles ni materializar entidades (ni sus contraseñas). GET /api/users
+ * lee siempre una sola página acotada
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.show-sql=false"
+})
+@Import({UserService.class, UserMapper.class, RoleCache.class})
+class UserReadStatementsTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private RoleCache roleCache;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockitoBean
+    private PhotoStorageService photoStorageService;
+
+    @MockitoBean
+    private SessionService sessionService;
+
+    private Statistics statistics;
+    private Long firstUserId;
+
+    @BeforeEach
+    void setUp() {
+        Role client = roleRepository.save(new Role(null, "CLIENT"));
+        Role admin = roleRepository.save(new Role(null, "ADMIN"));
+        for (int i = 0; i < 10; i++) {
+            User saved = userRepository.save(newUser(i, i % 2 == 0 ? client : admin));
+            if (firstUserId == null) {
+                firstUserId = saved.getUserId();
+            }
+        }
+        roleCache.evictAll();
+        roleCache.findById(client.getRoleId());
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getUserResponse_DeberiaUsarUnSoloStatementSinCargarEntidades() {
+        // Act
+        UserResponse response = userService.getUserResponse(firstUserId).orElseThrow();
+
+        // Assert
+        assertEquals("CLIENT", response.getRole().getName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void getUserById_LecturaAnteriorCargaUsuarioYRol() {
+        // Act: entidad completa (con contraseña) y rol inicializado al mapear
+        UserResponse response = userMapper.toUserResponse(userRepository.findById(firstUserId).orElseThrow());
+
+        // Assert
+        assertEquals("CLIENT", response.getRole().getName());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void searchUsers_SinParametrosDeberiaLeerSoloLaPrimeraPaginaEnUnStatement() {
+        // Act
+        UserPage page = userService.searchUsers(UserSearchCriteria.builder().limit(3).build());
+
+        // Assert: limit + 1 filas (la extra solo indica si hay más), con el rol en el mismo JOIN
+        assertEquals(3, page.getItems().size());
+        assertTrue(page.isHasMore());
+        assertEquals("ADMIN", page.getItems().get(1).getRoleName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getAllUsers_LecturaAnteriorCargaCadaRolDistinto() {
+        // Act
+        List<UserResponse> responses = userRepository.findAll().stream()
+                .map(userMapper::toUserResponse)
+                .toList();
+
+        // Assert: 1 (usuarios) + 1 por rol distinto, y todas las entidades en memoria
+        assertEquals(10, responses.size());
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(12, statistics.getEntityLoadCount());
+    }
+
+    private static User newUser(int i, Role role) {
+        User user = new User();
+        user.setRut((10_000_000 + i) + "-" + i);
+        user.setName("Usuario");
+        user.setLastname("Prueba");
+        user.setPhone("912345678");
+        user.setEmail("usuario" + i + "@test.com");
+        user.setPassword("$2a$10$hashedPasswordForTests");
+        user.setRole(role);
+        user.setStatusId(1L);
+        return user;
+    }
+}
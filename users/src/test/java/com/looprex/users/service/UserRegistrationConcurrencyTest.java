@@ -0,0 +1,189 @@
+package com.looprex.users.service;
+
+import com.looprex.users.mapper.UserMapper;
+import com.looprex.users.model.Role;
+import com.looprex.users.model.User;
+import com.looprex.users.repository.RoleRepository;
+import com.looprex.users.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Registro contra H2 real, sin transacción envolvente del test para que cada hilo confirme
+ * su propia transacción: la restricción única debe dejar pasar exactamente un registro por
+ * email, y cada registro debe costar un solo statement (el INSERT)
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.show-sql=false"
+})
+@Import({UserService.class, UserMapper.class, RoleCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserRegistrationConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private RoleCache roleCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockitoBean
+    private PhotoStorageService photoStorageService;
+
+    @MockitoBean
+    private SessionService sessionService;
+
+    private Role client;
+
+    @BeforeEach
+    void setUp() {
+        client = roleRepository.save(new Role(null, "CLIENT"));
+        roleCache.evictAll();
+        when(passwordEncoder.encode(any())).thenReturn("$2a$10$hashedPasswordForTests");
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        roleRepository.deleteAll();
+        roleCache.evictAll();
+    }
+
+    @Test
+    void register_DeberiaAceptarUnSoloRegistroConcurrentePorEmail() throws Exception {
+        // Arrange
+        List<Callable<User>> attempts = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            String rut = (10_000_000 + i) + "-" + (i % 10);
+            attempts.add(() -> userService.register(newUser("repetido@test.com", rut)));
+        }
+
+        // Act
+        List<Throwable> failures = new ArrayList<>();
+        int created = 0;
+        for (Future<User> result : runConcurrently(attempts)) {
+            try {
+                result.get();
+                created++;
+            } catch (ExecutionException e) {
+                failures.add(e.getCause());
+            }
+        }
+
+        // Assert
+        assertEquals(1, created);
+        assertEquals(THREADS - 1, failures.size());
+        failures.forEach(failure -> {
+            assertInstanceOf(IllegalArgumentException.class, failure);
+            assertEquals("El correo electrónico ya está en uso", failure.getMessage());
+        });
+        assertEquals(1, userRepository.count());
+    }
+
+    @Test
+    void register_DeberiaRechazarRutRepetidoConFormatoDistinto() {
+        // Arrange
+        userService.register(newUser("juan@test.com", "12.345.678-9"));
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> userService.register(newUser("otro@test.com", "12345678-9")));
+
+        assertEquals("El RUT ya está en uso", exception.getMessage());
+    }
+
+    @Test
+    void register_DeberiaEjecutarUnSoloStatementPorRegistro() {
+        // Arrange: la primera llamada carga el caché de roles
+        userService.register(newUser("primero@test.com", "20000000-0"));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        int registrations = 20;
+
+        // Act
+        for (int i = 0; i < registrations; i++) {
+            userService.register(newUser("user" + i + "@test.com", (21_000_000 + i) + "-1"));
+        }
+
+        // Assert: antes eran 3 (existsByEmail, SELECT del rol, INSERT)
+        assertEquals(registrations, statistics.getPrepareStatementCount());
+        assertEquals(registrations + 1, userRepository.count());
+    }
+
+    private List<Future<User>> runConcurrently(List<Callable<User>> tasks) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<User>> futures = new ArrayList<>();
+            for (Callable<User> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<User> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException ignored) {
+                    // se revisa en el test
+                }
+            }
+            return futures;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private User newUser(String email, String rut) {
+        User user = new User();
+        user.setName("Usuario");
+        user.setLastname("Prueba");
+        user.setEmail(email);
+        user.setRut(rut);
+        user.setPhone("912345678");
+        user.setPassword("Test123!");
+        user.setRole(new Role(client.getRoleId(), null));
+        user.setStatusId(1L);
+        return user;
+    }
+}
@@ -0,0 +1,129 @@
+package com.looprex.users.service;
+
+import com.looprex.users.dto.UserPage;
+import com.looprex.users.dto.UserSearchCriteria;
+import com.looprex.users.dto.UserSummary;
+import com.looprex.users.mapper.UserMapper;
+import com.looprex.users.model.Role;
+import com.looprex.users.model.User;
+import com.looprex.users.repository.RoleRepository;
+import com.looprex.users.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Listado paginado contra una base H2 real: verifica filtros normalizados y que el
+ * recorrido por cursor no repite ni omite filas
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({UserService.class, UserMapper.class, RoleCache.class})
+class UserServiceSearchTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockitoBean
+    private PhotoStorageService photoStorageService;
+
+    @MockitoBean
+    private SessionService sessionService;
+
+    @BeforeEach
+    void setUp() {
+        Role client = roleRepository.save(new Role(null, "CLIENT"));
+        Role admin = roleRepository.save(new Role(null, "ADMIN"));
+        save("Juan", "Pérez", "juan@test.com", "12.345.678-9", client);
+        save("María", "Núñez", "maria@test.com", "9876543-K", client);
+        save("Álvaro", "Pereira", "alvaro@test.com", "11111111-1", client);
+        save("Ana", "Soto", "ana@test.com", "22222222-2", admin);
+        save("Pedro", "Nuñez", "pedro@test.com", "33333333-3", client);
+    }
+
+    @Test
+    void searchUsers_DeberiaFiltrarPorPrefijoSinTildesNiMayusculas() {
+        // Act
+        UserPage page = userService.searchUsers(UserSearchCriteria.builder().name("NUNEZ").build());
+
+        // Assert
+        assertEquals(List.of("maria@test.com", "pedro@test.com"), emails(page.getItems()));
+        assertFalse(page.isHasMore());
+    }
+
+    @Test
+    void searchUsers_DeberiaFiltrarPorRutYRol() {
+        // Act
+        UserPage byRut = userService.searchUsers(UserSearchCriteria.builder().rut("9876543k").build());
+        UserPage byRole = userService.searchUsers(UserSearchCriteria.builder().role("admin").build());
+
+        // Assert
+        assertEquals(List.of("maria@test.com"), emails(byRut.getItems()));
+        assertEquals(List.of("ana@test.com"), emails(byRole.getItems()));
+    }
+
+    @Test
+    void searchUsers_DeberiaRecorrerTodasLasPaginasPorApellidoDescendente() {
+        // Arrange
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+
+        // Act
+        do {
+            UserPage page = userService.searchUsers(UserSearchCriteria.builder()
+                    .sort("lastname").direction("desc").limit(2).cursor(cursor).build());
+            seen.addAll(emails(page.getItems()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Assert: soto, perez, pereira, nunez (desempate por ID desc), nunez
+        assertEquals(List.of("ana@test.com", "juan@test.com", "alvaro@test.com",
+                "pedro@test.com", "maria@test.com"), seen);
+    }
+
+    @Test
+    void searchUsers_DeberiaRechazarCursorDeOtroOrden() {
+        // Arrange
+        String cursor = userService.searchUsers(UserSearchCriteria.builder().limit(1).build()).getNextCursor();
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> userService.searchUsers(UserSearchCriteria.builder().sort("email").cursor(cursor).build()));
+
+        assertEquals("El cursor no corresponde al orden solicitado", exception.getMessage());
+    }
+
+    private void save(String name, String lastname, String email, String rut, Role role) {
+        User user = new User();
+        user.setName(name);
+        user.setLastname(lastname);
+        user.setEmail(email);
+        user.setRut(rut);
+        user.setPhone("912345678");
+        user.setPassword("$2a$10$hashedPassword");
+        user.setRole(role);
+        user.setStatusId(1L);
+        userRepository.save(user);
+    }
+
+    private static List<String> emails(List<UserSummary> users) {
+        return users.stream().map(UserSummary::getEmail).toList();
+    }
+}
@@ -1,5 +1,12 @@
 package com.looprex.users.service;
 
+import com.looprex.users.dto.UserBatchSummaryResponse;
+import com.looprex.users.dto.UserResponse;
+import com.looprex.users.dto.UserView;
+import com.looprex.users.dto.UserSummary;
+import com.looprex.users.dto.UserPage;
+import com.looprex.users.dto.UserSearchCriteria;
+import com.looprex.users.mapper.UserMapper;
 import com.looprex.users.model.Role;
 import com.looprex.users.model.User;
 import com.looprex.users.repository.RoleRepository;
@@ -7,17 +14,30 @@ import com.looprex.users.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.io.ByteArrayInputStream;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Optional;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,9 +49,24 @@ class UserServiceTest {
     @Mock
     private RoleRepository roleRepository;
 
+    @Mock
+    private RoleCache roleCache;
+
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Spy
+    private UserMapper userMapper;
+
+    @Mock
+    private PhotoStorageService photoStorageService;
+
+    @Mock
+    private SessionService sessionService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private UserService userService;
 
@@ -58,24 +93,25 @@ class UserServiceTest {
     @Test
     void register_DeberiaCrearUsuarioExitosamente() {
         
-        when(userRepository.existsByEmail(testUser.getEmail())).thenReturn(false);
-        when(userRepository.existsByRut(testUser.getRut())).thenReturn(false);
-        when(roleRepository.findById(2L)).thenReturn(Optional.of(testRole));
+        when(roleCache.findById(2L)).thenReturn(Optional.of(testRole));
         when(passwordEncoder.encode(any())).thenReturn("$2a$10$hashedPassword");
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
 
         User result = userService.register(testUser);
 
         assertNotNull(result);
         assertEquals("juan@test.com", result.getEmail());
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userRepository, times(1)).saveAndFlush(any(User.class));
+        verify(userRepository, never()).existsByEmail(any());
         verify(passwordEncoder, times(1)).encode("Test123!");
     }
 
     @Test
     void register_DeberiaLanzarExcepcionCuandoEmailYaExiste() {
         
-        when(userRepository.existsByEmail(testUser.getEmail())).thenReturn(true);
+        when(roleCache.findById(2L)).thenReturn(Optional.of(testRole));
+        when(passwordEncoder.encode(any())).thenReturn("$2a$10$hashedPassword");
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation(User.UK_EMAIL));
 
         IllegalArgumentException exception = assertThrows(
             IllegalArgumentException.class,
@@ -102,6 +138,66 @@ class UserServiceTest {
         assertEquals(email, result.get().getEmail());
     }
 
+    @Test
+    void login_DeberiaRehashearContrasenaCuandoElHashEstaDesactualizado() {
+        
+        String email = "juan@test.com";
+        String password = "Test123!";
+        testUser.setPassword("$2a$10$hashedPassword");
+        
+        when(userRepository.findByEmail(email)).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches(password, "$2a$10$hashedPassword")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("$2a$10$hashedPassword")).thenReturn(true);
+        when(passwordEncoder.encode(password)).thenReturn("{bcrypt}$2a$12$newHash");
+        when(userRepository.updatePasswordIfUnchanged(testUser.getUserId(), "$2a$10$hashedPassword",
+                "{bcrypt}$2a$12$newHash")).thenReturn(1);
+
+        Optional<User> result = userService.login(email, password);
+
+        assertTrue(result.isPresent());
+        assertEquals("{bcrypt}$2a$12$newHash", result.get().getPassword());
+        verify(userRepository).updatePasswordIfUnchanged(testUser.getUserId(), "$2a$10$hashedPassword",
+                "{bcrypt}$2a$12$newHash");
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void login_NoDeberiaPisarUnaContrasenaCambiadaDuranteElRehash() {
+        
+        String email = "juan@test.com";
+        String password = "Test123!";
+        testUser.setPassword("$2a$10$hashedPassword");
+        
+        when(userRepository.findByEmail(email)).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches(password, "$2a$10$hashedPassword")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("$2a$10$hashedPassword")).thenReturn(true);
+        when(passwordEncoder.encode(password)).thenReturn("{bcrypt}$2a$12$newHash");
+        when(userRepository.updatePasswordIfUnchanged(any(), any(), any())).thenReturn(0);
+
+        Optional<User> result = userService.login(email, password);
+
+        assertTrue(result.isPresent());
+        assertEquals("$2a$10$hashedPassword", result.get().getPassword());
+    }
+
+    @Test
+    void login_NoDeberiaGuardarCuandoElHashEstaVigente() {
+        
+        String email = "juan@test.com";
+        String password = "Test123!";
+        testUser.setPassword("{bcrypt}$2a$10$hashedPassword");
+        
+        when(userRepository.findByEmail(email)).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches(password, testUser.getPassword())).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding(testUser.getPassword())).thenReturn(false);
+
+        userService.login(email, password);
+
+        verify(passwordEncoder, never()).encode(any());
+        verify(userRepository, never()).save(any());
+        verify(userRepository, never()).updatePasswordIfUnchanged(any(), any(), any());
+    }
+
     @Test
     void login_DeberiaRetornarVacioCuandoCredencialesSonIncorrectas() {
         
@@ -128,6 +224,24 @@ class UserServiceTest {
         assertEquals("juan@test.com", result.get().getEmail());
     }
     
+    @Test
+    void getUserResponse_DeberiaUsarProyeccionYRolEnCache() {
+        // Arrange
+        UserView view = new UserView(1L, "12345678-9", "Juan", "Pérez", "912345678",
+                "juan@test.com", null, 2L, 1L);
+        when(userRepository.findViewById(1L)).thenReturn(Optional.of(view));
+        when(roleCache.findById(2L)).thenReturn(Optional.of(testRole));
+
+        // Act
+        Optional<UserResponse> result = userService.getUserResponse(1L);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals("juan@test.com", result.get().getEmail());
+        assertEquals("CLIENT", result.get().getRole().getName());
+        verify(userRepository, never()).findById(any());
+    }
+
     @Test
     void getAllUsers_DeberiaRetornarListaDeUsuarios() {
 
@@ -144,13 +258,12 @@ class UserServiceTest {
     void updatePersonalData_DeberiaActualizarDatosCorrectamente() {
         
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(userRepository.existsByRut("98765432-1")).thenReturn(false);
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
 
         Optional<User> result = userService.updatePersonalData(1L, "98765432-1", "Pedro", "González", "987654321");
 
         assertTrue(result.isPresent());
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userRepository, times(1)).saveAndFlush(any(User.class));
     }
 
     @Test
@@ -178,6 +291,28 @@ class UserServiceTest {
 
         assertTrue(result.isPresent());
         verify(passwordEncoder, times(1)).encode("NewPass123!");
+        verify(sessionService).revokeAll(1L);
+    }
+
+    @Test
+    void updatePassword_DeberiaInvalidarRefreshTokensYRevocarSesionesTrasElCommit() {
+        // Arrange
+        testUser.setPassword("$2a$10$oldHashedPassword");
+        testUser.setCredentialVersion(3L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches("OldPass123!", testUser.getPassword())).thenReturn(true);
+        when(passwordEncoder.encode("NewPass123!")).thenReturn("$2a$10$newHashedPassword");
+        when(userRepository.save(any(User.class))).thenReturn(testUser);
+
+        // Act
+        userService.updatePassword(1L, "OldPass123!", "NewPass123!");
+
+        // Assert: la nueva versión deja inválidos los refresh tokens anteriores
+        assertEquals(4L, testUser.getCredentialVersion());
+        InOrder inOrder = inOrder(userRepository, transactionManager, sessionService);
+        inOrder.verify(userRepository).save(testUser);
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(sessionService).revokeAll(1L);
     }
 
     @Test
@@ -189,6 +324,7 @@ class UserServiceTest {
 
         assertThrows(IllegalArgumentException.class, 
             () -> userService.updatePassword(1L, "WrongPassword", "NewPass123!"));
+        verify(sessionService, never()).revokeAll(any());
     }
 
     @Test
@@ -197,12 +333,194 @@ class UserServiceTest {
         testUser.setPassword("$2a$10$hashedPassword");
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
         when(passwordEncoder.matches("Test123!", testUser.getPassword())).thenReturn(true);
-        when(userRepository.existsByEmail("newemail@test.com")).thenReturn(false);
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
 
         Optional<User> result = userService.updateEmail(1L, "newemail@test.com", "Test123!");
 
         assertTrue(result.isPresent());
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userRepository, times(1)).saveAndFlush(any(User.class));
+        verify(sessionService).revokeAll(1L);
+}
+
+    @Test
+    void usersExist_DeberiaResolverTodosLosIdsEnUnaConsulta() {
+    
+        when(userRepository.findExistingIds(anyCollection())).thenReturn(List.of(1L, 2L));
+
+        Map<Long, Boolean> result = userService.usersExist(List.of(1L, 99L, 2L, 1L));
+
+        assertEquals(List.of(1L, 99L, 2L), List.copyOf(result.keySet()));
+        assertTrue(result.get(1L));
+        assertFalse(result.get(99L));
+        verify(userRepository, times(1)).findExistingIds(anyCollection());
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void usersExist_DeberiaLanzarExcepcionCuandoSuperaElMaximo() {
+    
+        List<Long> ids = new ArrayList<>();
+        for (long i = 1; i <= UserService.MAX_BATCH_SIZE + 1; i++) {
+            ids.add(i);
+        }
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> userService.usersExist(ids));
+
+        assertEquals("No se pueden consultar más de 500 usuarios a la vez", exception.getMessage());
+        verify(userRepository, never()).findExistingIds(anyCollection());
+    }
+
+    @Test
+    void getUserIdsAfter_DeberiaLeerDesdeElUltimoIdConElLimite() {
+    
+        when(userRepository.findIdsAfter(eq(10L), any(Pageable.class))).thenReturn(List.of(11L, 12L));
+
+        List<Long> result = userService.getUserIdsAfter(10L, 2);
+
+        assertEquals(List.of(11L, 12L), result);
+        verify(userRepository).findIdsAfter(10L, PageRequest.of(0, 2));
+    }
+
+    @Test
+    void getUserIdsAfter_DeberiaLanzarExcepcionCuandoElLimiteEsInvalido() {
+    
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> userService.getUserIdsAfter(0L, UserService.MAX_ID_PAGE_SIZE + 1));
+
+        assertEquals("El límite debe estar entre 1 y 10000", exception.getMessage());
+        verify(userRepository, never()).findIdsAfter(any(), any());
+    }
+
+    @Test
+    void getUserSummaries_DeberiaSepararEncontradosYFaltantes() {
+    
+        UserSummary summary = UserSummary.builder()
+                .userId(1L).name("Juan").lastname("Pérez").email("juan@test.com")
+                .roleId(2L).roleName("CLIENT").statusId(1L)
+                .build();
+        when(userRepository.findSummariesByUserIdIn(anyCollection())).thenReturn(List.of(summary));
+
+        UserBatchSummaryResponse result = userService.getUserSummaries(List.of(99L, 1L));
+
+        assertEquals(List.of(summary), result.getUsers());
+        assertEquals(List.of(99L), result.getMissing());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void searchUsers_DeberiaRetornarCursorCuandoHayMasResultados() {
+    
+        User second = new User();
+        second.setUserId(2L);
+        second.setEmail("maria@test.com");
+        second.setRole(testRole);
+        testUser.setUserId(1L);
+        when(userRepository.findBy(any(Specification.class), any()))
+                .thenReturn(new ArrayList<>(List.of(testUser, second)));
+
+        UserPage page = userService.searchUsers(UserSearchCriteria.builder().limit(1).build());
+
+        assertEquals(1, page.getItems().size());
+        assertEquals("juan@test.com", page.getItems().get(0).getEmail());
+        assertEquals("CLIENT", page.getItems().get(0).getRoleName());
+        assertTrue(page.isHasMore());
+        assertNotNull(page.getNextCursor());
+    }
+
+    @Test
+    void searchUsers_DeberiaLanzarExcepcionConOrdenNoSoportado() {
+    
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> userService.searchUsers(UserSearchCriteria.builder().sort("password").build()));
+
+        assertEquals("Orden no soportado: password. Valores permitidos: id, email, lastname", exception.getMessage());
+    }
+
+    @Test
+    void searchUsers_DeberiaLanzarExcepcionConLimiteFueraDeRango() {
+    
+        assertThrows(IllegalArgumentException.class,
+            () -> userService.searchUsers(UserSearchCriteria.builder().limit(101).build()));
+    }
+
+    @Test
+    void updatePersonalData_DeberiaTraducirViolacionDeRutUnico() {
+    
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation(User.UK_RUT));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> userService.updatePersonalData(1L, "98765432-1", null, null, null));
+
+        assertEquals("El RUT ya está en uso", exception.getMessage());
+    }
+
+    @Test
+    void updateEmail_DeberiaTraducirViolacionDeEmailUnico() {
+    
+        testUser.setPassword("$2a$10$hashedPassword");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches("Test123!", testUser.getPassword())).thenReturn(true);
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation(User.UK_EMAIL));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> userService.updateEmail(1L, "maria@test.com", "Test123!"));
+
+        assertEquals("El email ya está en uso", exception.getMessage());
+    }
+
+    private static DataIntegrityViolationException uniqueViolation(String constraint) {
+        return new DataIntegrityViolationException("duplicate", new ConstraintViolationException(
+                "duplicate", new SQLException("Duplicate entry", "23000", 1062),
+                ConstraintViolationException.ConstraintKind.UNIQUE, "users." + constraint));
+    }
+
+    @Test
+    void uploadProfilePhoto_DeberiaGuardarSoloLaClave() {
+    
+        String key = "a".repeat(64) + ".png";
+        ByteArrayInputStream content = new ByteArrayInputStream(new byte[]{1, 2, 3});
+        testUser.setUserId(1L);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(photoStorageService.store(content)).thenReturn(key);
+        when(userRepository.updateProfilePhotoById(1L, key)).thenAnswer(invocation -> {
+            testUser.setProfilePhoto(key);
+            return 1;
+        });
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+
+        Optional<User> result = userService.uploadProfilePhoto(1L, content);
+
+        assertTrue(result.isPresent());
+        assertEquals(key, result.get().getProfilePhoto());
+        verify(userRepository).updateProfilePhotoById(1L, key);
+        verify(userRepository, never()).save(any());
+        assertEquals("/api/users/photos/" + key, userMapper.toUserResponse(result.get()).getProfilePhoto());
+    }
+
+    @Test
+    void uploadProfilePhoto_NoDeberiaAlmacenarCuandoUsuarioNoExiste() {
+    
+        when(userRepository.existsById(99L)).thenReturn(false);
+
+        Optional<User> result = userService.uploadProfilePhoto(99L, new ByteArrayInputStream(new byte[]{1}));
+
+        assertTrue(result.isEmpty());
+        verify(photoStorageService, never()).store(any());
+    }
+
+    @Test
+    void uploadProfilePhoto_DeberiaRetornarVacioCuandoElUsuarioSeEliminaDuranteLaCopia() {
+    
+        ByteArrayInputStream content = new ByteArrayInputStream(new byte[]{1, 2, 3});
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(photoStorageService.store(content)).thenReturn("b".repeat(64) + ".png");
+        when(userRepository.updateProfilePhotoById(eq(1L), anyString())).thenReturn(0);
+
+        Optional<User> result = userService.uploadProfilePhoto(1L, content);
+
+        assertTrue(result.isEmpty());
+        verify(userRepository, never()).findById(any());
+    }
 }
-}
\ No newline at end of file